@@ -0,0 +1,662 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.debugging.sourcemap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.GwtIncompatible;
+import com.google.common.base.Preconditions;
+import com.google.debugging.sourcemap.Base64VLQ.CharIterator;
+import com.google.debugging.sourcemap.SourceMapConsumerV3.EntryVisitor;
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping.Builder;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A version 3 source map consumer that decodes the "mappings" field lazily.
+ *
+ * <p>Unlike {@link SourceMapConsumerV3}, which materializes an entry object for every segment of
+ * every line when the map is parsed, this consumer keeps the raw mappings string together with a
+ * compact per-line index: the offset at which each generated line starts and the relative decoding
+ * state (source id, source line, source column and name id) at that point. A line is decoded only
+ * when a mapping on it is requested, and the most recently decoded lines are kept in a bounded LRU
+ * cache.
+ *
+ * <p>The index may be written to disk with {@link #writeIndex} and later memory-mapped by {@link
+ * #parse(String, Path)}, so that processes sharing a map don't need to rescan it.
+ *
+ * <p>Lookups are thread-safe; {@link #getReverseMapping} has the same synchronization requirements
+ * as in {@link SourceMapConsumerV3}.
+ */
+public final class IndexedSourceMapConsumerV3 implements SourceMapConsumer, SourceMappingReversable {
+  static final int UNMAPPED = SourceMapConsumerV3.UNMAPPED;
+
+  /** The default number of decoded lines retained by the LRU cache. */
+  public static final int DEFAULT_CACHE_SIZE = 1024;
+
+  // Layout of the per-line index. The table has one extra row whose offset marks the end of the
+  // last line.
+  private static final int LINE_OFFSET = 0;
+  private static final int LINE_SRC_ID = 1;
+  private static final int LINE_SRC_LINE = 2;
+  private static final int LINE_SRC_COLUMN = 3;
+  private static final int LINE_NAME_ID = 4;
+  private static final int LINE_SLOTS = 5;
+
+  // Layout of a decoded line; each entry occupies ENTRY_SLOTS consecutive ints.
+  private static final int ENTRY_COLUMN = 0;
+  private static final int ENTRY_SRC_ID = 1;
+  private static final int ENTRY_SRC_LINE = 2;
+  private static final int ENTRY_SRC_COLUMN = 3;
+  private static final int ENTRY_NAME_ID = 4;
+  private static final int ENTRY_SLOTS = 5;
+
+  private static final int MAX_ENTRY_VALUES = 5;
+
+  // Header of the serialized index: magic, version, line count, mappings length, mappings hash.
+  private static final int INDEX_MAGIC = 0x534d4958; // "SMIX"
+  private static final int INDEX_VERSION = 1;
+  private static final int INDEX_HEADER_INTS = 5;
+
+  private final int cacheSize;
+
+  private String mappings;
+  private String[] sources;
+  private String[] sourcesContent;
+  private String[] names;
+  private String sourceRoot;
+  private final Map<String, Object> extensions = new LinkedHashMap<>();
+
+  private int lineCount;
+  private IntBuffer lineIndex;
+
+  /** generated line ==> packed entries, in access order. */
+  private final LinkedHashMap<Integer, int[]> decodedLines;
+
+  /** originalFile path ==> original line ==> target mappings */
+  private Map<String, Map<Integer, Collection<OriginalMapping>>> reverseSourceMapping;
+
+  public IndexedSourceMapConsumerV3() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  /** @param cacheSize The maximum number of decoded lines to retain. */
+  public IndexedSourceMapConsumerV3(final int cacheSize) {
+    checkArgument(cacheSize > 0, "cacheSize must be positive: %s", cacheSize);
+    this.cacheSize = cacheSize;
+    this.decodedLines =
+        new LinkedHashMap<Integer, int[]>(16, 0.75f, /* accessOrder= */ true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+            return size() > cacheSize;
+          }
+        };
+  }
+
+  /** Parses the given contents containing a source map. */
+  @Override
+  public void parse(String contents) throws SourceMapParseException {
+    parse(SourceMapObjectParser.parse(contents), null);
+  }
+
+  /** Parses the given contents containing a source map. */
+  public void parse(SourceMapObject sourceMapObject, SourceMapSupplier sectionSupplier)
+      throws SourceMapParseException {
+    sourceMapObject = flatten(sourceMapObject, sectionSupplier);
+    initFields(sourceMapObject);
+    lineIndex = buildIndex(sourceMapObject.getLineCount());
+    lineCount = lineIndex.limit() / LINE_SLOTS - 1;
+  }
+
+  /**
+   * Parses the given contents containing a source map, reusing the line index stored in {@code
+   * indexFile} if it was built for the same mappings. Otherwise the index is built and written to
+   * {@code indexFile} for later reuse.
+   */
+  @GwtIncompatible("java.nio")
+  public void parse(String contents, Path indexFile) throws SourceMapParseException, IOException {
+    SourceMapObject sourceMapObject = flatten(SourceMapObjectParser.parse(contents), null);
+    initFields(sourceMapObject);
+    IntBuffer mapped = Files.exists(indexFile) ? mapIndex(indexFile) : null;
+    if (mapped != null) {
+      lineIndex = mapped;
+      lineCount = lineIndex.limit() / LINE_SLOTS - 1;
+    } else {
+      lineIndex = buildIndex(sourceMapObject.getLineCount());
+      lineCount = lineIndex.limit() / LINE_SLOTS - 1;
+      writeIndex(indexFile);
+    }
+  }
+
+  /**
+   * Writes the line index of the parsed map to {@code indexFile}. The file is written to a
+   * temporary sibling first and then moved into place, so concurrent readers never observe a
+   * partially written index.
+   */
+  @GwtIncompatible("java.nio")
+  public void writeIndex(Path indexFile) throws IOException {
+    checkState(lineIndex != null, "No source map has been parsed");
+    Path dir = indexFile.toAbsolutePath().getParent();
+    Path tmp = Files.createTempFile(dir, indexFile.getFileName().toString(), ".tmp");
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+      out.writeInt(INDEX_MAGIC);
+      out.writeInt(INDEX_VERSION);
+      out.writeInt(lineCount);
+      out.writeInt(mappings.length());
+      out.writeInt(mappings.hashCode());
+      for (int i = 0; i < lineIndex.limit(); i++) {
+        out.writeInt(lineIndex.get(i));
+      }
+    }
+    Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Memory-maps a previously written index, returning null if it is malformed or was built for a
+   * different mappings string.
+   */
+  @GwtIncompatible("java.nio")
+  private IntBuffer mapIndex(Path indexFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < INDEX_HEADER_INTS * 4L || size % 4 != 0) {
+        return null;
+      }
+      IntBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).asIntBuffer();
+      int lines = buffer.get(2);
+      if (buffer.get(0) != INDEX_MAGIC
+          || buffer.get(1) != INDEX_VERSION
+          || lines < 0
+          || buffer.get(3) != mappings.length()
+          || buffer.get(4) != mappings.hashCode()
+          || buffer.limit() != INDEX_HEADER_INTS + (lines + 1) * LINE_SLOTS) {
+        return null;
+      }
+      buffer.position(INDEX_HEADER_INTS);
+      return buffer.slice();
+    }
+  }
+
+  /** Resolves an index map (one with "sections") into a regular map. */
+  private static SourceMapObject flatten(
+      SourceMapObject sourceMapObject, SourceMapSupplier sectionSupplier)
+      throws SourceMapParseException {
+    if (sourceMapObject.getVersion() != 3) {
+      throw new SourceMapParseException("Unknown version: " + sourceMapObject.getVersion());
+    }
+
+    String file = sourceMapObject.getFile();
+    if (file != null && file.isEmpty()) {
+      throw new SourceMapParseException("File entry is empty");
+    }
+
+    if (sourceMapObject.getSections() == null) {
+      return sourceMapObject;
+    }
+
+    if (sectionSupplier == null) {
+      sectionSupplier = new SourceMapConsumerV3.DefaultSourceMapSupplier();
+    }
+    if (sourceMapObject.getLineCount() >= 0
+        || sourceMapObject.getMappings() != null
+        || sourceMapObject.getSources() != null
+        || sourceMapObject.getNames() != null) {
+      throw new SourceMapParseException("Invalid map format");
+    }
+
+    try {
+      // Merge the sections into a single map, which is then indexed like any other.
+      SourceMapGeneratorV3 generator = new SourceMapGeneratorV3();
+      for (SourceMapSection section : sourceMapObject.getSections()) {
+        String mapSectionContents = section.getSectionValue();
+        if (section.getSectionType() == SourceMapSection.SectionType.URL) {
+          mapSectionContents = sectionSupplier.getSourceMap(section.getSectionValue());
+        }
+        if (mapSectionContents == null) {
+          throw new SourceMapParseException("Unable to retrieve: " + section.getSectionValue());
+        }
+        generator.mergeMapSection(section.getLine(), section.getColumn(), mapSectionContents);
+      }
+
+      StringBuilder sb = new StringBuilder();
+      generator.appendTo(sb, file);
+      return SourceMapObjectParser.parse(sb.toString());
+    } catch (IOException ex) {
+      throw new SourceMapParseException("IO exception: " + ex);
+    }
+  }
+
+  private void initFields(SourceMapObject sourceMapObject) {
+    mappings = sourceMapObject.getMappings();
+    sourceRoot = sourceMapObject.getSourceRoot();
+    sources = sourceMapObject.getSources();
+    sourcesContent = sourceMapObject.getSourcesContent();
+    names = sourceMapObject.getNames();
+    extensions.clear();
+    extensions.putAll(sourceMapObject.getExtensions());
+    reverseSourceMapping = null;
+    synchronized (decodedLines) {
+      decodedLines.clear();
+    }
+  }
+
+  /**
+   * Scans the mappings once, recording where each line starts and the decoding state carried into
+   * it. No per-entry objects are allocated.
+   */
+  private IntBuffer buildIndex(int declaredLineCount) throws SourceMapParseException {
+    int maxLines = 1;
+    for (int i = 0; i < mappings.length(); i++) {
+      if (mappings.charAt(i) == ';') {
+        maxLines++;
+      }
+    }
+    int[] table = new int[(maxLines + 1) * LINE_SLOTS];
+
+    StringCharIterator content = new StringCharIterator(mappings, 0, mappings.length());
+    int[] temp = new int[MAX_ENTRY_VALUES];
+    int line = 0;
+    int srcId = 0;
+    int srcLine = 0;
+    int srcColumn = 0;
+    int nameId = 0;
+    boolean lineHasEntries = false;
+    while (content.hasNext()) {
+      char c = content.peek();
+      if (c == ';') {
+        content.next();
+        line++;
+        lineHasEntries = false;
+        table[line * LINE_SLOTS + LINE_OFFSET] = content.current;
+        table[line * LINE_SLOTS + LINE_SRC_ID] = srcId;
+        table[line * LINE_SLOTS + LINE_SRC_LINE] = srcLine;
+        table[line * LINE_SLOTS + LINE_SRC_COLUMN] = srcColumn;
+        table[line * LINE_SLOTS + LINE_NAME_ID] = nameId;
+      } else if (c == ',') {
+        content.next();
+      } else {
+        int entryValues = 0;
+        while (!content.entryComplete()) {
+          if (entryValues == MAX_ENTRY_VALUES) {
+            throw new SourceMapParseException(
+                "Unexpected number of values for entry:" + (entryValues + 1));
+          }
+          temp[entryValues++] = Base64VLQ.decode(content);
+        }
+        switch (entryValues) {
+          case 1:
+            break;
+          case 4:
+          case 5:
+            srcId += temp[1];
+            srcLine += temp[2];
+            srcColumn += temp[3];
+            if (entryValues == 5) {
+              nameId += temp[4];
+            }
+            break;
+          default:
+            throw new SourceMapParseException(
+                "Unexpected number of values for entry:" + entryValues);
+        }
+        lineHasEntries = true;
+        Preconditions.checkState(
+            (declaredLineCount < 0) || (line < declaredLineCount),
+            "line=%s, lineCount=%s",
+            line,
+            declaredLineCount);
+        checkState(entryValues == 1 || srcId < sources.length);
+        checkState(entryValues != 5 || nameId < names.length);
+      }
+    }
+
+    // As in SourceMapConsumerV3, a trailing line without a terminating ';' is only counted if it
+    // has entries.
+    int lines = lineHasEntries ? line + 1 : line;
+    table[lines * LINE_SLOTS + LINE_OFFSET] =
+        lineHasEntries ? mappings.length() + 1 : mappings.length();
+    return IntBuffer.wrap(Arrays.copyOf(table, (lines + 1) * LINE_SLOTS));
+  }
+
+  private int lineStart(int line) {
+    return lineIndex.get(line * LINE_SLOTS + LINE_OFFSET);
+  }
+
+  /** The end of the line's segment, exclusive of the ';' separator. */
+  private int lineEnd(int line) {
+    return lineIndex.get((line + 1) * LINE_SLOTS + LINE_OFFSET) - 1;
+  }
+
+  private boolean isEmptyLine(int line) {
+    return lineStart(line) >= lineEnd(line);
+  }
+
+  /** Returns the decoded entries of a non-empty line, consulting the LRU cache first. */
+  private int[] getEntries(int line) {
+    synchronized (decodedLines) {
+      int[] entries = decodedLines.get(line);
+      if (entries == null) {
+        entries = decodeLine(line);
+        decodedLines.put(line, entries);
+      }
+      return entries;
+    }
+  }
+
+  private int[] decodeLine(int line) {
+    int base = line * LINE_SLOTS;
+    int srcId = lineIndex.get(base + LINE_SRC_ID);
+    int srcLine = lineIndex.get(base + LINE_SRC_LINE);
+    int srcColumn = lineIndex.get(base + LINE_SRC_COLUMN);
+    int nameId = lineIndex.get(base + LINE_NAME_ID);
+    int column = 0;
+
+    StringCharIterator content = new StringCharIterator(mappings, lineStart(line), lineEnd(line));
+    int[] temp = new int[MAX_ENTRY_VALUES];
+    int[] entries = new int[ENTRY_SLOTS * 4];
+    int size = 0;
+    while (content.hasNext()) {
+      if (content.peek() == ',') {
+        content.next();
+        continue;
+      }
+      int entryValues = 0;
+      while (!content.entryComplete()) {
+        temp[entryValues++] = Base64VLQ.decode(content);
+      }
+      if (size == entries.length) {
+        entries = Arrays.copyOf(entries, size * 2);
+      }
+      column += temp[0];
+      entries[size + ENTRY_COLUMN] = column;
+      if (entryValues == 1) {
+        entries[size + ENTRY_SRC_ID] = UNMAPPED;
+        entries[size + ENTRY_SRC_LINE] = UNMAPPED;
+        entries[size + ENTRY_SRC_COLUMN] = UNMAPPED;
+        entries[size + ENTRY_NAME_ID] = UNMAPPED;
+      } else {
+        srcId += temp[1];
+        srcLine += temp[2];
+        srcColumn += temp[3];
+        entries[size + ENTRY_SRC_ID] = srcId;
+        entries[size + ENTRY_SRC_LINE] = srcLine;
+        entries[size + ENTRY_SRC_COLUMN] = srcColumn;
+        if (entryValues == 5) {
+          nameId += temp[4];
+          entries[size + ENTRY_NAME_ID] = nameId;
+        } else {
+          entries[size + ENTRY_NAME_ID] = UNMAPPED;
+        }
+      }
+      size += ENTRY_SLOTS;
+    }
+    return Arrays.copyOf(entries, size);
+  }
+
+  @Override
+  public OriginalMapping getMappingForLine(int lineNumber, int column) {
+    // Normalize the line and column numbers to 0.
+    lineNumber--;
+    column--;
+
+    if (lineNumber < 0 || lineNumber >= lineCount) {
+      return null;
+    }
+
+    checkState(column >= 0);
+
+    // If the line is empty return the previous mapping.
+    if (isEmptyLine(lineNumber)) {
+      return getPreviousMapping(lineNumber);
+    }
+
+    int[] entries = getEntries(lineNumber);
+    if (entries[ENTRY_COLUMN] > column) {
+      return getPreviousMapping(lineNumber);
+    }
+
+    return getOriginalMappingForEntry(entries, search(entries, column));
+  }
+
+  /**
+   * Returns the offset of the last entry whose generated column is at or before {@code target}. The
+   * first entry is known to start at or before the target.
+   */
+  private static int search(int[] entries, int target) {
+    int low = 0;
+    int high = entries.length / ENTRY_SLOTS - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (entries[mid * ENTRY_SLOTS + ENTRY_COLUMN] <= target) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low * ENTRY_SLOTS;
+  }
+
+  /**
+   * Returns the mapping entry that proceeds the supplied line or null if no such entry exists.
+   */
+  private OriginalMapping getPreviousMapping(int lineNumber) {
+    do {
+      if (lineNumber == 0) {
+        return null;
+      }
+      lineNumber--;
+    } while (isEmptyLine(lineNumber));
+    int[] entries = getEntries(lineNumber);
+    return getOriginalMappingForEntry(entries, entries.length - ENTRY_SLOTS);
+  }
+
+  /** Creates an "OriginalMapping" object for the entry at the given offset. */
+  private OriginalMapping getOriginalMappingForEntry(int[] entries, int offset) {
+    int srcId = entries[offset + ENTRY_SRC_ID];
+    if (srcId == UNMAPPED) {
+      return null;
+    }
+    // Adjust the line/column here to be start at 1.
+    Builder x =
+        OriginalMapping.newBuilder()
+            .setOriginalFile(sources[srcId])
+            .setLineNumber(entries[offset + ENTRY_SRC_LINE] + 1)
+            .setColumnPosition(entries[offset + ENTRY_SRC_COLUMN] + 1);
+    int nameId = entries[offset + ENTRY_NAME_ID];
+    if (nameId != UNMAPPED) {
+      x.setIdentifier(names[nameId]);
+    }
+    return x.build();
+  }
+
+  @Override
+  public Collection<String> getOriginalSources() {
+    return Arrays.asList(sources);
+  }
+
+  public Collection<String> getOriginalSourcesContent() {
+    return sourcesContent == null ? null : Arrays.asList(sourcesContent);
+  }
+
+  public String getSourceRoot() {
+    return this.sourceRoot;
+  }
+
+  /** Returns all extensions and their values (which can be any json value) in a Map object. */
+  public Map<String, Object> getExtensions() {
+    return this.extensions;
+  }
+
+  /** Returns the number of generated lines in the map. */
+  public int getLineCount() {
+    return lineCount;
+  }
+
+  /** Returns the number of decoded lines currently held by the cache. */
+  int getCachedLineCount() {
+    synchronized (decodedLines) {
+      return decodedLines.size();
+    }
+  }
+
+  int getCacheSize() {
+    return cacheSize;
+  }
+
+  @Override
+  public Collection<OriginalMapping> getReverseMapping(String originalFile, int line, int column) {
+    // Synchronization needs to be handled by callers.
+    if (reverseSourceMapping == null) {
+      createReverseMapping();
+    }
+
+    Map<Integer, Collection<OriginalMapping>> sourceLineToCollectionMap =
+        reverseSourceMapping.get(originalFile);
+    if (sourceLineToCollectionMap == null) {
+      return Collections.emptyList();
+    }
+    Collection<OriginalMapping> mappings = sourceLineToCollectionMap.get(line);
+    return mappings == null ? Collections.<OriginalMapping>emptyList() : mappings;
+  }
+
+  /**
+   * Reverse the source map. Every line is decoded, but bypassing the cache so that a reverse
+   * lookup doesn't evict the lines being used for forward lookups.
+   */
+  private void createReverseMapping() {
+    reverseSourceMapping = new HashMap<>();
+
+    for (int targetLine = 0; targetLine < lineCount; targetLine++) {
+      if (isEmptyLine(targetLine)) {
+        continue;
+      }
+      int[] entries = decodeLine(targetLine);
+      for (int offset = 0; offset < entries.length; offset += ENTRY_SLOTS) {
+        int srcId = entries[offset + ENTRY_SRC_ID];
+        if (srcId == UNMAPPED) {
+          continue;
+        }
+        reverseSourceMapping
+            .computeIfAbsent(sources[srcId], (String k) -> new HashMap<>())
+            .computeIfAbsent(entries[offset + ENTRY_SRC_LINE], (Integer k) -> new ArrayList<>(1))
+            .add(
+                OriginalMapping.newBuilder()
+                    .setLineNumber(targetLine)
+                    .setColumnPosition(entries[offset + ENTRY_COLUMN])
+                    .build());
+      }
+    }
+  }
+
+  /** Visits every mapping in the map, as {@link SourceMapConsumerV3#visitMappings} does. */
+  public void visitMappings(EntryVisitor visitor) {
+    boolean pending = false;
+    String sourceName = null;
+    String symbolName = null;
+    FilePosition sourceStartPosition = null;
+    FilePosition startPosition = null;
+
+    for (int i = 0; i < lineCount; i++) {
+      if (isEmptyLine(i)) {
+        continue;
+      }
+      int[] entries = decodeLine(i);
+      for (int offset = 0; offset < entries.length; offset += ENTRY_SLOTS) {
+        int column = entries[offset + ENTRY_COLUMN];
+        if (pending) {
+          visitor.visit(
+              sourceName,
+              symbolName,
+              sourceStartPosition,
+              startPosition,
+              new FilePosition(i, column));
+          pending = false;
+        }
+
+        int srcId = entries[offset + ENTRY_SRC_ID];
+        if (srcId != UNMAPPED) {
+          pending = true;
+          sourceName = sources[srcId];
+          int nameId = entries[offset + ENTRY_NAME_ID];
+          symbolName = (nameId != UNMAPPED) ? names[nameId] : null;
+          sourceStartPosition =
+              new FilePosition(
+                  entries[offset + ENTRY_SRC_LINE], entries[offset + ENTRY_SRC_COLUMN]);
+          startPosition = new FilePosition(i, column);
+        }
+      }
+    }
+    // Complete pending entry if any.
+    if (pending) {
+      FilePosition endPosition =
+          new FilePosition(startPosition.getLine(), startPosition.getColumn() + 1);
+      visitor.visit(sourceName, symbolName, sourceStartPosition, startPosition, endPosition);
+    }
+  }
+
+  /** A Base64VLQ CharIterator over a range of the mappings string. */
+  private static final class StringCharIterator implements CharIterator {
+    final String content;
+    final int end;
+    int current;
+
+    StringCharIterator(String content, int start, int end) {
+      this.content = content;
+      this.current = start;
+      this.end = end;
+    }
+
+    @Override
+    public char next() {
+      return content.charAt(current++);
+    }
+
+    char peek() {
+      return content.charAt(current);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return current < end;
+    }
+
+    boolean entryComplete() {
+      if (!hasNext()) {
+        return true;
+      }
+      char c = peek();
+      return c == ';' || c == ',';
+    }
+  }
+}
@@ -630,6 +630,53 @@ public final class SourceMapConsumerV3 implements SourceMapConsumer, SourceMappi
     }
   }
 
+  /**
+   * Flattens the parsed mappings into a {@link SourceMapLookupTable}, which answers the same
+   * queries as {@link #getMappingForLine} without allocating.
+   */
+  public SourceMapLookupTable createLookupTable() {
+    int size = 0;
+    for (ArrayList<Entry> line : lines) {
+      if (line != null) {
+        size += line.size();
+      }
+    }
+
+    int[] lineStarts = new int[lines.size() + 1];
+    int[] generatedColumns = new int[size];
+    int[] sourceIds = new int[size];
+    int[] sourceLines = new int[size];
+    int[] sourceColumns = new int[size];
+    int[] nameIds = new int[size];
+    int index = 0;
+    for (int i = 0; i < lines.size(); i++) {
+      lineStarts[i] = index;
+      ArrayList<Entry> line = lines.get(i);
+      if (line == null) {
+        continue;
+      }
+      for (Entry entry : line) {
+        generatedColumns[index] = entry.getGeneratedColumn();
+        sourceIds[index] = entry.getSourceFileId();
+        sourceLines[index] = entry.getSourceLine();
+        sourceColumns[index] = entry.getSourceColumn();
+        nameIds[index] = entry.getNameId();
+        index++;
+      }
+    }
+    lineStarts[lines.size()] = index;
+
+    return new SourceMapLookupTable(
+        sources,
+        names,
+        lineStarts,
+        generatedColumns,
+        sourceIds,
+        sourceLines,
+        sourceColumns,
+        nameIds);
+  }
+
   public static interface EntryVisitor {
     void visit(String sourceName,
                String symbolName,
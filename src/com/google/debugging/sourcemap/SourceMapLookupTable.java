@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.debugging.sourcemap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An immutable, flattened view of the mappings of a parsed source map, laid out as parallel
+ * primitive arrays sorted by generated position.
+ *
+ * <p>Lookups are a single binary search over those arrays and do not allocate. Because the entries
+ * of all lines are stored contiguously, the "previous mapping" fallback of {@link
+ * SourceMapConsumerV3#getMappingForLine} (used when no entry on a line starts at or before the
+ * requested column) is simply the preceding entry in the arrays.
+ *
+ * <p>Instances are safe to share between threads.
+ */
+public final class SourceMapLookupTable {
+  /** Value returned by {@link #find} when there is no entry, and stored for unmapped fields. */
+  public static final int NOT_FOUND = SourceMapConsumerV3.UNMAPPED;
+
+  private final String[] sources;
+  private final String[] names;
+
+  /** lineStarts[i] is the index of the first entry on generated line i. */
+  private final int[] lineStarts;
+
+  private final int[] generatedColumns;
+  private final int[] sourceIds;
+  private final int[] sourceLines;
+  private final int[] sourceColumns;
+  private final int[] nameIds;
+
+  SourceMapLookupTable(
+      String[] sources,
+      String[] names,
+      int[] lineStarts,
+      int[] generatedColumns,
+      int[] sourceIds,
+      int[] sourceLines,
+      int[] sourceColumns,
+      int[] nameIds) {
+    int size = generatedColumns.length;
+    checkArgument(
+        sourceIds.length == size
+            && sourceLines.length == size
+            && sourceColumns.length == size
+            && nameIds.length == size);
+    this.sources = sources;
+    this.names = names;
+    this.lineStarts = lineStarts;
+    this.generatedColumns = generatedColumns;
+    this.sourceIds = sourceIds;
+    this.sourceLines = sourceLines;
+    this.sourceColumns = sourceColumns;
+    this.nameIds = nameIds;
+  }
+
+  /**
+   * Returns the index of the entry that covers the given generated position, or {@link #NOT_FOUND}
+   * if there is none or the covering entry is unmapped.
+   *
+   * @param lineNumber The 1-based generated line.
+   * @param column The 1-based generated column.
+   */
+  public int find(int lineNumber, int column) {
+    // Normalize the line and column numbers to 0.
+    int line = lineNumber - 1;
+    column--;
+    if (line < 0 || line >= lineStarts.length - 1) {
+      return NOT_FOUND;
+    }
+
+    // Find the last entry on the line that starts at or before the column. If there is none, the
+    // answer is the last entry of a previous line, which immediately precedes the line's range.
+    int low = lineStarts[line];
+    int high = lineStarts[line + 1];
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (generatedColumns[mid] <= column) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int index = low - 1;
+    if (index < 0 || sourceIds[index] == NOT_FOUND) {
+      return NOT_FOUND;
+    }
+    return index;
+  }
+
+  /** Returns the number of entries in the table. */
+  public int size() {
+    return generatedColumns.length;
+  }
+
+  /** Returns the number of generated lines in the table. */
+  public int getLineCount() {
+    return lineStarts.length - 1;
+  }
+
+  /** Returns the index into {@link #getSourceCount sources} of the entry's original file. */
+  public int getSourceId(int entry) {
+    return sourceIds[entry];
+  }
+
+  /** Returns the 0-based line in the original source. */
+  public int getSourceLine(int entry) {
+    return sourceLines[entry];
+  }
+
+  /** Returns the 0-based column in the original source. */
+  public int getSourceColumn(int entry) {
+    return sourceColumns[entry];
+  }
+
+  /** Returns the entry's original name, or null if it has none. */
+  public String getName(int entry) {
+    int nameId = nameIds[entry];
+    return nameId == NOT_FOUND ? null : names[nameId];
+  }
+
+  public int getSourceCount() {
+    return sources.length;
+  }
+
+  public String getSource(int sourceId) {
+    return sources[sourceId];
+  }
+}
@@ -34,6 +34,7 @@ import com.google.javascript.jscomp.diagnostic.LogFile;
 import com.google.javascript.jscomp.modules.ModuleMap;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap;
 import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.jscomp.parsing.JsDocParseStats;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.jscomp.parsing.parser.trees.Comment;
 import com.google.javascript.jscomp.type.ReverseAbstractInterpreter;
@@ -535,6 +536,9 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
 
   abstract void addComments(String filename, List<Comment> comments);
 
+  /** Records the time spent parsing the JSDoc of a file, for the tracer report. */
+  abstract void addJsDocParseStats(String filename, JsDocParseStats stats);
+
   /**
    * Returns a summary an entry for every property name found in the AST with a getter and / or
    * setter defined.
@@ -103,6 +103,11 @@ public final class ByPathWarningsGuard extends WarningsGuard {
     return null;
   }
 
+  @Override
+  boolean dependsOnlyOnSourceAndType() {
+    return true;
+  }
+
   @Override
   protected int getPriority() {
     return priority;
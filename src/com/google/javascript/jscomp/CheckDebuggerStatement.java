@@ -15,8 +15,11 @@
  */
 package com.google.javascript.jscomp;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 
 /**
  * {@link CheckDebuggerStatement} checks for the presence of the "debugger"
@@ -25,7 +28,7 @@ import com.google.javascript.rhino.Node;
  * production code.
  */
 class CheckDebuggerStatement extends AbstractPostOrderCallback
-    implements CompilerPass {
+    implements CompilerPass, TokenFilteredCallback {
 
   static final DiagnosticType DEBUGGER_STATEMENT_PRESENT =
     DiagnosticType.disabled("JSC_DEBUGGER_STATEMENT_PRESENT",
@@ -43,6 +46,11 @@ class CheckDebuggerStatement extends AbstractPostOrderCallback
     NodeTraversal.traverse(compiler, root, this);
   }
 
+  @Override
+  public ImmutableSet<Token> getInterestingTokens() {
+    return ImmutableSet.of(Token.DEBUGGER);
+  }
+
   @Override
   public void visit(NodeTraversal t, Node n, Node parent) {
     if (n.isDebugger()) {
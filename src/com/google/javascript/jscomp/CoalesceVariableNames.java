@@ -29,7 +29,7 @@ import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.GraphColoring;
-import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
+import com.google.javascript.jscomp.graph.GraphColoring.ParallelGreedyGraphColoring;
 import com.google.javascript.jscomp.graph.GraphNode;
 import com.google.javascript.jscomp.graph.LinkedUndirectedGraph;
 import com.google.javascript.jscomp.graph.UndiGraph;
@@ -155,7 +155,8 @@ class CoalesceVariableNames extends AbstractPostOrderCallback implements
     // Color any interfering variables with different colors and any variables that can be safely
     // coalesced wih the same color.
     GraphColoring<Var, Void> coloring =
-        new GreedyGraphColoring<>(interferenceGraph, coloringTieBreaker);
+        new ParallelGreedyGraphColoring<>(
+            interferenceGraph, coloringTieBreaker, compiler.getOptions().numParallelThreads);
     coloring.color();
     colorings.push(coloring);
   }
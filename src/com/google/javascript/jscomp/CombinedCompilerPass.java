@@ -17,10 +17,13 @@
 package com.google.javascript.jscomp;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.NodeTraversal.Callback;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.rhino.Node;
-
+import com.google.javascript.rhino.Token;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,6 +35,10 @@ import java.util.List;
  * <p>Due to this compiler pass' nature, none of the callbacks may mutate
  * the parse tree.</p>
  *
+ * <p>Callbacks implementing {@link TokenFilteredCallback} are only sent
+ * messages for nodes with the tokens they are interested in. Subtrees for
+ * which every callback has declined traversal are skipped entirely.</p>
+ *
  * <p>TODO(user):
  * This combined pass is currently limited in the type of callbacks it can
  * combine due to the difficulty of handling NodeTraversal's methods that
@@ -49,6 +56,16 @@ final class CombinedCompilerPass implements HotSwapCompilerPass,
 
   /** The callbacks that this pass combines. */
   private final CallbackWrapper[] callbacks;
+
+  /**
+   * The callbacks interested in each token, indexed by {@link Token#ordinal},
+   * in the order the callbacks were given.
+   */
+  private final CallbackWrapper[][] callbacksByToken;
+
+  /** The number of callbacks that currently receive messages. */
+  private int activeCount;
+
   private final AbstractCompiler compiler;
 
   /**
@@ -67,6 +84,20 @@ final class CombinedCompilerPass implements HotSwapCompilerPass,
     for (int i = 0; i < callbacks.size(); i++) {
       this.callbacks[i] = new CallbackWrapper(callbacks.get(i));
     }
+    this.activeCount = this.callbacks.length;
+
+    Token[] tokens = Token.values();
+    this.callbacksByToken = new CallbackWrapper[tokens.length][];
+    List<CallbackWrapper> interested = new ArrayList<>();
+    for (Token token : tokens) {
+      interested.clear();
+      for (CallbackWrapper callback : this.callbacks) {
+        if (callback.isInterestedIn(token)) {
+          interested.add(callback);
+        }
+      }
+      this.callbacksByToken[token.ordinal()] = interested.toArray(new CallbackWrapper[0]);
+    }
   }
 
   static void traverse(AbstractCompiler compiler, Node root,
@@ -96,6 +127,12 @@ final class CombinedCompilerPass implements HotSwapCompilerPass,
      */
     private final ScopedCallback scopedCallback;
 
+    /**
+     * if (callback instanceof TokenFilteredCallback), then the tokens it is
+     * interested in, otherwise null.
+     */
+    private final ImmutableSet<Token> interestingTokens;
+
     /**
      * The node that {@link Callback#shouldTraverse(NodeTraversal, Node, Node)}
      * returned false for. The wrapped callback doesn't receive messages until
@@ -110,24 +147,53 @@ final class CombinedCompilerPass implements HotSwapCompilerPass,
       } else {
         scopedCallback = null;
       }
+      if (callback instanceof TokenFilteredCallback) {
+        interestingTokens = ((TokenFilteredCallback) callback).getInterestingTokens();
+      } else {
+        interestingTokens = null;
+      }
+    }
+
+    boolean isInterestedIn(Token token) {
+      return interestingTokens == null || interestingTokens.contains(token);
     }
 
     /**
      * Visits the node unless the wrapped callback is inactive. Activates the
-     * callback if appropriate.
+     * callback if appropriate, returning whether it did so.
      */
-    void visitOrMaybeActivate(NodeTraversal t, Node n, Node parent) {
+    boolean visitOrMaybeActivate(NodeTraversal t, Node n, Node parent) {
       if (isActive()) {
         callback.visit(t, n, parent);
       } else if (waiting == n) {
         waiting = null;
+        return true;
       }
+      return false;
     }
 
-    void shouldTraverseIfActive(NodeTraversal t, Node n, Node parent) {
+    /**
+     * Asks the wrapped callback whether to traverse the children of the node,
+     * returning whether it has become inactive as a result.
+     */
+    boolean shouldTraverseIfActive(NodeTraversal t, Node n, Node parent) {
       if (isActive() && !callback.shouldTraverse(t, n, parent)) {
         waiting = n;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Activates the callback if it became inactive at the given node, whose
+     * post-order visit won't happen.
+     */
+    boolean maybeActivate(Node n) {
+      if (waiting == n) {
+        waiting = null;
+        return true;
       }
+      return false;
     }
 
     void enterScopeIfActive(NodeTraversal t) {
@@ -163,15 +229,24 @@ final class CombinedCompilerPass implements HotSwapCompilerPass,
       return false;
     }
 
+    for (CallbackWrapper callback : callbacksByToken[n.getToken().ordinal()]) {
+      if (callback.shouldTraverseIfActive(t, n, parent)) {
+        activeCount--;
+      }
+    }
+    if (activeCount > 0) {
+      return true;
+    }
+
+    // No callback wants to see the children, so skip them. The traversal
+    // won't visit this node in post-order either, so reactivate the callbacks
+    // that are waiting for that visit here.
     for (CallbackWrapper callback : callbacks) {
-      callback.shouldTraverseIfActive(t, n, parent);
-    }
-    // Note that this method could return false if all callbacks are inactive.
-    // This apparent optimization would make this method more expensive
-    // in the typical case where not all nodes are inactive. It is
-    // very unlikely that many all callbacks would be inactive at the same
-    // time (indeed, there are several checking passes that never return false).
-    return true;
+      if (callback.maybeActivate(n)) {
+        activeCount++;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -180,8 +255,10 @@ final class CombinedCompilerPass implements HotSwapCompilerPass,
       return;
     }
 
-    for (CallbackWrapper callback : callbacks) {
-      callback.visitOrMaybeActivate(t, n, parent);
+    for (CallbackWrapper callback : callbacksByToken[n.getToken().ordinal()]) {
+      if (callback.visitOrMaybeActivate(t, n, parent)) {
+        activeCount++;
+      }
     }
   }
 
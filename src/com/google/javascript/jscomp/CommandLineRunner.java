@@ -727,7 +727,10 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
     @Option(
         name = "--translations_file",
         hidden = true,
-        usage = "Source of translated messages. Currently only supports XTB.")
+        usage =
+            "Source of translated messages. Either an XTB file or an index of one, as written by"
+                + " running com.google.javascript.jscomp.XtbMessageIndex with the XTB file and"
+                + " the index file as arguments.")
     private String translationsFile = "";
 
     @Option(
@@ -1944,9 +1947,15 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
 
     if (!flags.translationsFile.isEmpty()) {
       try {
+        boolean isIndex;
+        try (FileInputStream header = new FileInputStream(flags.translationsFile)) {
+          isIndex = XtbMessageIndex.startsWithIndexHeader(header);
+        }
         options.messageBundle =
-            new XtbMessageBundle(
-                new FileInputStream(flags.translationsFile), flags.translationsProject);
+            isIndex
+                ? XtbMessageIndex.map(Paths.get(flags.translationsFile), flags.translationsProject)
+                : new XtbMessageBundle(
+                    new FileInputStream(flags.translationsFile), flags.translationsProject);
       } catch (IOException e) {
         throw new RuntimeException("Reading XTB file", e);
       }
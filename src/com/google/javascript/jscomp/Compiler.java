@@ -35,6 +35,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Streams;
 import com.google.debugging.sourcemap.SourceMapConsumerV3;
+import com.google.debugging.sourcemap.SourceMapLookupTable;
 import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
 import com.google.javascript.jscomp.CompilerInput.ModuleType;
 import com.google.javascript.jscomp.CompilerOptions.DevMode;
@@ -63,6 +64,7 @@ import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.jscomp.parsing.Config.LanguageMode;
 import com.google.javascript.jscomp.parsing.Config.RunMode;
 import com.google.javascript.jscomp.parsing.Config.StrictMode;
+import com.google.javascript.jscomp.parsing.JsDocParseStats;
 import com.google.javascript.jscomp.parsing.ParserRunner;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet.Feature;
@@ -99,6 +101,8 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -207,6 +211,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   // Map from filenames to lists of all the comments in each file.
   private Map<String, List<Comment>> commentsPerFile = new ConcurrentHashMap<>();
 
+  // Map from filenames to the time spent parsing their JSDoc, when tracing.
+  private final Map<String, JsDocParseStats> jsDocParseStatsPerFile = new ConcurrentHashMap<>();
+
   /** The source code map */
   private SourceMap sourceMap;
 
@@ -285,22 +292,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   /**
    * When mapping symbols from a source map, we must repeatedly combine the path of the original
-   * file with the path from the source map to compute the SourceFile of the underlying code. When
-   * iterating through adjacent symbols this computation ends up computing the same thing.
-   *
-   * <p>This object tracks the last source map we resolved to reduce that work. It caches: for a
-   * given originalPath+sourceMapPath, what sourceFile did we find?
-   */
-  private static class ResolvedSourceMap {
-    public String originalPath;
-    public String sourceMapPath;
-    public String relativePath;
-  }
-
-  /**
-   * There is exactly one cached resolvedSourceMap, which you can think of as a cache of size one.
+   * file with the path from the source map to compute the SourceFile of the underlying code. Each
+   * input source map is therefore flattened and has its original paths resolved once, keyed like
+   * {@link #inputSourceMaps}. Source maps that failed to load are recorded as absent.
    */
-  private final ResolvedSourceMap resolvedSourceMap = new ResolvedSourceMap();
+  private final ConcurrentHashMap<String, Optional<PrecomposedSourceMap>> precomposedSourceMaps =
+      new ConcurrentHashMap<>();
 
   /** Creates a Compiler that reports errors and warnings to its logger. */
   public Compiler() {
@@ -323,11 +320,17 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   /**
    * Sets the error manager.
    *
+   * <p>The error manager is wrapped to make it thread-safe, unless it is a {@link
+   * ThreadBufferingErrorManager}, which already is.
+   *
    * @param errorManager the error manager, it cannot be {@code null}
    */
   public void setErrorManager(ErrorManager errorManager) {
     checkNotNull(errorManager, "the error manager cannot be null");
-    this.errorManager = new ThreadSafeDelegatingErrorManager(errorManager);
+    this.errorManager =
+        errorManager instanceof ThreadBufferingErrorManager
+            ? errorManager
+            : new ThreadSafeDelegatingErrorManager(errorManager);
   }
 
   /** Creates a message formatter instance corresponding to the value of {@link CompilerOptions}. */
@@ -848,6 +851,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     setProgress(1.0, "recordFunctionInformation");
 
     if (tracker != null) {
+      tracker.setJsDocParseStats(jsDocParseStatsPerFile);
+      tracker.setModuleResolutionCacheStats(
+          moduleLoader.getResolutionCacheHits(), moduleLoader.getResolutionCacheMisses());
       if (options.getTracerOutput() == null) {
         tracker.outputTracerReport(this.outStream);
       } else {
@@ -1006,6 +1012,10 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     PhaseOptimizer phaseOptimizer = new PhaseOptimizer(this, tracker);
     if (options.devMode == DevMode.EVERY_PASS) {
       phaseOptimizer.setValidityCheck(validityCheck);
+    } else if (options.devMode == DevMode.SAMPLED_EVERY_PASS) {
+      phaseOptimizer.setSampledChangeVerifier(
+          new SampledChangeVerifier(
+              this, jsRoot, SAMPLED_SCOPES_PER_PASS, new Random(SAMPLED_SCOPES_SEED)));
     }
     if (options.getCheckDeterminism()) {
       phaseOptimizer.setPrintAstHashcodes(true);
@@ -1040,6 +1050,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     p.process(externsRoot, jsRoot);
   }
 
+  /** How many scopes that no pass reported changing are rechecked after each pass. */
+  private static final int SAMPLED_SCOPES_PER_PASS = 32;
+
+  // A fixed seed makes failures from sampled validity checks reproducible.
+  private static final long SAMPLED_SCOPES_SEED = 0x5eed;
+
   private final PassFactory validityCheck =
       PassFactory.builder()
           .setName("validityCheck")
@@ -1548,6 +1564,11 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   }
 
   public SymbolTable buildKnownSymbolTable() {
+    return buildKnownSymbolTable(SymbolTable.Detail.FULL);
+  }
+
+  /** Builds a symbol table that is only filled in as far as the given level of detail. */
+  public SymbolTable buildKnownSymbolTable(SymbolTable.Detail detail) {
     SymbolTable symbolTable = new SymbolTable(this, getTypeRegistry());
 
     TypedScopeCreator typedScopeCreator = getTypedScopeCreator();
@@ -1577,11 +1598,15 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
     symbolTable.fillNamespaceReferences();
     symbolTable.fillPropertyScopes();
-    symbolTable.fillThisReferences(externsRoot, jsRoot);
+    if (detail == SymbolTable.Detail.FULL) {
+      symbolTable.fillThisReferences(externsRoot, jsRoot);
+    }
     symbolTable.fillPropertySymbols(externsRoot, jsRoot);
-    symbolTable.fillSuperReferences(externsRoot, jsRoot);
-    symbolTable.fillJSDocInfo(externsRoot, jsRoot);
-    symbolTable.fillSymbolVisibility(externsRoot, jsRoot);
+    if (detail == SymbolTable.Detail.FULL) {
+      symbolTable.fillSuperReferences(externsRoot, jsRoot);
+      symbolTable.fillJSDocInfo(externsRoot, jsRoot);
+      symbolTable.fillSymbolVisibility(externsRoot, jsRoot);
+    }
     symbolTable.removeGeneratedSymbols();
 
     return symbolTable;
@@ -1646,7 +1671,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
    * @return A synthetic root node whose two children are the externs root and the main root
    */
   Node parseInputs() {
-    boolean devMode = options.devMode != DevMode.OFF;
+    // The sampled mode is meant for production builds, so it skips the whole-program check here.
+    boolean devMode =
+        options.devMode != DevMode.OFF && options.devMode != DevMode.SAMPLED_EVERY_PASS;
 
     // If old roots exist (we are parsing a second time), detach each of the
     // individual file parse trees.
@@ -2705,7 +2732,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
         options.canContinueAfterErrors() ? RunMode.KEEP_GOING : RunMode.STOP_AFTER_ERROR,
         options.extraAnnotationNames,
         options.parseInlineSourceMaps,
-        strictMode);
+        strictMode,
+        options.isLazyJsDocParsing(),
+        options.isLazyParserTokens());
   }
 
   // ------------------------------------------------------------------------
@@ -2724,7 +2753,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   public void report(JSError error) {
     CheckLevel level = error.getDefaultLevel();
     if (warningsGuard != null) {
+      PerformanceTracker tracker = this.tracker;
+      long start = tracker != null ? System.nanoTime() : 0;
       CheckLevel newLevel = warningsGuard.level(error);
+      if (tracker != null) {
+        tracker.recordWarningsGuardEvaluation(System.nanoTime() - start);
+      }
       if (newLevel != null) {
         level = newLevel;
       }
@@ -2822,6 +2856,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   @Override
   public void addInputSourceMap(String sourceFileName, SourceMapInput inputSourceMap) {
     inputSourceMaps.put(sourceFileName, inputSourceMap);
+    precomposedSourceMaps.remove(sourceFileName);
     if (options.sourceMapIncludeSourcesContent && sourceMap != null) {
       addSourceMapSourceFiles(inputSourceMap);
     }
@@ -2864,57 +2899,68 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     if (sourceName == null) {
       return null;
     }
+    // JSCompiler uses 1-indexing for lineNumber and 0-indexing for columnNumber, and so does the
+    // precomposed map.
+    PrecomposedSourceMap precomposed = getPrecomposedSourceMap(sourceName);
+    return precomposed == null ? null : precomposed.getMapping(lineNumber, columnNumber);
+  }
+
+  /**
+   * Returns the flattened form of the input source map for {@code sourceName}, building it if
+   * necessary, or null if there is no such source map or it could not be loaded.
+   */
+  @Nullable
+  PrecomposedSourceMap getPrecomposedSourceMap(String sourceName) {
     SourceMapInput sourceMap = inputSourceMaps.get(sourceName);
     if (sourceMap == null) {
       return null;
     }
+    return precomposedSourceMaps
+        .computeIfAbsent(sourceName, (String k) -> precomposeSourceMap(sourceMap))
+        .orElse(null);
+  }
 
-    // JSCompiler uses 1-indexing for lineNumber and 0-indexing for columnNumber.
-    // Sourcemaps use 1-indexing for both.
+  private Optional<PrecomposedSourceMap> precomposeSourceMap(SourceMapInput sourceMap) {
     SourceMapConsumerV3 consumer = sourceMap.getSourceMap(errorManager);
     if (consumer == null) {
-      return null;
-    }
-    OriginalMapping result = consumer.getMappingForLine(lineNumber, columnNumber + 1);
-    if (result == null) {
-      return null;
+      return Optional.empty();
     }
-
-    // First check to see if the original file was loaded from an input source map.
+    SourceMapLookupTable table = consumer.createLookupTable();
     String sourceMapOriginalPath = sourceMap.getOriginalPath();
-    String resultOriginalPath = result.getOriginalFile();
-    final String relativePath;
+    String[] resolvedSources = new String[table.getSourceCount()];
+    for (int i = 0; i < resolvedSources.length; i++) {
+      resolvedSources[i] = resolveSourceMapOriginalPath(sourceMapOriginalPath, table.getSource(i));
+    }
+    return Optional.of(new PrecomposedSourceMap(table, resolvedSources));
+  }
 
-    // Resolving the paths to a source file is expensive, so check the cache first.
-    if (sourceMapOriginalPath.equals(resolvedSourceMap.originalPath)
-        && resultOriginalPath.equals(resolvedSourceMap.sourceMapPath)) {
-      relativePath = resolvedSourceMap.relativePath;
-    } else {
-      relativePath =
-          Paths.get(sourceMapOriginalPath)
-              .resolveSibling(resultOriginalPath)
-              .normalize()
-              .toString();
-      SourceFile source = getSourceFileByName(relativePath);
-      if (source == null && !isNullOrEmpty(resultOriginalPath)) {
-        source =
-            SourceMapResolver.getRelativePath(
-                sourceMap.getOriginalPath(), result.getOriginalFile());
-        if (source != null) {
-          sourceMapOriginalSources.putIfAbsent(relativePath, source);
-        }
+  /**
+   * Resolves a path from the "sources" of an input source map against the location of the source
+   * map itself, registering the original source if it isn't a compiler input.
+   */
+  private String resolveSourceMapOriginalPath(
+      String sourceMapOriginalPath, String resultOriginalPath) {
+    String relativePath =
+        Paths.get(sourceMapOriginalPath).resolveSibling(resultOriginalPath).normalize().toString();
+    SourceFile source = getSourceFileByName(relativePath);
+    if (source == null && !isNullOrEmpty(resultOriginalPath)) {
+      source = SourceMapResolver.getRelativePath(sourceMapOriginalPath, resultOriginalPath);
+      if (source != null) {
+        sourceMapOriginalSources.putIfAbsent(relativePath, source);
       }
-
-      // Cache this resolved source for the next caller.
-      resolvedSourceMap.originalPath = sourceMapOriginalPath;
-      resolvedSourceMap.sourceMapPath = resultOriginalPath;
-      resolvedSourceMap.relativePath = relativePath;
     }
+    return relativePath;
+  }
 
-    return result.toBuilder()
-        .setOriginalFile(relativePath)
-        .setColumnPosition(result.getColumnPosition() - 1)
-        .build();
+  /**
+   * Builds the flattened form of every input source map, in parallel when the options allow it, so
+   * that printing the output source map doesn't have to.
+   */
+  private void prebuildInputSourceMaps() {
+    if (options.numParallelThreads > 1 && inputSourceMaps.size() > 1) {
+      new PrebuildInputSourceMaps(this, options.numParallelThreads)
+          .prebuild(ImmutableList.copyOf(inputSourceMaps.keySet()));
+    }
   }
 
   @Override
@@ -3430,6 +3476,11 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     commentsPerFile.put(filename, comments);
   }
 
+  @Override
+  void addJsDocParseStats(String filename, JsDocParseStats stats) {
+    jsDocParseStatsPerFile.put(filename, stats);
+  }
+
   @Override
   public List<Comment> getComments(String filename) {
     if (!getOptions().preservesDetailedSourceInfo()) {
@@ -3604,6 +3655,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     crossModuleIdGenerator = compilerState.crossModuleIdGenerator;
     annotationMap = checkNotNull(compilerState.annotationMap);
     inputSourceMaps = compilerState.inputSourceMaps;
+    precomposedSourceMaps.clear();
     changeStamp = compilerState.changeStamp;
 
     if (tracker != null) {
@@ -3647,6 +3699,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       return;
     }
     sourceMap.reset();
+    if (options.applyInputSourceMaps) {
+      prebuildInputSourceMaps();
+    }
     if (options.sourceMapIncludeSourcesContent) {
       if (options.applyInputSourceMaps) {
         // Add any input source map content files to the source map as potential sources
@@ -287,6 +287,10 @@ public class CompilerOptions implements Serializable {
 
   private Config.JsDocParsing parseJsDocDocumentation = Config.JsDocParsing.TYPES_ONLY;
 
+  private boolean lazyJsDocParsing = false;
+
+  private boolean lazyParserTokens = false;
+
   private boolean printExterns;
 
   void setPrintExterns(boolean printExterns) {
@@ -1931,6 +1935,33 @@ public class CompilerOptions implements Serializable {
     return this.parseJsDocDocumentation;
   }
 
+  /**
+   * Defers parsing each JSDoc comment until its {@link com.google.javascript.rhino.JSDocInfo} is
+   * first read. This saves time when few passes read JSDoc, e.g. for whitespace-only transpilation.
+   * Warnings in a deferred comment are only reported if it is read, and aren't part of the cached
+   * parse results of its file.
+   */
+  public void setLazyJsDocParsing(boolean lazyJsDocParsing) {
+    this.lazyJsDocParsing = lazyJsDocParsing;
+  }
+
+  public boolean isLazyJsDocParsing() {
+    return lazyJsDocParsing;
+  }
+
+  /**
+   * Has the parser's scanner keep punctuator and keyword tokens as just their type and offsets, and
+   * create Token objects only for the ones the parser asks for. This cuts the garbage created while
+   * parsing large inputs; the resulting ASTs are the same.
+   */
+  public void setLazyParserTokens(boolean lazyParserTokens) {
+    this.lazyParserTokens = lazyParserTokens;
+  }
+
+  public boolean isLazyParserTokens() {
+    return lazyParserTokens;
+  }
+
   /**
    * Skip all passes (other than transpilation, if requested). Don't inject any runtime libraries
    * (unless explicitly requested) or do any checks/optimizations (this is useful for per-file
@@ -2737,6 +2768,8 @@ public class CompilerOptions implements Serializable {
         .add("labelRenaming", labelRenaming)
         .add("languageIn", getLanguageIn())
         .add("languageOutIsDefaultStrict", languageOutIsDefaultStrict)
+        .add("lazyJsDocParsing", lazyJsDocParsing)
+        .add("lazyParserTokens", lazyParserTokens)
         .add("lineBreak", lineBreak)
         .add("lineLengthThreshold", lineLengthThreshold)
         .add("locale", locale)
@@ -3002,7 +3035,13 @@ public class CompilerOptions implements Serializable {
     START_AND_END,
 
     /** After every pass */
-    EVERY_PASS
+    EVERY_PASS,
+
+    /**
+     * After every pass, but only for the code the pass reported changing plus a random sample of
+     * the rest. Much cheaper than {@link #EVERY_PASS}.
+     */
+    SAMPLED_EVERY_PASS
   }
 
   /** How much tracing we want to do */
@@ -25,7 +25,11 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
 
 /**
  * WarningsGuard that represents just a chain of other guards. For example we
@@ -72,6 +76,80 @@ public class ComposeWarningsGuard extends WarningsGuard {
   // The order that the guards are applied in.
   private final TreeSet<WarningsGuard> guards = new TreeSet<>(guardComparator);
 
+  /**
+   * The guards in the order they are applied in, with consecutive guards whose outcome is
+   * determined by an error's {@link DecisionKey} grouped into a run whose combined outcome is
+   * memoized. Built on first use, and discarded whenever a guard is added.
+   */
+  @Nullable private transient volatile ImmutableList<GuardRun> compiledGuards;
+
+  /**
+   * The inputs of {@link WarningsGuard#level} for guards that {@link
+   * WarningsGuard#dependsOnlyOnSourceAndType}.
+   */
+  private static final class DecisionKey {
+    @Nullable private final String sourceName;
+    private final DiagnosticType type;
+    private final CheckLevel defaultLevel;
+
+    DecisionKey(JSError error) {
+      this.sourceName = error.getSourceName();
+      this.type = error.getType();
+      this.defaultLevel = error.getDefaultLevel();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof DecisionKey)) {
+        return false;
+      }
+      DecisionKey that = (DecisionKey) o;
+      return Objects.equals(sourceName, that.sourceName)
+          && type.equals(that.type)
+          && defaultLevel == that.defaultLevel;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sourceName, type, defaultLevel);
+    }
+  }
+
+  /**
+   * Consecutive guards of the chain. If the guards are keyed, the first non-null level they assign
+   * is memoized per {@link DecisionKey}; an empty result means that none of them knew what to do.
+   */
+  private static final class GuardRun {
+    private final ImmutableList<WarningsGuard> guards;
+    @Nullable private final ConcurrentHashMap<DecisionKey, Optional<CheckLevel>> decisions;
+
+    GuardRun(ImmutableList<WarningsGuard> guards, boolean keyed) {
+      this.guards = guards;
+      this.decisions = keyed ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Nullable
+    CheckLevel level(JSError error) {
+      if (decisions == null) {
+        return evaluate(error);
+      }
+      return decisions
+          .computeIfAbsent(new DecisionKey(error), (k) -> Optional.ofNullable(evaluate(error)))
+          .orElse(null);
+    }
+
+    @Nullable
+    private CheckLevel evaluate(JSError error) {
+      for (WarningsGuard guard : guards) {
+        CheckLevel newLevel = guard.level(error);
+        if (newLevel != null) {
+          return newLevel;
+        }
+      }
+      return null;
+    }
+  }
+
   public ComposeWarningsGuard(List<WarningsGuard> guards) {
     addGuards(guards);
   }
@@ -95,6 +173,7 @@ public class ComposeWarningsGuard extends WarningsGuard {
       guards.remove(guard);
       guards.add(guard);
     }
+    compiledGuards = null;
   }
 
   private void addGuards(Iterable<WarningsGuard> guards) {
@@ -105,8 +184,13 @@ public class ComposeWarningsGuard extends WarningsGuard {
 
   @Override
   public CheckLevel level(JSError error) {
-    for (WarningsGuard guard : guards) {
-      CheckLevel newLevel = guard.level(error);
+    ImmutableList<GuardRun> runs = compiledGuards;
+    if (runs == null) {
+      runs = compileGuards();
+      compiledGuards = runs;
+    }
+    for (GuardRun run : runs) {
+      CheckLevel newLevel = run.level(error);
       if (newLevel != null) {
         if (demoteErrors && newLevel == CheckLevel.ERROR) {
           return CheckLevel.WARNING;
@@ -117,6 +201,28 @@ public class ComposeWarningsGuard extends WarningsGuard {
     return null;
   }
 
+  /** Splits the guards into runs of guards that are all keyed or all not keyed. */
+  private ImmutableList<GuardRun> compileGuards() {
+    ImmutableList.Builder<GuardRun> runs = ImmutableList.builder();
+    ImmutableList.Builder<WarningsGuard> run = ImmutableList.builder();
+    boolean runIsKeyed = false;
+    boolean runIsEmpty = true;
+    for (WarningsGuard guard : guards) {
+      boolean keyed = guard.dependsOnlyOnSourceAndType();
+      if (!runIsEmpty && keyed != runIsKeyed) {
+        runs.add(new GuardRun(run.build(), runIsKeyed));
+        run = ImmutableList.builder();
+      }
+      run.add(guard);
+      runIsKeyed = keyed;
+      runIsEmpty = false;
+    }
+    if (!runIsEmpty) {
+      runs.add(new GuardRun(run.build(), runIsKeyed));
+    }
+    return runs.build();
+  }
+
   @Override
   public boolean disables(DiagnosticGroup group) {
     nextSingleton:
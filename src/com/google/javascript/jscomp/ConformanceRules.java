@@ -1212,7 +1212,7 @@ public final class ConformanceRules {
 
   /** Banned Code Pattern rule */
   static class BannedCodePattern extends AbstractRule {
-    private final ImmutableList<TemplateAstMatcher> restrictions;
+    private final TemplateAstMatcherIndex<TemplateAstMatcher> restrictions;
 
     BannedCodePattern(AbstractCompiler compiler, Requirement requirement)
         throws InvalidRequirementSpec {
@@ -1222,7 +1222,8 @@ public final class ConformanceRules {
         throw new InvalidRequirementSpec("missing value");
       }
 
-      ImmutableList.Builder<TemplateAstMatcher> builder = ImmutableList.builder();
+      TemplateAstMatcherIndex.Builder<TemplateAstMatcher> builder =
+          TemplateAstMatcherIndex.builder();
       for (String value : requirement.getValueList()) {
         Node parseRoot = new JsAst(SourceFile.fromCode("<template>", value)).getAstRoot(compiler);
         if (!parseRoot.hasOneChild() || !parseRoot.getFirstChild().isFunction()) {
@@ -1231,7 +1232,7 @@ public final class ConformanceRules {
         Node templateRoot = parseRoot.getFirstChild();
         TemplateAstMatcher astMatcher =
             new TemplateAstMatcher(compiler, templateRoot, typeMatchingStrategy);
-        builder.add(astMatcher);
+        builder.add(astMatcher, astMatcher);
       }
 
       restrictions = builder.build();
@@ -1240,8 +1241,9 @@ public final class ConformanceRules {
     @Override
     protected ConformanceResult checkConformance(NodeTraversal t, Node n) {
       boolean possibleViolation = false;
-      for (int i = 0; i < restrictions.size(); i++) {
-        TemplateAstMatcher matcher = restrictions.get(i);
+      ImmutableList<TemplateAstMatcher> candidates = restrictions.getCandidates(n);
+      for (int i = 0; i < candidates.size(); i++) {
+        TemplateAstMatcher matcher = candidates.get(i);
         if (matcher.matches(n)) {
           if (matcher.isLooseMatch()) {
             possibleViolation = true;
@@ -18,6 +18,7 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.max;
 
 import com.google.javascript.jscomp.CrossChunkReferenceCollector.TopLevelStatement;
 import com.google.javascript.rhino.IR;
@@ -25,6 +26,7 @@ import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Deque;
@@ -74,6 +76,13 @@ class CrossChunkCodeMotion implements CompilerPass {
    */
   private final Map<JSModule, Node> moduleInsertionPointMap = new HashMap<>();
 
+  /**
+   * Memoizes {@link JSModuleGraph#getSmallestCoveringSubtree} by the chunk indices of the parent
+   * tree and then of the chunks to cover. Many symbols are referenced from exactly the same chunks.
+   */
+  private final Map<Integer, Map<BitSet, JSModule>> smallestCoveringSubtreeCache =
+      new HashMap<>();
+
   private final boolean parentModuleCanSeeSymbolsDeclaredInChildren;
 
   /**
@@ -96,7 +105,12 @@ class CrossChunkCodeMotion implements CompilerPass {
     if (graph.getModuleCount() > 1) {
       CrossChunkReferenceCollector referenceCollector =
           new CrossChunkReferenceCollector(compiler, new SyntacticScopeCreator(compiler));
-      referenceCollector.process(root);
+      int numParallelThreads = compiler.getOptions().numParallelThreads;
+      if (numParallelThreads > 1) {
+        referenceCollector.processInParallel(root, numParallelThreads);
+      } else {
+        referenceCollector.process(root);
+      }
       Collection<GlobalSymbol> globalSymbols =
           new GlobalSymbolCollector().collectGlobalSymbols(referenceCollector);
       moveGlobalSymbols(globalSymbols);
@@ -117,7 +131,11 @@ class CrossChunkCodeMotion implements CompilerPass {
   /** Collects all global symbols, their declaration statements and references. */
   private class GlobalSymbolCollector {
 
-    final Map<Var, GlobalSymbol> globalSymbolforVar = new HashMap<>();
+    /**
+     * Indexed by {@link Var#getIndex}, which is dense among the vars of the global scope. This is
+     * much cheaper than a map when there are millions of global names.
+     */
+    GlobalSymbol[] globalSymbolForVarIndex = new GlobalSymbol[16];
 
     /**
      * Returning the symbols in the reverse order in which they are defined helps to minimize
@@ -198,11 +216,20 @@ class CrossChunkCodeMotion implements CompilerPass {
     }
 
     private GlobalSymbol getGlobalSymbol(Var var) {
-      GlobalSymbol globalSymbol = globalSymbolforVar.get(var);
+      checkState(var.isGlobal() && var.getIndex() >= 0, var);
+      int index = var.getIndex();
+      if (index >= globalSymbolForVarIndex.length) {
+        globalSymbolForVarIndex =
+            Arrays.copyOf(
+                globalSymbolForVarIndex, max(index + 1, 2 * globalSymbolForVarIndex.length));
+      }
+      GlobalSymbol globalSymbol = globalSymbolForVarIndex[index];
       if (globalSymbol == null) {
         globalSymbol = new GlobalSymbol(var);
-        globalSymbolforVar.put(var, globalSymbol);
+        globalSymbolForVarIndex[index] = globalSymbol;
         symbolStack.push(globalSymbol);
+      } else {
+        checkState(globalSymbol.var == var, "Vars from different global scopes: %s", var);
       }
       return globalSymbol;
     }
@@ -620,7 +647,7 @@ class CrossChunkCodeMotion implements CompilerPass {
       } else if (!allStatementsCanMove()) {
         return currentModule;
       } else {
-        return graph.getSmallestCoveringSubtree(currentModule, modulesWithImmovableReferences);
+        return getSmallestCoveringSubtree(currentModule, modulesWithImmovableReferences);
       }
     }
 
@@ -634,6 +661,18 @@ class CrossChunkCodeMotion implements CompilerPass {
     }
   }
 
+  private JSModule getSmallestCoveringSubtree(JSModule parentTree, BitSet dependentModules) {
+    Map<BitSet, JSModule> cacheForParentTree =
+        smallestCoveringSubtreeCache.computeIfAbsent(parentTree.getIndex(), k -> new HashMap<>());
+    JSModule result = cacheForParentTree.get(dependentModules);
+    if (result == null) {
+      result = graph.getSmallestCoveringSubtree(parentTree, dependentModules);
+      // The caller keeps modifying its BitSet, so the key must be a copy.
+      cacheForParentTree.put((BitSet) dependentModules.clone(), result);
+    }
+    return result;
+  }
+
   interface InstanceofReference {
     JSModule getModule();
 
@@ -22,6 +22,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
@@ -63,10 +64,23 @@ public final class CrossChunkReferenceCollector implements ScopedCallback, Compi
   private int statementCounter = 0;
   private TopLevelStatementDraft topLevelStatementDraft = null;
 
+  /**
+   * The block to use for the global scope, or null to create one when the traversal enters it.
+   * Collectors for different scripts must share it, since references in different scripts are
+   * compared by walking up to a common block.
+   */
+  @Nullable private final BasicBlock globalBlock;
+
   /** Constructor initializes block stack. */
   CrossChunkReferenceCollector(AbstractCompiler compiler, ScopeCreator creator) {
+    this(compiler, creator, null);
+  }
+
+  private CrossChunkReferenceCollector(
+      AbstractCompiler compiler, ScopeCreator creator, @Nullable BasicBlock globalBlock) {
     this.compiler = compiler;
     this.scopeCreator = creator;
+    this.globalBlock = globalBlock;
   }
 
   /**
@@ -86,6 +100,74 @@ public final class CrossChunkReferenceCollector implements ScopedCallback, Compi
     t.traverse(root);
   }
 
+  /**
+   * Collects the same information as {@link #process(Node)}, but traverses the scripts of
+   * different chunks on different threads.
+   *
+   * <p>All of the traversals share one global scope, which nothing modifies once it has been
+   * created, so every traversal sees the same {@link Var} for a global name. Each script gets its
+   * own collector, and their results are appended to this one in the original order of the
+   * scripts.
+   */
+  void processInParallel(Node root, int numParallelThreads) {
+    checkState(topLevelStatements.isEmpty(), "process() called more than once");
+    AbstractScope<?, ?> globalScope = scopeCreator.createScope(root, null);
+    BasicBlock sharedGlobalBlock = new BasicBlock(null, root);
+
+    Map<JSModule, List<Node>> scriptsByChunk = new LinkedHashMap<>();
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      JSModule chunk = compiler.getInput(script.getInputId()).getModule();
+      scriptsByChunk.computeIfAbsent(chunk, (JSModule k) -> new ArrayList<>()).add(script);
+    }
+
+    List<List<CrossChunkReferenceCollector>> collectorsByChunk =
+        WorkerPool.forEachInParallel(
+            scriptsByChunk.values(),
+            numParallelThreads,
+            (List<Node> scripts) -> {
+              List<CrossChunkReferenceCollector> collectors = new ArrayList<>(scripts.size());
+              for (Node script : scripts) {
+                CrossChunkReferenceCollector collector =
+                    new CrossChunkReferenceCollector(compiler, scopeCreator, sharedGlobalBlock);
+                NodeTraversal t = new NodeTraversal(compiler, collector, scopeCreator);
+                t.traverseWithScope(script, globalScope);
+                collectors.add(collector);
+              }
+              return collectors;
+            });
+
+    Map<Node, CrossChunkReferenceCollector> collectorByScript = new HashMap<>();
+    int chunkIndex = 0;
+    for (List<Node> scripts : scriptsByChunk.values()) {
+      List<CrossChunkReferenceCollector> collectors = collectorsByChunk.get(chunkIndex++);
+      for (int i = 0; i < scripts.size(); i++) {
+        collectorByScript.put(scripts.get(i), collectors.get(i));
+      }
+    }
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      append(collectorByScript.get(script));
+    }
+  }
+
+  /** Adds everything another collector found after everything this one has found so far. */
+  private void append(CrossChunkReferenceCollector other) {
+    for (Map.Entry<String, Var> entry : other.varsByName.entrySet()) {
+      Var previous = varsByName.putIfAbsent(entry.getKey(), entry.getValue());
+      checkState(previous == null || previous.equals(entry.getValue()), previous);
+    }
+    for (Map.Entry<Var, ReferenceCollection> entry : other.referenceMap.entrySet()) {
+      ReferenceCollection references =
+          referenceMap.computeIfAbsent(entry.getKey(), (Var k) -> new ReferenceCollection());
+      for (Reference reference : entry.getValue()) {
+        references.add(reference);
+      }
+    }
+    // The statements must belong to this collector, which sees the references in all scripts.
+    for (TopLevelStatement statement : other.topLevelStatements) {
+      topLevelStatements.add(new TopLevelStatement(statement, statementCounter++));
+    }
+  }
+
   /**
    * Gets the variables that were referenced in this callback.
    */
@@ -153,7 +235,8 @@ public final class CrossChunkReferenceCollector implements ScopedCallback, Compi
     // the ES5 scoping rules. Other nodes that ought to be considered the root of a BasicBlock
     // are added in shouldTraverse() and removed in visit().
     if (t.isHoistScope()) {
-      blockStack.add(new BasicBlock(parent, n));
+      boolean isGlobalBlock = parent == null && globalBlock != null;
+      blockStack.add(isGlobalBlock ? globalBlock : new BasicBlock(parent, n));
     }
   }
 
@@ -464,6 +547,15 @@ public final class CrossChunkReferenceCollector implements ScopedCallback, Compi
       this.declaredValueNode = draft.declaredValueNode;
     }
 
+    TopLevelStatement(TopLevelStatement statement, int originalOrder) {
+      this.originalOrder = originalOrder;
+      this.module = statement.module;
+      this.statementNode = statement.statementNode;
+      this.nonDeclarationReferences = statement.nonDeclarationReferences;
+      this.declaredNameReference = statement.declaredNameReference;
+      this.declaredValueNode = statement.declaredValueNode;
+    }
+
     int getOriginalOrder() {
       return originalOrder;
     }
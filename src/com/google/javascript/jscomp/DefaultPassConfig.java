@@ -2167,7 +2167,9 @@ public final class DefaultPassConfig extends PassConfig {
           .setInternalFactory(
               (compiler) ->
                   new DisambiguateProperties2(
-                      compiler, options.getPropertiesThatMustDisambiguate()))
+                      compiler,
+                      options.getPropertiesThatMustDisambiguate(),
+                      options.numParallelThreads))
           .setFeatureSetForOptimizations()
           .build();
 
@@ -2501,7 +2503,8 @@ public final class DefaultPassConfig extends PassConfig {
                       compiler,
                       options.getPropertyReservedNamingFirstChars(),
                       options.getPropertyReservedNamingNonFirstChars(),
-                      compiler.getExternProperties()))
+                      compiler.getExternProperties(),
+                      options.numParallelThreads))
           .setFeatureSetForOptimizations()
           .build();
 
@@ -2870,7 +2873,11 @@ public final class DefaultPassConfig extends PassConfig {
       PassFactory.builderForHotSwap()
           .setName(PassNames.CREATE_MODULE_MAP)
           .setInternalFactory(
-              (compiler) -> new ModuleMapCreator(compiler, compiler.getModuleMetadataMap()))
+              (compiler) ->
+                  new ModuleMapCreator(
+                      compiler,
+                      compiler.getModuleMetadataMap(),
+                      compiler.getOptions().numParallelThreads))
           // does not look at AST
           .setFeatureSet(FeatureSet.all())
           .build();
@@ -43,6 +43,11 @@ public class DiagnosticGroupPathSuppressingWarningsGuard extends DiagnosticGroup
     ;
   }
 
+  @Override
+  boolean dependsOnlyOnSourceAndType() {
+    return getClass() == DiagnosticGroupPathSuppressingWarningsGuard.class;
+  }
+
   @Override public String toString() {
     return super.toString() + "(" + part + ")";
   }
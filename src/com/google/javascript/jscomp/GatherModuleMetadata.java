@@ -23,6 +23,7 @@ import static com.google.javascript.jscomp.ClosurePrimitiveErrors.INVALID_REQUIR
 import com.google.common.base.Splitter;
 import com.google.common.collect.LinkedHashMultiset;
 import com.google.javascript.jscomp.NodeTraversal.Callback;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.jscomp.deps.ModuleLoader.ModulePath;
 import com.google.javascript.jscomp.deps.ModuleLoader.ResolutionMode;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap;
@@ -31,7 +32,9 @@ import com.google.javascript.jscomp.modules.ModuleMetadataMap.ModuleType;
 import com.google.javascript.jscomp.parsing.parser.Identifiers;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
@@ -98,27 +101,16 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
   /**
    * Map from module path to module. These modules represent files and thus will contain all goog
    * namespaces that are in the file. These are not the same modules in modulesByGoogNamespace.
+   * Insertion-ordered, so that modules are listed in the order of the inputs.
    */
-  private final Map<String, ModuleMetadata> modulesByPath = new HashMap<>();
+  private final Map<String, ModuleMetadata> modulesByPath = new LinkedHashMap<>();
 
   /**
    * Map from Closure namespace to module. These modules represent just the single namespace and
    * thus each module has only one goog namespace in its {@link ModuleMetadata#googNamespaces()}.
    * These are not the same modules in modulesByPath.
    */
-  private final Map<String, ModuleMetadata> modulesByGoogNamespace = new HashMap<>();
-
-  /** The current module being traversed. */
-  private ModuleMetadataBuilder currentModule;
-
-  /**
-   * The module currentModule is nested under, if any. Modules are expected to be at most two deep
-   * (a script and then a goog.loadModule call).
-   */
-  private ModuleMetadataBuilder parentModule;
-
-  /** The call to goog.loadModule we are traversing. */
-  private Node loadModuleCall;
+  private final Map<String, ModuleMetadata> modulesByGoogNamespace = new LinkedHashMap<>();
 
   private final AbstractCompiler compiler;
   private final boolean processCommonJsModules;
@@ -140,8 +132,10 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
     private Node declaresLegacyNamespace;
     final ModuleMetadata.Builder metadataBuilder;
     LinkedHashMultiset<String> googNamespaces = LinkedHashMultiset.create();
+    private final Finder finder;
 
-    ModuleMetadataBuilder(Node rootNode, @Nullable ModulePath path) {
+    ModuleMetadataBuilder(Finder finder, Node rootNode, @Nullable ModulePath path) {
+      this.finder = finder;
       this.metadataBuilder =
           ModuleMetadata.builder()
               .path(path)
@@ -151,7 +145,7 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
               .isTestOnly(false);
     }
 
-    void moduleType(ModuleType type, NodeTraversal t, Node n) {
+    void moduleType(ModuleType type, Node n) {
       checkNotNull(type);
 
       if (metadataBuilder.moduleType() == type) {
@@ -164,7 +158,8 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
       }
 
       ambiguous = true;
-      t.report(n, MIXED_MODULE_TYPE, metadataBuilder.moduleType().description, type.description);
+      finder.report(
+          n, MIXED_MODULE_TYPE, metadataBuilder.moduleType().description, type.description);
     }
 
     void recordDeclareModuleId(Node declaredModuleId) {
@@ -188,15 +183,14 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
         }
 
         if (declaredModuleId != null && metadataBuilder.moduleType() != ModuleType.ES6_MODULE) {
-          compiler.report(JSError.make(declaredModuleId, DECLARE_MODULE_ID_OUTSIDE_ES6_MODULE));
+          finder.report(declaredModuleId, DECLARE_MODULE_ID_OUTSIDE_ES6_MODULE);
         }
 
         if (declaresLegacyNamespace != null) {
           if (metadataBuilder.moduleType() == ModuleType.GOOG_MODULE) {
             metadataBuilder.moduleType(ModuleType.LEGACY_GOOG_MODULE);
           } else {
-            compiler.report(
-                JSError.make(declaresLegacyNamespace, DECLARE_LEGACY_NAMESPACE_IN_NON_MODULE));
+            finder.report(declaresLegacyNamespace, DECLARE_LEGACY_NAMESPACE_IN_NON_MODULE);
           }
         }
       }
@@ -207,6 +201,47 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
 
   /** Traverses the AST and build a sets of {@link ModuleMetadata}s. */
   private final class Finder implements Callback {
+    /** The current module being traversed. */
+    private ModuleMetadataBuilder currentModule;
+
+    /**
+     * The module currentModule is nested under, if any. Modules are expected to be at most two
+     * deep (a script and then a goog.loadModule call).
+     */
+    private ModuleMetadataBuilder parentModule;
+
+    /** The call to goog.loadModule we are traversing. */
+    private Node loadModuleCall;
+
+    /**
+     * The steps whose effects depend on order, in the order the traversal reached them: updates to
+     * the maps shared by all scripts, lookups in them, and error reports. Null if each step runs
+     * immediately. Otherwise this finder traverses a single script on a worker thread, and the
+     * steps run later, one script at a time.
+     */
+    @Nullable private final List<Runnable> orderedSteps;
+
+    Finder() {
+      this(null);
+    }
+
+    Finder(@Nullable List<Runnable> orderedSteps) {
+      this.orderedSteps = orderedSteps;
+    }
+
+    private void runInOrder(Runnable step) {
+      if (orderedSteps == null) {
+        step.run();
+      } else {
+        orderedSteps.add(step);
+      }
+    }
+
+    void report(Node n, DiagnosticType diagnosticType, String... arguments) {
+      JSError error = JSError.make(n, diagnosticType, arguments);
+      runInOrder(() -> compiler.report(error));
+    }
+
     @Override
     public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
       switch (n.getToken()) {
@@ -238,7 +273,7 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
 
     private void visitImportOrExport(NodeTraversal t, Node importOrExport) {
       checkNotNull(currentModule);
-      currentModule.moduleType(ModuleType.ES6_MODULE, t, importOrExport);
+      currentModule.moduleType(ModuleType.ES6_MODULE, importOrExport);
       if (importOrExport.isImport()
           // export from
           || (importOrExport.hasTwoChildren() && importOrExport.getLastChild().isStringLit())) {
@@ -259,10 +294,10 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
     }
 
     private void enterModule(NodeTraversal t, Node n, @Nullable ModulePath path) {
-      ModuleMetadataBuilder newModule = new ModuleMetadataBuilder(n, path);
+      ModuleMetadataBuilder newModule = new ModuleMetadataBuilder(this, n, path);
       if (currentModule != null) {
         if (parentModule != null) {
-          t.report(n, INVALID_NESTED_LOAD_MODULE);
+          report(n, INVALID_NESTED_LOAD_MODULE);
         }
         parentModule = currentModule;
       }
@@ -272,12 +307,15 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
     private void leaveModule() {
       checkNotNull(currentModule);
       ModuleMetadata module = currentModule.build();
-      if (module.path() != null) {
-        modulesByPath.put(module.path().toString(), module);
-      }
-      for (String namespace : module.googNamespaces()) {
-        modulesByGoogNamespace.put(namespace, module);
-      }
+      runInOrder(
+          () -> {
+            if (module.path() != null) {
+              modulesByPath.put(module.path().toString(), module);
+            }
+            for (String namespace : module.googNamespaces()) {
+              modulesByGoogNamespace.put(namespace, module);
+            }
+          });
       if (parentModule != null) {
         parentModule.metadataBuilder.nestedModulesBuilder().add(module);
       }
@@ -291,7 +329,7 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
         // A common JS import (call to "require") does not force a module to be rewritten as
         // commonJS. Only an export statement.
         if (ProcessCommonJSModules.isCommonJsExport(t, n, moduleResolutionMode)) {
-          currentModule.moduleType(ModuleType.COMMON_JS, t, n);
+          currentModule.moduleType(ModuleType.COMMON_JS, n);
           return;
         }
       }
@@ -379,34 +417,34 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
       }
 
       if (getprop.matchesQualifiedName(GOOG_PROVIDE)) {
-        currentModule.moduleType(ModuleType.GOOG_PROVIDE, t, n);
+        currentModule.moduleType(ModuleType.GOOG_PROVIDE, n);
         if (n.hasTwoChildren() && n.getLastChild().isStringLit()) {
           String namespace = n.getLastChild().getString();
           addNamespace(currentModule, ModuleType.GOOG_PROVIDE, namespace, t, n);
         } else {
-          t.report(n, ClosureRewriteModule.INVALID_PROVIDE_NAMESPACE);
+          report(n, ClosureRewriteModule.INVALID_PROVIDE_NAMESPACE);
         }
       } else if (getprop.matchesQualifiedName(GOOG_MODULE)) {
-        currentModule.moduleType(ModuleType.GOOG_MODULE, t, n);
+        currentModule.moduleType(ModuleType.GOOG_MODULE, n);
         if (n.hasTwoChildren() && n.getLastChild().isStringLit()) {
           String namespace = n.getLastChild().getString();
           addNamespace(currentModule, ModuleType.GOOG_MODULE, namespace, t, n);
         } else {
-          t.report(n, ClosureRewriteModule.INVALID_MODULE_ID_ARG);
+          report(n, ClosureRewriteModule.INVALID_MODULE_ID_ARG);
         }
       } else if (getprop.matchesQualifiedName(GOOG_MODULE_DECLARELEGACYNAMESPACE)) {
         currentModule.recordDeclareLegacyNamespace(n);
       } else if (getprop.matchesQualifiedName(GOOG_DECLARE_MODULE_ID)
           || getprop.matchesQualifiedName(GOOG_MODULE_DECLARNAMESPACE)) {
         if (currentModule.declaredModuleId != null) {
-          t.report(n, MULTIPLE_DECLARE_MODULE_NAMESPACE);
+          report(n, MULTIPLE_DECLARE_MODULE_NAMESPACE);
         }
         if (n.hasTwoChildren() && n.getLastChild().isStringLit()) {
           currentModule.recordDeclareModuleId(n);
           String namespace = n.getLastChild().getString();
           addNamespace(currentModule, ModuleType.GOOG_MODULE, namespace, t, n);
         } else {
-          t.report(n, INVALID_DECLARE_MODULE_ID_CALL);
+          report(n, INVALID_DECLARE_MODULE_ID_CALL);
         }
       } else if (getprop.matchesQualifiedName(GOOG_REQUIRE)) {
         if (n.hasTwoChildren() && n.getLastChild().isStringLit()) {
@@ -415,7 +453,7 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
               .stronglyRequiredGoogNamespacesBuilder()
               .add(n.getLastChild().getString());
         } else {
-          t.report(n, INVALID_REQUIRE_NAMESPACE);
+          report(n, INVALID_REQUIRE_NAMESPACE);
         }
       } else if (getprop.matchesQualifiedName(GOOG_REQUIRE_TYPE)) {
         if (n.hasTwoChildren() && n.getLastChild().isStringLit()) {
@@ -424,13 +462,13 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
               .weaklyRequiredGoogNamespacesBuilder()
               .add(n.getLastChild().getString());
         } else {
-          t.report(n, INVALID_REQUIRE_TYPE);
+          report(n, INVALID_REQUIRE_TYPE);
         }
       } else if (getprop.matchesQualifiedName(GOOG_SET_TEST_ONLY)) {
         if (n.hasOneChild() || (n.hasTwoChildren() && n.getLastChild().isStringLit())) {
           currentModule.metadataBuilder.isTestOnly(true);
         } else {
-          t.report(n, INVALID_SET_TEST_ONLY);
+          report(n, INVALID_SET_TEST_ONLY);
         }
       }
     }
@@ -446,51 +484,100 @@ public final class GatherModuleMetadata implements HotSwapCompilerPass {
         NodeTraversal t,
         Node n) {
       if (!isValidNamespaceOrModuleId(namespace)) {
-        compiler.report(JSError.make(n, INVALID_NAMESPACE_OR_MODULE_ID, namespace));
+        report(n, INVALID_NAMESPACE_OR_MODULE_ID, namespace);
       } else if (moduleType.equals(ModuleType.GOOG_MODULE) && !isValidModuleId(namespace)) {
 
-        compiler.report(JSError.make(n, INVALID_MODULE_ID, namespace));
+        report(n, INVALID_MODULE_ID, namespace);
       }
 
-      ModuleType existingType = null;
-      String existingFileSource = null;
       if (module.googNamespaces.contains(namespace)) {
-        existingType = module.metadataBuilder.moduleType();
-        existingFileSource = t.getSourceName();
+        ModuleType existingType = module.metadataBuilder.moduleType();
+        String existingFileSource = t.getSourceName();
+        runInOrder(() -> reportDuplicateNamespace(n, namespace, existingType, existingFileSource));
       } else {
-        ModuleMetadata existingModule = modulesByGoogNamespace.get(namespace);
-        if (existingModule != null) {
-          existingType = existingModule.moduleType();
-          existingFileSource = existingModule.rootNode().getSourceFileName();
-        }
+        runInOrder(
+            () -> {
+              ModuleMetadata existingModule = modulesByGoogNamespace.get(namespace);
+              if (existingModule != null) {
+                reportDuplicateNamespace(
+                    n,
+                    namespace,
+                    existingModule.moduleType(),
+                    existingModule.rootNode().getSourceFileName());
+              }
+            });
       }
       currentModule.googNamespaces.add(namespace);
-      if (existingType != null) {
-        switch (existingType) {
-          case ES6_MODULE:
-          case GOOG_MODULE:
-          case LEGACY_GOOG_MODULE:
-            t.report(n, ClosurePrimitiveErrors.DUPLICATE_MODULE, namespace, existingFileSource);
-            return;
-          case GOOG_PROVIDE:
-            t.report(n, ClosurePrimitiveErrors.DUPLICATE_NAMESPACE, namespace, existingFileSource);
-            return;
-          case COMMON_JS:
-          case SCRIPT:
-            // Fall through, error
-        }
-        throw new IllegalStateException("Unexpected module type: " + existingType);
+    }
+
+    /** Reports a duplicate namespace. Only called from a step that is already run in order. */
+    private void reportDuplicateNamespace(
+        Node n, String namespace, ModuleType existingType, String existingFileSource) {
+      switch (existingType) {
+        case ES6_MODULE:
+        case GOOG_MODULE:
+        case LEGACY_GOOG_MODULE:
+          compiler.report(
+              JSError.make(
+                  n, ClosurePrimitiveErrors.DUPLICATE_MODULE, namespace, existingFileSource));
+          return;
+        case GOOG_PROVIDE:
+          compiler.report(
+              JSError.make(
+                  n, ClosurePrimitiveErrors.DUPLICATE_NAMESPACE, namespace, existingFileSource));
+          return;
+        case COMMON_JS:
+        case SCRIPT:
+          // Fall through, error
       }
+      throw new IllegalStateException("Unexpected module type: " + existingType);
     }
   }
 
   @Override
   public void process(Node externs, Node root) {
     NodeTraversal.traverse(compiler, externs, new Finder());
-    NodeTraversal.traverse(compiler, root, new Finder());
+    int numParallelThreads = compiler.getOptions().numParallelThreads;
+    if (numParallelThreads > 1 && root.hasMoreThanOneChild()) {
+      processInParallel(root, numParallelThreads);
+    } else {
+      NodeTraversal.traverse(compiler, root, new Finder());
+    }
     compiler.setModuleMetadataMap(new ModuleMetadataMap(modulesByPath, modulesByGoogNamespace));
   }
 
+  /**
+   * Traverses each script on a worker thread, then updates the shared maps from one script at a
+   * time, in the order of the scripts. The result and the reported errors are the same as those of
+   * a single traversal of the root.
+   */
+  private void processInParallel(Node root, int numParallelThreads) {
+    // Give each script the global scope it would have in a traversal of the whole root. The
+    // finder only looks up declared names in it, which doesn't change it.
+    Scope globalScope = new SyntacticScopeCreator(compiler).createScope(root, null);
+
+    List<Node> scripts = new ArrayList<>();
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      scripts.add(script);
+    }
+    List<List<Runnable>> stepsByScript =
+        WorkerPool.forEachInParallel(
+            scripts,
+            numParallelThreads,
+            (Node script) -> {
+              List<Runnable> steps = new ArrayList<>();
+              new NodeTraversal(compiler, new Finder(steps), new SyntacticScopeCreator(compiler))
+                  .traverseWithScope(script, globalScope);
+              return steps;
+            });
+
+    for (List<Runnable> steps : stepsByScript) {
+      for (Runnable step : steps) {
+        step.run();
+      }
+    }
+  }
+
   @Override
   public void hotSwapScript(Node scriptRoot, Node originalRoot) {
     // This pass is run as either a hot swap or full pass. So if we're running in hot swap this is
@@ -57,6 +57,11 @@ public class J2clSuppressWarningsGuard extends DiagnosticGroupWarningsGuard {
     return isJ2clSource ? super.level(error) /* suppress */ : null /* proceed */;
   }
 
+  @Override
+  boolean dependsOnlyOnSourceAndType() {
+    return getClass() == J2clSuppressWarningsGuard.class;
+  }
+
   @Override
   protected int getPriority() {
     return Priority.MAX.getValue();
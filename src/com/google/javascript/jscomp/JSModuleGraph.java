@@ -19,7 +19,6 @@ package com.google.javascript.jscomp;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.max;
-import static java.lang.Math.min;
 
 import com.google.common.annotations.GwtIncompatible;
 import com.google.common.annotations.VisibleForTesting;
@@ -81,9 +80,14 @@ public final class JSModuleGraph implements Serializable {
 
   /**
    * selfPlusTransitiveDeps[i] = indices of all modules that modules[i] depends on, including
-   * itself.
+   * itself, as the words of a bit set. A module can only depend on modules with smaller indices, so
+   * the array for modules[i] has exactly {@code wordIndex(i) + 1} words.
+   *
+   * <p>Plain arrays are used instead of {@link BitSet}s because the queries below are called
+   * millions of times by some passes, and simple loops over words are easier for the JIT to unroll
+   * and vectorize.
    */
-  private final BitSet[] selfPlusTransitiveDeps;
+  private final long[][] selfPlusTransitiveDeps;
 
   /**
    * subtreeSize[i] = Number of modules that transitively depend on modules[i], including itself.
@@ -107,6 +111,23 @@ public final class JSModuleGraph implements Serializable {
    */
   private final Map<JSModule, Set<JSModule>> dependencyMap = new IdentityHashMap<>();
 
+  /**
+   * The modules ordered by decreasing depth, and then by decreasing index, which is the order of
+   * preference for {@link #getDeepestCommonDependency}: indexByRank[r] is the index of the module
+   * with rank r, and rankByIndex is the inverse.
+   *
+   * <p>selfPlusTransitiveDepsByRank[i] is the same set as selfPlusTransitiveDeps[i], but with each
+   * module represented by its rank instead of its index. The deepest common dependency of two
+   * modules is then the lowest set bit in the intersection of their sets, found by scanning just a
+   * few words.
+   *
+   * <p>These tables are created on first use, since most compilations never need them.
+   */
+  private transient int[] indexByRank;
+
+  private transient long[][] selfPlusTransitiveDepsByRank;
+  private transient volatile int[] rankByIndex;
+
   /** Creates a module graph from a list of modules in dependency order. */
   public JSModuleGraph(JSModule[] modulesInDepOrder) {
     this(Arrays.asList(modulesInDepOrder));
@@ -234,18 +255,21 @@ public final class JSModuleGraph implements Serializable {
     return modulesInDepOrder;
   }
 
-  private BitSet[] initTransitiveDepsBitSets() {
-    BitSet[] array = new BitSet[modules.length];
+  private long[][] initTransitiveDepsBitSets() {
+    long[][] array = new long[modules.length][];
     for (int moduleIndex = 0; moduleIndex < modules.length; ++moduleIndex) {
       final JSModule module = modules[moduleIndex];
-      BitSet selfPlusTransitiveDeps = new BitSet(moduleIndex + 1);
+      long[] selfPlusTransitiveDeps = new long[wordIndex(moduleIndex) + 1];
       array[moduleIndex] = selfPlusTransitiveDeps;
-      selfPlusTransitiveDeps.set(moduleIndex);
+      selfPlusTransitiveDeps[wordIndex(moduleIndex)] |= 1L << moduleIndex;
       // O(moduleIndex * log64(moduleIndex))
       for (JSModule dep : module.getDependencies()) {
         // Add this dependency and all of its dependencies to the current module.
         // O(log64(moduleIndex))
-        selfPlusTransitiveDeps.or(array[dep.getIndex()]);
+        long[] depPlusTransitiveDeps = array[dep.getIndex()];
+        for (int i = 0; i < depPlusTransitiveDeps.length; i++) {
+          selfPlusTransitiveDeps[i] |= depPlusTransitiveDeps[i];
+        }
       }
     }
     return array;
@@ -254,18 +278,45 @@ public final class JSModuleGraph implements Serializable {
   private int[] initSubtreeSize() {
     int[] subtreeSize = new int[modules.length];
     for (int dependentIndex = 0; dependentIndex < modules.length; ++dependentIndex) {
-      BitSet dependencies = selfPlusTransitiveDeps[dependentIndex];
-      // Iterating backward through the bitset is slightly more efficient, since it avoids
-      // considering later modules, which this one cannot depend on.
-      for (int requiredIndex = dependentIndex;
-          requiredIndex >= 0;
-          requiredIndex = dependencies.previousSetBit(requiredIndex - 1)) {
-        subtreeSize[requiredIndex] += 1; // Count dependent in required module's subtree.
+      long[] dependencies = selfPlusTransitiveDeps[dependentIndex];
+      for (int i = 0; i < dependencies.length; i++) {
+        for (long word = dependencies[i]; word != 0; word &= word - 1) {
+          // Count dependent in required module's subtree.
+          subtreeSize[i * Long.SIZE + Long.numberOfTrailingZeros(word)] += 1;
+        }
       }
     }
     return subtreeSize;
   }
 
+  private static int wordIndex(int bitIndex) {
+    return bitIndex >>> 6;
+  }
+
+  private static boolean isSet(long[] words, int bitIndex) {
+    int wordIndex = wordIndex(bitIndex);
+    return wordIndex < words.length && (words[wordIndex] & (1L << bitIndex)) != 0;
+  }
+
+  /** Returns the highest set bit at or below the given index, or -1 if there is none. */
+  private static int previousSetBit(long[] words, int fromIndex) {
+    if (fromIndex < 0) {
+      return -1;
+    }
+    int wordIndex = wordIndex(fromIndex);
+    // Shifting by 63 - (fromIndex % 64) clears the bits above fromIndex.
+    long word = words[wordIndex] & (-1L >>> (Long.SIZE - 1 - (fromIndex & (Long.SIZE - 1))));
+    while (true) {
+      if (word != 0) {
+        return (wordIndex + 1) * Long.SIZE - 1 - Long.numberOfLeadingZeros(word);
+      }
+      if (wordIndex-- == 0) {
+        return -1;
+      }
+      word = words[wordIndex];
+    }
+  }
+
   /** Gets an iterable over all input source files in dependency order. */
   Iterable<CompilerInput> getAllInputs() {
     return Iterables.concat(Iterables.transform(Arrays.asList(modules), JSModule::getInputs));
@@ -368,7 +419,7 @@ public final class JSModuleGraph implements Serializable {
    * module never depends on itself, as that dependency would be cyclic.
    */
   public boolean dependsOn(JSModule src, JSModule m) {
-    return src != m && selfPlusTransitiveDeps[src.getIndex()].get(m.getIndex());
+    return src != m && isSet(selfPlusTransitiveDeps[src.getIndex()], m.getIndex());
   }
 
   /**
@@ -390,17 +441,21 @@ public final class JSModuleGraph implements Serializable {
     // Candidate modules are those that all of the given dependent modules depend on, including
     // themselves. The dependent module with the smallest index might be our answer, if all
     // the other modules depend on it.
-    int minDependentModuleIndex = modules.length;
-    final BitSet candidates = new BitSet(modules.length);
-    candidates.set(0, modules.length, true);
-    for (int dependentIndex = dependentModules.nextSetBit(0);
+    int minDependentModuleIndex = dependentModules.nextSetBit(0);
+    // Every dependent module has at least this many words, since none has a smaller index.
+    final long[] candidates = selfPlusTransitiveDeps[minDependentModuleIndex].clone();
+    for (int dependentIndex = dependentModules.nextSetBit(minDependentModuleIndex + 1);
         dependentIndex >= 0;
         dependentIndex = dependentModules.nextSetBit(dependentIndex + 1)) {
-      minDependentModuleIndex = min(minDependentModuleIndex, dependentIndex);
-      candidates.and(selfPlusTransitiveDeps[dependentIndex]);
+      long[] dependentPlusTransitiveDeps = selfPlusTransitiveDeps[dependentIndex];
+      for (int i = 0; i < candidates.length; i++) {
+        candidates[i] &= dependentPlusTransitiveDeps[i];
+      }
     }
     checkState(
-        !candidates.isEmpty(), "No common dependency found for %s", dependentModules);
+        previousSetBit(candidates, minDependentModuleIndex) >= 0,
+        "No common dependency found for %s",
+        dependentModules);
 
     // All candidates must have an index <= the smallest dependent module index.
     // Work backwards through the candidates starting with the dependent module with the smallest
@@ -409,14 +464,16 @@ public final class JSModuleGraph implements Serializable {
     int parentTreeIndex = parentTree.getIndex();
     // default to parent tree if we don't find anything better
     int bestCandidateIndex = parentTreeIndex;
-    for (int candidateIndex = candidates.previousSetBit(minDependentModuleIndex);
+    for (int candidateIndex = previousSetBit(candidates, minDependentModuleIndex);
         candidateIndex >= 0;
-        candidateIndex = candidates.previousSetBit(candidateIndex - 1)) {
+        candidateIndex = previousSetBit(candidates, candidateIndex - 1)) {
 
-      BitSet candidatePlusTransitiveDeps = selfPlusTransitiveDeps[candidateIndex];
-      if (candidatePlusTransitiveDeps.get(parentTreeIndex)) {
+      long[] candidatePlusTransitiveDeps = selfPlusTransitiveDeps[candidateIndex];
+      if (isSet(candidatePlusTransitiveDeps, parentTreeIndex)) {
         // candidate is a subtree of parentTree
-        candidates.andNot(candidatePlusTransitiveDeps);
+        for (int i = 0; i < candidatePlusTransitiveDeps.length; i++) {
+          candidates[i] &= ~candidatePlusTransitiveDeps[i];
+        }
         if (subtreeSize[candidateIndex] < subtreeSize[bestCandidateIndex]) {
           bestCandidateIndex = candidateIndex;
         }
@@ -435,22 +492,81 @@ public final class JSModuleGraph implements Serializable {
    *     they have no common dependencies
    */
   JSModule getDeepestCommonDependency(JSModule m1, JSModule m2) {
-    int m1Depth = m1.getDepth();
-    int m2Depth = m2.getDepth();
-    // According our definition of depth, the result must have a strictly
-    // smaller depth than either m1 or m2.
-    for (int depth = min(m1Depth, m2Depth) - 1; depth >= 0; depth--) {
+    int[] rankByIndex = getRankByIndex();
+    long[][] depsByRank = selfPlusTransitiveDepsByRank;
+    long[] deps1 = depsByRank[m1.getIndex()];
+    long[] deps2 = depsByRank[m2.getIndex()];
+    int rank1 = rankByIndex[m1.getIndex()];
+    int rank2 = rankByIndex[m2.getIndex()];
+    for (int i = 0; i < deps1.length; i++) {
+      long word = deps1[i] & deps2[i];
+      if (word != 0) {
+        // The modules themselves don't count.
+        if (wordIndex(rank1) == i) {
+          word &= ~(1L << rank1);
+        }
+        if (wordIndex(rank2) == i) {
+          word &= ~(1L << rank2);
+        }
+        if (word != 0) {
+          return modules[indexByRank[i * Long.SIZE + Long.numberOfTrailingZeros(word)]];
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the rank of each module in the order in which {@link #getDeepestCommonDependency}
+   * prefers them, creating the tables that are only needed for that method on first use.
+   */
+  private int[] getRankByIndex() {
+    int[] rankByIndex = this.rankByIndex;
+    if (rankByIndex == null) {
+      synchronized (this) {
+        rankByIndex = this.rankByIndex;
+        if (rankByIndex == null) {
+          rankByIndex = initDeepestCommonDependencyTables();
+        }
+      }
+    }
+    return rankByIndex;
+  }
+
+  private int[] initDeepestCommonDependencyTables() {
+    // Deepest modules first, breaking ties in favor of the later module in the original ordering.
+    int[] indexByRank = new int[modules.length];
+    int rank = 0;
+    for (int depth = modulesByDepth.size() - 1; depth >= 0; depth--) {
       List<JSModule> modulesAtDepth = modulesByDepth.get(depth);
-      // Look at the modules at this depth in reverse order, so that we use the
-      // original ordering of the modules to break ties (later meaning deeper).
       for (int i = modulesAtDepth.size() - 1; i >= 0; i--) {
-        JSModule m = modulesAtDepth.get(i);
-        if (dependsOn(m1, m) && dependsOn(m2, m)) {
-          return m;
+        indexByRank[rank++] = modulesAtDepth.get(i).getIndex();
+      }
+    }
+    int[] rankByIndex = new int[modules.length];
+    for (rank = 0; rank < modules.length; rank++) {
+      rankByIndex[indexByRank[rank]] = rank;
+    }
+
+    int numWords = wordIndex(modules.length - 1) + 1;
+    long[][] depsByRank = new long[modules.length][];
+    for (int moduleIndex = 0; moduleIndex < modules.length; moduleIndex++) {
+      long[] dependencies = selfPlusTransitiveDeps[moduleIndex];
+      long[] ranks = new long[numWords];
+      for (int i = 0; i < dependencies.length; i++) {
+        for (long word = dependencies[i]; word != 0; word &= word - 1) {
+          int depRank = rankByIndex[i * Long.SIZE + Long.numberOfTrailingZeros(word)];
+          ranks[wordIndex(depRank)] |= 1L << depRank;
         }
       }
+      depsByRank[moduleIndex] = ranks;
     }
-    return null;
+
+    this.indexByRank = indexByRank;
+    this.selfPlusTransitiveDepsByRank = depsByRank;
+    // Written last, since getRankByIndex reads it without locking to check for the other tables.
+    this.rankByIndex = rankByIndex;
+    return rankByIndex;
   }
 
   /**
@@ -138,19 +138,30 @@ public class JsAst implements SourceAst {
     final ArrayList<RhinoError> warnings = new ArrayList<>();
     private final ErrorReporter delegateReporter;
 
+    // JSDoc whose parsing was deferred may report after the parse, possibly from other threads.
+    private volatile boolean recording = true;
+
     RecordingReporterProxy(ErrorReporter delegateReporter) {
       this.delegateReporter = delegateReporter;
     }
 
+    void stopRecording() {
+      recording = false;
+    }
+
     @Override
     public void warning(String message, String sourceName, int line, int lineOffset) {
-      warnings.add(new RhinoError(message, sourceName, line, lineOffset));
+      if (recording) {
+        warnings.add(new RhinoError(message, sourceName, line, lineOffset));
+      }
       delegateReporter.warning(message, sourceName, line, lineOffset);
     }
 
     @Override
     public void error(String message, String sourceName, int line, int lineOffset) {
-      errors.add(new RhinoError(message, sourceName, line, lineOffset));
+      if (recording) {
+        errors.add(new RhinoError(message, sourceName, line, lineOffset));
+      }
       delegateReporter.error(message, sourceName, line, lineOffset);
     }
   }
@@ -177,6 +188,9 @@ public class JsAst implements SourceAst {
       if (compiler.getOptions().preservesDetailedSourceInfo()) {
         compiler.addComments(sourceFile.getName(), result.comments);
       }
+      if (result.jsDocParseStats != null && compiler.getOptions().getTracerMode().isOn()) {
+        compiler.addJsDocParseStats(sourceFile.getName(), result.jsDocParseStats);
+      }
       if (result.sourceMapURL != null && compiler.getOptions().resolveSourceMapAnnotations) {
         boolean parseInline = compiler.getOptions().parseInlineSourceMaps;
         SourceFile sourceMapSourceFile =
@@ -196,6 +210,7 @@ public class JsAst implements SourceAst {
       compiler.prepareAst(root);
     }
 
+    reporter.stopRecording();
     if (!reporter.errors.isEmpty() || !reporter.warnings.isEmpty()) {
       ParseResult result = new ParseResult(
           ImmutableList.copyOf(reporter.errors),
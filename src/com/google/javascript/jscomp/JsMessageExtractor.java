@@ -16,12 +16,24 @@
 
 package com.google.javascript.jscomp;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.common.annotations.GwtIncompatible;
 import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.base.WorkerPool;
+import com.google.javascript.rhino.Node;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /**
  * Extracts messages and message comments from JS code.
@@ -46,26 +58,60 @@ import java.util.List;
  */
 @GwtIncompatible("JsMessage.Builder")
 public final class JsMessageExtractor {
+  /**
+   * How many files each worker visits before the results are merged. Merging waits for the slowest
+   * file of a batch, so batches are large enough to keep the workers busy most of the time.
+   */
+  private static final int FILES_PER_THREAD_PER_BATCH = 16;
 
   private final JsMessage.Style style;
   private final JsMessage.IdGenerator idGenerator;
-  private final CompilerOptions options;
+  // Exactly one of these is set.
+  @Nullable private final CompilerOptions options;
+  @Nullable private final Supplier<CompilerOptions> optionsFactory;
   private final boolean extractExternalMessages;
 
   public JsMessageExtractor(
       JsMessage.IdGenerator idGenerator,
       JsMessage.Style style) {
-    this(idGenerator, style, new CompilerOptions(), false /* extractExternalMessages */);
+    this(idGenerator, style, CompilerOptions::new, false /* extractExternalMessages */);
   }
 
+  /**
+   * Creates an extractor whose compilers all use {@code options}. Compilers on several threads
+   * can't share options, so this extractor doesn't support {@link #extractMessages(Iterable, int,
+   * Consumer)}.
+   */
   public JsMessageExtractor(
       JsMessage.IdGenerator idGenerator,
       JsMessage.Style style,
       CompilerOptions options,
       boolean extractExternalMessages) {
+    this(idGenerator, style, options, null, extractExternalMessages);
+  }
+
+  /**
+   * Creates an extractor that calls {@code optionsFactory} for the options of each compiler it
+   * creates. The factory must return new options on every call, since compiling may change them.
+   */
+  public JsMessageExtractor(
+      JsMessage.IdGenerator idGenerator,
+      JsMessage.Style style,
+      Supplier<CompilerOptions> optionsFactory,
+      boolean extractExternalMessages) {
+    this(idGenerator, style, null, optionsFactory, extractExternalMessages);
+  }
+
+  private JsMessageExtractor(
+      JsMessage.IdGenerator idGenerator,
+      JsMessage.Style style,
+      @Nullable CompilerOptions options,
+      @Nullable Supplier<CompilerOptions> optionsFactory,
+      boolean extractExternalMessages) {
     this.idGenerator = idGenerator;
     this.style = style;
     this.options = options;
+    this.optionsFactory = optionsFactory;
     this.extractExternalMessages = extractExternalMessages;
   }
 
@@ -124,7 +170,7 @@ public final class JsMessageExtractor {
     compiler.init(
         ImmutableList.<SourceFile>of(),
         ImmutableList.copyOf(inputs),
-        options);
+        options != null ? options : optionsFactory.get());
     compiler.runInCompilerThread(
         () -> {
           compiler.parseInputs();
@@ -150,4 +196,184 @@ public final class JsMessageExtractor {
 
     return extractCompilerPass.getMessages();
   }
+
+  /**
+   * Extracts JS messages from JavaScript code one file at a time, on {@code numThreads} worker
+   * threads, handing the messages to {@code sink} in batches of files.
+   *
+   * <p>Unlike {@link #extractMessages(Iterable)}, this never holds more than one AST per worker in
+   * memory, so it scales to very large numbers of inputs. Files are visited concurrently, but their
+   * results are merged in the order of the inputs, so the messages passed to the sink and the
+   * errors reported are the same on every run. In exchange:
+   *
+   * <ul>
+   *   <li>Each message id is passed to the sink only once, for the first file that defines it.
+   *   <li>{@code goog.getMsgWithFallback} may only refer to messages defined in the same file.
+   *   <li>Messages from earlier batches may already have been passed to the sink when the
+   *       exception for a bad file is thrown.
+   * </ul>
+   *
+   * <p>The sink is only called on the calling thread, so it doesn't need to be thread-safe.
+   *
+   * <p>Each file gets a compiler with options of its own, so the extractor must have been created
+   * with an options factory rather than with options.
+   *
+   * @param inputs the JavaScript source code inputs
+   * @param numThreads the number of files to extract from at once
+   * @param sink receives each distinct extracted message
+   * @return the number of messages passed to the sink
+   * @throws RuntimeException if there are problems parsing the JS code or the JS messages, or if
+   *     two messages have the same key
+   */
+  public <T extends SourceFile> int extractMessages(
+      Iterable<T> inputs, int numThreads, Consumer<? super JsMessage> sink) {
+    checkArgument(numThreads > 0, numThreads);
+    checkState(optionsFactory != null, "Streaming extraction needs an options factory");
+    StreamingExtraction extraction = new StreamingExtraction(sink);
+    int batchSize = numThreads * FILES_PER_THREAD_PER_BATCH;
+
+    try (WorkerPool pool = new WorkerPool(numThreads)) {
+      List<SourceFile> batch = new ArrayList<>(batchSize);
+      for (SourceFile input : inputs) {
+        batch.add(input);
+        if (batch.size() == batchSize) {
+          extraction.merge(pool.forEach(batch, this::extractFrom));
+          batch.clear();
+        }
+      }
+      extraction.merge(pool.forEach(batch, this::extractFrom));
+    }
+
+    if (extraction.errors.length() > 0) {
+      throw new RuntimeException("JSCompiler errors\n" + extraction.errors);
+    }
+    return extraction.emittedCount;
+  }
+
+  /**
+   * Parses and visits a single file with a compiler of its own, and drops the AST afterwards. Only
+   * strings and messages are kept, so nothing returned refers to the AST.
+   */
+  private FileMessages extractFrom(SourceFile input) {
+    final Compiler compiler = new Compiler();
+    // The worker thread already has a large stack, so don't start another thread per file.
+    compiler.disableThreads();
+    compiler.init(ImmutableList.<SourceFile>of(), ImmutableList.of(input), optionsFactory.get());
+    compiler.runInCompilerThread(
+        () -> {
+          compiler.parseInputs();
+          return null;
+        });
+
+    FileMessages result = new FileMessages();
+    if (compiler.getErrors().isEmpty()) {
+      JsMessageVisitor visitor =
+          new JsMessageVisitor(compiler, style, idGenerator) {
+            @Override
+            protected void processJsMessage(JsMessage message, JsMessageDefinition definition) {
+              if (!message.isAnonymous()
+                  && !JsMessageVisitor.isUnnamedMessageName(message.getKey())) {
+                result.definitions.add(
+                    new KeyDefinition(message, definition.getMessageNode()));
+              }
+              if (extractExternalMessages || !message.isExternal()) {
+                result.messages.add(message);
+              }
+            }
+          };
+      visitor.process(null, compiler.getRoot());
+    }
+
+    MessageFormatter formatter = new LightweightMessageFormatter(compiler);
+    for (JSError e : compiler.getErrors()) {
+      result.errors.append(formatter.formatError(e));
+    }
+    return result;
+  }
+
+  /** What was found in a single file. */
+  private static final class FileMessages {
+    final List<JsMessage> messages = new ArrayList<>();
+    /** The named messages, in the order they were defined. */
+    final List<KeyDefinition> definitions = new ArrayList<>();
+    final StringBuilder errors = new StringBuilder();
+  }
+
+  /** Where a named message was defined. */
+  private static final class KeyDefinition {
+    final String key;
+    final boolean isExternal;
+    final String sourceName;
+    final int lineno;
+    final int charno;
+
+    KeyDefinition(JsMessage message, Node messageNode) {
+      this.key = message.getKey();
+      this.isExternal = message.isExternal();
+      this.sourceName = messageNode.getSourceFileName();
+      this.lineno = messageNode.getLineno();
+      this.charno = messageNode.getCharno();
+    }
+  }
+
+  /** Merges the results of the files of a streaming extraction, in the order of the inputs. */
+  private static final class StreamingExtraction {
+    private final Consumer<? super JsMessage> sink;
+
+    /** The latest definition of each named message key in the files merged so far. */
+    private final Map<String, KeyDefinition> definitionByKey = new HashMap<>();
+
+    /** The ids already passed to the sink. */
+    private final Set<String> emittedIds = new HashSet<>();
+
+    private final StringBuilder errors = new StringBuilder();
+    private int emittedCount;
+
+    StreamingExtraction(Consumer<? super JsMessage> sink) {
+      this.sink = sink;
+    }
+
+    void merge(List<FileMessages> files) {
+      for (FileMessages file : files) {
+        checkCrossFileDuplicates(file);
+        errors.append(file.errors);
+        if (errors.length() == 0) {
+          for (JsMessage message : file.messages) {
+            if (emittedIds.add(message.getId())) {
+              sink.accept(message);
+              emittedCount++;
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Reports the named messages whose key was already defined in an earlier file, the way a single
+     * visitor over all files would. The visitor of each file already reports duplicates within it.
+     */
+    private void checkCrossFileDuplicates(FileMessages file) {
+      Map<String, KeyDefinition> definitionsInFile = new HashMap<>();
+      for (KeyDefinition definition : file.definitions) {
+        KeyDefinition previous = definitionByKey.get(definition.key);
+        if (previous != null
+            && !definition.isExternal
+            && !definitionsInFile.containsKey(definition.key)) {
+          errors.append(
+              LightweightMessageFormatter.withoutSource()
+                  .formatError(
+                      JSError.make(
+                          definition.sourceName,
+                          definition.lineno,
+                          definition.charno,
+                          JsMessageVisitor.MESSAGE_DUPLICATE_KEY,
+                          definition.key,
+                          previous.sourceName,
+                          Integer.toString(previous.lineno))));
+        }
+        definitionsInFile.put(definition.key, definition);
+      }
+      definitionByKey.putAll(definitionsInFile);
+    }
+  }
 }
@@ -931,7 +931,7 @@ public abstract class JsMessageVisitor extends AbstractPostOrderCallback impleme
   }
 
   /** Returns whether the given message name is in the unnamed namespace. */
-  private static boolean isUnnamedMessageName(String identifier) {
+  static boolean isUnnamedMessageName(String identifier) {
     return MSG_UNNAMED_PATTERN.matcher(identifier).matches();
   }
 
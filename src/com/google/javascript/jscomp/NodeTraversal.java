@@ -21,10 +21,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.nullToEmpty;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap.ModuleMetadata;
 import com.google.javascript.rhino.InputId;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
@@ -145,6 +147,20 @@ public class NodeTraversal {
     void exitScope(NodeTraversal t);
   }
 
+  /**
+   * A callback that only needs to see nodes with certain tokens.
+   *
+   * <p>The tokens are a hint for traversals that dispatch to several callbacks at once, such as
+   * {@link CombinedCompilerPass}, which skip calling {@link #shouldTraverse} and {@link #visit} for
+   * nodes with other tokens. Implementations must behave as if {@code shouldTraverse} returned true
+   * and {@code visit} did nothing for such nodes, so that they are also correct when run by a plain
+   * {@link NodeTraversal}.
+   */
+  public interface TokenFilteredCallback extends Callback {
+    /** Returns the tokens of the nodes that this callback needs to see. */
+    ImmutableSet<Token> getInterestingTokens();
+  }
+
   /**
    * Abstract callback to visit all nodes in postorder. Note: Do not create anonymous subclasses of
    * this. Instead, write a lambda expression which will be interpreted as an
@@ -25,6 +25,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
+import com.google.javascript.jscomp.parsing.JsDocParseStats;
 import com.google.javascript.jscomp.parsing.parser.util.format.SimpleFormat;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.StaticSourceFile;
@@ -37,7 +38,9 @@ import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A PerformanceTracker collects statistics about the runtime of each pass, and
@@ -86,6 +89,15 @@ public final class PerformanceTracker {
   private int diff = 0;
   private int gzDiff = 0;
 
+  // Errors may be reported from several threads at once.
+  private final AtomicLong warningsGuardEvaluations = new AtomicLong();
+  private final AtomicLong warningsGuardNanos = new AtomicLong();
+
+  private long moduleResolutionCacheHits = 0;
+  private long moduleResolutionCacheMisses = 0;
+
+  private Map<String, JsDocParseStats> jsDocParseStats = ImmutableMap.of();
+
   private final Deque<Stats> currentPass = new ArrayDeque<>();
 
   /** Cumulative stats for each compiler pass. */
@@ -167,6 +179,23 @@ public final class PerformanceTracker {
     }
   }
 
+  /** Sets the time spent parsing the JSDoc of each input file, to include in the report. */
+  void setJsDocParseStats(Map<String, JsDocParseStats> jsDocParseStats) {
+    this.jsDocParseStats = jsDocParseStats;
+  }
+
+  /** Sets how often the module loader answered a module resolution from its cache. */
+  void setModuleResolutionCacheStats(long hits, long misses) {
+    this.moduleResolutionCacheHits = hits;
+    this.moduleResolutionCacheMisses = misses;
+  }
+
+  /** Records that the warnings guard took the given time to decide the level of an error. */
+  void recordWarningsGuardEvaluation(long nanos) {
+    warningsGuardEvaluations.incrementAndGet();
+    warningsGuardNanos.addAndGet(nanos);
+  }
+
   private void recordParsingStop(Stats logStats) {
     if (tracksAstManifest()) {
       populateAstManifest();
@@ -386,7 +415,11 @@ public final class PerformanceTracker {
             "Estimated GzReduction(bytes): " + this.gzDiff,
             "Estimated AST size(#nodes): " + this.astSize,
             "Estimated Size(bytes): " + this.codeSize,
-            "Estimated GzSize(bytes): " + this.gzCodeSize));
+            "Estimated GzSize(bytes): " + this.gzCodeSize,
+            "Warnings guard runtime(ms): " + this.warningsGuardNanos.get() / 1_000_000,
+            "#Warnings guard evaluations: " + this.warningsGuardEvaluations.get(),
+            "#Module resolution cache hits: " + this.moduleResolutionCacheHits,
+            "#Module resolution cache misses: " + this.moduleResolutionCacheMisses));
 
     output.println(
         lines(
@@ -442,6 +475,25 @@ public final class PerformanceTracker {
               stats.gzSize));
     }
 
+    if (!this.jsDocParseStats.isEmpty()) {
+      output.println(
+          lines(
+              "", //
+              "JSDoc parsing:",
+              "file,runtime,parsedComments,deferredComments"));
+      this.jsDocParseStats.entrySet().stream()
+          .sorted(Entry.comparingByKey())
+          .map(
+              (e) ->
+                  SimpleFormat.format(
+                      "%s,%d,%d,%d",
+                      e.getKey(),
+                      e.getValue().getParseNanos() / 1_000_000,
+                      e.getValue().getParsedCommentCount(),
+                      e.getValue().getDeferredCommentCount()))
+          .forEach(output::println);
+    }
+
     if (this.astManifest != null) {
       output.println(
           lines(
@@ -71,6 +71,9 @@ class PhaseOptimizer implements CompilerPass {
   // Checks that passes have reported code changes correctly.
   private ChangeVerifier changeVerifier;
 
+  // Checks the same thing for the scopes each pass touched and a sample of the rest.
+  private SampledChangeVerifier sampledChangeVerifier;
+
   /**
    * When processing loopable passes in order, the PhaseOptimizer can be in one
    * of these two states.
@@ -197,6 +200,14 @@ class PhaseOptimizer implements CompilerPass {
     this.changeVerifier = new ChangeVerifier(compiler).snapshot(jsRoot);
   }
 
+  /**
+   * Checks change reporting and the AST of the touched scripts after every pass, looking only at
+   * the scopes the pass reported and a random sample of the others. Cheap enough for production.
+   */
+  void setSampledChangeVerifier(SampledChangeVerifier sampledChangeVerifier) {
+    this.sampledChangeVerifier = sampledChangeVerifier;
+  }
+
   /**
    * Sets the hashcode of the AST to be logged every pass.
    * Intended for development.
@@ -259,6 +270,21 @@ class PhaseOptimizer implements CompilerPass {
     }
   }
 
+  /** Runs the sampled change verification if it is enabled. */
+  private void maybeRunSampledChangeVerifier(String passName) {
+    if (sampledChangeVerifier == null) {
+      return;
+    }
+    try {
+      AstValidator astValidator = new AstValidator(compiler);
+      for (Node script : sampledChangeVerifier.checkRecordedChanges(passName)) {
+        astValidator.validateScript(script);
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException("Sampled validity checks failed for pass: " + passName, e);
+    }
+  }
+
   private boolean hasHaltingErrors() {
     return compiler.hasHaltingErrors();
   }
@@ -334,6 +360,7 @@ class PhaseOptimizer implements CompilerPass {
         }
         maybePrintAstHashcodes(name, root);
         maybeRunValidityCheck(name, externs, root);
+        maybeRunSampledChangeVerifier(name);
       } catch (IllegalStateException e) {
         // TODO(johnlenz): Remove this once the normalization checks report
         // errors instead of exceptions.
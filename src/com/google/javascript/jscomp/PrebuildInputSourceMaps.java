@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.jscomp.base.WorkerPool;
+import java.util.Collection;
+
+/**
+ * A helper class to prepare the {@link PrecomposedSourceMap}s of all input source maps before the
+ * output is printed. They are otherwise built the first time a mapping of their input is composed,
+ * on the printing thread.
+ */
+class PrebuildInputSourceMaps {
+  private final Compiler compiler;
+  private final int numParallelThreads;
+
+  PrebuildInputSourceMaps(Compiler compiler, int numParallelThreads) {
+    this.compiler = compiler;
+    this.numParallelThreads = numParallelThreads;
+  }
+
+  void prebuild(Collection<String> sourceNames) {
+    WorkerPool.forEachInParallel(
+        sourceNames, numParallelThreads, compiler::getPrecomposedSourceMap);
+  }
+}
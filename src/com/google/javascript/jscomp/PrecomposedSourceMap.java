@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.debugging.sourcemap.SourceMapLookupTable;
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
+import javax.annotation.Nullable;
+
+/**
+ * An input source map prepared for composing with the output source map: its mappings are
+ * flattened into a {@link SourceMapLookupTable}, and the paths of its original sources are resolved
+ * once up front rather than on every lookup.
+ */
+final class PrecomposedSourceMap {
+  private final SourceMapLookupTable table;
+  private final String[] resolvedSources;
+
+  PrecomposedSourceMap(SourceMapLookupTable table, String[] resolvedSources) {
+    checkArgument(table.getSourceCount() == resolvedSources.length);
+    this.table = table;
+    this.resolvedSources = resolvedSources;
+  }
+
+  /**
+   * Returns the original position of the given generated position. Uses the same conventions as
+   * {@link SourceExcerptProvider#getSourceMapping}: lines are 1-indexed and columns are 0-indexed,
+   * for both the input and the result.
+   */
+  @Nullable
+  OriginalMapping getMapping(int lineNumber, int columnNumber) {
+    int entry = table.find(lineNumber, columnNumber + 1);
+    if (entry == SourceMapLookupTable.NOT_FOUND) {
+      return null;
+    }
+    OriginalMapping.Builder result =
+        OriginalMapping.newBuilder()
+            .setOriginalFile(resolvedSources[table.getSourceId(entry)])
+            .setLineNumber(table.getSourceLine(entry) + 1)
+            .setColumnPosition(table.getSourceColumn(entry));
+    String name = table.getName(entry);
+    if (name != null) {
+      result.setIdentifier(name);
+    }
+    return result.build();
+  }
+}
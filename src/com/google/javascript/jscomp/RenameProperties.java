@@ -20,9 +20,12 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.javascript.jscomp.AbstractCompiler.LifeCycleStage;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.TokenStream;
@@ -35,7 +38,6 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import javax.annotation.Nullable;
 
 /**
@@ -73,7 +75,8 @@ class RenameProperties implements CompilerPass {
   private final VariableMap prevUsedPropertyMap;
 
   private final List<Node> toRemove = new ArrayList<>();
-  private final List<Node> stringNodesToRename = new ArrayList<>();
+  /** The property name nodes to rename, grouped by script in traversal order. */
+  private final List<ScriptProperties> propertiesByScript = new ArrayList<>();
   private final Map<Node, Node> callNodeToParentMap =
       new LinkedHashMap<>();
   private final char[] reservedFirstCharacters;
@@ -187,8 +190,8 @@ class RenameProperties implements CompilerPass {
     reservedNames.addAll(quotedNames);
 
     // Assign names, sorted by descending frequency to minimize code size.
-    Set<Property> propsByFreq = new TreeSet<>(FREQUENCY_COMPARATOR);
-    propsByFreq.addAll(propertyMap.values());
+    List<Property> propsByFreq = new ArrayList<>(propertyMap.values());
+    propsByFreq.sort(FREQUENCY_COMPARATOR);
 
     // First, try and reuse as many property names from the previous compilation
     // as possible.
@@ -198,16 +201,25 @@ class RenameProperties implements CompilerPass {
 
     generateNames(propsByFreq, reservedNames);
 
-    // Update the string nodes.
-    for (Node n : stringNodesToRename) {
-      String oldName = n.getString();
-      Property p = propertyMap.get(oldName);
-      if (p != null && p.newName != null) {
-        checkState(oldName.equals(p.oldName));
-        n.setString(p.newName);
-        if (!p.newName.equals(oldName)) {
-          compiler.reportChangeToEnclosingScope(n);
-        }
+    // Update the string nodes, one script at a time, and then report the changes, which can't be
+    // done concurrently.
+    int numParallelThreads = compiler.getOptions().numParallelThreads;
+    if (numParallelThreads > 1 && propertiesByScript.size() > 1) {
+      WorkerPool.forEachInParallel(
+          propertiesByScript,
+          numParallelThreads,
+          (ScriptProperties properties) -> {
+            rename(properties);
+            return null;
+          });
+    } else {
+      for (ScriptProperties properties : propertiesByScript) {
+        rename(properties);
+      }
+    }
+    for (ScriptProperties properties : propertiesByScript) {
+      for (Node n : properties.changedNodes) {
+        compiler.reportChangeToEnclosingScope(n);
       }
     }
 
@@ -250,6 +262,22 @@ class RenameProperties implements CompilerPass {
     GatherGetterAndSetterProperties.update(compiler, externs, root);
   }
 
+  /**
+   * Gives the property name nodes of one script their new names, and records the ones that
+   * changed. Only the script's own nodes are touched, so scripts can be renamed concurrently.
+   */
+  private static void rename(ScriptProperties properties) {
+    for (int i = 0; i < properties.nodes.size(); i++) {
+      Node n = properties.nodes.get(i);
+      Property p = properties.properties.get(i);
+      checkState(n.getString().equals(p.oldName));
+      n.setString(p.newName);
+      if (!p.newName.equals(p.oldName)) {
+        properties.changedNodes.add(n);
+      }
+    }
+  }
+
   /**
    * Runs through the list of properties and renames as many as possible with
    * names from the previous compilation. Also, updates reservedNames with the
@@ -282,7 +310,7 @@ class RenameProperties implements CompilerPass {
    * @param reservedNames A set of names to which properties should not be
    *     renamed
    */
-  private void generateNames(Set<Property> props, Set<String> reservedNames) {
+  private void generateNames(List<Property> props, Set<String> reservedNames) {
     nameGenerator.reset(reservedNames, "", reservedFirstCharacters, reservedNonFirstCharacters);
     for (Property p : props) {
       if (generatePseudoNames) {
@@ -332,7 +360,7 @@ class RenameProperties implements CompilerPass {
             externedNames.add(n.getString());
             break;
             }
-          maybeMarkCandidate(n);
+          maybeMarkCandidate(t, n);
           break;
         case OBJECTLIT:
         case OBJECT_PATTERN:
@@ -356,7 +384,7 @@ class RenameProperties implements CompilerPass {
                 } else if (compiler.getCodingConvention().blockRenamingForProperty(propName)) {
                   externedNames.add(propName);
                 } else {
-                  maybeMarkCandidate(key);
+                  maybeMarkCandidate(t, key);
                 }
                 break;
 
@@ -408,7 +436,7 @@ class RenameProperties implements CompilerPass {
                     // TODO (simarora) is there a better way to identify these externs?
                     externedNames.add(fnName.getString());
                   } else {
-                    maybeMarkCandidate(key);
+                    maybeMarkCandidate(t, key);
                   }
                 }
               }
@@ -457,13 +485,21 @@ class RenameProperties implements CompilerPass {
      * If a property node is eligible for renaming, stashes a reference to it
      * and increments the property name's access count.
      *
+     * @param t The traversal
      * @param n The STRING node for a property
      */
-    private void maybeMarkCandidate(Node n) {
+    private void maybeMarkCandidate(NodeTraversal t, Node n) {
       String name = n.getString();
       if (!externedNames.contains(name)) {
-        stringNodesToRename.add(n);
-        countPropertyOccurrence(name);
+        Node script = t.getCurrentScript();
+        ScriptProperties properties =
+            propertiesByScript.isEmpty() ? null : Iterables.getLast(propertiesByScript);
+        if (properties == null || properties.script != script) {
+          properties = new ScriptProperties(script);
+          propertiesByScript.add(properties);
+        }
+        properties.nodes.add(n);
+        properties.properties.add(countPropertyOccurrence(name));
       }
     }
 
@@ -500,10 +536,13 @@ class RenameProperties implements CompilerPass {
      * Increments the occurrence count for a property name.
      *
      * @param name The property name
+     * @return The property
      */
-    private void countPropertyOccurrence(String name) {
+    @CanIgnoreReturnValue
+    private Property countPropertyOccurrence(String name) {
       Property prop = propertyMap.computeIfAbsent(name, Property::new);
       prop.numOccurrences++;
+      return prop;
     }
   }
 
@@ -521,4 +560,21 @@ class RenameProperties implements CompilerPass {
       this.oldName = name;
     }
   }
+
+  /**
+   * The property name nodes to rename in one script, each stored with its property so that
+   * renaming needs no lookups by name.
+   */
+  private static final class ScriptProperties {
+    final Node script;
+    final List<Node> nodes = new ArrayList<>();
+    final List<Property> properties = new ArrayList<>();
+
+    /** The renamed nodes whose change must be reported to the compiler. */
+    final List<Node> changedNodes = new ArrayList<>();
+
+    ScriptProperties(Node script) {
+      this.script = script;
+    }
+  }
 }
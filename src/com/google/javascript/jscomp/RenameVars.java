@@ -23,9 +23,11 @@ import static java.util.Comparator.comparingInt;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -34,8 +36,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
 import javax.annotation.Nullable;
 
 /**
@@ -52,20 +52,11 @@ final class RenameVars implements CompilerPass {
 
   private final AbstractCompiler compiler;
 
-  /** List of global NAME nodes */
-  private final ArrayList<Node> globalNameNodes = new ArrayList<>();
+  /** The NAME nodes to rename, grouped by script in traversal order. */
+  private final List<ScriptNames> namesByScript = new ArrayList<>();
 
-  /** List of local NAME nodes */
-  private final ArrayList<Node> localNameNodes = new ArrayList<>();
-
-  /** Mapping of original names for change detection */
-  private final Map<Node, String> originalNameByNode = new HashMap<>();
-
-  /**
-   * Maps a name node to its pseudo name, null if we are not generating so
-   * there will be no overhead unless we are debugging.
-   */
-  private final Map<Node, String> pseudoNameMap;
+  /** Whether to rename to pseudo names, which are easier to debug. */
+  private final boolean generatePseudoNames;
 
   /** Set of extern variable names */
   private Set<String> externNames;
@@ -117,6 +108,25 @@ final class RenameVars implements CompilerPass {
     }
   }
 
+  /**
+   * The NAME nodes to rename in one script. Each node is stored with its assignment, so renaming
+   * needs no lookups by name, and with the name it had before it was given a temporary local name,
+   * or null if it is a global.
+   */
+  private static final class ScriptNames {
+    final Node script;
+    final List<Node> nodes = new ArrayList<>();
+    final List<Assignment> assignments = new ArrayList<>();
+    final List<String> originalNames = new ArrayList<>();
+
+    /** The renamed nodes whose change must be reported to the compiler. */
+    final List<Node> changedNodes = new ArrayList<>();
+
+    ScriptNames(Node script) {
+      this.script = script;
+    }
+  }
+
   /** Maps an old name to a new name assignment */
   private final Map<String, Assignment> assignments =
       new HashMap<>();
@@ -153,11 +163,7 @@ final class RenameVars implements CompilerPass {
     this.compiler = compiler;
     this.prefix = nullToEmpty(prefix);
     this.localRenamingOnly = localRenamingOnly;
-    if (generatePseudoNames) {
-      this.pseudoNameMap = new HashMap<>();
-    } else {
-      this.pseudoNameMap = null;
-    }
+    this.generatePseudoNames = generatePseudoNames;
     this.prevUsedRenameMap = prevUsedRenameMap;
     this.reservedCharacters = reservedCharacters;
     this.preferStableNames = preferStableNames;
@@ -173,7 +179,7 @@ final class RenameVars implements CompilerPass {
    * Iterate through the nodes, collect all the NAME nodes that need to be
    * renamed, and count how many times each variable name is referenced.
    *
-   * Keep track of all name references in globalNameNodes, and localNameNodes.
+   * Keep track of all name references in namesByScript.
    *
    * To get shorter local variable renaming, we rename local variables to a
    * temporary name "LOCAL_VAR_PREFIX + index" where index is the index of the
@@ -263,31 +269,38 @@ final class RenameVars implements CompilerPass {
         return;
       }
 
-      if (pseudoNameMap != null) {
-        recordPseudoName(n);
-      }
-
       if (local && shouldTemporarilyRenameLocalsInScope(var.getScope())) {
         // Give local variables a temporary name based on the
         // variable's index in the scope to enable name reuse across
         // locals in independent scopes.
         String tempName = LOCAL_VAR_PREFIX + getLocalVarIndex(var);
-        incCount(tempName);
-        localNameNodes.add(n);
         // Remember the original string in a name before it's temporarily filled with an "L".
-        originalNameByNode.put(n, n.getString());
+        addName(t, n, incCount(tempName), n.getString());
         n.setString(tempName);
       } else if (var != null) { // Not an extern
         // If it's global, increment global count
-        incCount(name);
-        globalNameNodes.add(n);
+        addName(t, n, incCount(name), null);
       }
     }
 
     // Increment count of an assignment
-    void incCount(String name) {
+    Assignment incCount(String name) {
       Assignment s = assignments.computeIfAbsent(name, Assignment::new);
       s.count++;
+      return s;
+    }
+
+    private void addName(
+        NodeTraversal t, Node n, Assignment assignment, @Nullable String originalName) {
+      Node script = t.getCurrentScript();
+      ScriptNames names = namesByScript.isEmpty() ? null : Iterables.getLast(namesByScript);
+      if (names == null || names.script != script) {
+        names = new ScriptNames(script);
+        namesByScript.add(names);
+      }
+      names.nodes.add(n);
+      names.assignments.add(assignment);
+      names.originalNames.add(originalName);
     }
   }
 
@@ -316,7 +329,7 @@ final class RenameVars implements CompilerPass {
   public void process(Node externs, Node root) {
     this.externNames = NodeUtil.collectExternVariableNames(this.compiler, externs);
 
-    originalNameByNode.clear();
+    namesByScript.clear();
 
     // Do variable reference counting.
     NodeTraversal.traverse(compiler, root, new ProcessVars());
@@ -325,8 +338,8 @@ final class RenameVars implements CompilerPass {
     reservedNames.addAll(externNames);
 
     // Rename vars, sorted by frequency of occurrence to minimize code size.
-    SortedSet<Assignment> varsByFrequency = new TreeSet<>(FREQUENCY_COMPARATOR);
-    varsByFrequency.addAll(assignments.values());
+    List<Assignment> varsByFrequency = new ArrayList<>(assignments.values());
+    varsByFrequency.sort(FREQUENCY_COMPARATOR);
 
     // First try to reuse names from an earlier compilation.
     if (prevUsedRenameMap != null) {
@@ -336,74 +349,86 @@ final class RenameVars implements CompilerPass {
     // Assign names, sorted by descending frequency to minimize code size.
     assignNames(varsByFrequency);
 
-    // Rename the globals!
-    for (Node n : globalNameNodes) {
-      setNameAndReport(n, getNewGlobalName(n));
+    // Rename the names, one script at a time, and then report the changes, which can't be done
+    // concurrently.
+    int numParallelThreads = compiler.getOptions().numParallelThreads;
+    if (numParallelThreads > 1 && namesByScript.size() > 1) {
+      WorkerPool.forEachInParallel(
+          namesByScript,
+          numParallelThreads,
+          (ScriptNames names) -> {
+            rename(names);
+            return null;
+          });
+    } else {
+      for (ScriptNames names : namesByScript) {
+        rename(names);
+      }
     }
-
-    // Rename the locals!
-    for (Node n : localNameNodes) {
-      setNameAndReport(n, getNewLocalName(n));
+    for (ScriptNames names : namesByScript) {
+      for (Node n : names.changedNodes) {
+        reportChange(n);
+      }
     }
+    namesByScript.clear();
   }
 
-  private void setNameAndReport(Node n, @Nullable String newName) {
-    // A null newName, indicates it should not be renamed.
-    if (newName != null && !newName.equals(n.getString())) {
-      n.setString(newName);
-
-      // Only mark changes if the final name change is different than it was original before being
-      // filled with the "L" temporary name.
-      if (!newName.equals(originalNameByNode.get(n))) {
-        compiler.reportChangeToEnclosingScope(n);
-        Node parent = n.getParent();
-        if (parent.isFunction() && NodeUtil.isFunctionDeclaration(parent)) {
-          // If we are renaming a function declaration, make sure the containing scope
-          // has the opportunity to act on the change.
-          compiler.reportChangeToEnclosingScope(parent);
+  /**
+   * Gives the nodes of one script their new names, and records the ones that changed. This only
+   * touches the script's own nodes, so scripts can be renamed concurrently.
+   */
+  private void rename(ScriptNames names) {
+    for (int i = 0; i < names.nodes.size(); i++) {
+      Node n = names.nodes.get(i);
+      String originalName = names.originalNames.get(i);
+      String newName = getNewName(names.assignments.get(i), originalName);
+      // A null newName, indicates it should not be renamed.
+      if (newName != null && !newName.equals(n.getString())) {
+        n.setString(newName);
+
+        // Only mark changes if the final name change is different than it was original before
+        // being filled with the "L" temporary name.
+        if (!newName.equals(originalName)) {
+          names.changedNodes.add(n);
         }
       }
     }
   }
 
-  @Nullable
-  private String getNewGlobalName(Node n) {
-    String oldName = n.getString();
-    Assignment a = assignments.get(oldName);
-    if (a.newName != null && !a.newName.equals(oldName)) {
-      if (pseudoNameMap != null) {
-        return pseudoNameMap.get(n);
-      }
-      return a.newName;
-    } else {
-      return null;
+  private void reportChange(Node n) {
+    compiler.reportChangeToEnclosingScope(n);
+    Node parent = n.getParent();
+    if (parent.isFunction() && NodeUtil.isFunctionDeclaration(parent)) {
+      // If we are renaming a function declaration, make sure the containing scope
+      // has the opportunity to act on the change.
+      compiler.reportChangeToEnclosingScope(parent);
     }
   }
 
+  /**
+   * Returns the new name for a reference to the given assignment, or null if it keeps its name.
+   *
+   * @param originalName the name the reference had before it was given a temporary local name, or
+   *     null if it is a global
+   */
   @Nullable
-  private String getNewLocalName(Node n) {
-    String oldTempName = n.getString();
-    Assignment a = assignments.get(oldTempName);
-    if (!a.newName.equals(oldTempName)) {
-      if (pseudoNameMap != null) {
-        return pseudoNameMap.get(n);
-      }
-      return a.newName;
+  private String getNewName(Assignment a, @Nullable String originalName) {
+    if (a.newName == null || a.newName.equals(a.oldName)) {
+      return null;
     }
-    return null;
-  }
-
-  private void recordPseudoName(Node n) {
-    // Variable names should be in a different name space than
-    // property pseudo names.
-    pseudoNameMap.put(n, '$' + n.getString() + "$$");
+    if (generatePseudoNames) {
+      // Variable names should be in a different name space than
+      // property pseudo names.
+      return '$' + (a.isLocal ? originalName : a.oldName) + "$$";
+    }
+    return a.newName;
   }
 
   /**
    * Runs through the assignments and reuses as many names as possible from the previously used
    * variable map. Updates reservedNames with the set of names that were reused.
    */
-  private void reusePreviouslyUsedVariableMap(SortedSet<Assignment> varsToRename) {
+  private void reusePreviouslyUsedVariableMap(List<Assignment> varsToRename) {
     // If prevUsedRenameMap had duplicate values then this pass would be
     // non-deterministic.
     // In such a case, the following will throw an IllegalArgumentException.
@@ -426,7 +451,7 @@ final class RenameVars implements CompilerPass {
   /**
    * Determines which new names to substitute for the original names.
    */
-  private void assignNames(SortedSet<Assignment> varsToRename) {
+  private void assignNames(List<Assignment> varsToRename) {
     nameGenerator.reset(reservedNames, prefix, reservedCharacters);
 
     NameGenerator globalNameGenerator = nameGenerator;
@@ -485,16 +510,16 @@ final class RenameVars implements CompilerPass {
 
     int numPendingAssignments = generatedNamesForAssignments.size();
     for (int i = 0; i < numPendingAssignments;) {
-      SortedSet<Assignment> varsByOrderOfOccurrence =
-          new TreeSet<>(ORDER_OF_OCCURRENCE_COMPARATOR);
-
-      // Add k number of Assignment to the set, where k is the number of
-      // generated names of the same length.
+      // Find the k Assignments, where k is the number of generated names of
+      // the same length.
       int len = generatedNamesForAssignments.get(i).length();
-      for (int j = i; j < numPendingAssignments
-          && generatedNamesForAssignments.get(j).length() == len; j++) {
-        varsByOrderOfOccurrence.add(pendingAssignments.get(j));
+      int end = i;
+      while (end < numPendingAssignments
+          && generatedNamesForAssignments.get(end).length() == len) {
+        end++;
       }
+      List<Assignment> varsByOrderOfOccurrence = pendingAssignments.subList(i, end);
+      varsByOrderOfOccurrence.sort(ORDER_OF_OCCURRENCE_COMPARATOR);
 
       // Now, make the assignments
       for (Assignment a : varsByOrderOfOccurrence) {
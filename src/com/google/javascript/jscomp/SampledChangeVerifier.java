@@ -0,0 +1,339 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.javascript.rhino.Node;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A cheaper relative of {@link ChangeVerifier} for checking change reporting after every pass.
+ *
+ * <p>Rather than cloning the whole AST before each pass, this keeps a hash of every change scope,
+ * taken the last time the scope was checked. After a pass it only looks at the scopes the pass
+ * reported as changed or deleted, plus a random sample of the others, so its cost follows the size
+ * of the changes rather than the size of the program.
+ *
+ * <p>The hash of a scope ignores the contents of nested functions, just like {@link
+ * ChangeVerifier}. It only covers properties that node equivalence also compares, so a scope that
+ * hasn't changed always hashes the same. An unreported change to a scope that isn't sampled goes
+ * unnoticed until the scope is next sampled, at which point it is blamed on that later pass.
+ */
+final class SampledChangeVerifier {
+  /** Name under which this verifier reads the compiler's change and deletion timelines. */
+  private static final String TIMELINE_NAME = "SampledChangeVerifier";
+
+  private final AbstractCompiler compiler;
+  private final Node root;
+  private final int sampleSize;
+  private final Random random;
+
+  /** Every known live change scope, for sampling. */
+  private final List<Node> scopes = new ArrayList<>();
+
+  /** The position in {@link #scopes} and the last checked hash of each known change scope. */
+  private final Map<Node, ScopeState> stateByScope = new IdentityHashMap<>();
+
+  /** The change stamp when the last check finished. Scopes first seen after it must be new. */
+  private int lastCheckChangeStamp;
+
+  private static final class ScopeState {
+    int index;
+    long hash;
+  }
+
+  /**
+   * @param root the root whose change scopes are checked
+   * @param sampleSize how many unreported scopes to check after each pass
+   */
+  SampledChangeVerifier(AbstractCompiler compiler, Node root, int sampleSize, Random random) {
+    checkArgument(sampleSize >= 0, sampleSize);
+    this.compiler = compiler;
+    this.root = root;
+    this.sampleSize = sampleSize;
+    this.random = random;
+
+    NodeUtil.visitPreOrder(
+        root,
+        (Node n) -> {
+          if (NodeUtil.isChangeScopeRoot(n)) {
+            track(n, hashScope(n));
+          }
+        });
+
+    // Start both timelines now, so the first check only sees what happened since.
+    compiler.getChangedScopeNodesForPass(TIMELINE_NAME);
+    compiler.getDeletedScopeNodesForPass(TIMELINE_NAME);
+    lastCheckChangeStamp = compiler.getChangeStamp();
+  }
+
+  /**
+   * Checks the scopes reported as changed or deleted since the last check, and a random sample of
+   * the remaining scopes.
+   *
+   * @return the scripts containing the scopes that were checked, for any further validation
+   */
+  Set<Node> checkRecordedChanges(String passName) {
+    final String passNameMsg = passName.isEmpty() ? "" : passName + ": ";
+    Set<Node> checkedScripts = new LinkedHashSet<>();
+
+    List<Node> deletedScopes = compiler.getDeletedScopeNodesForPass(TIMELINE_NAME);
+    for (Node scope : deletedScopes) {
+      if (isAttached(scope)) {
+        throw new IllegalStateException(
+            passNameMsg + "existing scope is improperly marked as deleted:\n" + scope.toStringTree());
+      }
+      forget(scope);
+    }
+
+    List<Node> changedScopes = compiler.getChangedScopeNodesForPass(TIMELINE_NAME);
+    Set<Node> reported = newIdentitySet();
+    for (Node scope : changedScopes) {
+      reported.add(scope);
+      if (scope.isDeleted()) {
+        forget(scope);
+        continue;
+      }
+      verifyAttached(passNameMsg, scope);
+      rehash(passNameMsg, scope);
+      checkedScripts.add(NodeUtil.getEnclosingScript(scope));
+    }
+
+    for (Node scope : sampleScopes()) {
+      if (reported.contains(scope)) {
+        continue;
+      }
+      if (scope.isDeleted()) {
+        forget(scope);
+        continue;
+      }
+      verifyAttached(passNameMsg, scope);
+      long previousHash = stateByScope.get(scope).hash;
+      if (rehash(passNameMsg, scope) != previousHash) {
+        throw new IllegalStateException(
+            passNameMsg + "changed scope not marked as changed: " + getNameForNode(scope));
+      }
+      checkedScripts.add(NodeUtil.getEnclosingScript(scope));
+    }
+
+    lastCheckChangeStamp = compiler.getChangeStamp();
+    return checkedScripts;
+  }
+
+  /** Returns the number of change scopes this verifier currently knows about. */
+  int getTrackedScopeCount() {
+    return scopes.size();
+  }
+
+  /** Picks up to {@code sampleSize} distinct known scopes at random. */
+  private List<Node> sampleScopes() {
+    int size = scopes.size();
+    int count = Math.min(sampleSize, size);
+    // Floyd's algorithm: each step adds exactly one index not picked before.
+    Set<Integer> indices = new LinkedHashSet<>();
+    for (int j = size - count; j < size; j++) {
+      int candidate = random.nextInt(j + 1);
+      indices.add(indices.contains(candidate) ? j : candidate);
+    }
+    List<Node> sample = new ArrayList<>(count);
+    for (int index : indices) {
+      sample.add(scopes.get(index));
+    }
+    return sample;
+  }
+
+  private void verifyAttached(String passNameMsg, Node scope) {
+    if (!isAttached(scope)) {
+      throw new IllegalStateException(
+          passNameMsg + "deleted scope was not reported:\n" + scope.toStringTree());
+    }
+  }
+
+  private boolean isAttached(Node n) {
+    for (Node current = n; current != null; current = current.getParent()) {
+      if (current == root) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Stores a fresh hash for the given scope and returns it. Nested scopes that were never seen
+   * before are new, so they must have been reported as changed since the last check.
+   */
+  private long rehash(String passNameMsg, Node scope) {
+    long hash = hashScope(scope);
+    ScopeState state = stateByScope.get(scope);
+    if (state == null) {
+      verifyNewScope(passNameMsg, scope);
+      track(scope, hash);
+    } else {
+      state.hash = hash;
+    }
+
+    ArrayDeque<Node> pending = new ArrayDeque<>();
+    addNestedScopes(scope, pending);
+    while (!pending.isEmpty()) {
+      Node nested = pending.pop();
+      if (!stateByScope.containsKey(nested)) {
+        verifyNewScope(passNameMsg, nested);
+        track(nested, hashScope(nested));
+        addNestedScopes(nested, pending);
+      }
+    }
+    return hash;
+  }
+
+  private void verifyNewScope(String passNameMsg, Node scope) {
+    int changeTime = scope.getChangeTime();
+    if (changeTime == 0 || changeTime < lastCheckChangeStamp) {
+      throw new IllegalStateException(
+          passNameMsg + "new scope not explicitly marked as changed:\n" + scope.toStringTree());
+    }
+  }
+
+  private void track(Node scope, long hash) {
+    ScopeState state = new ScopeState();
+    state.index = scopes.size();
+    state.hash = hash;
+    scopes.add(scope);
+    stateByScope.put(scope, state);
+  }
+
+  private void forget(Node scope) {
+    ScopeState state = stateByScope.remove(scope);
+    if (state == null) {
+      return;
+    }
+    // Keep the list dense by moving the last scope into the vacated slot.
+    Node last = scopes.remove(scopes.size() - 1);
+    if (last != scope) {
+      scopes.set(state.index, last);
+      stateByScope.get(last).index = state.index;
+    }
+  }
+
+  /** Adds the change scopes directly nested in the given scope, without entering them. */
+  private static void addNestedScopes(Node scope, ArrayDeque<Node> pending) {
+    ArrayDeque<Node> stack = new ArrayDeque<>();
+    for (Node child = scope.getFirstChild(); child != null; child = child.getNext()) {
+      stack.push(child);
+    }
+    while (!stack.isEmpty()) {
+      Node n = stack.pop();
+      if (NodeUtil.isChangeScopeRoot(n)) {
+        pending.push(n);
+        continue;
+      }
+      for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+        stack.push(child);
+      }
+    }
+  }
+
+  /**
+   * Hashes the given scope the way {@link ChangeVerifier} compares it: nested functions and scripts
+   * contribute only their token and, for function declarations, their name.
+   */
+  private static long hashScope(Node scope) {
+    long hash = hashShallow(scope);
+    ArrayDeque<Node> stack = new ArrayDeque<>();
+    for (Node child = scope.getLastChild(); child != null; child = child.getPrevious()) {
+      stack.push(child);
+    }
+    while (!stack.isEmpty()) {
+      Node n = stack.pop();
+      if (n.isFunction() || n.isScript()) {
+        hash = hash * 31 + n.getToken().ordinal();
+        if (n.isFunction() && NodeUtil.isFunctionDeclaration(n)) {
+          hash = hash * 31 + n.getFirstChild().getString().hashCode();
+        }
+        continue;
+      }
+      hash = hash * 31 + hashShallow(n);
+      for (Node child = n.getLastChild(); child != null; child = child.getPrevious()) {
+        stack.push(child);
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Hashes the parts of a single node that {@link Node#isEquivalentWithSideEffectsToShallow}
+   * compares. Equivalent nodes always hash the same.
+   */
+  private static long hashShallow(Node n) {
+    long hash = n.getToken().ordinal();
+    hash = hash * 31 + n.getChildCount();
+    hash = hash * 31 + n.getSideEffectFlags();
+    hash = hash * 31 + (n.isUnusedParameter() ? 1 : 0);
+    if (n.isFunction()) {
+      hash = hash * 31 + (NodeUtil.isFunctionDeclaration(n) ? 1 : 0);
+    }
+    switch (n.getToken()) {
+      case NAME:
+      case STRINGLIT:
+      case STRING_KEY:
+      case GETPROP:
+      case OPTCHAIN_GETPROP:
+      case LABEL_NAME:
+      case MEMBER_FUNCTION_DEF:
+      case GETTER_DEF:
+      case SETTER_DEF:
+      case IMPORT_STAR:
+        hash = hash * 31 + n.getString().hashCode();
+        break;
+      case NUMBER:
+        hash = hash * 31 + Double.hashCode(n.getDouble());
+        break;
+      case BIGINT:
+        hash = hash * 31 + n.getBigInt().hashCode();
+        break;
+      case TEMPLATELIT_STRING:
+        hash = hash * 31 + n.getRawString().hashCode();
+        break;
+      default:
+        break;
+    }
+    return hash;
+  }
+
+  private static Set<Node> newIdentitySet() {
+    return Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  private static String getNameForNode(Node n) {
+    String sourceName = NodeUtil.getSourceName(n);
+    if (n.isScript()) {
+      return "SCRIPT: " + sourceName;
+    }
+    String fnName = NodeUtil.getNearestFunctionName(n);
+    if (fnName == null) {
+      fnName = "anonymous@" + n.getLineno() + ":" + n.getCharno();
+    }
+    return "FUNCTION: " + fnName + " in " + sourceName;
+  }
+}
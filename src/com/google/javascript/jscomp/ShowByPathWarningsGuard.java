@@ -67,6 +67,11 @@ public final class ShowByPathWarningsGuard extends WarningsGuard {
     return warningsGuard.level(error);
   }
 
+  @Override
+  boolean dependsOnlyOnSourceAndType() {
+    return true;
+  }
+
   @Override
   protected int getPriority() {
     return warningsGuard.getPriority();
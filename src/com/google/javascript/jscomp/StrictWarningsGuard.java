@@ -33,6 +33,11 @@ public final class StrictWarningsGuard extends WarningsGuard {
     return error.getDefaultLevel().isOn() ? CheckLevel.ERROR : null;
   }
 
+  @Override
+  boolean dependsOnlyOnSourceAndType() {
+    return true;
+  }
+
   @Override
   protected int getPriority() {
     return WarningsGuard.Priority.STRICT.value; // applied last
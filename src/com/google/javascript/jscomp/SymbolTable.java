@@ -27,7 +27,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Table;
-import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.jscomp.parsing.parser.util.format.SimpleFormat;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.JSDocInfo.Marker;
@@ -60,6 +60,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -103,6 +104,19 @@ public final class SymbolTable {
    */
   public static final String GLOBAL_THIS = "*global*";
 
+  /** How much of a symbol table {@link Compiler#buildKnownSymbolTable(Detail)} fills in. */
+  public enum Detail {
+    /** Every symbol and reference the compiler knows of. */
+    FULL,
+
+    /**
+     * Names, properties and their references only. This leaves out the symbols and references for
+     * {@code this} and {@code super}, references from JSDoc types, and visibility, which all take
+     * whole-program walks of their own.
+     */
+    BASIC,
+  }
+
   /**
    * All symbols in the program, uniquely identified by the node where they're declared and their
    * name.
@@ -941,8 +955,7 @@ public final class SymbolTable {
 
   /** Index JSDocInfo. */
   void fillJSDocInfo(Node externs, Node root) {
-    NodeTraversal.traverseRoots(
-        compiler, new JSDocInfoCollector(compiler.getTypeRegistry()), externs, root);
+    findReferences(externs, root, () -> new JSDocInfoCollector(compiler.getTypeRegistry()));
 
     // Create references to parameters in the JSDoc.
     for (Symbol sym : getAllSymbols()) {
@@ -1138,21 +1151,75 @@ public final class SymbolTable {
 
   /** Fill in references to "super" variables. */
   void fillSuperReferences(Node externs, Node root) {
-    NodeTraversal.Callback collectSuper =
-        new AbstractPostOrderCallback() {
-          @Override
-          public void visit(NodeTraversal t, Node n, Node parent) {
-            // Process only 'super' nodes with types.
-            if (!n.isSuper() || n.getJSType() == null) {
-              return;
-            }
-            Symbol classSymbol = getSymbolForTypeHelper(n.getJSType(), /* linkToCtor= */ false);
-            if (classSymbol != null) {
-              classSymbol.defineReferenceAt(n);
-            }
-          }
-        };
-    NodeTraversal.traverseRoots(compiler, collectSuper, externs, root);
+    findReferences(externs, root, SuperReferenceFinder::new);
+  }
+
+  /**
+   * Finds the typed "super" nodes, and looks up their class symbols only when defining their
+   * references. Looking up the symbol of an instance type asks its constructor for its prototype,
+   * which {@link FunctionType#getPrototype} creates if it is missing, so it must not happen on a
+   * worker thread.
+   */
+  private class SuperReferenceFinder extends ReferenceFinder {
+    private final List<Node> superNodes = new ArrayList<>();
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      // Process only 'super' nodes with types.
+      if (n.isSuper() && n.getJSType() != null) {
+        superNodes.add(n);
+      }
+    }
+
+    @Override
+    void defineFoundReferences() {
+      for (Node n : superNodes) {
+        Symbol classSymbol = getSymbolForTypeHelper(n.getJSType(), /* linkToCtor= */ false);
+        if (classSymbol != null) {
+          found(classSymbol, n);
+        }
+      }
+      super.defineFoundReferences();
+    }
+  }
+
+  /**
+   * Runs reference finders over the externs and the inputs, then defines the references they
+   * found.
+   *
+   * <p>With parallel threads enabled, each script gets its own finder on a worker thread. Finders
+   * only read the symbol table and the types while traversing; anything that may change a type is
+   * left to {@link ReferenceFinder#defineFoundReferences}. The references are defined in script
+   * order once all finders are done, so the result is the same as for a single finder.
+   */
+  private void findReferences(
+      Node externs, Node root, Supplier<? extends ReferenceFinder> finderFactory) {
+    int numParallelThreads = compiler.getOptions().numParallelThreads;
+    if (numParallelThreads <= 1) {
+      ReferenceFinder finder = finderFactory.get();
+      NodeTraversal.traverseRoots(compiler, finder, externs, root);
+      finder.defineFoundReferences();
+      return;
+    }
+
+    List<Node> scripts = new ArrayList<>();
+    for (Node scriptRoot : ImmutableList.of(externs, root)) {
+      for (Node script = scriptRoot.getFirstChild(); script != null; script = script.getNext()) {
+        scripts.add(script);
+      }
+    }
+    List<ReferenceFinder> finders =
+        WorkerPool.forEachInParallel(
+            scripts,
+            numParallelThreads,
+            (Node script) -> {
+              ReferenceFinder finder = finderFactory.get();
+              NodeTraversal.traverse(compiler, script, finder);
+              return finder;
+            });
+    for (ReferenceFinder finder : finders) {
+      finder.defineFoundReferences();
+    }
   }
 
   /*
@@ -1749,9 +1816,31 @@ public final class SymbolTable {
     }
   }
 
+  /**
+   * A callback that looks up the symbols it finds references to, and defines the references only
+   * when asked to. Lookups don't change the symbol table, so finders can run concurrently.
+   */
+  private abstract class ReferenceFinder extends NodeTraversal.AbstractPostOrderCallback {
+    private final List<Symbol> foundSymbols = new ArrayList<>();
+    private final List<Node> foundNodes = new ArrayList<>();
+
+    void found(Symbol symbol, Node n) {
+      foundSymbols.add(symbol);
+      foundNodes.add(n);
+    }
+
+    /** Defines the found references, in the order they were found. */
+    void defineFoundReferences() {
+      for (int i = 0; i < foundSymbols.size(); i++) {
+        foundSymbols.get(i).defineReferenceAt(foundNodes.get(i));
+      }
+    }
+  }
+
   /** Collects references to types in JSDocInfo. */
-  private class JSDocInfoCollector extends NodeTraversal.AbstractPostOrderCallback {
+  private class JSDocInfoCollector extends ReferenceFinder {
     private final JSTypeRegistry typeRegistry;
+    private final List<Node> foundDocInfos = new ArrayList<>();
 
     private JSDocInfoCollector(JSTypeRegistry registry) {
       this.typeRegistry = registry;
@@ -1763,7 +1852,7 @@ public final class SymbolTable {
 
         // Find references in the JSDocInfo.
         JSDocInfo info = n.getJSDocInfo();
-        docInfos.add(n);
+        foundDocInfos.add(n);
 
         for (Node typeAst : info.getTypeNodes()) {
           SymbolScope scope = scopes.get(t.getScopeRoot());
@@ -1805,7 +1894,7 @@ public final class SymbolTable {
             copy.setLength(lastPart.length());
             ref = copy;
           }
-          symbol.defineReferenceAt(ref);
+          found(symbol, ref);
         }
       }
 
@@ -1814,6 +1903,12 @@ public final class SymbolTable {
       }
     }
 
+    @Override
+    void defineFoundReferences() {
+      docInfos.addAll(foundDocInfos);
+      super.defineFoundReferences();
+    }
+
     // TODO(peterhal): @template types.
     private Symbol lookupPossiblyDottedName(SymbolScope scope, String dottedName) {
       // Try the dotted name to start.
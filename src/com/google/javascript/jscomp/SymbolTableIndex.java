@@ -0,0 +1,313 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.GwtIncompatible;
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.SymbolTable.Reference;
+import com.google.javascript.jscomp.SymbolTable.Symbol;
+import com.google.javascript.rhino.JSDocInfo.Visibility;
+import com.google.javascript.rhino.Node;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A compact, serializable copy of the locations in a {@link SymbolTable}, for indexers that cache
+ * the symbols of each build target instead of compiling it again.
+ *
+ * <p>A symbol table points into the AST and the type registry of its compiler, so it can't be
+ * stored itself. This keeps what an index needs from it: the name, kind and visibility of every
+ * symbol, and the source location of its declaration and of each of its references.
+ *
+ * <p>Layout: an int magic ("SYMT") and an int version, followed by varints. Each string is stored
+ * once, as a byte length and UTF-8 bytes, and referred to by its position.
+ *
+ * <pre>
+ * stringCount, strings
+ * symbolCount, then per symbol: name, flags, visibility name + 1 (0 if none), the declaration if
+ *     the flags say there is one, referenceCount and the references
+ * each location: source file, line + 1, column + 1, length
+ * </pre>
+ */
+@GwtIncompatible("java.io")
+public final class SymbolTableIndex {
+  private static final int MAGIC = 0x53594d54; // "SYMT"
+  private static final int VERSION = 2;
+
+  private static final int PROPERTY_FLAG = 1;
+  private static final int DECLARATION_FLAG = 2;
+
+  private final ImmutableList<IndexedSymbol> symbols;
+
+  private SymbolTableIndex(ImmutableList<IndexedSymbol> symbols) {
+    this.symbols = symbols;
+  }
+
+  /** Returns the symbols, in the natural order of the symbol table they were written from. */
+  public ImmutableList<IndexedSymbol> getSymbols() {
+    return symbols;
+  }
+
+  /** A symbol read back from an index. */
+  public static final class IndexedSymbol {
+    private final String name;
+    private final boolean isProperty;
+    @Nullable private final Visibility visibility;
+    @Nullable private final Location declaration;
+    private final ImmutableList<Location> references;
+
+    private IndexedSymbol(
+        String name,
+        boolean isProperty,
+        @Nullable Visibility visibility,
+        @Nullable Location declaration,
+        ImmutableList<Location> references) {
+      this.name = name;
+      this.isProperty = isProperty;
+      this.visibility = visibility;
+      this.declaration = declaration;
+      this.references = references;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public boolean isProperty() {
+      return isProperty;
+    }
+
+    @Nullable
+    public Visibility getVisibility() {
+      return visibility;
+    }
+
+    @Nullable
+    public Location getDeclaration() {
+      return declaration;
+    }
+
+    /** Returns every reference to the symbol, usually including its declaration. */
+    public ImmutableList<Location> getReferences() {
+      return references;
+    }
+
+    @Override
+    public String toString() {
+      return name + "@" + declaration;
+    }
+  }
+
+  /** The source location of a declaration or reference. */
+  public static final class Location {
+    private final String sourceFile;
+    private final int lineno;
+    private final int charno;
+    private final int length;
+
+    private Location(String sourceFile, int lineno, int charno, int length) {
+      this.sourceFile = sourceFile;
+      this.lineno = lineno;
+      this.charno = charno;
+      this.length = length;
+    }
+
+    public String getSourceFile() {
+      return sourceFile;
+    }
+
+    /** Returns the 1-based line number, or -1 if unknown. */
+    public int getLineno() {
+      return lineno;
+    }
+
+    /** Returns the 0-based column number, or -1 if unknown. */
+    public int getCharno() {
+      return charno;
+    }
+
+    public int getLength() {
+      return length;
+    }
+
+    @Override
+    public String toString() {
+      return sourceFile + ":" + lineno + ":" + charno;
+    }
+  }
+
+  /** Writes the symbols of the given table, with their declarations and references. */
+  public static void write(SymbolTable table, OutputStream out) throws IOException {
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    List<Symbol> symbols = table.getAllSymbolsSorted();
+    List<ImmutableList<Reference>> referencesBySymbol = new ArrayList<>(symbols.size());
+    for (Symbol symbol : symbols) {
+      intern(strings, symbol.getName());
+      if (symbol.getVisibility() != null) {
+        intern(strings, symbol.getVisibility().name());
+      }
+      ImmutableList<Reference> references = table.getReferenceList(symbol);
+      if (symbol.getDeclarationNode() != null) {
+        intern(strings, sourceFileOf(symbol.getDeclarationNode()));
+      }
+      for (Reference reference : references) {
+        intern(strings, sourceFileOf(reference.getNode()));
+      }
+      referencesBySymbol.add(references);
+    }
+
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    writeVarint(data, strings.size());
+    for (String s : strings.keySet()) {
+      byte[] bytes = s.getBytes(UTF_8);
+      writeVarint(data, bytes.length);
+      data.write(bytes);
+    }
+
+    writeVarint(data, symbols.size());
+    for (int i = 0; i < symbols.size(); i++) {
+      Symbol symbol = symbols.get(i);
+      ImmutableList<Reference> references = referencesBySymbol.get(i);
+      Node declaration = symbol.getDeclarationNode();
+      writeVarint(data, strings.get(symbol.getName()));
+      writeVarint(
+          data,
+          (symbol.isProperty() ? PROPERTY_FLAG : 0) | (declaration != null ? DECLARATION_FLAG : 0));
+      Visibility visibility = symbol.getVisibility();
+      writeVarint(data, visibility == null ? 0 : strings.get(visibility.name()) + 1);
+      if (declaration != null) {
+        writeLocation(data, strings, declaration);
+      }
+      writeVarint(data, references.size());
+      for (Reference reference : references) {
+        writeLocation(data, strings, reference.getNode());
+      }
+    }
+    data.flush();
+  }
+
+  /** Reads an index written by {@link #write}. */
+  public static SymbolTableIndex read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+      throw new IOException("Not a symbol table index");
+    }
+
+    String[] strings = new String[readVarint(data)];
+    for (int i = 0; i < strings.length; i++) {
+      byte[] bytes = new byte[readVarint(data)];
+      data.readFully(bytes);
+      strings[i] = new String(bytes, UTF_8);
+    }
+
+    int symbolCount = readVarint(data);
+    ImmutableList.Builder<IndexedSymbol> symbols = ImmutableList.builder();
+    for (int i = 0; i < symbolCount; i++) {
+      String name = strings[readVarint(data)];
+      int flags = readVarint(data);
+      Visibility visibility = readVisibility(data, strings);
+      Location declaration =
+          (flags & DECLARATION_FLAG) != 0 ? readLocation(data, strings) : null;
+      int referenceCount = readVarint(data);
+      ImmutableList.Builder<Location> references = ImmutableList.builder();
+      for (int j = 0; j < referenceCount; j++) {
+        references.add(readLocation(data, strings));
+      }
+      symbols.add(
+          new IndexedSymbol(
+              name,
+              (flags & PROPERTY_FLAG) != 0,
+              visibility,
+              declaration,
+              references.build()));
+    }
+    return new SymbolTableIndex(symbols.build());
+  }
+
+  @Nullable
+  private static Visibility readVisibility(DataInputStream in, String[] strings)
+      throws IOException {
+    int visibility = readVarint(in);
+    if (visibility == 0) {
+      return null;
+    }
+    try {
+      return Visibility.valueOf(strings[visibility - 1]);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unknown visibility: " + strings[visibility - 1], e);
+    }
+  }
+
+  private static void writeLocation(
+      DataOutputStream out, Map<String, Integer> strings, Node n) throws IOException {
+    writeVarint(out, strings.get(sourceFileOf(n)));
+    writeVarint(out, n.getLineno() + 1);
+    writeVarint(out, n.getCharno() + 1);
+    writeVarint(out, n.getLength());
+  }
+
+  private static Location readLocation(DataInputStream in, String[] strings) throws IOException {
+    String sourceFile = strings[readVarint(in)];
+    int lineno = readVarint(in) - 1;
+    int charno = readVarint(in) - 1;
+    return new Location(sourceFile, lineno, charno, readVarint(in));
+  }
+
+  private static void intern(Map<String, Integer> strings, String s) {
+    if (!strings.containsKey(s)) {
+      strings.put(s, strings.size());
+    }
+  }
+
+  private static String sourceFileOf(Node n) {
+    String sourceFile = n.getSourceFileName();
+    return sourceFile == null ? "" : sourceFile;
+  }
+
+  /** Writes a non-negative int in 7-bit groups, least significant first. */
+  private static void writeVarint(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7f) != 0) {
+      out.writeByte((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private static int readVarint(DataInputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+}
@@ -113,6 +113,22 @@ public final class TemplateAstMatcher {
     this.typeMatchingStrategy = checkNotNull(typeMatchingStrategy);
   }
 
+  /**
+   * Constructs a matcher for the template of {@code prepared}, without preparing it again. The two
+   * matchers share the prepared template, which matching only reads, but each keeps the matches of
+   * its own last match, so they can be used on different threads.
+   */
+  public TemplateAstMatcher(TemplateAstMatcher prepared) {
+    this.topScope = prepared.topScope;
+    this.typeRegistry = prepared.typeRegistry;
+    this.templateStart = prepared.templateStart;
+    this.typeMatchingStrategy = prepared.typeMatchingStrategy;
+    this.templateParams.addAll(prepared.templateParams);
+    this.templateLocals.addAll(prepared.templateLocals);
+    this.paramNodeMatches.addAll(Collections.nCopies(templateParams.size(), null));
+    this.localVarMatches.addAll(Collections.nCopies(templateLocals.size(), null));
+  }
+
   /**
    * @param n The node to check.
    * @return Whether the node is matches the template.
@@ -131,6 +147,22 @@ public final class TemplateAstMatcher {
     return false;
   }
 
+  /**
+   * Returns the first node of the prepared template. Every node this matcher matches has the same
+   * token, unless the start node is a placeholder.
+   */
+  Node getTemplateStart() {
+    return templateStart;
+  }
+
+  /** Returns whether a node of a prepared template stands for a parameter or a local name. */
+  static boolean isPlaceholder(Node templateNode) {
+    Token token = templateNode.getToken();
+    return token == TEMPLATE_TYPE_PARAM
+        || token == TEMPLATE_LOCAL_NAME
+        || token == TEMPLATE_STRING_LITERAL;
+  }
+
   /**
    * @return Whether the last match succeeded due to loose type information.
    */
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * An index over a list of {@link TemplateAstMatcher}s that narrows down which of them can possibly
+ * match a given node, so that the rest don't have to be tried.
+ *
+ * <p>A template can only match a node with the same token as the template's first node. If that
+ * node is a call, the callee must also have the same name, and if it is a property access or a
+ * name, the property or name must be the same. The index groups the templates by these keys and
+ * looks up a node by its own keys. Templates that start with a parameter or a local name can match
+ * anything, so they are candidates for every node.
+ *
+ * <p>Candidates are always returned in the order their templates were added, so iterating over
+ * them finds the same first match as iterating over all the templates. The index is immutable, but
+ * {@link TemplateAstMatcher}s are not, so matching against the candidates is not thread-safe.
+ *
+ * @param <T> the values associated with the templates
+ */
+public final class TemplateAstMatcherIndex<T> {
+  private final ImmutableList<T> wildcards;
+  private final ImmutableMap<Token, Bucket<T>> buckets;
+
+  /** The candidates for all the nodes with one token. */
+  private static final class Bucket<T> {
+    /** The candidates for nodes whose name has no template of its own. */
+    final ImmutableList<T> unnamed;
+
+    /** The candidates for nodes with a name some template asks for. */
+    final ImmutableMap<String, ImmutableList<T>> byName;
+
+    Bucket(ImmutableList<T> unnamed, ImmutableMap<String, ImmutableList<T>> byName) {
+      this.unnamed = unnamed;
+      this.byName = byName;
+    }
+  }
+
+  private TemplateAstMatcherIndex(
+      ImmutableList<T> wildcards, ImmutableMap<Token, Bucket<T>> buckets) {
+    this.wildcards = wildcards;
+    this.buckets = buckets;
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Returns the values of the templates that might match the given node, in the order they were
+   * added to the index.
+   */
+  public ImmutableList<T> getCandidates(Node n) {
+    Bucket<T> bucket = buckets.get(n.getToken());
+    if (bucket == null) {
+      return wildcards;
+    }
+    String name = getName(n);
+    if (name != null) {
+      ImmutableList<T> named = bucket.byName.get(name);
+      if (named != null) {
+        return named;
+      }
+    }
+    return bucket.unnamed;
+  }
+
+  /**
+   * Returns the name that a template starting with this node requires of its matches, or that a
+   * node offers to templates, if any.
+   */
+  @Nullable
+  private static String getName(Node n) {
+    switch (n.getToken()) {
+      case CALL:
+      case NEW:
+        Node callee = n.getFirstChild();
+        return callee.isName() || callee.isGetProp() ? callee.getString() : null;
+      case NAME:
+      case GETPROP:
+        return n.getString();
+      default:
+        return null;
+    }
+  }
+
+  /** Builds a {@link TemplateAstMatcherIndex}. */
+  public static final class Builder<T> {
+    /** The key of each added template, in the order they were added. */
+    private final List<Key<T>> keys = new ArrayList<>();
+
+    private static final class Key<T> {
+      @Nullable final Token token;
+      @Nullable final String name;
+      final T value;
+
+      Key(@Nullable Token token, @Nullable String name, T value) {
+        this.token = token;
+        this.name = name;
+        this.value = value;
+      }
+    }
+
+    private Builder() {}
+
+    /** Adds a template, with the value that {@link #getCandidates} returns for it. */
+    public Builder<T> add(TemplateAstMatcher matcher, T value) {
+      Node start = matcher.getTemplateStart();
+      if (TemplateAstMatcher.isPlaceholder(start)) {
+        keys.add(new Key<>(null, null, value));
+      } else {
+        keys.add(new Key<>(start.getToken(), getName(start), value));
+      }
+      return this;
+    }
+
+    public TemplateAstMatcherIndex<T> build() {
+      ImmutableList.Builder<T> wildcards = ImmutableList.builder();
+      Map<Token, Set<String>> namesByToken = new EnumMap<>(Token.class);
+      for (Key<T> key : keys) {
+        if (key.token == null) {
+          wildcards.add(key.value);
+        } else {
+          Set<String> names =
+              namesByToken.computeIfAbsent(key.token, (Token t) -> new LinkedHashSet<>());
+          if (key.name != null) {
+            names.add(key.name);
+          }
+        }
+      }
+
+      // Each list is worked out in full here, so that a lookup is a couple of map reads.
+      ImmutableMap.Builder<Token, Bucket<T>> buckets = ImmutableMap.builder();
+      for (Map.Entry<Token, Set<String>> entry : namesByToken.entrySet()) {
+        Token token = entry.getKey();
+        ImmutableMap.Builder<String, ImmutableList<T>> byName = ImmutableMap.builder();
+        for (String name : entry.getValue()) {
+          byName.put(name, candidatesFor(token, name));
+        }
+        buckets.put(token, new Bucket<>(candidatesFor(token, null), byName.build()));
+      }
+      return new TemplateAstMatcherIndex<>(wildcards.build(), buckets.build());
+    }
+
+    /** Returns the templates that can match a node with the given token and name, in order. */
+    private ImmutableList<T> candidatesFor(Token token, @Nullable String name) {
+      ImmutableList.Builder<T> candidates = ImmutableList.builder();
+      for (Key<T> key : keys) {
+        if (key.token == null
+            || (key.token == token && (key.name == null || key.name.equals(name)))) {
+          candidates.add(key.value);
+        }
+      }
+      return candidates.build();
+    }
+  }
+}
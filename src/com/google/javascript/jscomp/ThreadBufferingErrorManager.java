@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.SortingErrorManager.ErrorWithLevel;
+import com.google.javascript.jscomp.SortingErrorManager.LeveledJSErrorComparator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A thread-safe {@link ErrorManager} whose {@link #report} doesn't take a shared lock.
+ *
+ * <p>Unlike {@link ThreadSafeDelegatingErrorManager}, which serializes every report on a single
+ * monitor, each reporting thread appends to its own buffer. The buffers are merged into the
+ * delegate when the results are read, e.g. by {@link #getErrors} or {@link #generateReport}. Each
+ * merge is sorted with the same ordering as {@link SortingErrorManager}, so the delegate sees the
+ * diagnostics in the same order no matter how the reporting threads interleaved. Deduplication is
+ * left to the delegate, and so behaves as it would without buffering.
+ *
+ * <p>Warnings guards are applied by {@link Compiler#report} before reaching the error manager, and
+ * are not made thread-safe by this class: {@link ComposeWarningsGuard#level} may be called from
+ * several threads, but guards must not be added while diagnostics are being reported.
+ *
+ * <p>{@link #hasHaltingErrors} is answered without merging, so that passes can poll it cheaply.
+ */
+public final class ThreadBufferingErrorManager implements ErrorManager {
+  /**
+   * The merge ordering: {@link LeveledJSErrorComparator}, with ties between errors that it
+   * considers equal broken by diagnostic type so that the one the delegate keeps is deterministic.
+   */
+  private static final Comparator<ErrorWithLevel> MERGE_ORDER =
+      new LeveledJSErrorComparator().thenComparing((ErrorWithLevel e) -> e.error.getType().key);
+
+  private final ErrorManager delegate;
+
+  /** All per-thread buffers that have been created. */
+  private final Queue<Queue<ErrorWithLevel>> buffers = new ConcurrentLinkedQueue<>();
+
+  private final ThreadLocal<Queue<ErrorWithLevel>> threadBuffer =
+      ThreadLocal.withInitial(
+          () -> {
+            Queue<ErrorWithLevel> buffer = new ConcurrentLinkedQueue<>();
+            buffers.add(buffer);
+            return buffer;
+          });
+
+  /** Whether an error that halts compilation has been reported but possibly not yet merged. */
+  private volatile boolean haltingErrorReported = false;
+
+  public ThreadBufferingErrorManager(ErrorManager delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void report(CheckLevel level, JSError error) {
+    threadBuffer.get().add(new ErrorWithLevel(error, level));
+    if (level == CheckLevel.ERROR && error.getType().level == CheckLevel.ERROR) {
+      haltingErrorReported = true;
+    }
+  }
+
+  /**
+   * Moves everything reported so far into the delegate. Reports made concurrently with the merge
+   * are either included in it or left for the next one.
+   */
+  private synchronized void merge() {
+    List<ErrorWithLevel> pending = new ArrayList<>();
+    for (Queue<ErrorWithLevel> buffer : buffers) {
+      for (ErrorWithLevel e = buffer.poll(); e != null; e = buffer.poll()) {
+        pending.add(e);
+      }
+    }
+    pending.sort(MERGE_ORDER);
+    for (ErrorWithLevel e : pending) {
+      delegate.report(e.level, e.error);
+    }
+  }
+
+  @Override
+  public synchronized void generateReport() {
+    merge();
+    delegate.generateReport();
+  }
+
+  @Override
+  public boolean hasHaltingErrors() {
+    return haltingErrorReported || delegate.hasHaltingErrors();
+  }
+
+  @Override
+  public synchronized int getErrorCount() {
+    merge();
+    return delegate.getErrorCount();
+  }
+
+  @Override
+  public synchronized int getWarningCount() {
+    merge();
+    return delegate.getWarningCount();
+  }
+
+  @Override
+  public synchronized ImmutableList<JSError> getErrors() {
+    merge();
+    return delegate.getErrors();
+  }
+
+  @Override
+  public synchronized ImmutableList<JSError> getWarnings() {
+    merge();
+    return delegate.getWarnings();
+  }
+
+  @Override
+  public synchronized void setTypedPercent(double typedPercent) {
+    delegate.setTypedPercent(typedPercent);
+  }
+
+  @Override
+  public synchronized double getTypedPercent() {
+    return delegate.getTypedPercent();
+  }
+
+  @Override
+  public synchronized boolean shouldReportConformanceViolation(
+      Requirement requirement,
+      Optional<Requirement.WhitelistEntry> whitelistEntry,
+      JSError diagnostic) {
+    return delegate.shouldReportConformanceViolation(requirement, whitelistEntry, diagnostic);
+  }
+}
@@ -97,6 +97,15 @@ public abstract class WarningsGuard implements Serializable {
     return false;
   }
 
+  /**
+   * Returns whether {@link #level} only depends on the source name, the {@link DiagnosticType} and
+   * the default level of the error. {@link ComposeWarningsGuard} memoizes the levels assigned by
+   * such guards.
+   */
+  boolean dependsOnlyOnSourceAndType() {
+    return false;
+  }
+
   enum DiagnosticGroupState {
     ON,
     OFF,
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.GwtIncompatible;
+import com.google.common.collect.AbstractIterator;
+import com.google.javascript.jscomp.JsMessage.PlaceholderReference;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * A MessageBundle backed by a binary index of the messages in an XML Translation Bundle (XTB).
+ *
+ * <p>Parsing a large XTB builds every message up front. The index is written once per XTB with
+ * {@link #write}, and can then be memory-mapped by every compilation that needs it with {@link
+ * #map}. Opening it costs nothing, and each lookup is a binary search that decodes only the message
+ * asked for.
+ *
+ * <p>To index an XTB file from the command line, run this class with the XTB file and the index
+ * file to write as arguments, and pass the index to the compiler's {@code --translations_file}.
+ *
+ * <p>Layout, with all integers big-endian and all strings written as a byte length followed by
+ * UTF-8 bytes:
+ *
+ * <pre>
+ * int magic ("XTBI"), int version, int count
+ * int[count] offsets of the entries, in order of increasing message id
+ * entries: string id, int partCount, then per part a kind byte (0 string, 1 placeholder) and a
+ *     string
+ * </pre>
+ */
+@GwtIncompatible("java.nio")
+public final class XtbMessageIndex implements MessageBundle {
+  private static final int MAGIC = 0x58544249; // "XTBI"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 12;
+
+  private static final byte STRING_PART = 0;
+  private static final byte PLACEHOLDER_PART = 1;
+
+  private final ByteBuffer index;
+  private final int count;
+  private final JsMessage.IdGenerator idGenerator;
+
+  /**
+   * Wraps an index written by {@link #write}.
+   *
+   * @param projectId the translation console project id (i.e. name)
+   */
+  public XtbMessageIndex(ByteBuffer index, @Nullable String projectId) {
+    // Reads only use absolute positions, so sharing the buffer between threads is safe.
+    this.index = index.duplicate();
+    checkArgument(isIndex(this.index), "Not an XTB message index");
+    this.count = this.index.getInt(8);
+    this.idGenerator = new GoogleJsMessageIdGenerator(projectId);
+  }
+
+  /** Memory-maps an index file written by {@link #write}. */
+  public static XtbMessageIndex map(Path indexFile, @Nullable String projectId)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      return new XtbMessageIndex(
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), projectId);
+    }
+  }
+
+  /** Returns whether the stream starts like an index rather than like an XTB file. */
+  public static boolean startsWithIndexHeader(InputStream in) throws IOException {
+    byte[] header = new byte[4];
+    int read = 0;
+    while (read < header.length) {
+      int n = in.read(header, read, header.length - read);
+      if (n < 0) {
+        return false;
+      }
+      read += n;
+    }
+    return ByteBuffer.wrap(header).getInt() == MAGIC;
+  }
+
+  private static boolean isIndex(ByteBuffer buffer) {
+    return buffer.limit() >= HEADER_SIZE
+        && buffer.getInt(0) == MAGIC
+        && buffer.getInt(4) == VERSION;
+  }
+
+  /**
+   * Writes an index of all the messages in the given bundle, usually an {@link XtbMessageBundle}.
+   */
+  public static void write(MessageBundle bundle, OutputStream out) throws IOException {
+    List<JsMessage> messages = new ArrayList<>();
+    for (JsMessage message : bundle.getAllMessages()) {
+      messages.add(message);
+    }
+    messages.sort((a, b) -> a.getId().compareTo(b.getId()));
+
+    ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+    DataOutputStream entries = new DataOutputStream(entryBytes);
+    int[] offsets = new int[messages.size()];
+    int entriesStart = HEADER_SIZE + 4 * messages.size();
+    for (int i = 0; i < messages.size(); i++) {
+      JsMessage message = messages.get(i);
+      offsets[i] = entriesStart + entries.size();
+      writeString(entries, message.getId());
+      entries.writeInt(message.getParts().size());
+      for (CharSequence part : message.getParts()) {
+        if (part instanceof PlaceholderReference) {
+          entries.writeByte(PLACEHOLDER_PART);
+          writeString(entries, ((PlaceholderReference) part).getName());
+        } else {
+          entries.writeByte(STRING_PART);
+          writeString(entries, part.toString());
+        }
+      }
+    }
+    entries.flush();
+
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeInt(messages.size());
+    for (int offset : offsets) {
+      data.writeInt(offset);
+    }
+    entryBytes.writeTo(data);
+    data.flush();
+  }
+
+  /** Writes the index of an XTB file: {@code XtbMessageIndex <xtb file> <index file>}. */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: XtbMessageIndex <xtb file> <index file>");
+      System.exit(1);
+    }
+    MessageBundle bundle;
+    try (InputStream xtb = new FileInputStream(args[0])) {
+      // Message ids are read from the XTB file, so no project id is needed to index it.
+      bundle = new XtbMessageBundle(xtb, null);
+    }
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[1]))) {
+      write(bundle, out);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String s) throws IOException {
+    byte[] bytes = s.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  @Override
+  public JsMessage getMessage(String id) {
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int entry = entryOffset(mid);
+      int cmp = readString(entry).compareTo(id);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return readMessage(entry);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public JsMessage.IdGenerator idGenerator() {
+    return idGenerator;
+  }
+
+  @Override
+  public Iterable<JsMessage> getAllMessages() {
+    return () ->
+        new AbstractIterator<JsMessage>() {
+          int next = 0;
+
+          @Override
+          protected JsMessage computeNext() {
+            return next < count ? readMessage(entryOffset(next++)) : endOfData();
+          }
+        };
+  }
+
+  /** Returns the number of messages in the index. */
+  public int size() {
+    return count;
+  }
+
+  private int entryOffset(int i) {
+    return index.getInt(HEADER_SIZE + 4 * i);
+  }
+
+  private JsMessage readMessage(int offset) {
+    String id = readString(offset);
+    offset += 4 + index.getInt(offset);
+    int partCount = index.getInt(offset);
+    offset += 4;
+
+    JsMessage.Builder builder = new JsMessage.Builder(id);
+    for (int i = 0; i < partCount; i++) {
+      byte kind = index.get(offset);
+      String part = readString(offset + 1);
+      offset += 1 + 4 + index.getInt(offset + 1);
+      if (kind == PLACEHOLDER_PART) {
+        builder.appendPlaceholderReference(part);
+      } else {
+        builder.appendStringPart(part);
+      }
+    }
+    return builder.build();
+  }
+
+  private String readString(int offset) {
+    int length = index.getInt(offset);
+    byte[] bytes = new byte[length];
+    // Read through a private view, so concurrent readers don't share a position.
+    ByteBuffer view = index.duplicate();
+    view.position(offset + 4);
+    view.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.base;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+
+/**
+ * Worker threads for the compiler's own passes, with as much stack as the compiler thread.
+ *
+ * <p>This is internal to the compiler and not part of its API; it is public only so that the
+ * compiler's packages can share it, and may change or go away without notice.
+ */
+public final class WorkerPool implements AutoCloseable {
+  // The same as the stack of the compiler thread, see CompilerExecutor.
+  private static final long WORKER_STACK_SIZE = (1 << 26); // About 64MB
+
+  private final ListeningExecutorService executorService;
+
+  /**
+   * Applies {@code fn} to each of the items on up to {@code numThreads} threads, and returns the
+   * results in the order of the items. The results may contain nulls.
+   *
+   * <p>An unchecked exception or error thrown by {@code fn} is rethrown as is, and a checked one is
+   * wrapped in a {@link RuntimeException}. If the calling thread is interrupted while waiting, the
+   * remaining work is cancelled and the thread's interrupt flag is set again before throwing.
+   */
+  public static <T, R> List<R> forEachInParallel(
+      Iterable<T> items, int numThreads, Function<? super T, ? extends R> fn) {
+    try (WorkerPool pool = new WorkerPool(numThreads)) {
+      return pool.forEach(items, fn);
+    }
+  }
+
+  /**
+   * Starts a pool for code that runs several batches of work one after the other, and shouldn't
+   * start new threads for each of them. Each batch works like {@link #forEachInParallel}.
+   */
+  public WorkerPool(int numThreads) {
+    checkArgument(numThreads > 0, "numThreads must be positive: %s", numThreads);
+    ThreadFactory threadFactory =
+        r -> {
+          Thread t = new Thread(null, r, "jscompiler-worker", WORKER_STACK_SIZE);
+          t.setDaemon(true); // Do not prevent the JVM from exiting.
+          return t;
+        };
+    this.executorService =
+        MoreExecutors.listeningDecorator(
+            new ThreadPoolExecutor(
+                numThreads,
+                numThreads,
+                Integer.MAX_VALUE,
+                SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                threadFactory));
+  }
+
+  /** Applies {@code fn} to each of the items, and returns the results in the order of the items. */
+  public <T, R> List<R> forEach(Iterable<T> items, Function<? super T, ? extends R> fn) {
+    List<ListenableFuture<R>> futureList = new ArrayList<>();
+    for (T item : items) {
+      Callable<R> task = () -> fn.apply(item);
+      futureList.add(executorService.submit(task));
+    }
+
+    boolean done = false;
+    try {
+      List<R> results = Futures.allAsList(futureList).get();
+      done = true;
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      if (!done) {
+        // Don't leave the remaining items running after a failure.
+        for (Future<R> future : futureList) {
+          future.cancel(true);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    executorService.shutdown();
+  }
+}
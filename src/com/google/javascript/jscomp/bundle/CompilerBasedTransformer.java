@@ -37,6 +37,7 @@ import com.google.javascript.jscomp.VariableRenamingPolicy;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A source transformer base class. May also include a runtime that needs to
@@ -48,6 +49,11 @@ public abstract class CompilerBasedTransformer implements Source.Transformer {
 
   private final CompilerSupplier compilerSupplier;
 
+  // Every transformed file asks for the same runtime library, and compiling it costs about as much
+  // as transforming the file itself, so each library is compiled once and shared.
+  @SuppressWarnings("Immutable") // only memoizes compilerSupplier.runtime
+  private final ConcurrentHashMap<String, String> runtimes = new ConcurrentHashMap<>();
+
   public CompilerBasedTransformer(CompilerSupplier compilerSupplier) {
     this.compilerSupplier = checkNotNull(compilerSupplier);
   }
@@ -78,7 +84,7 @@ public abstract class CompilerBasedTransformer implements Source.Transformer {
         .setCode(result.source)
         .setSourceMap(result.sourceMap);
     if (getRuntime().isPresent()) {
-        builder.addRuntime(compilerSupplier.runtime(getRuntime().get()));
+        builder.addRuntime(runtimes.computeIfAbsent(getRuntime().get(), compilerSupplier::runtime));
     }
     return builder.build();
   }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.bundle;
+
+import com.google.common.annotations.GwtIncompatible;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Runs the batch methods of {@link Source.Transformer} and {@link
+ * com.google.javascript.jscomp.transpile.Transpiler}, which transform each input as a separate task
+ * on a caller-supplied executor.
+ */
+@GwtIncompatible
+public final class ConcurrentTransforms {
+
+  /**
+   * Applies {@code transform} to each input as a separate task on the given executor. The results
+   * are in the same order as the inputs. If any task throws, one of the exceptions is rethrown once
+   * all of the tasks are done.
+   */
+  public static <T, R> ImmutableList<R> applyAll(
+      Iterable<T> inputs, Function<? super T, ? extends R> transform, Executor executor) {
+    List<CompletableFuture<R>> futures = new ArrayList<>();
+    for (T input : inputs) {
+      futures.add(CompletableFuture.supplyAsync(() -> transform.apply(input), executor));
+    }
+    ImmutableList.Builder<R> results = ImmutableList.builder();
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+      for (CompletableFuture<R> future : futures) {
+        results.add(future.join());
+      }
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      } else if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+    return results.build();
+  }
+
+  private ConcurrentTransforms() {}
+}
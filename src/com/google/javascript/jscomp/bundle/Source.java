@@ -22,13 +22,16 @@ import com.google.auto.value.AutoValue;
 import com.google.common.annotations.GwtIncompatible;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.Immutable;
 import com.google.javascript.jscomp.deps.DependencyInfo;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
@@ -163,6 +166,15 @@ public abstract class Source {
       return x -> x;
     }
 
+    /**
+     * Transforms all of the inputs, running each transformation as a separate task on the given
+     * executor. The results are in the same order as the inputs. If any transformation throws, one
+     * of the exceptions is rethrown once all of the tasks are done.
+     */
+    default ImmutableList<Source> transformAll(List<Source> inputs, Executor executor) {
+      return ConcurrentTransforms.applyAll(inputs, this::transform, executor);
+    }
+
     /** Converts this Transformer to a Function. */
     default Function<Source, Source> asFunction() {
       return this::transform;
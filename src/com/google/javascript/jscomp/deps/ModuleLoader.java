@@ -36,6 +36,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 
 /**
@@ -78,6 +80,17 @@ public final class ModuleLoader {
 
   private final ModuleResolver moduleResolver;
 
+  /**
+   * Successful resolutions, by the directory of the importing script and then by module address.
+   * Failures aren't cached, so their warnings are still reported for every import. Null for {@link
+   * #EMPTY}, which is shared by every compilation.
+   */
+  @Nullable
+  private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> resolutionCache;
+
+  private final AtomicLong resolutionCacheHits = new AtomicLong();
+  private final AtomicLong resolutionCacheMisses = new AtomicLong();
+
   /**
    * Creates an instance of the module loader which can be used to locate ES6 and CommonJS modules.
    *
@@ -95,6 +108,24 @@ public final class ModuleLoader {
       ModuleResolverFactory factory,
       PathResolver pathResolver,
       PathEscaper pathEscaper) {
+    this(
+        errorHandler,
+        moduleRoots,
+        inputs,
+        factory,
+        pathResolver,
+        pathEscaper,
+        /* cacheResolutions= */ true);
+  }
+
+  private ModuleLoader(
+      @Nullable ErrorHandler errorHandler,
+      Iterable<String> moduleRoots,
+      Iterable<? extends DependencyInfo> inputs,
+      ModuleResolverFactory factory,
+      PathResolver pathResolver,
+      PathEscaper pathEscaper,
+      boolean cacheResolutions) {
     checkNotNull(moduleRoots);
     checkNotNull(inputs);
     checkNotNull(pathResolver);
@@ -110,6 +141,7 @@ public final class ModuleLoader {
             pathEscaper);
     this.moduleResolver =
         factory.create(modulePaths, this.moduleRootPaths, this.errorHandler, this.pathEscaper);
+    this.resolutionCache = cacheResolutions ? new ConcurrentHashMap<>() : null;
   }
 
   public ModuleLoader(
@@ -188,7 +220,8 @@ public final class ModuleLoader {
     public ModulePath resolveJsModule(
         String moduleAddress, String sourcename, int lineno, int colno) {
       String loadAddress =
-          moduleResolver.resolveJsModule(this.path, moduleAddress, sourcename, lineno, colno);
+          resolveJsModuleCached(
+              resolutionCacheFor(this.path), this.path, moduleAddress, sourcename, lineno, colno);
 
       if (loadAddress != null) {
         return new ModulePath(loadAddress);
@@ -208,6 +241,55 @@ public final class ModuleLoader {
     }
   }
 
+  /**
+   * Returns the cached resolutions for the directory containing the given script, or null if the
+   * loader doesn't cache or the module resolver can't share resolutions between scripts.
+   */
+  @Nullable
+  private Map<String, String> resolutionCacheFor(String scriptAddress) {
+    if (resolutionCache == null || !moduleResolver.isResolutionCacheable()) {
+      return null;
+    }
+    String directory =
+        scriptAddress.substring(0, scriptAddress.lastIndexOf(MODULE_SLASH) + MODULE_SLASH.length());
+    return resolutionCache.computeIfAbsent(directory, (String d) -> new ConcurrentHashMap<>());
+  }
+
+  @Nullable
+  private String resolveJsModuleCached(
+      @Nullable Map<String, String> cache,
+      String scriptAddress,
+      String moduleAddress,
+      String sourcename,
+      int lineno,
+      int colno) {
+    if (cache == null) {
+      return moduleResolver.resolveJsModule(scriptAddress, moduleAddress, sourcename, lineno, colno);
+    }
+    String loadAddress = cache.get(moduleAddress);
+    if (loadAddress != null) {
+      resolutionCacheHits.incrementAndGet();
+      return loadAddress;
+    }
+    resolutionCacheMisses.incrementAndGet();
+    loadAddress =
+        moduleResolver.resolveJsModule(scriptAddress, moduleAddress, sourcename, lineno, colno);
+    if (loadAddress != null) {
+      cache.put(moduleAddress, loadAddress);
+    }
+    return loadAddress;
+  }
+
+  /** Returns how many module resolutions were answered from the cache. */
+  public long getResolutionCacheHits() {
+    return resolutionCacheHits.get();
+  }
+
+  /** Returns how many module resolutions had to run the module resolver. */
+  public long getResolutionCacheMisses() {
+    return resolutionCacheMisses.get();
+  }
+
   /** Resolves a path into a {@link ModulePath}. */
   public ModulePath resolve(String path) {
     return new ModulePath(normalize(pathEscaper.escape(pathResolver.apply(path)), moduleRootPaths));
@@ -398,7 +480,10 @@ public final class ModuleLoader {
           /* errorHandler= */ null,
           ImmutableList.of(),
           ImmutableList.of(),
-          BrowserModuleResolver.FACTORY);
+          BrowserModuleResolver.FACTORY,
+          PathResolver.RELATIVE,
+          PathEscaper.ESCAPE,
+          /* cacheResolutions= */ false);
 
   /** Standard path base resolution algorithms that are accepted as a command line flag. */
   public enum ResolutionMode {
@@ -54,6 +54,16 @@ public abstract class ModuleResolver {
   public abstract String resolveJsModule(
       String scriptAddress, String moduleAddress, String sourcename, int lineno, int colno);
 
+  /**
+   * Whether {@link #resolveJsModule} depends on the script address only through the directory that
+   * contains it, as {@link #locate} and {@link #canonicalizePath} do. If so, {@link ModuleLoader}
+   * shares successful resolutions between all the scripts of a directory. Resolvers that look at
+   * the file name of the script must return false.
+   */
+  protected boolean isResolutionCacheable() {
+    return true;
+  }
+
   public String resolveModuleAsPath(String scriptAddress, String moduleAddress) {
     if (!moduleAddress.endsWith(".js")) {
       moduleAddress += ".js";
@@ -270,9 +270,14 @@ public class NodeModuleResolver extends ModuleResolver {
     String normalizedScriptAddress =
         (ModuleLoader.isAmbiguousIdentifier(scriptAddress) ? ModuleLoader.MODULE_SLASH : "")
             + scriptAddress;
-    for (String nodeModulesFolder : nodeModulesFolders) {
-
-      if (!normalizedScriptAddress.startsWith(nodeModulesFolder)) {
+    // Every registered folder ends in a slash, so the folders that prefix the script address are
+    // exactly its ancestor directories that are registered. Walk them deepest first, which is the
+    // order of the registry, instead of testing every folder in it.
+    for (int slash = normalizedScriptAddress.lastIndexOf(ModuleLoader.MODULE_SLASH);
+        slash >= 0;
+        slash = normalizedScriptAddress.lastIndexOf(ModuleLoader.MODULE_SLASH, slash - 1)) {
+      String nodeModulesFolder = normalizedScriptAddress.substring(0, slash + 1);
+      if (!nodeModulesFolders.contains(nodeModulesFolder)) {
         continue;
       }
 
@@ -37,7 +37,7 @@ import com.google.javascript.jscomp.graph.Annotation;
 import com.google.javascript.jscomp.graph.DiGraph;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
 import com.google.javascript.jscomp.graph.GraphColoring;
-import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
+import com.google.javascript.jscomp.graph.GraphColoring.ParallelGreedyGraphColoring;
 import com.google.javascript.jscomp.graph.GraphNode;
 import com.google.javascript.jscomp.graph.LowestCommonAncestorFinder;
 import com.google.javascript.jscomp.graph.SubGraph;
@@ -94,6 +94,7 @@ public class AmbiguateProperties implements CompilerPass {
   private final Set<String> quotedNames = new HashSet<>();
 
   private final ColorRegistry colorRegistry;
+  private final int numParallelThreads;
 
   /** Map from original property name to new name. Only used by tests. */
   private Map<String, String> renamingMap = null;
@@ -117,6 +118,19 @@ public class AmbiguateProperties implements CompilerPass {
       char[] reservedFirstCharacters,
       char[] reservedNonFirstCharacters,
       Set<String> externProperties) {
+    this(compiler, reservedFirstCharacters, reservedNonFirstCharacters, externProperties, 1);
+  }
+
+  /**
+   * @param numParallelThreads the number of threads to use when choosing which properties can
+   *     share a name
+   */
+  public AmbiguateProperties(
+      AbstractCompiler compiler,
+      char[] reservedFirstCharacters,
+      char[] reservedNonFirstCharacters,
+      Set<String> externProperties,
+      int numParallelThreads) {
     checkState(compiler.getLifeCycleStage().isNormalized());
     this.compiler = compiler;
     this.reservedFirstCharacters = reservedFirstCharacters;
@@ -125,6 +139,7 @@ public class AmbiguateProperties implements CompilerPass {
     this.externedNames =
         ImmutableSet.<String>builder().add("prototype").addAll(externProperties).build();
     this.colorRegistry = compiler.getColorRegistry();
+    this.numParallelThreads = numParallelThreads;
   }
 
   static AmbiguateProperties makePassForTesting(
@@ -213,7 +228,8 @@ public class AmbiguateProperties implements CompilerPass {
 
     PropertyGraph propertyGraph = new PropertyGraph(nodes);
     GraphColoring<Property, Void> coloring =
-        new GreedyGraphColoring<>(propertyGraph, FREQUENCY_COMPARATOR);
+        new ParallelGreedyGraphColoring<>(
+            propertyGraph, FREQUENCY_COMPARATOR, numParallelThreads);
     int numNewPropertyNames = coloring.color();
 
     // Generate new names for the properties that will be renamed.
@@ -16,7 +16,13 @@
 
 package com.google.javascript.jscomp.disambiguate;
 
+import com.google.javascript.jscomp.graph.DiGraph;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 
 /** A callback to propagate clusterings across a type graph. */
 final class ClusterPropagator
@@ -24,6 +30,60 @@ final class ClusterPropagator
 
   ClusterPropagator() {}
 
+  /**
+   * Propagates clusterings along the edges of {@code graph} until nothing changes.
+   *
+   * <p>This visits the edges in exactly the same order as {@link
+   * FixedPointGraphTraversal#computeFixedPoint(DiGraph)}, so the clusters and their
+   * representatives are the same, but the graph is first copied into arrays of node indices and the
+   * worklist is a ring buffer of indices, rather than a set of graph nodes.
+   */
+  void propagate(DiGraph<ColorGraphNode, Object> graph) {
+    List<DiGraphNode<ColorGraphNode, Object>> graphNodes = new ArrayList<>(graph.getNodes());
+    int nodeCount = graphNodes.size();
+    ColorGraphNode[] nodes = new ColorGraphNode[nodeCount];
+    IdentityHashMap<DiGraphNode<ColorGraphNode, Object>, Integer> indexByNode =
+        new IdentityHashMap<>(nodeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      DiGraphNode<ColorGraphNode, Object> node = graphNodes.get(i);
+      nodes[i] = node.getValue();
+      indexByNode.put(node, i);
+    }
+    int[][] successors = new int[nodeCount][];
+    for (int i = 0; i < nodeCount; i++) {
+      List<? extends DiGraphEdge<ColorGraphNode, Object>> edges = graphNodes.get(i).getOutEdges();
+      int[] destinations = new int[edges.size()];
+      for (int j = 0; j < destinations.length; j++) {
+        destinations[j] = indexByNode.get(edges.get(j).getDestination());
+      }
+      successors[i] = destinations;
+    }
+
+    // Every node starts on the worklist, and a node is never on it twice, so it never holds more
+    // than nodeCount entries.
+    int[] worklist = new int[nodeCount];
+    boolean[] onWorklist = new boolean[nodeCount];
+    for (int i = 0; i < nodeCount; i++) {
+      worklist[i] = i;
+      onWorklist[i] = true;
+    }
+    int head = 0;
+    int size = nodeCount;
+    while (size > 0) {
+      int src = worklist[head];
+      head = (head + 1) % nodeCount;
+      size--;
+      onWorklist[src] = false;
+      for (int dest : successors[src]) {
+        if (this.traverseEdge(nodes[src], null, nodes[dest]) && !onWorklist[dest]) {
+          worklist[(head + size) % nodeCount] = dest;
+          size++;
+          onWorklist[dest] = true;
+        }
+      }
+    }
+  }
+
   @Override
   public boolean traverseEdge(ColorGraphNode src, Object unused, ColorGraphNode dest) {
     int startDestPropCount = dest.getAssociatedProps().size();
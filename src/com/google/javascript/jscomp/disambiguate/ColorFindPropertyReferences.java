@@ -19,14 +19,19 @@ package com.google.javascript.jscomp.disambiguate;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
 import com.google.javascript.jscomp.NodeUtil;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.jscomp.colors.Color;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.jstype.JSType;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Traverses the AST, collecting connections between {@link JSType}s, property accesses, and their
@@ -60,10 +65,73 @@ final class ColorFindPropertyReferences extends AbstractPostOrderCallback {
   private final ColorGraphNodeFactory colorGraphNodeFactory;
   private final IsPropertyReflector isPropertyReflector;
 
+  /**
+   * For an instance that traverses one script concurrently with others, the property use sites and
+   * types it found, in the order found, with null in place of the site for a type. Registering
+   * them is left to the instance that started the traversals, so that neither the property index
+   * nor the node factory are shared between threads. Null for an instance that registers
+   * everything as soon as it is found.
+   */
+  @Nullable private final ArrayList<Node> deferredSites;
+
+  @Nullable private final ArrayList<Color> deferredColors;
+
   ColorFindPropertyReferences(
       ColorGraphNodeFactory colorGraphNodeFactory, IsPropertyReflector isPropertyReflector) {
+    this(colorGraphNodeFactory, isPropertyReflector, false);
+  }
+
+  private ColorFindPropertyReferences(
+      ColorGraphNodeFactory colorGraphNodeFactory,
+      IsPropertyReflector isPropertyReflector,
+      boolean defer) {
     this.colorGraphNodeFactory = colorGraphNodeFactory;
     this.isPropertyReflector = isPropertyReflector;
+    this.deferredSites = defer ? new ArrayList<>() : null;
+    this.deferredColors = defer ? new ArrayList<>() : null;
+  }
+
+  /**
+   * Finds the same references as traversing {@code root} with this callback, but traverses its
+   * scripts concurrently. What each script contains is then registered in the order of the scripts,
+   * so the property index and the node ids are exactly the same as for a single traversal.
+   *
+   * @param root the parent of the externs and sources roots
+   */
+  void traverseInParallel(AbstractCompiler compiler, Node root, int numParallelThreads) {
+    checkState(this.deferredSites == null);
+    List<Node> scripts = new ArrayList<>();
+    for (Node scriptsRoot = root.getFirstChild();
+        scriptsRoot != null;
+        scriptsRoot = scriptsRoot.getNext()) {
+      for (Node script = scriptsRoot.getFirstChild(); script != null; script = script.getNext()) {
+        scripts.add(script);
+      }
+    }
+
+    List<ColorFindPropertyReferences> finders =
+        WorkerPool.forEachInParallel(
+            scripts,
+            numParallelThreads,
+            (Node script) -> {
+              ColorFindPropertyReferences finder =
+                  new ColorFindPropertyReferences(
+                      this.colorGraphNodeFactory, this.isPropertyReflector, /* defer= */ true);
+              NodeTraversal.traverse(compiler, script, finder);
+              return finder;
+            });
+
+    for (ColorFindPropertyReferences finder : finders) {
+      for (int i = 0; i < finder.deferredSites.size(); i++) {
+        Node site = finder.deferredSites.get(i);
+        Color color = finder.deferredColors.get(i);
+        if (site == null) {
+          this.registerType(color);
+        } else {
+          this.registerPropertyUse(site, color);
+        }
+      }
+    }
   }
 
   LinkedHashMap<String, PropertyClustering> getPropertyIndex() {
@@ -133,7 +201,7 @@ final class ColorFindPropertyReferences extends AbstractPostOrderCallback {
     this.traverseObjectlitLike(
         NodeUtil.getClassMembers(classNode),
         (m) -> m.isStaticMember() ? classType : Color.createUnion(classPrototypeType));
-    colorGraphNodeFactory.createNode(classType);
+    this.registerType(classType);
   }
 
   private void handleFunction(Node fnNode) {
@@ -143,7 +211,7 @@ final class ColorFindPropertyReferences extends AbstractPostOrderCallback {
     // e.g. `const /** !FooInterface */ x = new Foo(); x.method();`
     Color fnType = fnNode.getColor();
     if (fnType != null && !fnType.getInstanceColor().isEmpty()) {
-      this.colorGraphNodeFactory.createNode(fnType);
+      this.registerType(fnType);
     }
   }
 
@@ -207,7 +275,13 @@ final class ColorFindPropertyReferences extends AbstractPostOrderCallback {
    * Update all datastructures as necessary to consider property use {@code site} from type {@code
    * owner}.
    */
-  private void registerPropertyUse(Node site, Color owner) {
+  private void registerPropertyUse(Node site, @Nullable Color owner) {
+    if (this.deferredSites != null) {
+      this.deferredSites.add(site);
+      this.deferredColors.add(owner);
+      return;
+    }
+
     PropertyClustering prop =
         this.propIndex.computeIfAbsent(site.getString(), PropertyClustering::new);
     ColorGraphNode flatOwner = this.colorGraphNodeFactory.createNode(owner);
@@ -225,4 +299,15 @@ final class ColorFindPropertyReferences extends AbstractPostOrderCallback {
       prop.registerOriginalNameType(flatOwner);
     }
   }
+
+  /** Ensures the node factory knows about {@code color}, even without any property uses. */
+  private void registerType(Color color) {
+    if (this.deferredSites != null) {
+      this.deferredSites.add(null);
+      this.deferredColors.add(color);
+      return;
+    }
+
+    this.colorGraphNodeFactory.createNode(color);
+  }
 }
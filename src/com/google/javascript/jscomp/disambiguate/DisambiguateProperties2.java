@@ -45,7 +45,6 @@ import com.google.javascript.jscomp.disambiguate.ColorGraphNode.PropAssociation;
 import com.google.javascript.jscomp.graph.DiGraph;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
-import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
 import com.google.javascript.jscomp.graph.LowestCommonAncestorFinder;
 import com.google.javascript.rhino.Node;
 import java.util.LinkedHashMap;
@@ -65,12 +64,25 @@ public final class DisambiguateProperties2 implements CompilerPass {
   private final AbstractCompiler compiler;
   private final ImmutableSet<String> propertiesThatMustDisambiguate;
   private final ColorRegistry registry;
+  private final int numParallelThreads;
 
   public DisambiguateProperties2(
       AbstractCompiler compiler, ImmutableSet<String> propertiesThatMustDisambiguate) {
+    this(compiler, propertiesThatMustDisambiguate, 1);
+  }
+
+  /**
+   * @param numParallelThreads the number of threads to use for finding and renaming property
+   *     references
+   */
+  public DisambiguateProperties2(
+      AbstractCompiler compiler,
+      ImmutableSet<String> propertiesThatMustDisambiguate,
+      int numParallelThreads) {
     this.compiler = compiler;
     this.propertiesThatMustDisambiguate = propertiesThatMustDisambiguate;
     this.registry = this.compiler.getColorRegistry();
+    this.numParallelThreads = numParallelThreads;
   }
 
   @Override
@@ -90,7 +102,11 @@ public final class DisambiguateProperties2 implements CompilerPass {
             /* errorCb= */ this.compiler::report,
             /* mutationCb= */ this.compiler::reportChangeToEnclosingScope);
 
-    NodeTraversal.traverse(this.compiler, externs.getParent(), findRefs);
+    if (this.numParallelThreads > 1) {
+      findRefs.traverseInParallel(this.compiler, externs.getParent(), this.numParallelThreads);
+    } else {
+      NodeTraversal.traverse(this.compiler, externs.getParent(), findRefs);
+    }
     LinkedHashMap<String, PropertyClustering> propIndex = findRefs.getPropertyIndex();
 
     invalidateWellKnownProperties(propIndex);
@@ -132,8 +148,8 @@ public final class DisambiguateProperties2 implements CompilerPass {
     // destroys its list of use sites, which we need to log.
     invalidateBasedOnType(flattener);
 
-    FixedPointGraphTraversal.newTraversal(propagator).computeFixedPoint(graph);
-    propIndex.values().forEach(renamer::renameUses);
+    propagator.propagate(graph);
+    renamer.renameAllUses(propIndex.values(), this.numParallelThreads);
 
     this.logForDiagnostics("renaming_index", () -> buildRenamingIndex(propIndex, renamer));
 
@@ -23,10 +23,15 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.javascript.jscomp.JSError;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 
 /** Applies renaming to property use sites following cluster computation. */
 final class UseSiteRenamer {
@@ -55,37 +60,91 @@ final class UseSiteRenamer {
    * <p>If {@code prop} is invalid or should otherwise not be renamed, the AST will not be changed.
    */
   void renameUses(PropertyClustering prop) {
-    if (prop.isInvalidated()) {
-      this.renamingIndex.put(prop.getName(), INVALIDATED_NAME_VALUE);
-
-      if (this.propertiesThatMustDisambiguate.contains(prop.getName())) {
-        this.errorCb.accept(createInvalidationError(prop.getName()));
-      }
+    this.finishRenaming(prop, renameSites(prop));
+  }
 
+  /**
+   * Renames all references to each of {@code props}, with the same result as calling {@link
+   * #renameUses} for each of them in order.
+   *
+   * <p>The use sites of different properties are different nodes, so they are renamed
+   * concurrently. The callbacks and the renaming index are then updated on the calling thread.
+   */
+  void renameAllUses(Collection<PropertyClustering> props, int numParallelThreads) {
+    if (numParallelThreads <= 1) {
+      props.forEach(this::renameUses);
       return;
     }
 
-    ImmutableMap<ColorGraphNode, String> clusterNames = createAllClusterNames(prop);
+    List<SiteRenaming> renamings =
+        WorkerPool.forEachInParallel(props, numParallelThreads, UseSiteRenamer::renameSites);
 
-    if (clusterNames.size() <= 1) {
+    int i = 0;
+    for (PropertyClustering prop : props) {
+      this.finishRenaming(prop, renamings.get(i++));
+    }
+  }
+
+  /** The new names of the clusters of one property, and the use sites that were changed. */
+  private static final class SiteRenaming {
+    final ImmutableMap<ColorGraphNode, String> clusterNames;
+    final List<Node> changedSites = new ArrayList<>();
+
+    SiteRenaming(ImmutableMap<ColorGraphNode, String> clusterNames) {
+      this.clusterNames = clusterNames;
+    }
+  }
+
+  /**
+   * Renames the use sites of {@code prop}, touching nothing shared with other properties, or
+   * returns null if {@code prop} is invalidated.
+   */
+  @Nullable
+  private static SiteRenaming renameSites(PropertyClustering prop) {
+    if (prop.isInvalidated()) {
+      return null;
+    }
+
+    SiteRenaming renaming = new SiteRenaming(createAllClusterNames(prop));
+    if (renaming.clusterNames.size() <= 1) {
       /**
        * Don't bother renaming clusters with a single element. Renaming won't actaully disambiguate
        * anything in this case, so skip the work.
        */
-      this.renamingIndex.put(prop.getName(), prop.getName());
-      return;
+      return renaming;
     }
 
-    this.renamingIndex.putAll(prop.getName(), clusterNames.values());
     for (Map.Entry<Node, ColorGraphNode> usage : prop.getUseSites().entrySet()) {
       Node site = usage.getKey();
       ColorGraphNode flatRep = prop.getClusters().find(usage.getValue());
-      String newName = clusterNames.get(flatRep);
+      String newName = renaming.clusterNames.get(flatRep);
       if (!Objects.equals(newName, site.getString())) {
         site.setString(newName);
-        this.mutationCb.accept(site);
+        renaming.changedSites.add(site);
       }
     }
+    return renaming;
+  }
+
+  /** Reports the outcome of {@link #renameSites} for {@code prop}. */
+  private void finishRenaming(PropertyClustering prop, @Nullable SiteRenaming renaming) {
+    if (renaming == null) {
+      this.renamingIndex.put(prop.getName(), INVALIDATED_NAME_VALUE);
+
+      if (this.propertiesThatMustDisambiguate.contains(prop.getName())) {
+        this.errorCb.accept(createInvalidationError(prop.getName()));
+      }
+
+      return;
+    }
+
+    if (renaming.clusterNames.size() <= 1) {
+      this.renamingIndex.put(prop.getName(), prop.getName());
+      return;
+    }
+
+    this.renamingIndex.putAll(prop.getName(), renaming.clusterNames.values());
+    renaming.changedSites.forEach(this.mutationCb);
   }
 
   ImmutableSetMultimap<String, String> getRenamingIndex() {
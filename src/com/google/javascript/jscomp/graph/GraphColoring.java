@@ -17,13 +17,16 @@
 package com.google.javascript.jscomp.graph;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.Math.min;
 import static java.util.Comparator.comparing;
 
+import com.google.javascript.jscomp.base.WorkerPool;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Annotates the graph with a color in a way that no connected node will have
@@ -104,6 +107,27 @@ public abstract class GraphColoring<N, E> {
     }
   }
 
+  /**
+   * Returns the nodes of the graph ordered by decreasing weight, using the tie-breaker, if any, to
+   * order nodes of the same weight.
+   */
+  private static <N, E> List<GraphNode<N, E>> sortByDecreasingWeight(
+      AdjacencyGraph<N, E> graph, @Nullable Comparator<N> tieBreaker) {
+    List<GraphNode<N, E>> nodes = new ArrayList<>(graph.getNodes());
+    Collections.sort(
+        nodes,
+        comparing(
+            GraphNode::getValue,
+            // TODO(b/28382956): Take better advantage of Java8 comparing() to simplify this
+            (leftProperty, rightProperty) -> {
+              int result = graph.getWeight(rightProperty) - graph.getWeight(leftProperty);
+              return result == 0 && tieBreaker != null
+                  ? tieBreaker.compare(leftProperty, rightProperty)
+                  : result;
+            }));
+    return nodes;
+  }
+
   /**
    * Greedily assign nodes with high degree unique colors.
    */
@@ -126,20 +150,7 @@ public abstract class GraphColoring<N, E> {
 
     @Override
     public int color() {
-      List<GraphNode<N, E>> worklist = new ArrayList<>(graph.getNodes());
-
-      // Sort nodes by degree.
-      Collections.sort(
-          worklist,
-          comparing(
-              GraphNode::getValue,
-              // TODO(b/28382956): Take better advantage of Java8 comparing() to simplify this
-              (leftProperty, rightProperty) -> {
-                int result = graph.getWeight(rightProperty) - graph.getWeight(leftProperty);
-                return result == 0 && tieBreaker != null
-                    ? tieBreaker.compare(leftProperty, rightProperty)
-                    : result;
-              }));
+      List<GraphNode<N, E>> worklist = sortByDecreasingWeight(graph, tieBreaker);
 
       // Idea: From the highest to lowest degree, assign any uncolored node with
       // a unique color if none of its neighbors has been assigned that color.
@@ -163,4 +174,121 @@ public abstract class GraphColoring<N, E> {
       return count;
     }
   }
+
+  /**
+   * Computes the same coloring as {@link GreedyGraphColoring} with the same tie-breaker, so it is
+   * just as deterministic, but uses several threads to find the colors.
+   *
+   * <p>Each node takes the first color that none of the nodes before it have given to one of its
+   * neighbors. The nodes are processed in blocks: the threads first guess the color of every node
+   * in the block, checking it only against the colors as they were at the start of the block. Then
+   * the guesses are confirmed in order. A guess can only be too low, when a neighbor earlier in the
+   * same block has taken that color, in which case the search continues from there. Colors are
+   * kept in an int array while coloring, and each node is annotated with one shared {@link Color}
+   * object per color at the end.
+   *
+   * <p>The subgraphs of the given graph must allow concurrent calls to {@link
+   * SubGraph#isIndependentOf} while no nodes are being added. Small graphs are colored on the
+   * calling thread.
+   */
+  public static final class ParallelGreedyGraphColoring<N, E> extends GraphColoring<N, E> {
+    /** The number of nodes each thread guesses colors for between confirmations. */
+    private static final int NODES_PER_THREAD = 256;
+
+    @Nullable private final Comparator<N> tieBreaker;
+    private final int numThreads;
+
+    /**
+     * @param tieBreaker In case of a tie between two nodes of the same degree, this comparator will
+     *     determine which node should be colored first.
+     * @param numThreads The number of threads to use. With 1 or less, everything happens on the
+     *     calling thread.
+     */
+    public ParallelGreedyGraphColoring(
+        AdjacencyGraph<N, E> graph, @Nullable Comparator<N> tieBreaker, int numThreads) {
+      super(graph);
+      this.tieBreaker = tieBreaker;
+      this.numThreads = numThreads;
+    }
+
+    @Override
+    public int color() {
+      List<GraphNode<N, E>> nodes = sortByDecreasingWeight(graph, tieBreaker);
+      int[] colors = new int[nodes.size()];
+      List<SubGraph<N, E>> colorClasses = new ArrayList<>();
+      int blockSize = numThreads * NODES_PER_THREAD;
+
+      // A null pool, for a small graph, is simply not closed.
+      try (WorkerPool pool =
+          numThreads > 1 && nodes.size() > blockSize
+              ? new WorkerPool(numThreads)
+              : null) {
+        for (int start = 0; start < nodes.size(); start += blockSize) {
+          int end = min(start + blockSize, nodes.size());
+          if (pool != null) {
+            guessColors(pool, nodes, colors, start, end, colorClasses);
+          }
+          for (int i = start; i < end; i++) {
+            N value = nodes.get(i).getValue();
+            int color = colors[i];
+            while (color < colorClasses.size()
+                && !colorClasses.get(color).isIndependentOf(value)) {
+              color++;
+            }
+            if (color == colorClasses.size()) {
+              colorClasses.add(graph.newSubGraph());
+            }
+            colorClasses.get(color).addNode(value);
+            colors[i] = color;
+          }
+        }
+      }
+
+      int count = colorClasses.size();
+      Color[] annotations = new Color[count];
+      for (int i = 0; i < count; i++) {
+        annotations[i] = new Color(i);
+      }
+      for (int i = 0; i < nodes.size(); i++) {
+        nodes.get(i).setAnnotation(annotations[colors[i]]);
+      }
+      @SuppressWarnings("unchecked")
+      N[] map = (N[]) new Object[count];
+      colorToNodeMap = map;
+      return count;
+    }
+
+    /**
+     * Stores in {@code colors} the first existing color that each node in the block could take, or
+     * the number of existing colors if there is none.
+     */
+    private void guessColors(
+        WorkerPool pool,
+        List<GraphNode<N, E>> nodes,
+        int[] colors,
+        int start,
+        int end,
+        List<SubGraph<N, E>> colorClasses) {
+      int numColors = colorClasses.size();
+      int chunkSize = (end - start + numThreads - 1) / numThreads;
+      List<Integer> chunkStarts = new ArrayList<>(numThreads);
+      for (int chunkStart = start; chunkStart < end; chunkStart += chunkSize) {
+        chunkStarts.add(chunkStart);
+      }
+      pool.forEach(
+          chunkStarts,
+          (Integer chunkStart) -> {
+            int chunkEnd = min(chunkStart + chunkSize, end);
+            for (int i = chunkStart; i < chunkEnd; i++) {
+              N value = nodes.get(i).getValue();
+              int color = 0;
+              while (color < numColors && !colorClasses.get(color).isIndependentOf(value)) {
+                color++;
+              }
+              colors[i] = color;
+            }
+            return null;
+          });
+    }
+  }
 }
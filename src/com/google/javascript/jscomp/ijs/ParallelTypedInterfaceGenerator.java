@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.ijs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.GwtIncompatible;
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.BlackHoleErrorManager;
+import com.google.javascript.jscomp.Compiler;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.CompilerOptions.IncrementalCheckMode;
+import com.google.javascript.jscomp.JSError;
+import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.base.WorkerPool;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Generates a typed interface (.i.js file) for each of many inputs, several inputs at a time.
+ *
+ * <p>{@link ConvertToTypedInterface} only ever looks at one script at a time, so each input is
+ * compiled on its own, by a compiler that runs just the passes that .i.js generation needs. Each
+ * interface is written out as soon as it is ready, and its AST is dropped, so memory use depends on
+ * the number of threads rather than the number of inputs.
+ */
+@GwtIncompatible("java.nio.file")
+public final class ParallelTypedInterfaceGenerator {
+  private final Supplier<CompilerOptions> optionsFactory;
+  private final int numThreads;
+
+  /**
+   * @param optionsFactory creates the options for each input's compiler. Options are not shared
+   *     between compilers, since compiling may change them. The incremental check mode is always
+   *     set to {@link IncrementalCheckMode#GENERATE_IJS}.
+   * @param numThreads the number of inputs to convert at once
+   */
+  public ParallelTypedInterfaceGenerator(Supplier<CompilerOptions> optionsFactory, int numThreads) {
+    checkArgument(numThreads > 0, "numThreads must be positive: %s", numThreads);
+    this.optionsFactory = optionsFactory;
+    this.numThreads = numThreads;
+  }
+
+  /**
+   * Converts each input and writes its typed interface to the path that {@code outputPath} returns
+   * for it. Inputs with errors are not written.
+   *
+   * @return the errors and warnings of all inputs, in the order of the inputs
+   */
+  public ImmutableList<JSError> generate(
+      List<SourceFile> inputs, Function<SourceFile, Path> outputPath) throws IOException {
+    List<ImmutableList<JSError>> diagnosticsByInput;
+    try {
+      diagnosticsByInput =
+          WorkerPool.forEachInParallel(
+              inputs, numThreads, (SourceFile input) -> generate(input, outputPath.apply(input)));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    ImmutableList.Builder<JSError> diagnostics = ImmutableList.builder();
+    for (ImmutableList<JSError> inputDiagnostics : diagnosticsByInput) {
+      diagnostics.addAll(inputDiagnostics);
+    }
+    return diagnostics.build();
+  }
+
+  /** Converts a single input with a compiler of its own, and writes the result. */
+  private ImmutableList<JSError> generate(SourceFile input, Path outputPath) {
+    CompilerOptions options = optionsFactory.get();
+    options.setIncrementalChecks(IncrementalCheckMode.GENERATE_IJS);
+    Compiler compiler = new Compiler(new BlackHoleErrorManager());
+    // The worker thread already has a large stack, so don't start another thread per input.
+    compiler.disableThreads();
+    compiler.compile(ImmutableList.<SourceFile>of(), ImmutableList.of(input), options);
+
+    if (compiler.getErrors().isEmpty()) {
+      try {
+        Path parent = outputPath.getParent();
+        if (parent != null) {
+          Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(outputPath, UTF_8)) {
+          writer.write(compiler.toSource());
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    return ImmutableList.<JSError>builder()
+        .addAll(compiler.getErrors())
+        .addAll(compiler.getWarnings())
+        .build();
+  }
+}
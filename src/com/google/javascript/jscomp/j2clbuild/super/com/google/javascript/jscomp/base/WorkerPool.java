@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/** GWT compatible replacement for {@code WorkerPool}, which runs everything on the calling thread */
+public final class WorkerPool implements AutoCloseable {
+  public static <T, R> List<R> forEachInParallel(
+      Iterable<T> items, int numThreads, Function<? super T, ? extends R> fn) {
+    try (WorkerPool pool = new WorkerPool(numThreads)) {
+      return pool.forEach(items, fn);
+    }
+  }
+
+  public WorkerPool(int numThreads) {}
+
+  public <T, R> List<R> forEach(Iterable<T> items, Function<? super T, ? extends R> fn) {
+    List<R> results = new ArrayList<>();
+    for (T item : items) {
+      results.add(fn.apply(item));
+    }
+    return results;
+  }
+
+  @Override
+  public void close() {}
+}
@@ -21,7 +21,9 @@ import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.HotSwapCompilerPass;
 import com.google.javascript.jscomp.JSError;
 import com.google.javascript.jscomp.NodeTraversal;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.JSTypeNative;
 import com.google.javascript.rhino.jstype.TemplatizedType;
@@ -32,7 +34,7 @@ import com.google.javascript.rhino.jstype.TemplatizedType;
  * arrays.
  */
 public final class CheckArrayWithGoogObject extends NodeTraversal.AbstractPostOrderCallback
-    implements HotSwapCompilerPass {
+    implements HotSwapCompilerPass, TokenFilteredCallback {
   final AbstractCompiler compiler;
 
   private static final ImmutableSet<String> GOOG_OBJECT_METHODS =
@@ -109,6 +111,11 @@ public final class CheckArrayWithGoogObject extends NodeTraversal.AbstractPostOr
     return false;
   }
 
+  @Override
+  public ImmutableSet<Token> getInterestingTokens() {
+    return ImmutableSet.of(Token.CALL);
+  }
+
   @Override
   public void visit(NodeTraversal unused, Node n, Node parent) {
     if (isGoogObjectIterationOverArray(n)) {
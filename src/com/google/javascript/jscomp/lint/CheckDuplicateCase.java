@@ -15,12 +15,15 @@
  */
 package com.google.javascript.jscomp.lint;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.HotSwapCompilerPass;
 import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -38,7 +41,7 @@ import java.util.Set;
  * Inspired by ESLint (https://github.com/eslint/eslint/blob/master/lib/rules/no-duplicate-case.js)
  */
 public final class CheckDuplicateCase extends AbstractPostOrderCallback
-    implements HotSwapCompilerPass {
+    implements HotSwapCompilerPass, TokenFilteredCallback {
   public static final DiagnosticType DUPLICATE_CASE = DiagnosticType.warning(
       "JSC_DUPLICATE_CASE", "Duplicate case in a switch statement.");
 
@@ -58,6 +61,11 @@ public final class CheckDuplicateCase extends AbstractPostOrderCallback
     NodeTraversal.traverse(compiler, scriptRoot, this);
   }
 
+  @Override
+  public ImmutableSet<Token> getInterestingTokens() {
+    return ImmutableSet.of(Token.SWITCH);
+  }
+
   @Override
   public void visit(NodeTraversal t, Node n, Node parent) {
     if (n.isSwitch()) {
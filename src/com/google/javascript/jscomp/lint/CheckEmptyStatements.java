@@ -15,18 +15,22 @@
  */
 package com.google.javascript.jscomp.lint;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.CompilerPass;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.jscomp.NodeUtil;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 
 /**
  * Check for empty statements (i.e. extraneous semicolons)
  */
-public final class CheckEmptyStatements extends AbstractPostOrderCallback implements CompilerPass {
+public final class CheckEmptyStatements extends AbstractPostOrderCallback
+    implements CompilerPass, TokenFilteredCallback {
   public static final DiagnosticType USELESS_EMPTY_STATEMENT = DiagnosticType.disabled(
       "JSC_USELESS_EMPTY_STATEMENT",
       "Useless empty statement. Remove semicolon.");
@@ -42,6 +46,11 @@ public final class CheckEmptyStatements extends AbstractPostOrderCallback implem
     NodeTraversal.traverse(compiler, root, this);
   }
 
+  @Override
+  public ImmutableSet<Token> getInterestingTokens() {
+    return ImmutableSet.of(Token.EMPTY);
+  }
+
   @Override
   public void visit(NodeTraversal t, Node n, Node parent) {
     if (n.isEmpty() && NodeUtil.isStatement(n)) {
@@ -17,15 +17,18 @@ package com.google.javascript.jscomp.lint;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.CompilerPass;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.jscomp.NodeUtil;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.JSTypeExpression;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -38,7 +41,8 @@ import java.util.Set;
  *   <li>Whether string enum values are statically initialized or not.
  * </ol>
  */
-public final class CheckEnums extends AbstractPostOrderCallback implements CompilerPass {
+public final class CheckEnums extends AbstractPostOrderCallback
+    implements CompilerPass, TokenFilteredCallback {
   public static final DiagnosticType DUPLICATE_ENUM_VALUE = DiagnosticType.disabled(
       "JSC_DUPLICATE_ENUM_VALUE",
       "The value {0} is duplicated in this enum.");
@@ -74,6 +78,11 @@ public final class CheckEnums extends AbstractPostOrderCallback implements Compi
     NodeTraversal.traverse(compiler, root, this);
   }
 
+  @Override
+  public ImmutableSet<Token> getInterestingTokens() {
+    return ImmutableSet.of(Token.OBJECTLIT);
+  }
+
   @Override
   public void visit(NodeTraversal t, Node n, Node parent) {
     if (n.isObjectLit()) {
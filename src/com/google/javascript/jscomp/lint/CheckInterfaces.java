@@ -17,21 +17,24 @@ package com.google.javascript.jscomp.lint;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.HotSwapCompilerPass;
 import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.jscomp.NodeUtil;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 import javax.annotation.Nullable;
 
 /**
  * Checks for errors related to interfaces.
  */
 public final class CheckInterfaces extends AbstractPostOrderCallback
-    implements HotSwapCompilerPass {
+    implements HotSwapCompilerPass, TokenFilteredCallback {
   // Placeholder class name for error reporting on anonymous classes.
   private static final String ANONYMOUS_CLASSNAME = "<anonymous>";
 
@@ -89,6 +92,11 @@ public final class CheckInterfaces extends AbstractPostOrderCallback
     return jsDoc != null && jsDoc.isInterface();
   }
 
+  @Override
+  public ImmutableSet<Token> getInterestingTokens() {
+    return ImmutableSet.of(Token.FUNCTION, Token.CLASS);
+  }
+
   @Override
   public void visit(NodeTraversal t, Node n, Node parent) {
     switch (n.getToken()) {
@@ -15,15 +15,19 @@
  */
 package com.google.javascript.jscomp.lint;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.CompilerPass;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
 
 /** Check for `var` (prefer `const` or `let`). */
-public final class CheckVar extends AbstractPostOrderCallback implements CompilerPass {
+public final class CheckVar extends AbstractPostOrderCallback
+    implements CompilerPass, TokenFilteredCallback {
   public static final DiagnosticType VAR =
       DiagnosticType.disabled(
           "JSC_VAR",
@@ -41,6 +45,11 @@ public final class CheckVar extends AbstractPostOrderCallback implements Compile
     NodeTraversal.traverse(compiler, root, this);
   }
 
+  @Override
+  public ImmutableSet<Token> getInterestingTokens() {
+    return ImmutableSet.of(Token.VAR);
+  }
+
   @Override
   public void visit(NodeTraversal t, Node n, Node parent) {
     if (n.isVar()) {
@@ -48,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 /**
@@ -674,10 +675,20 @@ public final class EsModuleProcessor implements Callback, ModuleProcessor {
   }
 
   EsModuleProcessor(AbstractCompiler compiler) {
+    this(compiler, compiler::report);
+  }
+
+  /**
+   * @param scanErrorReporter receives the errors found while scanning a module, so that scans on
+   *     worker threads can leave the reporting to the calling thread
+   */
+  EsModuleProcessor(AbstractCompiler compiler, Consumer<JSError> scanErrorReporter) {
     this.compiler = compiler;
+    this.scanErrorReporter = scanErrorReporter;
   }
 
   private final AbstractCompiler compiler;
+  private final Consumer<JSError> scanErrorReporter;
   private UnresolvedModuleBuilder currentModuleBuilder;
   private ModuleMetadata metadata;
 
@@ -762,7 +773,7 @@ public final class EsModuleProcessor implements Callback, ModuleProcessor {
             .exportNode(export)
             .moduleMetadata(metadata)
             .build())) {
-      t.report(export, DUPLICATE_EXPORT, Export.DEFAULT);
+      scanErrorReporter.accept(JSError.make(export, DUPLICATE_EXPORT, Export.DEFAULT));
     }
   }
 
@@ -782,7 +793,7 @@ public final class EsModuleProcessor implements Callback, ModuleProcessor {
               .nameNode(child.getFirstChild())
               .moduleMetadata(metadata)
               .build())) {
-        t.report(export, DUPLICATE_EXPORT, exportedName);
+        scanErrorReporter.accept(JSError.make(export, DUPLICATE_EXPORT, exportedName));
       }
     }
   }
@@ -803,7 +814,7 @@ public final class EsModuleProcessor implements Callback, ModuleProcessor {
               .nameNode(child.getFirstChild())
               .moduleMetadata(metadata)
               .build())) {
-        t.report(export, DUPLICATE_EXPORT, exportedName);
+        scanErrorReporter.accept(JSError.make(export, DUPLICATE_EXPORT, exportedName));
       }
     }
   }
@@ -826,7 +837,7 @@ public final class EsModuleProcessor implements Callback, ModuleProcessor {
               .nameNode(lhs)
               .moduleMetadata(metadata)
               .build())) {
-        t.report(export, DUPLICATE_EXPORT, name);
+        scanErrorReporter.accept(JSError.make(export, DUPLICATE_EXPORT, name));
       }
     }
   }
@@ -848,7 +859,7 @@ public final class EsModuleProcessor implements Callback, ModuleProcessor {
             .nameNode(nameNode)
             .moduleMetadata(metadata)
             .build())) {
-      t.report(export, DUPLICATE_EXPORT, name);
+      scanErrorReporter.accept(JSError.make(export, DUPLICATE_EXPORT, name));
     }
   }
 
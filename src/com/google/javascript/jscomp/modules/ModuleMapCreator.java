@@ -16,19 +16,24 @@
 
 package com.google.javascript.jscomp.modules;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.DiagnosticType;
 import com.google.javascript.jscomp.HotSwapCompilerPass;
+import com.google.javascript.jscomp.JSError;
 import com.google.javascript.jscomp.NodeUtil;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.deps.ModuleLoader.ModulePath;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap.ModuleMetadata;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap.ModuleType;
 import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nullable;
@@ -189,10 +194,18 @@ public class ModuleMapCreator implements HotSwapCompilerPass {
   private final Map<String, UnresolvedModule> unresolvedModules;
   private final Map<String, UnresolvedModule> unresolvedModulesByClosureNamespace;
   private final ModuleMetadataMap moduleMetadataMap;
+  private final int numParallelThreads;
 
   public ModuleMapCreator(AbstractCompiler compiler, ModuleMetadataMap moduleMetadataMap) {
+    this(compiler, moduleMetadataMap, 1);
+  }
+
+  /** @param numParallelThreads how many modules to scan at once */
+  public ModuleMapCreator(
+      AbstractCompiler compiler, ModuleMetadataMap moduleMetadataMap, int numParallelThreads) {
     this.compiler = compiler;
     this.moduleMetadataMap = moduleMetadataMap;
+    this.numParallelThreads = numParallelThreads;
     this.esModuleProcessor = new EsModuleProcessor(compiler);
     this.closureModuleProcessor = new ClosureModuleProcessor(compiler);
     this.nonEsModuleProcessor = new NonEsModuleProcessor();
@@ -206,13 +219,68 @@ public class ModuleMapCreator implements HotSwapCompilerPass {
 
     // There are modules that aren't associated with scripts - nested goog.modules in
     // goog.loadModule calls.
-    for (ModuleMetadata moduleMetadata : moduleMetadataMap.getAllModuleMetadata()) {
-      process(moduleMetadata);
+    ImmutableList<ModuleMetadata> allModuleMetadata =
+        moduleMetadataMap.getAllModuleMetadata().asList();
+    if (numParallelThreads > 1 && allModuleMetadata.size() > 1) {
+      List<UnresolvedModule> modules = scanInParallel(allModuleMetadata);
+      for (int i = 0; i < allModuleMetadata.size(); i++) {
+        register(allModuleMetadata.get(i), modules.get(i));
+      }
+    } else {
+      for (ModuleMetadata moduleMetadata : allModuleMetadata) {
+        process(moduleMetadata);
+      }
     }
 
     return resolve();
   }
 
+  /**
+   * Scans every module on a worker thread. Scanning only reads the AST of its module, so modules
+   * are independent until they are resolved against each other.
+   *
+   * <p>Each scan keeps the errors it finds to itself; they are reported on the calling thread, in
+   * the order of the given metadata, just as a serial scan would report them.
+   *
+   * @return the scanned modules, in the order of the given metadata
+   */
+  private List<UnresolvedModule> scanInParallel(ImmutableList<ModuleMetadata> allModuleMetadata) {
+    List<ScannedModule> scannedModules =
+        WorkerPool.forEachInParallel(
+            allModuleMetadata,
+            numParallelThreads,
+            (ModuleMetadata moduleMetadata) -> {
+              // The ES and Closure processors keep per-scan state, so each scan gets its own.
+              List<JSError> errors = new ArrayList<>();
+              UnresolvedModule module =
+                  scan(
+                      moduleMetadata,
+                      new EsModuleProcessor(compiler, errors::add),
+                      new ClosureModuleProcessor(compiler));
+              return new ScannedModule(module, errors);
+            });
+
+    List<UnresolvedModule> modules = new ArrayList<>();
+    for (ScannedModule scannedModule : scannedModules) {
+      for (JSError error : scannedModule.errors) {
+        compiler.report(error);
+      }
+      modules.add(scannedModule.module);
+    }
+    return modules;
+  }
+
+  /** A module scanned on a worker thread, along with the errors that its scan found. */
+  private static final class ScannedModule {
+    final UnresolvedModule module;
+    final List<JSError> errors;
+
+    ScannedModule(UnresolvedModule module, List<JSError> errors) {
+      this.module = module;
+      this.errors = errors;
+    }
+  }
+
   private ModuleMap resolve() {
     ModuleRequestResolver requestResolver = new ModuleRequestResolverImpl();
     Map<String, Module> resolvedModules = new HashMap<>();
@@ -259,6 +327,13 @@ public class ModuleMapCreator implements HotSwapCompilerPass {
   }
 
   private void process(ModuleMetadata moduleMetadata) {
+    register(moduleMetadata, scan(moduleMetadata, esModuleProcessor, closureModuleProcessor));
+  }
+
+  private UnresolvedModule scan(
+      ModuleMetadata moduleMetadata,
+      EsModuleProcessor esModuleProcessor,
+      ClosureModuleProcessor closureModuleProcessor) {
     final ModuleProcessor processor;
     switch (moduleMetadata.moduleType()) {
       case ES6_MODULE:
@@ -272,9 +347,10 @@ public class ModuleMapCreator implements HotSwapCompilerPass {
         processor = nonEsModuleProcessor;
         break;
     }
-    UnresolvedModule module =
-        processor.process(moduleMetadata, moduleMetadata.path(), moduleMetadata.rootNode());
+    return processor.process(moduleMetadata, moduleMetadata.path(), moduleMetadata.rootNode());
+  }
 
+  private void register(ModuleMetadata moduleMetadata, UnresolvedModule module) {
     // Have to use module names as keys because path "resolution" (ModuleLoader) "respects"
     // leading slashes. Meaning that if you look up "file.js" and "/file.js" you'll get
     // different paths back. But they'll have the same module name.
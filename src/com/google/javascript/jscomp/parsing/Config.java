@@ -141,6 +141,19 @@ public abstract class Config {
   /** Whether to parse inline source maps (//# sourceMappingURL=data:...). */
   public abstract boolean parseInlineSourceMaps();
 
+  /**
+   * Whether to defer parsing JSDoc comments until their {@link
+   * com.google.javascript.rhino.JSDocInfo} is first read. Comments that affect the shape of the AST
+   * or the file-level JSDoc are still parsed eagerly.
+   */
+  public abstract boolean lazyJsDocParsing();
+
+  /**
+   * Whether the parser's scanner keeps tokens without a value, such as punctuators and keywords, as
+   * just their type and offsets, creating Token objects only for the tokens the parser asks for.
+   */
+  public abstract boolean lazyParserTokens();
+
   final ImmutableSet<String> annotationNames() {
     return annotations().keySet();
   }
@@ -154,7 +167,9 @@ public abstract class Config {
         .setExtraAnnotationNames(ImmutableSet.<String>of())
         .setSuppressionNames(ImmutableSet.<String>of())
         .setClosurePrimitiveNames(ImmutableSet.of())
-        .setParseInlineSourceMaps(false);
+        .setParseInlineSourceMaps(false)
+        .setLazyJsDocParsing(false)
+        .setLazyParserTokens(false);
   }
 
   /** Builder for a Config. */
@@ -170,6 +185,10 @@ public abstract class Config {
 
     public abstract Builder setParseInlineSourceMaps(boolean parseInlineSourceMaps);
 
+    public abstract Builder setLazyJsDocParsing(boolean lazyJsDocParsing);
+
+    public abstract Builder setLazyParserTokens(boolean lazyParserTokens);
+
     public abstract Builder setSuppressionNames(Iterable<String> names);
 
     abstract Builder setClosurePrimitiveNames(Iterable<String> names);
@@ -123,6 +123,7 @@ import com.google.javascript.jscomp.parsing.parser.util.format.SimpleFormat;
 import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.JSDocInfo;
+import com.google.javascript.rhino.LazyJSDocInfo;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.NonJSDocComment;
 import com.google.javascript.rhino.StaticSourceFile;
@@ -135,6 +136,7 @@ import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
@@ -221,6 +223,31 @@ class IRFactory {
   final JSDocInfo.Builder fileLevelJsDocBuilder;
   JSDocInfo fileOverviewInfo = null;
 
+  /**
+   * Annotations that contribute to the file-level JSDoc. Comments that mention one of them are
+   * never deferred by {@link Config#lazyJsDocParsing}.
+   */
+  private static final ImmutableSet<String> FILE_LEVEL_ANNOTATIONS =
+      Annotation.recognizedAnnotations.entrySet().stream()
+          .filter(
+              (Map.Entry<String, Annotation> e) -> {
+                switch (e.getValue()) {
+                  case EXTERNS:
+                  case FILE_OVERVIEW:
+                  case LICENSE:
+                  case NO_COMPILE:
+                  case PRESERVE:
+                  case TYPE_SUMMARY:
+                    return true;
+                  default:
+                    return false;
+                }
+              })
+          .map((e) -> "@" + e.getKey())
+          .collect(ImmutableSet.toImmutableSet());
+
+  private final JsDocParseStats jsDocParseStats = new JsDocParseStats();
+
   // Use a template node for properties set on all nodes to minimize the
   // memory footprint associated with these.
   private final Node templateNode;
@@ -233,11 +260,14 @@ class IRFactory {
   private FeatureSet features = FeatureSet.BARE_MINIMUM;
   private Node resultNode;
 
+  // The script being built by transformScriptElement, for an incremental transform.
+  private Node pendingScriptNode;
+
   private IRFactory(String sourceString,
                     StaticSourceFile sourceFile,
                     Config config,
                     ErrorReporter errorReporter,
-                    ImmutableList<Comment> comments) {
+                    List<Comment> comments) {
     this.sourceString = sourceString;
     this.jsdocTracker = new CommentTracker(comments, (c) -> c.type == Comment.Type.JSDOC);
     this.nonJsdocTracker = new CommentTracker(comments, (c) -> c.type != Comment.Type.JSDOC);
@@ -266,31 +296,30 @@ class IRFactory {
     }
   }
 
+  /**
+   * Walks the comments that pass a filter in source order. The source list may still be growing
+   * while the file is parsed, so the filter is applied when a comment is looked at.
+   */
   private static final class CommentTracker {
-    private final ImmutableList<Comment> source;
+    private final List<Comment> source;
     private final Predicate<Comment> filter;
-    private int index = -1;
+    private int index = 0;
 
-    CommentTracker(ImmutableList<Comment> source, Predicate<Comment> filter) {
+    CommentTracker(List<Comment> source, Predicate<Comment> filter) {
       this.source = source;
       this.filter = filter;
-
-      this.advance();
     }
 
     Comment current() {
+      while (this.index < this.source.size() && !this.filter.test(this.source.get(this.index))) {
+        this.index++;
+      }
       return (this.index >= this.source.size()) ? null : this.source.get(this.index);
     }
 
     void advance() {
-      while (true) {
-        this.index++; // Always advance at least one element.
-
-        Comment c = this.current();
-        if (c == null || this.filter.test(c)) {
-          break;
-        }
-      }
+      this.current();
+      this.index++; // Always advance at least one element.
     }
 
     boolean hasPendingCommentBefore(SourcePosition pos) {
@@ -320,23 +349,62 @@ class IRFactory {
 
     // don't call transform as we don't want standard jsdoc handling.
     Node n = irFactory.transformDispatcher.process(tree);
-    irFactory.setSourceInfo(n, tree);
+    irFactory.completeTransform(n, tree);
+    return irFactory;
+  }
+
+  /**
+   * Creates an IRFactory that is handed the script elements of a file one at a time, while the file
+   * is being parsed, so that the ParseTree of the whole file never needs to be held in memory. Call
+   * {@link #transformScriptElement} for each element and then {@link #finishTransform(ProgramTree)}.
+   *
+   * @param comments the comments of the file, which may still be growing. Whenever an element is
+   *     transformed, it must contain all comments up to the start of the next element.
+   */
+  static IRFactory forIncrementalTransform(
+      StaticSourceFile sourceFile,
+      String sourceString,
+      Config config,
+      ErrorReporter errorReporter,
+      List<Comment> comments) {
+    IRFactory irFactory = new IRFactory(sourceString, sourceFile, config, errorReporter, comments);
+    irFactory.pendingScriptNode = irFactory.newNode(Token.SCRIPT);
+    return irFactory;
+  }
+
+  /** Transforms the next script element of a file being transformed incrementally. */
+  void transformScriptElement(ParseTree element) {
+    pendingScriptNode.addChildToBack(transform(element));
+  }
+
+  /**
+   * Completes an incremental transform.
+   *
+   * @param tree the parsed program, whose source elements are ignored
+   */
+  void finishTransform(ProgramTree tree) {
+    Node n = pendingScriptNode;
+    pendingScriptNode = null;
+    transformDispatcher.finishScript(n, tree);
+    completeTransform(n, tree);
+  }
+
+  private void completeTransform(Node n, ProgramTree tree) {
+    setSourceInfo(n, tree);
 
     if (tree.sourceComments != null) {
       for (Comment comment : tree.sourceComments) {
         if ((comment.type == Comment.Type.JSDOC || comment.type == Comment.Type.IMPORTANT)
-            && !irFactory.parsedComments.contains(comment)) {
-          irFactory.handlePossibleFileOverviewJsDoc(comment);
+            && !parsedComments.contains(comment)) {
+          handlePossibleFileOverviewJsDoc(comment);
         }
       }
     }
 
-    irFactory.setFileOverviewJsDoc(n);
+    setFileOverviewJsDoc(n);
 
-    irFactory.validateAll(n);
-    irFactory.resultNode = n;
-
-    return irFactory;
+    validateAll(n);
+    resultNode = n;
   }
 
   Node getResultNode() {
@@ -613,7 +681,8 @@ class IRFactory {
     return null;
   }
 
-  private JSDocInfo parseJSDocInfoOnTree(ParseTree tree) {
+  @Nullable
+  private Comment getJSDocCommentOnTree(ParseTree tree) {
     switch (tree.type) {
       case EXPRESSION_STATEMENT:
       case LABELLED_STATEMENT:
@@ -639,20 +708,100 @@ class IRFactory {
         break;
     }
 
-    return parseJSDocInfoFrom(getJSDocCommentAt(tree.getStart()));
-  }
-
-  JSDocInfo parseJSDocInfoOnToken(com.google.javascript.jscomp.parsing.parser.Token token) {
-    return parseJSDocInfoFrom(getJSDocCommentAt(token.getStart()));
+    return getJSDocCommentAt(tree.getStart());
   }
 
-  JSDocInfo parseInlineJSDocAt(SourcePosition pos) {
-    Comment comment = getJSDocCommentAt(pos);
+  private JSDocInfo parseInlineJSDoc(@Nullable Comment comment) {
     return (comment != null && !comment.value.contains("@"))
         ? parseInlineTypeDoc(comment)
         : parseJSDocInfoFrom(comment);
   }
 
+  /**
+   * Returns the JSDoc of the comment to be parsed on first read, or null if the comment should be
+   * parsed now: because lazy parsing is off, or because the comment may contribute to the
+   * file-level JSDoc.
+   */
+  @Nullable
+  private LazyJSDocInfo maybeDeferJSDoc(@Nullable Comment comment, boolean inline) {
+    if (!config.lazyJsDocParsing() || comment == null || comment.type != Comment.Type.JSDOC) {
+      return null;
+    }
+    String value = comment.value;
+    for (int i = value.indexOf('@'); i >= 0; i = value.indexOf('@', i + 1)) {
+      for (String annotation : FILE_LEVEL_ANNOTATIONS) {
+        if (value.regionMatches(true, i, annotation, 0, annotation.length())) {
+          return null;
+        }
+      }
+    }
+    parsedComments.add(comment);
+    jsDocParseStats.recordDeferred();
+    return new DeferredJSDocInfo(
+        comment,
+        inline && !value.contains("@"),
+        templateNode,
+        config,
+        errorReporter,
+        fileOverviewInfo,
+        jsDocParseStats);
+  }
+
+  /** The JSDoc of a comment that is parsed when it is first read. */
+  private static final class DeferredJSDocInfo extends LazyJSDocInfo {
+    private static final long serialVersionUID = 1L;
+
+    private final Comment comment;
+    private final boolean isInlineTypeDoc;
+    private final Node templateNode;
+    private final Config config;
+    private final ErrorReporter errorReporter;
+    private final JSDocInfo fileOverviewInfo;
+    private final JsDocParseStats stats;
+
+    DeferredJSDocInfo(
+        Comment comment,
+        boolean isInlineTypeDoc,
+        Node templateNode,
+        Config config,
+        ErrorReporter errorReporter,
+        JSDocInfo fileOverviewInfo,
+        JsDocParseStats stats) {
+      this.comment = comment;
+      this.isInlineTypeDoc = isInlineTypeDoc;
+      this.templateNode = templateNode;
+      this.config = config;
+      this.errorReporter = errorReporter;
+      this.fileOverviewInfo = fileOverviewInfo;
+      this.stats = stats;
+    }
+
+    @Override
+    protected JSDocInfo parse() {
+      long start = System.nanoTime();
+      try {
+        JsDocInfoParser parser = newJsDocInfoParser(comment, templateNode, config, errorReporter);
+        if (isInlineTypeDoc) {
+          return parser.parseInlineTypeDoc();
+        }
+        // Comments that mention file-level annotations are never deferred, so this does not
+        // need the file-level JSDoc builder.
+        parser.setFileOverviewJSDocInfo(fileOverviewInfo);
+        parser.parse();
+        return parser.getFileOverviewJSDocInfo() == fileOverviewInfo
+            ? parser.retrieveAndResetParsedJSDocInfo()
+            : null;
+      } finally {
+        stats.recordParse(System.nanoTime() - start);
+      }
+    }
+  }
+
+  /** Returns the time spent parsing the JSDoc of this file. */
+  JsDocParseStats getJsDocParseStats() {
+    return jsDocParseStats;
+  }
+
   /**
    * Creates a single NonJSDocComment from every comment associated with this node; or null if there
    * are no such comments.
@@ -728,7 +877,11 @@ class IRFactory {
   }
 
   Node transform(ParseTree tree) {
-    JSDocInfo info = parseJSDocInfoOnTree(tree);
+    Comment jsDocComment = getJSDocCommentOnTree(tree);
+    // A cast is injected depending on the JSDoc of a parenthesized expression.
+    LazyJSDocInfo lazyInfo =
+        tree.type == ParseTreeType.PAREN_EXPRESSION ? null : maybeDeferJSDoc(jsDocComment, false);
+    JSDocInfo info = lazyInfo == null ? parseJSDocInfoFrom(jsDocComment) : null;
     NonJSDocComment comment = parseNonJSDocCommentAt(tree.getStart(), false);
 
     Node node = transformDispatcher.process(tree);
@@ -736,6 +889,8 @@ class IRFactory {
     if (info != null) {
       node = maybeInjectCastNode(tree, info, node);
       node.setJSDocInfo(info);
+    } else if (lazyInfo != null) {
+      node.setLazyJSDocInfo(lazyInfo);
     }
     if (comment != null) {
       node.setNonJSDocComment(comment);
@@ -763,13 +918,17 @@ class IRFactory {
    *     Comments</a>
    */
   Node transformNodeWithInlineComments(ParseTree tree) {
-    JSDocInfo info = parseInlineJSDocAt(tree.getStart());
+    Comment jsDocComment = getJSDocCommentAt(tree.getStart());
+    LazyJSDocInfo lazyInfo = maybeDeferJSDoc(jsDocComment, true);
+    JSDocInfo info = lazyInfo == null ? parseInlineJSDoc(jsDocComment) : null;
     NonJSDocComment comment = parseNonJSDocCommentAt(tree.getStart(), true);
 
     Node node = transformDispatcher.process(tree);
 
     if (info != null) {
       node.setJSDocInfo(info);
+    } else if (lazyInfo != null) {
+      node.setLazyJSDocInfo(lazyInfo);
     }
     if (comment != null) {
       node.setNonJSDocComment(comment);
@@ -885,23 +1044,8 @@ class IRFactory {
    *     normal JsDoc, or no JsDoc (if the method parses to the wrong level).
    */
   private JsDocInfoParser createJsDocInfoParser(Comment node) {
-    String comment = node.value;
-    int lineno = lineno(node.location.start);
-    int charno = charno(node.location.start);
-    int position = node.location.start.offset;
-
-    // The JsDocInfoParser expects the comment without the initial '/**'.
-    int numOpeningChars = 3;
-    JsDocInfoParser jsdocParser =
-      new JsDocInfoParser(
-          new JsDocTokenStream(comment.substring(numOpeningChars),
-                               lineno,
-                               charno + numOpeningChars),
-          comment,
-          position,
-          templateNode,
-          config,
-          errorReporter);
+    long start = System.nanoTime();
+    JsDocInfoParser jsdocParser = newJsDocInfoParser(node, templateNode, config, errorReporter);
     jsdocParser.setFileLevelJsDocBuilder(fileLevelJsDocBuilder);
     jsdocParser.setFileOverviewJSDocInfo(fileOverviewInfo);
     if (node.type == Comment.Type.IMPORTANT && node.value.length() > 0) {
@@ -909,6 +1053,7 @@ class IRFactory {
     } else {
       jsdocParser.parse();
     }
+    jsDocParseStats.recordParse(System.nanoTime() - start);
 
     return jsdocParser;
   }
@@ -917,23 +1062,29 @@ class IRFactory {
    * Parses inline type info.
    */
   private JSDocInfo parseInlineTypeDoc(Comment node) {
+    long start = System.nanoTime();
+    JSDocInfo info =
+        newJsDocInfoParser(node, templateNode, config, errorReporter).parseInlineTypeDoc();
+    jsDocParseStats.recordParse(System.nanoTime() - start);
+    return info;
+  }
+
+  private static JsDocInfoParser newJsDocInfoParser(
+      Comment node, Node templateNode, Config config, ErrorReporter errorReporter) {
     String comment = node.value;
     int lineno = lineno(node.location.start);
     int charno = charno(node.location.start);
+    int position = node.location.start.offset;
 
     // The JsDocInfoParser expects the comment without the initial '/**'.
     int numOpeningChars = 3;
-    JsDocInfoParser parser =
-      new JsDocInfoParser(
-          new JsDocTokenStream(comment.substring(numOpeningChars),
-              lineno,
-              charno + numOpeningChars),
-          comment,
-          node.location.start.offset,
-          templateNode,
-          config,
-          errorReporter);
-    return parser.parseInlineTypeDoc();
+    return new JsDocInfoParser(
+        new JsDocTokenStream(comment.substring(numOpeningChars), lineno, charno + numOpeningChars),
+        comment,
+        position,
+        templateNode,
+        config,
+        errorReporter);
   }
 
   // Set the length on the node if we're in IDE mode.
@@ -966,7 +1117,9 @@ class IRFactory {
       }
 
       LiteralToken literal = input.asLiteral();
-      JSDocInfo jsDocInfo = parseJSDocInfoOnToken(literal);
+      Comment jsDocComment = getJSDocCommentAt(literal.getStart());
+      LazyJSDocInfo lazyInfo = maybeDeferJSDoc(jsDocComment, false);
+      JSDocInfo jsDocInfo = lazyInfo == null ? parseJSDocInfoFrom(jsDocComment) : null;
       NonJSDocComment comment = parseNonJSDocCommentAt(literal.getStart(), true);
 
       final Node node;
@@ -984,6 +1137,8 @@ class IRFactory {
 
       if (jsDocInfo != null) {
         node.setJSDocInfo(jsDocInfo);
+      } else if (lazyInfo != null) {
+        node.setLazyJSDocInfo(lazyInfo);
       }
       if (comment != null) {
         node.setNonJSDocComment(comment);
@@ -1174,6 +1329,12 @@ class IRFactory {
       for (ParseTree child : rootNode.sourceElements) {
         scriptNode.addChildToBack(transform(child));
       }
+      finishScript(scriptNode, rootNode);
+      return scriptNode;
+    }
+
+    /** Handles the directives and module body of a script whose elements are transformed. */
+    void finishScript(Node scriptNode, ProgramTree rootNode) {
       parseDirectives(scriptNode);
       boolean isGoogModule = isGoogModuleFile(scriptNode);
       if (isGoogModule || features.has(Feature.MODULES)) {
@@ -1187,7 +1348,6 @@ class IRFactory {
           scriptNode.putBooleanProp(Node.ES6_MODULE, true);
         }
       }
-      return scriptNode;
     }
 
     private boolean isGoogModuleFile(Node scriptNode) {
@@ -1763,9 +1923,15 @@ class IRFactory {
       if (output == Token.NAME) {
         maybeWarnReservedKeyword(identifierToken);
 
-        JSDocInfo info = parseJSDocInfoOnToken(identifierToken);
-        if (info != null) {
-          node.setJSDocInfo(info);
+        Comment jsDocComment = getJSDocCommentAt(identifierToken.getStart());
+        LazyJSDocInfo lazyInfo = maybeDeferJSDoc(jsDocComment, false);
+        if (lazyInfo != null) {
+          node.setLazyJSDocInfo(lazyInfo);
+        } else {
+          JSDocInfo info = parseJSDocInfoFrom(jsDocComment);
+          if (info != null) {
+            node.setJSDocInfo(info);
+          }
         }
       }
 
@@ -1810,7 +1976,9 @@ class IRFactory {
     }
 
     Node processNameWithInlineComments(IdentifierToken identifierToken) {
-      JSDocInfo info = parseInlineJSDocAt(identifierToken.getStart());
+      Comment jsDocComment = getJSDocCommentAt(identifierToken.getStart());
+      LazyJSDocInfo lazyInfo = maybeDeferJSDoc(jsDocComment, true);
+      JSDocInfo info = lazyInfo == null ? parseInlineJSDoc(jsDocComment) : null;
       NonJSDocComment comment = parseNonJSDocCommentAt(identifierToken.getStart(), false);
 
       maybeWarnReservedKeyword(identifierToken);
@@ -1818,6 +1986,8 @@ class IRFactory {
 
       if (info != null) {
         node.setJSDocInfo(info);
+      } else if (lazyInfo != null) {
+        node.setLazyJSDocInfo(lazyInfo);
       }
       if (comment != null) {
         node.setNonJSDocComment(comment);
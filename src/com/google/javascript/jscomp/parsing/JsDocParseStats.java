@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.parsing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The time spent parsing the JSDoc comments of one file. With {@link Config#lazyJsDocParsing},
+ * comments parsed on first read are added as they are read, possibly from other threads.
+ */
+public final class JsDocParseStats {
+  private final AtomicLong parseNanos = new AtomicLong();
+  private final AtomicInteger parsedComments = new AtomicInteger();
+  private final AtomicInteger deferredComments = new AtomicInteger();
+
+  void recordParse(long nanos) {
+    parseNanos.addAndGet(nanos);
+    parsedComments.incrementAndGet();
+  }
+
+  void recordDeferred() {
+    deferredComments.incrementAndGet();
+  }
+
+  /** Returns the total time spent parsing this file's JSDoc so far. */
+  public long getParseNanos() {
+    return parseNanos.get();
+  }
+
+  /** Returns the number of comments parsed so far. */
+  public int getParsedCommentCount() {
+    return parsedComments.get();
+  }
+
+  /** Returns the number of comments whose parsing was deferred, whether or not it since happened. */
+  public int getDeferredCommentCount() {
+    return deferredComments.get();
+  }
+}
@@ -35,6 +35,7 @@ import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.StaticSourceFile;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -69,6 +70,26 @@ public final class ParserRunner {
       Set<String> extraAnnotationNames,
       boolean parseInlineSourceMaps,
       StrictMode strictMode) {
+    return createConfig(
+        languageMode,
+        jsdocParsingMode,
+        runMode,
+        extraAnnotationNames,
+        parseInlineSourceMaps,
+        strictMode,
+        false,
+        false);
+  }
+
+  public static Config createConfig(
+      LanguageMode languageMode,
+      JsDocParsing jsdocParsingMode,
+      RunMode runMode,
+      Set<String> extraAnnotationNames,
+      boolean parseInlineSourceMaps,
+      StrictMode strictMode,
+      boolean lazyJsDocParsing,
+      boolean lazyParserTokens) {
 
     initResourceConfig();
     Set<String> effectiveAnnotationNames;
@@ -87,6 +108,8 @@ public final class ParserRunner {
         .setLanguageMode(languageMode)
         .setParseInlineSourceMaps(parseInlineSourceMaps)
         .setStrictMode(strictMode)
+        .setLazyJsDocParsing(lazyJsDocParsing)
+        .setLazyParserTokens(lazyParserTokens)
         .build();
   }
 
@@ -129,14 +152,28 @@ public final class ParserRunner {
       Es6ErrorReporter es6ErrorReporter = new Es6ErrorReporter(errorReporter, keepGoing);
       com.google.javascript.jscomp.parsing.parser.Parser.Config es6config = newParserConfig(config);
       Parser p = new Parser(es6config, es6ErrorReporter, file);
-      ProgramTree tree = p.parseProgram();
+      DeferredErrorReporter irErrorReporter = new DeferredErrorReporter(errorReporter);
+      IRFactory factory =
+          IRFactory.forIncrementalTransform(
+              sourceFile, sourceString, config, irErrorReporter, p.getCommentsSoFar());
+      // Transform each script element as soon as it is parsed, so that the ParseTree of the whole
+      // file is never in memory. After a parse error that drops the AST there's no point going on.
+      ProgramTree tree =
+          p.parseProgram(
+              (element) -> {
+                if (keepGoing || !es6ErrorReporter.hadError()) {
+                  factory.transformScriptElement(element);
+                }
+              });
       Node root = null;
       List<Comment> comments = ImmutableList.of();
       FeatureSet features = p.getFeatures();
+      JsDocParseStats jsDocParseStats = null;
       if (tree != null && (!es6ErrorReporter.hadError() || keepGoing)) {
-        IRFactory factory =
-            IRFactory.transformTree(tree, sourceFile, sourceString, config, errorReporter);
+        irErrorReporter.flush();
+        factory.finishTransform(tree);
         root = factory.getResultNode();
+        jsDocParseStats = factory.getJsDocParseStats();
         features = features.union(factory.getFeatures());
         root.putProp(Node.FEATURE_SET, features);
 
@@ -144,7 +181,7 @@ public final class ParserRunner {
           comments = p.getComments();
         }
       }
-      return new ParseResult(root, comments, features, p.getSourceMapURL());
+      return new ParseResult(root, comments, features, p.getSourceMapURL(), jsDocParseStats);
     } catch (Throwable t) {
       throw new RuntimeException("Exception parsing \"" + sourceName + "\"", t);
     }
@@ -179,7 +216,7 @@ public final class ParserRunner {
         break;
     }
     return new com.google.javascript.jscomp.parsing.parser.Parser.Config(
-        checkNotNull(parserConfigLanguageMode), isStrictMode);
+        checkNotNull(parserConfigLanguageMode), isStrictMode, config.lazyParserTokens());
   }
 
   private static class Es6ErrorReporter
@@ -215,6 +252,47 @@ public final class ParserRunner {
     }
   }
 
+  /**
+   * Holds back the diagnostics of an incremental IRFactory transform while the file is still being
+   * parsed. They are then reported after any parse errors, as they would be if the whole file were
+   * parsed first, or not at all if the AST is dropped because of a parse error.
+   */
+  private static final class DeferredErrorReporter implements ErrorReporter {
+    private final ErrorReporter delegate;
+    @Nullable private List<Runnable> pending = new ArrayList<>();
+
+    DeferredErrorReporter(ErrorReporter delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void warning(String message, String sourceName, int line, int lineOffset) {
+      if (pending == null) {
+        delegate.warning(message, sourceName, line, lineOffset);
+      } else {
+        pending.add(() -> delegate.warning(message, sourceName, line, lineOffset));
+      }
+    }
+
+    @Override
+    public void error(String message, String sourceName, int line, int lineOffset) {
+      if (pending == null) {
+        delegate.error(message, sourceName, line, lineOffset);
+      } else {
+        pending.add(() -> delegate.error(message, sourceName, line, lineOffset));
+      }
+    }
+
+    /** Reports everything held back so far, and everything reported from now on directly. */
+    void flush() {
+      List<Runnable> held = pending;
+      pending = null;
+      for (Runnable r : held) {
+        r.run();
+      }
+    }
+  }
+
   /**
    * Holds results of parsing.
    */
@@ -223,12 +301,24 @@ public final class ParserRunner {
     public final List<Comment> comments;
     public final FeatureSet features;
     @Nullable public final String sourceMapURL;
+    /** The time spent parsing JSDoc, or null if the AST wasn't built. */
+    @Nullable public final JsDocParseStats jsDocParseStats;
 
     public ParseResult(Node ast, List<Comment> comments, FeatureSet features, String sourceMapURL) {
+      this(ast, comments, features, sourceMapURL, null);
+    }
+
+    public ParseResult(
+        Node ast,
+        List<Comment> comments,
+        FeatureSet features,
+        String sourceMapURL,
+        @Nullable JsDocParseStats jsDocParseStats) {
       this.ast = ast;
       this.comments = comments;
       this.features = features;
       this.sourceMapURL = sourceMapURL;
+      this.jsDocParseStats = jsDocParseStats;
     }
   }
 }
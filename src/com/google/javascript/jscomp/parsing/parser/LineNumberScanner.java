@@ -19,73 +19,181 @@ package com.google.javascript.jscomp.parsing.parser;
 import com.google.common.base.Preconditions;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
+import java.util.Arrays;
 import java.util.Objects;
 
 /** Utility for finding line and column offsets within a source file. */
-final class LineNumberScanner {
+abstract class LineNumberScanner {
 
-  private final SourceFile sourceFile;
-  private final String contents;
-  private final int sourceLength;
-  private int lastLine = -1;
-  private int lastLineStart = -1;
-  private int nextLineStart = 0;
+  final SourceFile sourceFile;
+  final String contents;
+  final int sourceLength;
 
-  LineNumberScanner(SourceFile sourceFile) {
-    this.sourceFile = sourceFile;
-    this.contents = sourceFile.contents;
-    this.sourceLength = contents.length();
+  /**
+   * Returns a scanner that expects positions to be looked up in increasing order, more or less,
+   * and must be rewound before backing up to a previous line.
+   */
+  static LineNumberScanner create(SourceFile sourceFile) {
+    return new Sequential(sourceFile);
   }
 
   /**
-   * Returns the source position of character offset {@code offset}. This class expects this method
-   * to be called with increasing values of {@code offset}, more or less. {@link #rewindTo} must be
-   * called before backing up to a previous line.
+   * Returns a scanner that keeps a table of the start offsets of the lines seen so far, so that
+   * positions can be looked up in any order without rescanning the source.
    */
-  SourcePosition getSourcePosition(int offset) {
-    Preconditions.checkArgument(
-        offset >= lastLineStart,
-        "Must call rewindTo before calling getSourcePosition for an earlier line (%s < %s)",
-        offset,
-        lastLineStart);
-    while (offset >= nextLineStart) {
-      advanceLine();
-    }
-    return new SourcePosition(sourceFile, offset, lastLine, offset - lastLineStart);
+  static LineNumberScanner createIndexed(SourceFile sourceFile) {
+    return new Indexed(sourceFile);
+  }
+
+  private LineNumberScanner(SourceFile sourceFile) {
+    this.sourceFile = sourceFile;
+    this.contents = sourceFile.contents;
+    this.sourceLength = contents.length();
   }
 
+  /** Returns the source position of character offset {@code offset}. */
+  abstract SourcePosition getSourcePosition(int offset);
+
   SourceRange getSourceRange(int startOffset, int endOffset) {
     return new SourceRange(getSourcePosition(startOffset), getSourcePosition(endOffset));
   }
 
+  /** Returns the 0-based line of character offset {@code offset}. */
+  abstract int getLine(int offset);
+
   /**
    * Call this method to rewind the scanner to an earlier position in the source file. This is
    * necessary if backing up to a previous line.
    */
-  void rewindTo(SourcePosition position) {
-    Preconditions.checkArgument(Objects.equals(position.source, sourceFile));
-    if (position.offset < lastLineStart) {
-      lastLine = position.line - 1;
-      nextLineStart = position.offset - position.column;
-      advanceLine();
+  abstract void rewindTo(SourcePosition position);
+
+  private static final class Sequential extends LineNumberScanner {
+    private int lastLine = -1;
+    private int lastLineStart = -1;
+    private int nextLineStart = 0;
+
+    Sequential(SourceFile sourceFile) {
+      super(sourceFile);
+    }
+
+    /**
+     * Returns the source position of character offset {@code offset}. This class expects this
+     * method to be called with increasing values of {@code offset}, more or less. {@link #rewindTo}
+     * must be called before backing up to a previous line.
+     */
+    @Override
+    SourcePosition getSourcePosition(int offset) {
+      Preconditions.checkArgument(
+          offset >= lastLineStart,
+          "Must call rewindTo before calling getSourcePosition for an earlier line (%s < %s)",
+          offset,
+          lastLineStart);
+      while (offset >= nextLineStart) {
+        advanceLine();
+      }
+      return new SourcePosition(sourceFile, offset, lastLine, offset - lastLineStart);
+    }
+
+    @Override
+    int getLine(int offset) {
+      return getSourcePosition(offset).line;
+    }
+
+    @Override
+    void rewindTo(SourcePosition position) {
+      Preconditions.checkArgument(Objects.equals(position.source, sourceFile));
+      if (position.offset < lastLineStart) {
+        lastLine = position.line - 1;
+        nextLineStart = position.offset - position.column;
+        advanceLine();
+      }
+    }
+
+    private void advanceLine() {
+      lastLine++;
+
+      lastLineStart = nextLineStart;
+      for (int index = lastLineStart; index < sourceLength; index++) {
+        char ch = contents.charAt(index);
+        if (isLineTerminator(ch)) {
+          if (ch == '\r' && index + 1 < sourceLength && contents.charAt(index + 1) == '\n') {
+            index++;
+          }
+          nextLineStart = index + 1;
+          return;
+        }
+      }
+      nextLineStart = Integer.MAX_VALUE;
     }
   }
 
-  private void advanceLine() {
-    lastLine++;
+  private static final class Indexed extends LineNumberScanner {
+    /** The start offsets of the first {@code lineCount} lines. */
+    private int[] lineStarts = new int[64];
+    private int lineCount = 1;
+    /** All line starts up to this offset are in {@code lineStarts}. */
+    private int scannedTo = 0;
+    /** The line of the previous lookup, which is usually the line of the next one too. */
+    private int lastLine = 0;
+
+    Indexed(SourceFile sourceFile) {
+      super(sourceFile);
+    }
+
+    @Override
+    SourcePosition getSourcePosition(int offset) {
+      int line = getLine(offset);
+      return new SourcePosition(sourceFile, offset, line, offset - lineStarts[line]);
+    }
+
+    /** Returns the 0-based line of character offset {@code offset}, without allocating. */
+    @Override
+    int getLine(int offset) {
+      scanTo(offset);
+      int line = lastLine;
+      if (offset < lineStarts[line] || (line + 1 < lineCount && offset >= lineStarts[line + 1])) {
+        line = findLine(offset);
+        lastLine = line;
+      }
+      return line;
+    }
+
+    /** Positions can be looked up in any order, so there's nothing to rewind. */
+    @Override
+    void rewindTo(SourcePosition position) {
+      Preconditions.checkArgument(Objects.equals(position.source, sourceFile));
+    }
+
+    /** Returns the last line starting at or before {@code offset}, which must have been scanned. */
+    private int findLine(int offset) {
+      int low = 0;
+      int high = lineCount - 1;
+      while (low < high) {
+        int mid = (low + high + 1) >>> 1;
+        if (lineStarts[mid] <= offset) {
+          low = mid;
+        } else {
+          high = mid - 1;
+        }
+      }
+      return low;
+    }
 
-    lastLineStart = nextLineStart;
-    for (int index = lastLineStart; index < sourceLength; index++) {
-      char ch = contents.charAt(index);
-      if (isLineTerminator(ch)) {
-        if (ch == '\r' && index + 1 < sourceLength && contents.charAt(index + 1) == '\n') {
-          index++;
+    /** Records the starts of all lines up to {@code offset}. */
+    private void scanTo(int offset) {
+      while (scannedTo <= offset && scannedTo < sourceLength) {
+        char ch = contents.charAt(scannedTo++);
+        if (isLineTerminator(ch)) {
+          if (ch == '\r' && scannedTo < sourceLength && contents.charAt(scannedTo) == '\n') {
+            scannedTo++;
+          }
+          if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+          }
+          lineStarts[lineCount++] = scannedTo;
         }
-        nextLineStart = index + 1;
-        return;
       }
     }
-    nextLineStart = Integer.MAX_VALUE;
   }
 
   private static boolean isLineTerminator(char ch) {
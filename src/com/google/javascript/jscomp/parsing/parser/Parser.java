@@ -108,7 +108,10 @@ import com.google.javascript.jscomp.parsing.parser.util.ErrorReporter;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 /**
@@ -175,7 +178,10 @@ public class Parser {
   private final CommentRecorder commentRecorder = new CommentRecorder();
   private final ArrayDeque<FunctionFlavor> functionContextStack = new ArrayDeque<>();
   private FeatureSet features = FeatureSet.BARE_MINIMUM;
-  private SourcePosition lastSourcePosition;
+  // The end of the most recently consumed token. Its SourcePosition is created on demand, since
+  // most consumed tokens are never the end of a tree.
+  private int lastSourceOffset;
+  @Nullable private SourcePosition lastSourcePosition;
   @Nullable private String sourceMapURL;
 
   public Parser(
@@ -186,10 +192,10 @@ public class Parser {
       boolean initialGeneratorContext) {
     this.config = config;
     this.errorReporter = errorReporter;
-    this.scanner = new Scanner(errorReporter, commentRecorder, source, offset);
+    this.scanner = new Scanner(errorReporter, commentRecorder, source, offset, config.lazyTokens);
     this.functionContextStack.addLast(
         initialGeneratorContext ? FunctionFlavor.GENERATOR : FunctionFlavor.NORMAL);
-    lastSourcePosition = scanner.getPosition();
+    setLastSourcePosition(scanner.getPosition());
   }
 
   public Parser(Config config, ErrorReporter errorReporter, SourceFile source, int offset) {
@@ -212,12 +218,21 @@ public class Parser {
     private final boolean atLeast8;
     private final boolean isStrictMode;
     private final boolean warnTrailingCommas;
+    private final boolean lazyTokens;
 
     public Config() {
       this(Mode.ES8_OR_GREATER, /* isStrictMode */ false);
     }
 
     public Config(Mode mode, boolean isStrictMode) {
+      this(mode, isStrictMode, /* lazyTokens= */ false);
+    }
+
+    /**
+     * @param lazyTokens whether the scanner keeps tokens without a value, such as punctuators and
+     *     keywords, as just their type and offsets until the parser needs a Token object for one
+     */
+    public Config(Mode mode, boolean isStrictMode, boolean lazyTokens) {
       atLeast6 = !(mode == Mode.ES3 || mode == Mode.ES5);
       atLeast8 = mode == Mode.ES8_OR_GREATER;
       this.isStrictMode = isStrictMode;
@@ -225,13 +240,14 @@ public class Parser {
       // Generally, we allow everything that is valid in any mode
       // we only warn about things that are not represented in the AST.
       this.warnTrailingCommas = mode == Mode.ES3;
+      this.lazyTokens = lazyTokens;
     }
   }
 
   private static final String SOURCE_MAPPING_URL_PREFIX = "//# sourceMappingURL=";
 
   private class CommentRecorder implements Scanner.CommentRecorder {
-    private final ImmutableList.Builder<Comment> comments = ImmutableList.builder();
+    private final List<Comment> comments = new ArrayList<>();
     private SourcePosition lastCommentEndPosition;
 
     @Override
@@ -250,7 +266,7 @@ public class Parser {
     }
 
     private ImmutableList<Comment> getComments() {
-      return comments.build();
+      return ImmutableList.copyOf(comments);
     }
   }
 
@@ -258,6 +274,14 @@ public class Parser {
     return commentRecorder.getComments();
   }
 
+  /**
+   * Returns a live, read-only view of the comments scanned so far. Comments are appended to it in
+   * source order as parsing proceeds.
+   */
+  public List<Comment> getCommentsSoFar() {
+    return Collections.unmodifiableList(commentRecorder.comments);
+  }
+
   public FeatureSet getFeatures() {
     return features;
   }
@@ -275,30 +299,51 @@ public class Parser {
 
   // 14 Program
   public ProgramTree parseProgram() {
-    try {
-      SourcePosition start = getTreeStartLocation();
-      ImmutableList<ParseTree> sourceElements = parseGlobalSourceElements();
-      eat(TokenType.END_OF_FILE);
-      return new ProgramTree(getTreeLocation(start), sourceElements, commentRecorder.getComments());
-    } catch (Error e) {
-      // We are checking the error message instead of catching StackOverflowError since
-      // StackOverflowError is not emulated on the Web.
-      if (e.toString().contains("java.lang.StackOverflowError")) {
-        reportError("Too deep recursion while parsing");
-        return null;
-      }
-      throw e;
-    }
+    ImmutableList.Builder<ParseTree> sourceElements = ImmutableList.builder();
+    return parseProgram(sourceElements::add, sourceElements);
   }
 
-  private ImmutableList<ParseTree> parseGlobalSourceElements() {
-    ImmutableList.Builder<ParseTree> result = ImmutableList.builder();
+  /**
+   * Parses the program, handing each script element to {@code elementConsumer} as soon as it has
+   * been parsed instead of collecting them. The returned tree has no source elements, so that each
+   * element can be garbage collected once the consumer is done with it.
+   *
+   * <p>When an element is handed over, all comments up to the start of the next element have been
+   * scanned and are in {@link #getCommentsSoFar}. Anything the consumer throws is passed on to the
+   * caller as it is.
+   */
+  public ProgramTree parseProgram(Consumer<ParseTree> elementConsumer) {
+    return parseProgram(elementConsumer, ImmutableList.builder());
+  }
 
-    while (!peek(TokenType.END_OF_FILE)) {
-      result.add(parseScriptElement());
+  private ProgramTree parseProgram(
+      Consumer<ParseTree> elementConsumer, ImmutableList.Builder<ParseTree> sourceElements) {
+    SourcePosition start = getTreeStartLocation();
+    while (true) {
+      ParseTree element;
+      try {
+        if (peek(TokenType.END_OF_FILE)) {
+          break;
+        }
+        element = parseScriptElement();
+        // Scan up to the next token, recording the comments before it.
+        peekType();
+      } catch (Error e) {
+        // We are checking the error message instead of catching StackOverflowError since
+        // StackOverflowError is not emulated on the Web.
+        if (e.toString().contains("java.lang.StackOverflowError")) {
+          reportError("Too deep recursion while parsing");
+          return null;
+        }
+        throw e;
+      }
+      // Hand the element over only once the parser has returned from it, so that the consumer's
+      // recursion doesn't add to the parser's, and its errors aren't taken for parse errors.
+      elementConsumer.accept(element);
     }
-
-    return result.build();
+    skip(TokenType.END_OF_FILE);
+    return new ProgramTree(
+        getTreeLocation(start), sourceElements.build(), commentRecorder.getComments());
   }
 
   // ImportDeclaration
@@ -326,7 +371,7 @@ public class Parser {
 
   private ParseTree parseImportDeclaration() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.IMPORT);
+    skip(TokenType.IMPORT);
 
     // import ModuleSpecifier ;
     if (peek(TokenType.STRING)) {
@@ -349,7 +394,7 @@ public class Parser {
     if (peekId()) {
       defaultBindingIdentifier = eatId();
       if (peek(TokenType.COMMA)) {
-        eat(TokenType.COMMA);
+        skip(TokenType.COMMA);
       } else {
         parseExplicitNames = false;
       }
@@ -360,7 +405,7 @@ public class Parser {
 
     if (parseExplicitNames) {
       if (peek(TokenType.STAR)) {
-        eat(TokenType.STAR);
+        skip(TokenType.STAR);
         eatPredefinedString(PredefinedName.AS);
         nameSpaceImportIdentifier = eatId();
       } else {
@@ -385,14 +430,14 @@ public class Parser {
   private ImmutableList<ParseTree> parseImportSpecifierSet() {
     ImmutableList.Builder<ParseTree> elements;
     elements = ImmutableList.builder();
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.OPEN_CURLY);
     while (peekIdOrKeyword()) {
       elements.add(parseImportSpecifier());
       if (!peek(TokenType.CLOSE_CURLY)) {
-        eat(TokenType.COMMA);
+        skip(TokenType.COMMA);
       }
     }
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
     return elements.build();
   }
 
@@ -447,7 +492,7 @@ public class Parser {
     boolean isExportAll = false;
     boolean isExportSpecifier = false;
     boolean needsSemiColon = true;
-    eat(TokenType.EXPORT);
+    skip(TokenType.EXPORT);
     ParseTree export = null;
     ImmutableList<ParseTree> exportSpecifierList = null;
     switch (peekType()) {
@@ -514,14 +559,14 @@ public class Parser {
   private ImmutableList<ParseTree> parseExportSpecifierSet() {
     ImmutableList.Builder<ParseTree> elements;
     elements = ImmutableList.builder();
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.OPEN_CURLY);
     while (peekIdOrKeyword()) {
       elements.add(parseExportSpecifier());
       if (!peek(TokenType.CLOSE_CURLY)) {
-        eat(TokenType.COMMA);
+        skip(TokenType.COMMA);
       }
     }
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
     return elements.build();
   }
 
@@ -551,7 +596,7 @@ public class Parser {
 
   private ParseTree parseClass(boolean isExpression) {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.CLASS);
+    skip(TokenType.CLASS);
     IdentifierToken name = null;
     if (!isExpression || peekId()) {
       name = eatId();
@@ -559,13 +604,13 @@ public class Parser {
 
     ParseTree superClass = null;
     if (peek(TokenType.EXTENDS)) {
-      eat(TokenType.EXTENDS);
+      skip(TokenType.EXTENDS);
       superClass = parseExpression();
     }
 
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.OPEN_CURLY);
     ImmutableList<ParseTree> elements = parseClassElements();
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
     return new ClassDeclarationTree(getTreeLocation(start), name, superClass, elements);
   }
 
@@ -576,7 +621,7 @@ public class Parser {
       Token token = peekToken();
       if (token.type == TokenType.SEMI_COLON) {
         // Ignore extraneous semicolons in class bodies.
-        eat(TokenType.SEMI_COLON);
+        skip(TokenType.SEMI_COLON);
         continue;
       } else {
         if (isClassElementStart(token)) {
@@ -636,7 +681,7 @@ public class Parser {
     // only eat `static` if it being used as a keyword and not
     // a member name.
     if (peek(TokenType.STATIC) && isClassElementStart(peekToken(1))) {
-      eat(TokenType.STATIC);
+      skip(TokenType.STATIC);
       return true;
     }
     return false;
@@ -718,7 +763,7 @@ public class Parser {
     eatPredefinedString(ASYNC);
     boolean generator = peek(TokenType.STAR);
     if (generator) {
-      eat(TokenType.STAR);
+      skip(TokenType.STAR);
     }
     if (peekPropertyName(0)) {
       if (peekIdOrKeyword()) {
@@ -812,7 +857,7 @@ public class Parser {
 
   private void eatAsyncFunctionStart() {
     eatPredefinedString(ASYNC);
-    eat(TokenType.FUNCTION);
+    skip(TokenType.FUNCTION);
   }
 
   private boolean peekFunction() {
@@ -858,7 +903,7 @@ public class Parser {
 
     boolean generator = peek(TokenType.STAR);
     if (generator) {
-      eat(TokenType.STAR);
+      skip(TokenType.STAR);
     }
 
     FunctionDeclarationTree.Builder builder =
@@ -877,7 +922,7 @@ public class Parser {
 
     boolean generator = peek(TokenType.STAR);
     if (generator) {
-      eat(TokenType.STAR);
+      skip(TokenType.STAR);
     }
 
     FunctionDeclarationTree.Builder builder =
@@ -913,7 +958,7 @@ public class Parser {
     }
 
     if (!parameter.isRestParameter() && peek(TokenType.EQUAL)) {
-      eat(TokenType.EQUAL);
+      skip(TokenType.EQUAL);
       ParseTree defaultValue = parseAssignmentExpression();
       parameter = new DefaultParameterTree(getTreeLocation(start), parameter, defaultValue);
     }
@@ -923,7 +968,7 @@ public class Parser {
 
   private FormalParameterListTree parseFormalParameterList() {
     SourcePosition listStart = getTreeStartLocation();
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.OPEN_PAREN);
 
     ImmutableList.Builder<ParseTree> result = ImmutableList.builder();
     boolean trailingComma = false;
@@ -950,7 +995,7 @@ public class Parser {
       }
     }
 
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     return new FormalParameterListTree(
         getTreeLocation(listStart), result.build(), trailingComma, commaPositions.build());
   }
@@ -977,9 +1022,9 @@ public class Parser {
 
   private BlockTree parseFunctionBody() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.OPEN_CURLY);
     ImmutableList<ParseTree> result = parseSourceElementList();
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
     return new BlockTree(getTreeLocation(start), result);
   }
 
@@ -995,7 +1040,7 @@ public class Parser {
 
   private IterSpreadTree parseIterSpread() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.ELLIPSIS);
+    skip(TokenType.ELLIPSIS);
     ParseTree operand = parseAssignmentExpression();
     return new IterSpreadTree(getTreeLocation(start), operand);
   }
@@ -1114,10 +1159,10 @@ public class Parser {
   // 12.1 Block
   private BlockTree parseBlock() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.OPEN_CURLY);
     // Spec says Statement list. However functions are also embedded in the wild.
     ImmutableList<ParseTree> result = parseSourceElementList();
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
     return new BlockTree(getTreeLocation(start), result);
   }
 
@@ -1164,7 +1209,7 @@ public class Parser {
 
     declarations.add(parseVariableDeclaration(token, expressionIn));
     while (peek(TokenType.COMMA)) {
-      eat(TokenType.COMMA);
+      skip(TokenType.COMMA);
       declarations.add(parseVariableDeclaration(token, expressionIn));
     }
     return new VariableDeclarationListTree(getTreeLocation(start), token, declarations.build());
@@ -1194,14 +1239,14 @@ public class Parser {
   }
 
   private ParseTree parseInitializer(Expression expressionIn) {
-    eat(TokenType.EQUAL);
+    skip(TokenType.EQUAL);
     return parseAssignment(expressionIn);
   }
 
   // 12.3 Empty Statement
   private EmptyStatementTree parseEmptyStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.SEMI_COLON);
+    skip(TokenType.SEMI_COLON);
     return new EmptyStatementTree(getTreeLocation(start));
   }
 
@@ -1216,14 +1261,14 @@ public class Parser {
   // 12.5 If Statement
   private IfStatementTree parseIfStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.IF);
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.IF);
+    skip(TokenType.OPEN_PAREN);
     ParseTree condition = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     ParseTree ifClause = parseStatement();
     ParseTree elseClause = null;
     if (peek(TokenType.ELSE)) {
-      eat(TokenType.ELSE);
+      skip(TokenType.ELSE);
       elseClause = parseStatement();
     }
     return new IfStatementTree(getTreeLocation(start), condition, ifClause, elseClause);
@@ -1234,15 +1279,15 @@ public class Parser {
   // 12.6.1 The do-while Statement
   private ParseTree parseDoWhileStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.DO);
+    skip(TokenType.DO);
     ParseTree body = parseStatement();
-    eat(TokenType.WHILE);
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.WHILE);
+    skip(TokenType.OPEN_PAREN);
     ParseTree condition = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     // The semicolon after the "do-while" is optional.
     if (peek(TokenType.SEMI_COLON)) {
-      eat(TokenType.SEMI_COLON);
+      skip(TokenType.SEMI_COLON);
     }
     return new DoWhileStatementTree(getTreeLocation(start), body, condition);
   }
@@ -1250,10 +1295,10 @@ public class Parser {
   // 12.6.2 The while Statement
   private ParseTree parseWhileStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.WHILE);
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.WHILE);
+    skip(TokenType.OPEN_PAREN);
     ParseTree condition = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     ParseTree body = parseStatement();
     return new WhileStatementTree(getTreeLocation(start), condition, body);
   }
@@ -1264,12 +1309,12 @@ public class Parser {
   // The for-await-of Statement
   private ParseTree parseForStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.FOR);
+    skip(TokenType.FOR);
     boolean awaited = peekPredefinedString(AWAIT);
     if (awaited) {
       eatPredefinedString(AWAIT);
     }
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.OPEN_PAREN);
     if (peekVariableDeclarationList()) {
       VariableDeclarationListTree variables = parseVariableDeclarationListNoIn();
       if (peek(TokenType.IN)) {
@@ -1361,7 +1406,7 @@ public class Parser {
   private ParseTree parseForOfStatement(SourcePosition start, ParseTree initializer) {
     eatPredefinedString(PredefinedName.OF);
     ParseTree collection = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     ParseTree body = parseStatement();
     return new ForOfStatementTree(getTreeLocation(start), initializer, collection, body);
   }
@@ -1369,7 +1414,7 @@ public class Parser {
   private ParseTree parseForAwaitOfStatement(SourcePosition start, ParseTree initializer) {
     eatPredefinedString(PredefinedName.OF);
     ParseTree collection = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     ParseTree body = parseStatement();
     return new ForAwaitOfStatementTree(getTreeLocation(start), initializer, collection, body);
   }
@@ -1408,7 +1453,7 @@ public class Parser {
     if (initializer == null) {
       initializer = new NullTree(new SourceRange(getTreeEndLocation(), getTreeStartLocation()));
     }
-    eat(TokenType.SEMI_COLON);
+    skip(TokenType.SEMI_COLON);
 
     ParseTree condition;
     if (!peek(TokenType.SEMI_COLON)) {
@@ -1416,7 +1461,7 @@ public class Parser {
     } else {
       condition = new NullTree(new SourceRange(getTreeEndLocation(), getTreeStartLocation()));
     }
-    eat(TokenType.SEMI_COLON);
+    skip(TokenType.SEMI_COLON);
 
     ParseTree increment;
     if (!peek(TokenType.CLOSE_PAREN)) {
@@ -1424,16 +1469,16 @@ public class Parser {
     } else {
       increment = new NullTree(new SourceRange(getTreeEndLocation(), getTreeStartLocation()));
     }
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     ParseTree body = parseStatement();
     return new ForStatementTree(getTreeLocation(start), initializer, condition, increment, body);
   }
 
   // 12.6.4 The for-in Statement
   private ParseTree parseForInStatement(SourcePosition start, ParseTree initializer) {
-    eat(TokenType.IN);
+    skip(TokenType.IN);
     ParseTree collection = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     ParseTree body = parseStatement();
     return new ForInStatementTree(getTreeLocation(start), initializer, collection, body);
   }
@@ -1441,7 +1486,7 @@ public class Parser {
   // 12.7 The continue Statement
   private ParseTree parseContinueStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.CONTINUE);
+    skip(TokenType.CONTINUE);
     IdentifierToken name = null;
     if (!peekImplicitSemiColon()) {
       name = eatIdOpt();
@@ -1453,7 +1498,7 @@ public class Parser {
   // 12.8 The break Statement
   private ParseTree parseBreakStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.BREAK);
+    skip(TokenType.BREAK);
     IdentifierToken name = null;
     if (!peekImplicitSemiColon()) {
       name = eatIdOpt();
@@ -1465,7 +1510,7 @@ public class Parser {
   // 12.9 The return Statement
   private ParseTree parseReturnStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.RETURN);
+    skip(TokenType.RETURN);
     ParseTree expression = null;
     if (!peekImplicitSemiColon()) {
       expression = parseExpression();
@@ -1477,10 +1522,10 @@ public class Parser {
   // 12.10 The with Statement
   private ParseTree parseWithStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.WITH);
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.WITH);
+    skip(TokenType.OPEN_PAREN);
     ParseTree expression = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     ParseTree body = parseStatement();
     return new WithStatementTree(getTreeLocation(start), expression, body);
   }
@@ -1488,13 +1533,13 @@ public class Parser {
   // 12.11 The switch Statement
   private ParseTree parseSwitchStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.SWITCH);
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.SWITCH);
+    skip(TokenType.OPEN_PAREN);
     ParseTree expression = parseExpression();
-    eat(TokenType.CLOSE_PAREN);
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.CLOSE_PAREN);
+    skip(TokenType.OPEN_CURLY);
     ImmutableList<ParseTree> caseClauses = parseCaseClauses();
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
     return new SwitchStatementTree(getTreeLocation(start), expression, caseClauses);
   }
 
@@ -1506,9 +1551,9 @@ public class Parser {
       SourcePosition start = getTreeStartLocation();
       switch (peekType()) {
         case CASE:
-          eat(TokenType.CASE);
+          skip(TokenType.CASE);
           ParseTree expression = parseExpression();
-          eat(TokenType.COLON);
+          skip(TokenType.COLON);
           ImmutableList<ParseTree> statements = parseCaseStatementsOpt();
           result.add(new CaseClauseTree(getTreeLocation(start), expression, statements));
           break;
@@ -1518,8 +1563,8 @@ public class Parser {
           } else {
             foundDefaultClause = true;
           }
-          eat(TokenType.DEFAULT);
-          eat(TokenType.COLON);
+          skip(TokenType.DEFAULT);
+          skip(TokenType.COLON);
           result.add(new DefaultClauseTree(getTreeLocation(start), parseCaseStatementsOpt()));
           break;
         default:
@@ -1536,7 +1581,7 @@ public class Parser {
   private ParseTree parseLabelledStatement() {
     SourcePosition start = getTreeStartLocation();
     IdentifierToken name = eatId();
-    eat(TokenType.COLON);
+    skip(TokenType.COLON);
     return new LabelledStatementTree(getTreeLocation(start), name, parseStatement());
   }
 
@@ -1547,7 +1592,7 @@ public class Parser {
   // 12.13 Throw Statement
   private ParseTree parseThrowStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.THROW);
+    skip(TokenType.THROW);
     ParseTree value = null;
     if (peekImplicitSemiColon()) {
       reportError("semicolon/newline not allowed after 'throw'");
@@ -1561,7 +1606,7 @@ public class Parser {
   // 12.14 Try Statement
   private ParseTree parseTryStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.TRY);
+    skip(TokenType.TRY);
     ParseTree body = parseBlock();
     ParseTree catchBlock = null;
     if (peek(TokenType.CATCH)) {
@@ -1580,19 +1625,19 @@ public class Parser {
   private CatchTree parseCatch() {
     SourcePosition start = getTreeStartLocation();
     CatchTree catchBlock;
-    eat(TokenType.CATCH);
+    skip(TokenType.CATCH);
 
     ParseTree exception =
         new EmptyStatementTree(new SourceRange(getTreeEndLocation(), getTreeStartLocation()));
 
     if (peekToken().type == TokenType.OPEN_PAREN) {
-      eat(TokenType.OPEN_PAREN);
+      skip(TokenType.OPEN_PAREN);
       if (peekPatternStart()) {
         exception = parsePattern(PatternKind.INITIALIZER);
       } else {
         exception = parseIdentifierExpression();
       }
-      eat(TokenType.CLOSE_PAREN);
+      skip(TokenType.CLOSE_PAREN);
     } else {
       recordFeatureUsed(Feature.OPTIONAL_CATCH_BINDING);
     }
@@ -1604,7 +1649,7 @@ public class Parser {
 
   private FinallyTree parseFinallyBlock() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.FINALLY);
+    skip(TokenType.FINALLY);
     BlockTree finallyBlock = parseBlock();
     return new FinallyTree(getTreeLocation(start), finallyBlock);
   }
@@ -1612,7 +1657,7 @@ public class Parser {
   // 12.15 The Debugger Statement
   private ParseTree parseDebuggerStatement() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.DEBUGGER);
+    skip(TokenType.DEBUGGER);
     eatPossiblyImplicitSemiColon();
 
     return new DebuggerStatementTree(getTreeLocation(start));
@@ -1661,7 +1706,7 @@ public class Parser {
 
   private SuperExpressionTree parseSuperExpression() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.SUPER);
+    skip(TokenType.SUPER);
     if (peek(TokenType.QUESTION_DOT)) { // super?.() not allowed
       reportError("Optional chaining is forbidden in super?.");
     }
@@ -1670,20 +1715,20 @@ public class Parser {
 
   private ThisExpressionTree parseThisExpression() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.THIS);
+    skip(TokenType.THIS);
     return new ThisExpressionTree(getTreeLocation(start));
   }
 
   // https://tc39.github.io/proposal-dynamic-import
   private DynamicImportTree parseDynamicImportExpression() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.IMPORT);
+    skip(TokenType.IMPORT);
     if (peek(TokenType.QUESTION_DOT)) { // import?.() not allowed
       reportError("Optional chaining is forbidden in import?.");
     }
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.OPEN_PAREN);
     ParseTree argument = parseAssignmentExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     recordFeatureUsed(Feature.DYNAMIC_IMPORT);
     return new DynamicImportTree(getTreeLocation(start), argument);
   }
@@ -1816,8 +1861,8 @@ public class Parser {
 
   private ParseTree parseComprehensionFor() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.FOR);
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.FOR);
+    skip(TokenType.OPEN_PAREN);
 
     ParseTree initializer;
     if (peekId()) {
@@ -1828,16 +1873,16 @@ public class Parser {
 
     eatPredefinedString(PredefinedName.OF);
     ParseTree collection = parseAssignmentExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     return new ComprehensionForTree(getTreeLocation(start), initializer, collection);
   }
 
   private ParseTree parseComprehensionIf() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.IF);
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.IF);
+    skip(TokenType.OPEN_PAREN);
     ParseTree initializer = parseAssignmentExpression();
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     return new ComprehensionIfTree(getTreeLocation(start), initializer);
   }
 
@@ -1859,7 +1904,7 @@ public class Parser {
     SourcePosition start = getTreeStartLocation();
     ImmutableList.Builder<ParseTree> elements = ImmutableList.builder();
 
-    eat(TokenType.OPEN_SQUARE);
+    skip(TokenType.OPEN_SQUARE);
     Token trailingCommaToken = null;
     while (peek(TokenType.COMMA) || peek(TokenType.ELLIPSIS) || peekAssignmentExpression()) {
       trailingCommaToken = null;
@@ -1881,7 +1926,7 @@ public class Parser {
         }
       }
     }
-    eat(TokenType.CLOSE_SQUARE);
+    skip(TokenType.CLOSE_SQUARE);
 
     maybeReportTrailingComma(trailingCommaToken);
 
@@ -1894,7 +1939,7 @@ public class Parser {
     SourcePosition start = getTreeStartLocation();
     ImmutableList.Builder<ParseTree> result = ImmutableList.builder();
 
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.OPEN_CURLY);
     Token commaToken = null;
     while (peek(TokenType.ELLIPSIS) || peekPropertyNameOrComputedProp(0) || peek(TokenType.STAR)) {
       result.add(parsePropertyAssignment());
@@ -1903,7 +1948,7 @@ public class Parser {
         break;
       }
     }
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
 
     maybeReportTrailingComma(commaToken);
 
@@ -1948,7 +1993,7 @@ public class Parser {
     } else if (type == TokenType.ELLIPSIS) {
       recordFeatureUsed(Feature.OBJECT_LITERALS_WITH_SPREAD);
       SourcePosition start = getTreeStartLocation();
-      eat(TokenType.ELLIPSIS);
+      skip(TokenType.ELLIPSIS);
       ParseTree operand = parseAssignmentExpression();
       return new ObjectSpreadTree(getTreeLocation(start), operand);
     } else if (type == TokenType.STRING
@@ -1972,7 +2017,7 @@ public class Parser {
       ParseTree name = parseComputedPropertyName();
 
       if (peek(TokenType.COLON)) {
-        eat(TokenType.COLON);
+        skip(TokenType.COLON);
         ParseTree value = parseAssignmentExpression();
         return new ComputedPropertyDefinitionTree(getTreeLocation(start), name, value);
       } else {
@@ -1997,7 +2042,7 @@ public class Parser {
       return parseClassMemberDeclaration();
     } else {
       SourcePosition start = getTreeStartLocation();
-      eat(TokenType.STAR);
+      skip(TokenType.STAR);
 
       ParseTree name = parseComputedPropertyName();
       FunctionDeclarationTree.Builder builder =
@@ -2011,9 +2056,9 @@ public class Parser {
 
   private ParseTree parseComputedPropertyName() {
 
-    eat(TokenType.OPEN_SQUARE);
+    skip(TokenType.OPEN_SQUARE);
     ParseTree assign = parseAssignmentExpression();
-    eat(TokenType.CLOSE_SQUARE);
+    skip(TokenType.CLOSE_SQUARE);
     return assign;
   }
 
@@ -2048,16 +2093,16 @@ public class Parser {
 
     if (peekPropertyName(0)) {
       Token propertyName = eatObjectLiteralPropertyName();
-      eat(TokenType.OPEN_PAREN);
-      eat(TokenType.CLOSE_PAREN);
+      skip(TokenType.OPEN_PAREN);
+      skip(TokenType.CLOSE_PAREN);
       BlockTree body = parseFunctionBody();
       recordFeatureUsed(Feature.GETTER);
       return new GetAccessorTree(
           getTreeLocation(partial.start), propertyName, partial.isStatic, body);
     } else {
       ParseTree property = parseComputedPropertyName();
-      eat(TokenType.OPEN_PAREN);
-      eat(TokenType.CLOSE_PAREN);
+      skip(TokenType.OPEN_PAREN);
+      skip(TokenType.CLOSE_PAREN);
       BlockTree body = parseFunctionBody();
       recordFeatureUsed(Feature.GETTER);
       return new ComputedPropertyGetterTree(
@@ -2107,7 +2152,7 @@ public class Parser {
       } else if (peek(TokenType.EQUAL)) {
         IdentifierExpressionTree idTree =
             new IdentifierExpressionTree(getTreeLocation(start), (IdentifierToken) name);
-        eat(TokenType.EQUAL);
+        skip(TokenType.EQUAL);
         ParseTree defaultValue = parseAssignmentExpression();
         return new DefaultParameterTree(getTreeLocation(start), idTree, defaultValue);
       }
@@ -2129,10 +2174,10 @@ public class Parser {
     }
 
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.OPEN_PAREN);
     // Case ( )
     if (peek(TokenType.CLOSE_PAREN)) {
-      eat(TokenType.CLOSE_PAREN);
+      skip(TokenType.CLOSE_PAREN);
       if (peek(TokenType.ARROW)) {
         return new FormalParameterListTree(
             getTreeLocation(start),
@@ -2147,7 +2192,7 @@ public class Parser {
     // Case ( ... BindingIdentifier )
     if (peek(TokenType.ELLIPSIS)) {
       ImmutableList<ParseTree> params = ImmutableList.of(parseParameter());
-      eat(TokenType.CLOSE_PAREN);
+      skip(TokenType.CLOSE_PAREN);
       if (peek(TokenType.ARROW)) {
         return new FormalParameterListTree(
             getTreeLocation(start),
@@ -2178,7 +2223,7 @@ public class Parser {
         // parseFormalParameterList will take care of reporting errors.
         return parseFormalParameterList();
       } else {
-        eat(TokenType.COMMA);
+        skip(TokenType.COMMA);
         // Since we already parsed as an expression, we will guaranteed reparse this expression
         // as an arrow function parameter list, but just leave it as a comma expression for now.
         result =
@@ -2186,7 +2231,7 @@ public class Parser {
                 getTreeLocation(start), ImmutableList.of(result, parseParameter()));
       }
     }
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     return new ParenExpressionTree(getTreeLocation(start), result);
   }
 
@@ -2264,7 +2309,7 @@ public class Parser {
       while (peek(TokenType.COMMA)
           && !peek(1, TokenType.ELLIPSIS)
           && !peek(1, TokenType.CLOSE_PAREN)) {
-        eat(TokenType.COMMA);
+        skip(TokenType.COMMA);
         exprs.add(parseAssignment(expressionIn));
       }
       return new CommaExpressionTree(getTreeLocation(start), exprs.build());
@@ -2355,7 +2400,7 @@ public class Parser {
     if (peekImplicitSemiColon()) {
       reportError("No newline allowed before '=>'");
     }
-    eat(TokenType.ARROW);
+    skip(TokenType.ARROW);
     ParseTree arrowFunctionBody = parseArrowFunctionBody(expressionIn, FunctionFlavor.NORMAL);
 
     FunctionDeclarationTree.Builder builder =
@@ -2436,7 +2481,7 @@ public class Parser {
     if (peekImplicitSemiColon()) {
       reportError("No newline allowed before '=>'");
     }
-    eat(TokenType.ARROW);
+    skip(TokenType.ARROW);
     ParseTree arrowFunctionBody = parseArrowFunctionBody(expressionIn, FunctionFlavor.ASYNCHRONOUS);
 
     FunctionDeclarationTree.Builder builder =
@@ -2492,8 +2537,8 @@ public class Parser {
     // TODO(bradfordcsmith): lastSourcePosition should really point to the end of the last token
     //     before the tree to correctly detect implicit semicolons, but it doesn't matter for the
     //     current use case.
-    lastSourcePosition = start;
-    scanner.setPosition(lastSourcePosition);
+    setLastSourcePosition(start);
+    scanner.setPosition(start);
   }
 
   private void resetScanner(ParseTree tree) {
@@ -2501,10 +2546,10 @@ public class Parser {
   }
 
   private void resetScannerAfter(ParseTree parseTree) {
-    lastSourcePosition = parseTree.location.end;
+    setLastSourcePosition(parseTree.location.end);
     // NOTE: The "end" position for a parseTree actually points to the first character after the
     //     last token in the tree, so this is not an off-by-one error.
-    scanner.setPosition(lastSourcePosition);
+    scanner.setPosition(parseTree.location.end);
   }
 
   private boolean peekAssignmentOperator() {
@@ -2537,7 +2582,7 @@ public class Parser {
   // https://people.mozilla.org/~jorendorff/es6-draft.html#sec-generator-function-definitions-runtime-semantics-evaluation
   private ParseTree parseYield(Expression expressionIn) {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.YIELD);
+    skip(TokenType.YIELD);
     boolean isYieldAll = false;
     ParseTree expression = null;
     if (!peekImplicitSemiColon()) {
@@ -2556,9 +2601,9 @@ public class Parser {
     SourcePosition start = getTreeStartLocation();
     ParseTree condition = parseShortCircuit(expressionIn);
     if (peek(TokenType.QUESTION)) {
-      eat(TokenType.QUESTION);
+      skip(TokenType.QUESTION);
       ParseTree left = parseAssignment(expressionIn);
-      eat(TokenType.COLON);
+      skip(TokenType.COLON);
       ParseTree right = parseAssignment(expressionIn);
       return new ConditionalExpressionTree(getTreeLocation(start), condition, left, right);
     }
@@ -2914,13 +2959,13 @@ public class Parser {
             operand = new CallExpressionTree(getTreeLocation(start), operand, arguments);
             break;
           case OPEN_SQUARE:
-            eat(TokenType.OPEN_SQUARE);
+            skip(TokenType.OPEN_SQUARE);
             ParseTree member = parseExpression();
-            eat(TokenType.CLOSE_SQUARE);
+            skip(TokenType.CLOSE_SQUARE);
             operand = new MemberLookupExpressionTree(getTreeLocation(start), operand, member);
             break;
           case PERIOD:
-            eat(TokenType.PERIOD);
+            skip(TokenType.PERIOD);
             IdentifierToken id = eatIdOrKeywordAsId();
             operand = new MemberExpressionTree(getTreeLocation(start), operand, id);
             break;
@@ -2957,7 +3002,7 @@ public class Parser {
     SourcePosition start = operand.location.start;
 
     while (peek(TokenType.QUESTION_DOT)) {
-      eat(TokenType.QUESTION_DOT);
+      skip(TokenType.QUESTION_DOT);
       switch (peekType()) {
         case OPEN_PAREN:
           ArgumentListTree arguments = parseArguments();
@@ -2970,9 +3015,9 @@ public class Parser {
                   arguments.hasTrailingComma);
           break;
         case OPEN_SQUARE:
-          eat(TokenType.OPEN_SQUARE);
+          skip(TokenType.OPEN_SQUARE);
           ParseTree member = parseExpression();
-          eat(TokenType.CLOSE_SQUARE);
+          skip(TokenType.CLOSE_SQUARE);
           operand =
               new OptionalMemberLookupExpressionTree(
                   getTreeLocation(start), operand, member, /* isStartOfOptionalChain = */ true);
@@ -3016,7 +3061,7 @@ public class Parser {
       }
       switch (peekType()) {
         case PERIOD:
-          eat(TokenType.PERIOD);
+          skip(TokenType.PERIOD);
           IdentifierToken id = eatIdOrKeywordAsId();
           optionalExpression =
               new OptionalMemberExpressionTree(
@@ -3036,9 +3081,9 @@ public class Parser {
                   arguments.hasTrailingComma);
           break;
         case OPEN_SQUARE:
-          eat(TokenType.OPEN_SQUARE);
+          skip(TokenType.OPEN_SQUARE);
           ParseTree member = parseExpression();
-          eat(TokenType.CLOSE_SQUARE);
+          skip(TokenType.CLOSE_SQUARE);
           optionalExpression =
               new OptionalMemberLookupExpressionTree(
                   getTreeLocation(start),
@@ -3083,13 +3128,13 @@ public class Parser {
     while (peekMemberExpressionSuffix()) {
       switch (peekType()) {
         case OPEN_SQUARE:
-          eat(TokenType.OPEN_SQUARE);
+          skip(TokenType.OPEN_SQUARE);
           ParseTree member = parseExpression();
-          eat(TokenType.CLOSE_SQUARE);
+          skip(TokenType.CLOSE_SQUARE);
           operand = new MemberLookupExpressionTree(getTreeLocation(start), operand, member);
           break;
         case PERIOD:
-          eat(TokenType.PERIOD);
+          skip(TokenType.PERIOD);
           IdentifierToken id = eatIdOrKeywordAsId();
           operand = new MemberExpressionTree(getTreeLocation(start), operand, id);
           break;
@@ -3118,7 +3163,7 @@ public class Parser {
       return parseNewDotSomething();
     } else {
       SourcePosition start = getTreeStartLocation();
-      eat(TokenType.NEW);
+      skip(TokenType.NEW);
       if (peek(TokenType.QUESTION_DOT)) { // new?.target not allowed
         reportError("Optional chaining is forbidden in `new?.target` contexts.");
       }
@@ -3141,16 +3186,16 @@ public class Parser {
   private ParseTree parseNewDotSomething() {
     // currently only "target" is valid after "new."
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.NEW);
-    eat(TokenType.PERIOD);
+    skip(TokenType.NEW);
+    skip(TokenType.PERIOD);
     eatPredefinedString("target");
     return new NewTargetExpressionTree(getTreeLocation(start));
   }
 
   private ParseTree parseImportDotMeta() {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.IMPORT);
-    eat(TokenType.PERIOD);
+    skip(TokenType.IMPORT);
+    skip(TokenType.PERIOD);
     eatPredefinedString("meta");
     return new ImportMetaExpressionTree(getTreeLocation(start));
   }
@@ -3169,7 +3214,7 @@ public class Parser {
     boolean trailingComma = false;
     ImmutableList.Builder<SourcePosition> commaPositions = ImmutableList.builder();
 
-    eat(TokenType.OPEN_PAREN);
+    skip(TokenType.OPEN_PAREN);
     while (peekAssignmentOrSpread()) {
       arguments.add(parseAssignmentOrSpread());
 
@@ -3187,7 +3232,7 @@ public class Parser {
         }
       }
     }
-    eat(TokenType.CLOSE_PAREN);
+    skip(TokenType.CLOSE_PAREN);
     return new ArgumentListTree(
         getTreeLocation(start), arguments.build(), trailingComma, commaPositions.build());
   }
@@ -3241,7 +3286,7 @@ public class Parser {
 
   private ParseTree parseIterRest(PatternKind patternKind) {
     SourcePosition start = getTreeStartLocation();
-    eat(TokenType.ELLIPSIS);
+    skip(TokenType.ELLIPSIS);
     ParseTree patternAssignmentTarget = parseRestAssignmentTarget(patternKind);
     return new IterRestTree(getTreeLocation(start), patternAssignmentTarget);
   }
@@ -3258,18 +3303,18 @@ public class Parser {
   private ParseTree parseArrayPattern(PatternKind kind) {
     SourcePosition start = getTreeStartLocation();
     ImmutableList.Builder<ParseTree> elements = ImmutableList.builder();
-    eat(TokenType.OPEN_SQUARE);
+    skip(TokenType.OPEN_SQUARE);
     while (peek(TokenType.COMMA) || peekArrayPatternElement()) {
       if (peek(TokenType.COMMA)) {
         SourcePosition nullStart = getTreeStartLocation();
-        eat(TokenType.COMMA);
+        skip(TokenType.COMMA);
         elements.add(new NullTree(getTreeLocation(nullStart)));
       } else {
         elements.add(parsePatternAssignmentTarget(kind));
 
         if (peek(TokenType.COMMA)) {
           // Consume the comma separator
-          eat(TokenType.COMMA);
+          skip(TokenType.COMMA);
         } else {
           // Otherwise we must be done
           break;
@@ -3293,13 +3338,13 @@ public class Parser {
   private ParseTree parseObjectPattern(PatternKind kind) {
     SourcePosition start = getTreeStartLocation();
     ImmutableList.Builder<ParseTree> fields = ImmutableList.builder();
-    eat(TokenType.OPEN_CURLY);
+    skip(TokenType.OPEN_CURLY);
     while (peekObjectPatternField()) {
       fields.add(parseObjectPatternField(kind));
 
       if (peek(TokenType.COMMA)) {
         // Consume the comma separator
-        eat(TokenType.COMMA);
+        skip(TokenType.COMMA);
       } else {
         // Otherwise we must be done
         break;
@@ -3308,11 +3353,11 @@ public class Parser {
     if (peek(TokenType.ELLIPSIS)) {
       recordFeatureUsed(Feature.OBJECT_PATTERN_REST);
       SourcePosition restStart = getTreeStartLocation();
-      eat(TokenType.ELLIPSIS);
+      skip(TokenType.ELLIPSIS);
       ParseTree patternAssignmentTarget = parseRestAssignmentTarget(kind);
       fields.add(new ObjectRestTree(getTreeLocation(restStart), patternAssignmentTarget));
     }
-    eat(TokenType.CLOSE_CURLY);
+    skip(TokenType.CLOSE_CURLY);
     return new ObjectPatternTree(getTreeLocation(start), fields.build());
   }
 
@@ -3324,7 +3369,7 @@ public class Parser {
     SourcePosition start = getTreeStartLocation();
     if (peekType() == TokenType.OPEN_SQUARE) {
       ParseTree key = parseComputedPropertyName();
-      eat(TokenType.COLON);
+      skip(TokenType.COLON);
       ParseTree value = parsePatternAssignmentTarget(kind);
       return new ComputedPropertyDefinitionTree(getTreeLocation(start), key, value);
     }
@@ -3340,7 +3385,7 @@ public class Parser {
         if (peek(TokenType.EQUAL)) {
           IdentifierExpressionTree idTree =
               new IdentifierExpressionTree(getTreeLocation(start), idToken);
-          eat(TokenType.EQUAL);
+          skip(TokenType.EQUAL);
           ParseTree defaultValue = parseAssignmentExpression();
           return new DefaultParameterTree(getTreeLocation(start), idTree, defaultValue);
         }
@@ -3350,7 +3395,7 @@ public class Parser {
       name = parseLiteralExpression().literalToken;
     }
 
-    eat(TokenType.COLON);
+    skip(TokenType.COLON);
     ParseTree value = parsePatternAssignmentTarget(kind);
     return new PropertyNameAssignmentTree(getTreeLocation(start), name, value);
   }
@@ -3389,7 +3434,7 @@ public class Parser {
     assignmentTarget = parsePatternAssignmentTargetNoDefault(patternKind);
 
     if (peek(TokenType.EQUAL)) {
-      eat(TokenType.EQUAL);
+      skip(TokenType.EQUAL);
       ParseTree defaultValue = parseAssignmentExpression();
       assignmentTarget =
           new DefaultParameterTree(getTreeLocation(start), assignmentTarget, defaultValue);
@@ -3418,7 +3463,7 @@ public class Parser {
   /** Consume a (possibly implicit) semi-colon. Reports an error if a semi-colon is not present. */
   private void eatPossiblyImplicitSemiColon() {
     if (peek(TokenType.SEMI_COLON)) {
-      eat(TokenType.SEMI_COLON);
+      skip(TokenType.SEMI_COLON);
       return;
     }
     if (peekImplicitSemiColon()) {
@@ -3438,7 +3483,7 @@ public class Parser {
     if (index == 0) {
       lineAdvanced = getNextLine() > getLastLine();
     } else {
-      lineAdvanced = peekToken(index).location.start.line > peekToken(index - 1).location.end.line;
+      lineAdvanced = scanner.peekStartLine(index) > scanner.peekEndLine(index - 1);
     }
     return lineAdvanced
         || peek(index, TokenType.SEMI_COLON)
@@ -3448,12 +3493,12 @@ public class Parser {
 
   /** Returns the line number of the most recently consumed token. */
   private int getLastLine() {
-    return lastSourcePosition.line;
+    return lastSourcePosition != null ? lastSourcePosition.line : scanner.getLine(lastSourceOffset);
   }
 
   /** Returns the line number of the next token. */
   private int getNextLine() {
-    return peekToken().location.start.line;
+    return scanner.peekStartLine(0);
   }
 
   /**
@@ -3566,6 +3611,18 @@ public class Parser {
     return token;
   }
 
+  /**
+   * Consumes the next token like {@link #eat}, for callers that don't need the consumed token. With
+   * lazy tokens, no Token object is created for it if it is of the expected type.
+   */
+  private void skip(TokenType expectedTokenType) {
+    if (config.lazyTokens && peekType() == expectedTokenType) {
+      setLastSourceOffset(scanner.skipToken());
+    } else {
+      eat(expectedTokenType);
+    }
+  }
+
   /**
    * Report a 'X' expected error message.
    *
@@ -3578,14 +3635,27 @@ public class Parser {
 
   /** Returns a SourcePosition for the start of a parse tree that starts at the current location. */
   private SourcePosition getTreeStartLocation() {
-    return peekToken().location.start;
+    return scanner.peekStartPosition();
   }
 
   /** Returns a SourcePosition for the end of a parse tree that ends at the current location. */
   private SourcePosition getTreeEndLocation() {
+    if (lastSourcePosition == null) {
+      lastSourcePosition = scanner.getPosition(lastSourceOffset);
+    }
     return lastSourcePosition;
   }
 
+  private void setLastSourcePosition(SourcePosition position) {
+    lastSourceOffset = position.offset;
+    lastSourcePosition = position;
+  }
+
+  private void setLastSourceOffset(int offset) {
+    lastSourceOffset = offset;
+    lastSourcePosition = null;
+  }
+
   /**
    * Returns a SourceRange for a parse tree that starts at {start} and ends at the current location.
    */
@@ -3601,21 +3671,21 @@ public class Parser {
    */
   private Token nextToken() {
     Token token = scanner.nextToken();
-    lastSourcePosition = token.location.end;
+    setLastSourcePosition(token.location.end);
     return token;
   }
 
   /** Consumes a regular expression literal token and returns it. */
   private LiteralToken nextRegularExpressionLiteralToken() {
     LiteralToken token = scanner.nextRegularExpressionLiteralToken();
-    lastSourcePosition = token.location.end;
+    setLastSourcePosition(token.location.end);
     return token;
   }
 
   /** Consumes a template literal token and returns it. */
   private TemplateLiteralToken nextTemplateLiteralToken() {
     TemplateLiteralToken token = scanner.nextTemplateLiteralToken();
-    lastSourcePosition = token.location.end;
+    setLastSourcePosition(token.location.end);
     return token;
   }
 
@@ -3638,7 +3708,7 @@ public class Parser {
 
   /** Returns the TokenType of the index-th next token. Does not consume any tokens. */
   private TokenType peekType(int index) {
-    return peekToken(index).type;
+    return scanner.peekType(index);
   }
 
   /** Returns the next token. Does not consume any tokens. */
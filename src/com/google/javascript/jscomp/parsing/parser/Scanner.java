@@ -22,7 +22,6 @@ import com.google.javascript.jscomp.parsing.parser.trees.Comment;
 import com.google.javascript.jscomp.parsing.parser.util.ErrorReporter;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
-import java.util.ArrayList;
 import javax.annotation.Nullable;
 
 /**
@@ -32,13 +31,30 @@ import javax.annotation.Nullable;
  * <p>7 Lexical Conventions
  */
 public class Scanner {
+  private static final int INITIAL_LOOKAHEAD_CAPACITY = 8;
 
   private final ErrorReporter errorReporter;
   private final SourceFile source;
   private final LineNumberScanner lineNumberScanner;
   private final String contents;
   private final int contentsLength;
-  private final ArrayList<Token> currentTokens = new ArrayList<>();
+
+  // Whether tokens without a value are recorded in the lookahead as just their type and offsets,
+  // with a Token object created only if the parser asks for one with peekToken or nextToken.
+  private final boolean lazyTokens;
+
+  // The lookahead tokens, in ring buffers whose capacity is a power of two.
+  private TokenType[] lookaheadTypes = new TokenType[INITIAL_LOOKAHEAD_CAPACITY];
+  private int[] lookaheadStarts = new int[INITIAL_LOOKAHEAD_CAPACITY];
+  private int[] lookaheadEnds = new int[INITIAL_LOOKAHEAD_CAPACITY];
+  private Token[] lookaheadTokens = new Token[INITIAL_LOOKAHEAD_CAPACITY];
+  private int lookaheadHead = 0;
+  private int lookaheadCount = 0;
+
+  // The type and start of the token last scanned by scanToken when it returned null.
+  private TokenType scannedType;
+  private int scannedStart;
+
   private int index;
   private final CommentRecorder commentRecorder;
   private int typeParameterLevel;
@@ -55,10 +71,27 @@ public class Scanner {
       CommentRecorder commentRecorder,
       SourceFile file,
       int offset) {
+    this(errorReporter, commentRecorder, file, offset, /* lazyTokens= */ false);
+  }
+
+  /**
+   * @param lazyTokens whether to create Token objects for tokens without a value, such as
+   *     punctuators and keywords, only when the parser asks for them rather than when they are
+   *     scanned
+   */
+  public Scanner(
+      ErrorReporter errorReporter,
+      CommentRecorder commentRecorder,
+      SourceFile file,
+      int offset,
+      boolean lazyTokens) {
     this.errorReporter = errorReporter;
     this.commentRecorder = commentRecorder;
     this.source = file;
-    this.lineNumberScanner = new LineNumberScanner(source);
+    this.lazyTokens = lazyTokens;
+    // Lazily created tokens look up their positions after later tokens were scanned.
+    this.lineNumberScanner =
+        lazyTokens ? LineNumberScanner.createIndexed(file) : LineNumberScanner.create(file);
     // To help reason about the expected JVM performance unwrap "file" values.
     // The scanner is key to the parsing speed.
     this.contents = file.contents;
@@ -76,23 +109,29 @@ public class Scanner {
   }
 
   public int getOffset() {
-    return currentTokens.isEmpty() ? index : peekToken().location.start.offset;
+    return lookaheadCount == 0 ? index : lookaheadStarts[lookaheadHead];
   }
 
   public void setPosition(SourcePosition position) {
     lineNumberScanner.rewindTo(position);
-    currentTokens.clear();
+    clearLookahead();
     this.index = position.offset;
   }
 
   public SourcePosition getPosition() {
-    return currentTokens.isEmpty() ? getPosition(index) : peekToken().location.start;
+    return lookaheadCount == 0 ? getPosition(index) : peekStartPosition();
   }
 
-  private SourcePosition getPosition(int offset) {
+  /** Returns the position of a character offset in this scanner's file. */
+  SourcePosition getPosition(int offset) {
     return lineNumberScanner.getSourcePosition(offset);
   }
 
+  /** Returns the 0-based line of a character offset in this scanner's file. */
+  int getLine(int offset) {
+    return lineNumberScanner.getLine(offset);
+  }
+
   private SourceRange getTokenRange(int startOffset) {
     return lineNumberScanner.getSourceRange(startOffset, index);
   }
@@ -104,13 +143,38 @@ public class Scanner {
   }
 
   public Token nextToken() {
-    peekToken();
-    return currentTokens.remove(0);
+    Token token = peekToken();
+    dropFirstToken();
+    return token;
+  }
+
+  /**
+   * Consumes the next token without creating a Token object for it.
+   *
+   * @return the end offset of the consumed token
+   */
+  int skipToken() {
+    fillLookahead(0);
+    int end = lookaheadEnds[lookaheadHead];
+    dropFirstToken();
+    return end;
+  }
+
+  private void dropFirstToken() {
+    lookaheadTokens[lookaheadHead] = null;
+    lookaheadHead = (lookaheadHead + 1) & (lookaheadTypes.length - 1);
+    lookaheadCount--;
+  }
+
+  private void clearLookahead() {
+    while (lookaheadCount > 0) {
+      dropFirstToken();
+    }
   }
 
   private void clearTokenLookahead() {
-    if (!currentTokens.isEmpty()) {
-      setPosition(peekToken().location.start);
+    if (lookaheadCount > 0) {
+      setPosition(peekStartPosition());
     }
   }
 
@@ -146,8 +210,9 @@ public class Scanner {
   }
 
   public TemplateLiteralToken nextTemplateLiteralToken() {
-    Token token = nextToken();
-    if (isAtEnd() || token.type != TokenType.CLOSE_CURLY) {
+    TokenType type = peekType(0);
+    skipToken();
+    if (isAtEnd() || type != TokenType.CLOSE_CURLY) {
       reportError(getPosition(index), "Expected '}' after expression in template literal");
     }
 
@@ -241,10 +306,94 @@ public class Scanner {
   }
 
   public Token peekToken(int index) {
-    while (currentTokens.size() <= index) {
-      currentTokens.add(scanToken());
+    fillLookahead(index);
+    int slot = lookaheadSlot(index);
+    Token token = lookaheadTokens[slot];
+    if (token == null) {
+      token =
+          new Token(
+              lookaheadTypes[slot],
+              lineNumberScanner.getSourceRange(lookaheadStarts[slot], lookaheadEnds[slot]));
+      lookaheadTokens[slot] = token;
+    }
+    return token;
+  }
+
+  /** Returns the type of the lookahead token at {@code index}, without creating a Token for it. */
+  public TokenType peekType(int index) {
+    fillLookahead(index);
+    return lookaheadTypes[lookaheadSlot(index)];
+  }
+
+  /** Returns the start position of the next token. */
+  SourcePosition peekStartPosition() {
+    fillLookahead(0);
+    Token token = lookaheadTokens[lookaheadHead];
+    return token != null ? token.location.start : getPosition(lookaheadStarts[lookaheadHead]);
+  }
+
+  /** Returns the 0-based line on which the lookahead token at {@code index} starts. */
+  int peekStartLine(int index) {
+    fillLookahead(index);
+    int slot = lookaheadSlot(index);
+    Token token = lookaheadTokens[slot];
+    return token != null
+        ? token.location.start.line
+        : lineNumberScanner.getLine(lookaheadStarts[slot]);
+  }
+
+  /** Returns the 0-based line on which the lookahead token at {@code index} ends. */
+  int peekEndLine(int index) {
+    fillLookahead(index);
+    int slot = lookaheadSlot(index);
+    Token token = lookaheadTokens[slot];
+    return token != null ? token.location.end.line : lineNumberScanner.getLine(lookaheadEnds[slot]);
+  }
+
+  private int lookaheadSlot(int index) {
+    return (lookaheadHead + index) & (lookaheadTypes.length - 1);
+  }
+
+  /** Scans tokens until there are more than {@code index} in the lookahead. */
+  private void fillLookahead(int index) {
+    while (lookaheadCount <= index) {
+      Token token = scanToken();
+      if (lookaheadCount == lookaheadTypes.length) {
+        growLookahead();
+      }
+      int slot = lookaheadSlot(lookaheadCount);
+      if (token == null) {
+        lookaheadTypes[slot] = scannedType;
+        lookaheadStarts[slot] = scannedStart;
+        lookaheadEnds[slot] = this.index;
+      } else {
+        lookaheadTypes[slot] = token.type;
+        lookaheadStarts[slot] = token.location.start.offset;
+        lookaheadEnds[slot] = token.location.end.offset;
+      }
+      lookaheadTokens[slot] = token;
+      lookaheadCount++;
     }
-    return currentTokens.get(index);
+  }
+
+  private void growLookahead() {
+    int capacity = lookaheadTypes.length;
+    TokenType[] types = new TokenType[capacity * 2];
+    int[] starts = new int[capacity * 2];
+    int[] ends = new int[capacity * 2];
+    Token[] tokens = new Token[capacity * 2];
+    for (int i = 0; i < lookaheadCount; i++) {
+      int slot = lookaheadSlot(i);
+      types[i] = lookaheadTypes[slot];
+      starts[i] = lookaheadStarts[slot];
+      ends[i] = lookaheadEnds[slot];
+      tokens[i] = lookaheadTokens[slot];
+    }
+    lookaheadTypes = types;
+    lookaheadStarts = starts;
+    lookaheadEnds = ends;
+    lookaheadTokens = tokens;
+    lookaheadHead = 0;
   }
 
   private boolean isAtEnd() {
@@ -418,6 +567,11 @@ public class Scanner {
     }
   }
 
+  /**
+   * Scans the next token. With lazy tokens, returns null for a token without a value, whose type
+   * and start are left in {@code scannedType} and {@code scannedStart} instead.
+   */
+  @Nullable
   private Token scanToken() {
     skipComments();
     int beginToken = index;
@@ -745,8 +899,14 @@ public class Scanner {
     }
   }
 
+  @Nullable
   private Token createToken(TokenType type, int beginToken) {
-    return new Token(type, getTokenRange(beginToken));
+    if (!lazyTokens) {
+      return new Token(type, getTokenRange(beginToken));
+    }
+    scannedType = type;
+    scannedStart = beginToken;
+    return null;
   }
 
   private Token scanIdentifierOrKeyword(int beginToken, char ch) {
@@ -812,7 +972,7 @@ public class Scanner {
 
     Keywords k = Keywords.get(value);
     if (k != null) {
-      return new Token(k.type, getTokenRange(beginToken));
+      return createToken(k.type, beginToken);
     }
 
     return new IdentifierToken(getTokenRange(beginToken), value);
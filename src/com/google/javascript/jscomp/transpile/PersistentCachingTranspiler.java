@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.transpile;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.javascript.jscomp.Compiler;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A transpiler implementation that stores its delegate's results in a directory, so that they
+ * survive restarts. Entries are keyed by a hash of the file's path and code together with the
+ * compiler version and a caller-supplied description of the delegate's options, which must change
+ * whenever the delegate would produce different output for the same file.
+ *
+ * <p>The directory holds at most about {@code maxEntries} entries; the least recently used ones are
+ * removed every so often as new entries are written. Failing to read or write the directory is
+ * never an error; the result is simply recomputed. This is usually wrapped in a {@link
+ * CachingTranspiler} so that repeated requests don't hit the disk.
+ */
+public final class PersistentCachingTranspiler implements Transpiler {
+
+  private static final Logger logger =
+      Logger.getLogger(PersistentCachingTranspiler.class.getName());
+
+  private static final String SUFFIX = ".transpiled";
+
+  /** Bumped whenever the layout of the entries changes. */
+  private static final int FORMAT_VERSION = 1;
+
+  private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+  private final Transpiler delegate;
+  private final Path directory;
+  private final String optionsKey;
+  private final int maxEntries;
+
+  /** Entries written between two prunings of the directory. */
+  private final int pruneInterval;
+
+  private final AtomicInteger writes = new AtomicInteger();
+
+  public PersistentCachingTranspiler(Transpiler delegate, Path directory, String optionsKey) {
+    this(delegate, directory, optionsKey, DEFAULT_MAX_ENTRIES);
+  }
+
+  public PersistentCachingTranspiler(
+      Transpiler delegate, Path directory, String optionsKey, int maxEntries) {
+    checkArgument(maxEntries > 0, "maxEntries must be positive: %s", maxEntries);
+    this.delegate = checkNotNull(delegate);
+    this.directory = checkNotNull(directory);
+    this.optionsKey = FORMAT_VERSION + ":" + compilerVersion() + ":" + checkNotNull(optionsKey);
+    this.maxEntries = maxEntries;
+    this.pruneInterval = Math.max(1, maxEntries / 10);
+  }
+
+  @Override
+  public TranspileResult transpile(URI path, String code) {
+    Path file = entryFile("file", path.toString(), code);
+    String[] entry = read(file);
+    if (entry != null) {
+      return new TranspileResult(path, code, entry[0], entry[1]);
+    }
+    TranspileResult result = delegate.transpile(path, code);
+    write(file, result.transpiled(), result.sourceMap());
+    return result;
+  }
+
+  @Override
+  public String runtime() {
+    Path file = entryFile("runtime");
+    String[] entry = read(file);
+    if (entry != null) {
+      return entry[0];
+    }
+    String runtime = delegate.runtime();
+    write(file, runtime, "");
+    return runtime;
+  }
+
+  /**
+   * Returns a description of the compiler that is running: the version of its jar, or else where
+   * its classes were loaded from and when they were last modified.
+   */
+  private static String compilerVersion() {
+    String version = Compiler.class.getPackage().getImplementationVersion();
+    if (version != null) {
+      return version;
+    }
+    CodeSource codeSource = Compiler.class.getProtectionDomain().getCodeSource();
+    if (codeSource == null || codeSource.getLocation() == null) {
+      return "unknown";
+    }
+    String location = codeSource.getLocation().toString();
+    try {
+      Path classes = Paths.get(codeSource.getLocation().toURI());
+      return location + "@" + Files.getLastModifiedTime(classes).toMillis();
+    } catch (Exception e) {
+      return location;
+    }
+  }
+
+  private Path entryFile(String... parts) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putInt(optionsKey.length()).putString(optionsKey, UTF_8);
+    for (String part : parts) {
+      hasher.putInt(part.length()).putString(part, UTF_8);
+    }
+    return directory.resolve(hasher.hash() + SUFFIX);
+  }
+
+  /**
+   * Reads the two strings stored in the given file, or returns null if there is no usable entry.
+   * The file holds the length of the first string on its own line, followed by both strings.
+   */
+  @Nullable
+  private static String[] read(Path file) {
+    String contents;
+    try {
+      contents = new String(Files.readAllBytes(file), UTF_8);
+      // The modification time orders the entries for pruning.
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Unable to read cached transpilation " + file, e);
+      return null;
+    }
+    int newline = contents.indexOf('\n');
+    if (newline < 0) {
+      return null;
+    }
+    int length;
+    try {
+      length = Integer.parseInt(contents.substring(0, newline));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    int start = newline + 1;
+    if (length < 0 || start + length > contents.length()) {
+      return null;
+    }
+    return new String[] {
+      contents.substring(start, start + length), contents.substring(start + length)
+    };
+  }
+
+  /**
+   * Writes the entry to a temporary file and then moves it into place, so that concurrent readers,
+   * possibly in other processes, never see a partially written entry.
+   */
+  private void write(Path file, String first, String second) {
+    try {
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, "entry", ".tmp");
+      try {
+        Files.write(temp, (first.length() + "\n" + first + second).getBytes(UTF_8));
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Unable to cache transpilation in " + file, e);
+      return;
+    }
+    // Prune on the first write, which catches up with earlier processes, and then periodically.
+    if (writes.getAndIncrement() % pruneInterval == 0) {
+      prune();
+    }
+  }
+
+  /** Removes the least recently used entries beyond {@code maxEntries}. */
+  private synchronized void prune() {
+    Map<Path, FileTime> entries = new HashMap<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+      for (Path file : files) {
+        try {
+          entries.put(file, Files.getLastModifiedTime(file));
+        } catch (IOException e) {
+          // Removed concurrently, possibly by another process.
+        }
+      }
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Unable to prune cached transpilations in " + directory, e);
+      return;
+    }
+    if (entries.size() <= maxEntries) {
+      return;
+    }
+    List<Path> oldestFirst = new ArrayList<>(entries.keySet());
+    oldestFirst.sort(Comparator.comparing(entries::get));
+    for (Path file : oldestFirst.subList(0, entries.size() - maxEntries)) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "Unable to remove cached transpilation " + file, e);
+      }
+    }
+  }
+}
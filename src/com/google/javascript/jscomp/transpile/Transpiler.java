@@ -16,7 +16,12 @@
 
 package com.google.javascript.jscomp.transpile;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.javascript.jscomp.bundle.ConcurrentTransforms;
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Common interface for a transpiler.
@@ -42,6 +47,25 @@ public interface Transpiler {
   /** Transforms the given chunk of code. The input should be an entire file worth of code. */
   TranspileResult transpile(URI path, String code);
 
+  /**
+   * Transforms each of the given files, keyed by path, transpiling them concurrently on the given
+   * executor. Implementations must therefore be safe to call from several threads at once, which
+   * the ones in this package are. If any file fails to transpile, one of the exceptions is rethrown
+   * once all of the files are done.
+   */
+  default ImmutableMap<URI, TranspileResult> transpileAll(
+      Map<URI, String> codeByPath, Executor executor) {
+    ImmutableList<Map.Entry<URI, String>> files = ImmutableList.copyOf(codeByPath.entrySet());
+    ImmutableList<TranspileResult> transpiled =
+        ConcurrentTransforms.applyAll(
+            files, file -> transpile(file.getKey(), file.getValue()), executor);
+    ImmutableMap.Builder<URI, TranspileResult> results = ImmutableMap.builder();
+    for (int i = 0; i < files.size(); i++) {
+      results.put(files.get(i).getKey(), transpiled.get(i));
+    }
+    return results.build();
+  }
+
   /**
    * Returns any necessary runtime code as a string.  This should include
    * everything that could possibly be required at runtime, regardless of
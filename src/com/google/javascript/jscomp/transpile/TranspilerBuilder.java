@@ -17,6 +17,7 @@
 package com.google.javascript.jscomp.transpile;
 
 import com.google.common.cache.CacheBuilder;
+import java.nio.file.Path;
 import javax.annotation.CheckReturnValue;
 
 /**
@@ -69,6 +70,27 @@ public final class TranspilerBuilder {
     return new TranspilerBuilder(new CachingTranspiler(transpiler, builder));
   }
 
+  /**
+   * Returns a TranspilerBuilder whose transpilations are also stored in the given directory, so
+   * that they are reused by later processes. The options key must differ between transpilers that
+   * would produce different output for the same file. Note that the builder itself is not changed.
+   */
+  @CheckReturnValue
+  public TranspilerBuilder persistentCaching(Path directory, String optionsKey) {
+    return new TranspilerBuilder(
+        new PersistentCachingTranspiler(transpiler, directory, optionsKey));
+  }
+
+  /**
+   * Returns a TranspilerBuilder like {@link #persistentCaching(Path, String)} whose directory holds
+   * at most about {@code maxEntries} transpilations. Note that the builder itself is not changed.
+   */
+  @CheckReturnValue
+  public TranspilerBuilder persistentCaching(Path directory, String optionsKey, int maxEntries) {
+    return new TranspilerBuilder(
+        new PersistentCachingTranspiler(transpiler, directory, optionsKey, maxEntries));
+  }
+
   private static final String DEFAULT_CACHE_SPEC = "maximumSize=10000";
 
   /**
@@ -31,8 +31,10 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import com.google.common.io.Files;
+import com.google.javascript.jscomp.base.WorkerPool;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -71,6 +73,40 @@ public final class ApplySuggestedFixes {
     }
   }
 
+  /**
+   * Applies the provided set of suggested fixes to the files listed in the suggested fixes, reading,
+   * rewriting and writing up to {@code numThreads} files at a time.
+   *
+   * <p>Which fixes are dropped for overlapping an earlier one is decided before any file is touched,
+   * in the order the fixes are given, so the result doesn't depend on the number of threads.
+   */
+  public static void applySuggestedFixesToFiles(Iterable<SuggestedFix> fixes, int numThreads)
+      throws IOException {
+    checkArgument(numThreads > 0, "numThreads must be positive: %s", numThreads);
+    ReplacementMap map = new ReplacementMap();
+    for (SuggestedFix fix : fixes) {
+      map.putIfNoOverlap(fix);
+    }
+
+    try {
+      WorkerPool.forEachInParallel(
+          map.entrySet(),
+          numThreads,
+          (Map.Entry<String, Set<CodeReplacement>> entry) -> {
+            File file = new File(entry.getKey());
+            try {
+              String code = Files.asCharSource(file, UTF_8).read();
+              Files.asCharSink(file, UTF_8).write(applyCodeReplacements(entry.getValue(), code));
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            return null;
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
   /**
    * Applies all possible options from each {@code SuggestedFixAlternative} to the provided code and
    * returns the new code. This only makes sense if all the SuggestedFixAlternatives come from the
@@ -39,10 +39,22 @@ public final class JsSourceMatcher implements Matcher {
     matcher = new TemplateAstMatcher(compiler, templateNode, typeMatchingStrategy);
   }
 
+  /**
+   * Constructs a matcher for the template of {@code prepared}, which shares its prepared template
+   * but not its matches.
+   */
+  JsSourceMatcher(JsSourceMatcher prepared) {
+    matcher = new TemplateAstMatcher(prepared.matcher);
+  }
+
   @Override public boolean matches(Node n, NodeMetadata metadata) {
     return matcher.matches(n);
   }
 
+  TemplateAstMatcher getTemplateAstMatcher() {
+    return matcher;
+  }
+
   /**
    * Returns a map from named template node strings to Nodes that were the
    * equivalent matches from the last matched template.
@@ -16,6 +16,7 @@
 
 package com.google.javascript.refactoring;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -31,10 +32,13 @@ import com.google.javascript.jscomp.DependencyOptions;
 import com.google.javascript.jscomp.DiagnosticGroups;
 import com.google.javascript.jscomp.NodeTraversal;
 import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.base.WorkerPool;
 import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * Primary driver of a refactoring. This class collects the inputs, runs the refactoring over
@@ -67,6 +71,58 @@ public final class RefactoringDriver {
     return drive(scanner, null);
   }
 
+  /**
+   * Run a refactoring over the input scripts on {@code numThreads} worker threads and return any
+   * suggested fixes as a result.
+   *
+   * <p>The scanner is {@link Scanner#prepare prepared} on this thread, then every worker scans with
+   * its own {@link Scanner#newWorkerScanner}, since scanners keep state between {@link
+   * Scanner#matches} and {@link Scanner#processMatch}. The fixes and matches of each script are
+   * merged in script order and passed to {@link Scanner#processAllMatches} of the given scanner, so
+   * the result is the same as for a serial run. Scanners without worker scanners are driven on this
+   * thread.
+   */
+  public List<SuggestedFix> drive(
+      Scanner scanner, @Nullable Pattern includeFilePattern, int numThreads) {
+    checkArgument(numThreads > 0, "numThreads must be positive: %s", numThreads);
+    if (numThreads == 1) {
+      return drive(scanner, includeFilePattern);
+    }
+
+    scanner.prepare(compiler);
+    if (scanner.newWorkerScanner() == null) {
+      return drive(scanner, includeFilePattern);
+    }
+    ThreadLocal<Scanner> workerScanner =
+        ThreadLocal.withInitial(() -> checkNotNull(scanner.newWorkerScanner()));
+    // The root holds the externs root followed by the root of the inputs.
+    List<Node> scripts = new ArrayList<>();
+    for (Node script = rootNode.getLastChild().getFirstChild();
+        script != null;
+        script = script.getNext()) {
+      scripts.add(script);
+    }
+    List<JsFlumeCallback> callbacks =
+        WorkerPool.forEachInParallel(
+            scripts,
+            numThreads,
+            (Node script) -> {
+              JsFlumeCallback callback =
+                  new JsFlumeCallback(workerScanner.get(), includeFilePattern);
+              NodeTraversal.traverse(compiler, script, callback);
+              return callback;
+            });
+
+    List<SuggestedFix> fixes = new ArrayList<>();
+    List<Match> matches = new ArrayList<>();
+    for (JsFlumeCallback callback : callbacks) {
+      fixes.addAll(callback.getFixes());
+      matches.addAll(callback.getMatches());
+    }
+    fixes.addAll(scanner.processAllMatches(matches));
+    return fixes;
+  }
+
   public Compiler getCompiler() {
     return compiler;
   }
@@ -30,6 +30,7 @@ import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.JsAst;
 import com.google.javascript.jscomp.NodeUtil;
 import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.jscomp.TemplateAstMatcherIndex;
 import com.google.javascript.jscomp.TypeMatchingStrategy;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.JSDocInfo;
@@ -70,6 +71,9 @@ public final class RefasterJsScanner extends Scanner {
    */
   private LinkedHashMap<JsSourceMatcher, ImmutableList<RefasterJsTemplate>> templates;
 
+  /** The keys of {@link #templates}, indexed so each node is only tried against plausible ones. */
+  private TemplateAstMatcherIndex<JsSourceMatcher> templateIndex;
+
   /** The RefasterJsTemplates that matched the last match. */
   private ImmutableList<RefasterJsTemplate> matchedTemplates;
 
@@ -114,21 +118,53 @@ public final class RefasterJsScanner extends Scanner {
    */
   public void clearTemplates() {
     templates = null;
+    templateIndex = null;
     matchedTemplates = null;
   }
 
-  @Override public boolean matches(Node node, NodeMetadata metadata) {
+  @Override
+  public void prepare(AbstractCompiler compiler) {
     if (templates == null) {
       try {
-        initialize(metadata.getCompiler());
+        initialize(compiler);
       } catch (Exception e) {
         throw new RuntimeException(e);
       }
     }
+  }
+
+  /**
+   * Returns a scanner that matches the templates this scanner prepared, without parsing or typing
+   * them again. Only the matchers' state of the last match is its own.
+   */
+  @Override
+  public RefasterJsScanner newWorkerScanner() {
+    checkState(templates != null, "The templates must be prepared before they are shared.");
+    RefasterJsScanner worker = new RefasterJsScanner();
+    worker.templateJs = templateJs;
+    worker.typeMatchingStrategy = typeMatchingStrategy;
+    worker.templates = new LinkedHashMap<>();
+    TemplateAstMatcherIndex.Builder<JsSourceMatcher> indexBuilder =
+        TemplateAstMatcherIndex.builder();
+    for (ImmutableList<RefasterJsTemplate> afterOptions : templates.values()) {
+      ImmutableList<RefasterJsTemplate> workerOptions =
+          afterOptions.stream().map(RefasterJsTemplate::new).collect(toImmutableList());
+      JsSourceMatcher matcher = workerOptions.get(0).matcher;
+      worker.templates.put(matcher, workerOptions);
+      indexBuilder.add(matcher.getTemplateAstMatcher(), matcher);
+    }
+    worker.templateIndex = indexBuilder.build();
+    return worker;
+  }
+
+  @Override public boolean matches(Node node, NodeMetadata metadata) {
+    if (templates == null) {
+      prepare(metadata.getCompiler());
+    }
     matchedTemplates = null;
-    for (Map.Entry<JsSourceMatcher, ImmutableList<RefasterJsTemplate>> e : templates.entrySet()) {
-      if (e.getKey().matches(node, metadata)) {
-        this.matchedTemplates = e.getValue();
+    for (JsSourceMatcher matcher : templateIndex.getCandidates(node)) {
+      if (matcher.matches(node, metadata)) {
+        this.matchedTemplates = templates.get(matcher);
         return true;
       }
     }
@@ -343,6 +379,13 @@ public final class RefasterJsScanner extends Scanner {
       ImmutableList<RefasterJsTemplate> afterOptions = builder.build();
       this.templates.put(afterOptions.get(0).matcher, afterOptions);
     }
+
+    TemplateAstMatcherIndex.Builder<JsSourceMatcher> indexBuilder =
+        TemplateAstMatcherIndex.builder();
+    for (JsSourceMatcher matcher : templates.keySet()) {
+      indexBuilder.add(matcher.getTemplateAstMatcher(), matcher);
+    }
+    this.templateIndex = indexBuilder.build();
   }
 
   private static final Pattern AFTER_CHOICE_PATTERN = Pattern.compile("^after_option_(\\d*)_(.*)");
@@ -368,6 +411,13 @@ public final class RefasterJsScanner extends Scanner {
       this.afterTemplate = afterTemplate;
     }
 
+    /** Shares the templates of {@code prepared}, with a matcher of its own. */
+    RefasterJsTemplate(RefasterJsTemplate prepared) {
+      this.matcher = new JsSourceMatcher(prepared.matcher);
+      this.beforeTemplate = prepared.beforeTemplate;
+      this.afterTemplate = prepared.afterTemplate;
+    }
+
     List<String> getGoogRequiresToAdd() {
       return getGoogRequiresFromPattern(ADD_GOOG_REQUIRE_PATTERN);
     }
@@ -17,11 +17,13 @@
 package com.google.javascript.refactoring;
 
 import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.rhino.Node;
 
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Class that developers should implement to perform a JsFlume refactoring.
@@ -64,4 +66,26 @@ public abstract class Scanner implements Serializable {
   public List<SuggestedFix> processAllMatches(Collection<Match> matches) {
     return ImmutableList.of();
   }
+
+  /**
+   * Prepares this scanner to scan the inputs of the given compiler. When {@link RefactoringDriver}
+   * scans on several threads, it calls this on its own thread before any worker starts, so that
+   * state built against the compiler, such as parsed templates, is built once and only read by the
+   * workers. If the scanner has no {@link #newWorkerScanner worker scanners}, the scan then runs on
+   * that thread as it would without workers.
+   */
+  public void prepare(AbstractCompiler compiler) {}
+
+  /**
+   * Returns a scanner for one of the worker threads of a parallel scan, called after {@link
+   * #prepare}. It must keep its own state between {@link #matches} and {@link #processMatch}, but
+   * may share what this scanner prepared.
+   *
+   * @return null if this scanner can only be driven on a single thread, as is the case for
+   *     scanners that don't override this
+   */
+  @Nullable
+  public Scanner newWorkerScanner() {
+    return null;
+  }
 }
@@ -2217,7 +2217,11 @@ public class Node implements Serializable {
    */
   @Nullable
   public final JSDocInfo getJSDocInfo() {
-    return (JSDocInfo) getProp(Prop.JSDOC_INFO);
+    Object info = getProp(Prop.JSDOC_INFO);
+    if (info instanceof LazyJSDocInfo) {
+      return ((LazyJSDocInfo) info).get();
+    }
+    return (JSDocInfo) info;
   }
 
   /**
@@ -2228,6 +2232,14 @@ public class Node implements Serializable {
     return this;
   }
 
+  /**
+   * Attaches JSDoc to this node that is parsed when {@link #getJSDocInfo} is first called.
+   */
+  public final Node setLazyJSDocInfo(LazyJSDocInfo info) {
+    putProp(Prop.JSDOC_INFO, info);
+    return this;
+  }
+
   /** This node was last changed at {@code time} */
   public final void setChangeTime(int time) {
     putIntProp(Prop.CHANGE_TIME, time);
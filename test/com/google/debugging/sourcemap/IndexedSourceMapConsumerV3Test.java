@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.debugging.sourcemap;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.rhino.testing.Asserts.assertThrows;
+
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
+import com.google.gson.Gson;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link IndexedSourceMapConsumerV3} */
+@RunWith(JUnit4.class)
+public final class IndexedSourceMapConsumerV3Test {
+
+  private static final Gson GSON = new Gson();
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private static String createMap(String mappings) {
+    return GSON.toJson(
+        TestJsonBuilder.create()
+            .setVersion(3)
+            .setFile("testcode")
+            .setMappings(mappings)
+            .setSources("a.js", "b.js")
+            .setNames("foo", "bar")
+            .build());
+  }
+
+  private static final String MAPPINGS = "AAAAA,QAASA,UAAS,EAAG;;ACCC,CAAC;AADDC;E,KACA";
+
+  private static void assertSameMappings(SourceMapping expected, SourceMapping actual) {
+    for (int line = 0; line <= 7; line++) {
+      for (int column = 1; column <= 40; column++) {
+        OriginalMapping expectedMapping = expected.getMappingForLine(line, column);
+        OriginalMapping actualMapping = actual.getMappingForLine(line, column);
+        assertThat(actualMapping).isEqualTo(expectedMapping);
+      }
+    }
+  }
+
+  @Test
+  public void testMatchesEagerConsumer() throws Exception {
+    SourceMapConsumerV3 eager = new SourceMapConsumerV3();
+    eager.parse(createMap(MAPPINGS));
+    IndexedSourceMapConsumerV3 lazy = new IndexedSourceMapConsumerV3();
+    lazy.parse(createMap(MAPPINGS));
+
+    assertThat(lazy.getLineCount()).isEqualTo(5);
+    assertSameMappings(eager, lazy);
+    assertThat(lazy.getReverseMapping("b.js", 1, 1))
+        .containsExactlyElementsIn(eager.getReverseMapping("b.js", 1, 1));
+  }
+
+  @Test
+  public void testLinesAreDecodedOnDemand() throws Exception {
+    IndexedSourceMapConsumerV3 consumer = new IndexedSourceMapConsumerV3(1);
+    consumer.parse(createMap(MAPPINGS));
+    assertThat(consumer.getCachedLineCount()).isEqualTo(0);
+
+    OriginalMapping mapping = consumer.getMappingForLine(3, 2);
+    assertThat(mapping.getOriginalFile()).isEqualTo("b.js");
+    assertThat(consumer.getCachedLineCount()).isEqualTo(1);
+
+    // The cache holds a single line, so the previous one is evicted.
+    consumer.getMappingForLine(1, 1);
+    assertThat(consumer.getCachedLineCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testTrailingSeparator() throws Exception {
+    IndexedSourceMapConsumerV3 consumer = new IndexedSourceMapConsumerV3();
+    consumer.parse(createMap("AAAA;"));
+    assertThat(consumer.getLineCount()).isEqualTo(1);
+    assertThat(consumer.getMappingForLine(2, 1)).isNull();
+
+    consumer.parse(createMap(""));
+    assertThat(consumer.getLineCount()).isEqualTo(0);
+    assertThat(consumer.getMappingForLine(1, 1)).isNull();
+  }
+
+  @Test
+  public void testIndexFileIsWrittenAndReused() throws Exception {
+    Path indexFile = folder.getRoot().toPath().resolve("map.idx");
+    SourceMapConsumerV3 eager = new SourceMapConsumerV3();
+    eager.parse(createMap(MAPPINGS));
+
+    IndexedSourceMapConsumerV3 first = new IndexedSourceMapConsumerV3();
+    first.parse(createMap(MAPPINGS), indexFile);
+    assertThat(Files.exists(indexFile)).isTrue();
+    long modified = Files.getLastModifiedTime(indexFile).toMillis();
+
+    IndexedSourceMapConsumerV3 second = new IndexedSourceMapConsumerV3();
+    second.parse(createMap(MAPPINGS), indexFile);
+    assertThat(Files.getLastModifiedTime(indexFile).toMillis()).isEqualTo(modified);
+    assertSameMappings(eager, second);
+  }
+
+  @Test
+  public void testStaleIndexFileIsRebuilt() throws Exception {
+    Path indexFile = folder.getRoot().toPath().resolve("map.idx");
+    new IndexedSourceMapConsumerV3().parse(createMap("AAAA"), indexFile);
+
+    SourceMapConsumerV3 eager = new SourceMapConsumerV3();
+    eager.parse(createMap(MAPPINGS));
+    IndexedSourceMapConsumerV3 consumer = new IndexedSourceMapConsumerV3();
+    consumer.parse(createMap(MAPPINGS), indexFile);
+    assertSameMappings(eager, consumer);
+  }
+
+  @Test
+  public void testInvalidEntry() throws Exception {
+    IndexedSourceMapConsumerV3 consumer = new IndexedSourceMapConsumerV3();
+    SourceMapParseException e =
+        assertThrows(SourceMapParseException.class, () -> consumer.parse(createMap("AA")));
+    assertThat(e).hasMessageThat().contains("Unexpected number of values");
+  }
+}
@@ -16,9 +16,11 @@
 
 package com.google.debugging.sourcemap;
 
+import static com.google.common.base.Strings.nullToEmpty;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -134,4 +136,35 @@ public final class SourceMapConsumerV3Test {
     assertThat(((JsonElement) exts.get("x_org_int")).getAsInt()).isEqualTo(2);
     assertThat((JsonArray) exts.get("x_org_array")).isEmpty();
   }
+
+  @Test
+  public void testLookupTableMatchesConsumer() throws Exception {
+    consumer.parse(
+        GSON.toJson(
+            TestJsonBuilder.create()
+                .setVersion(3)
+                .setFile("testcode")
+                .setMappings("AAAAA,QAASA,UAAS,EAAG;;ACCC,CAAC;E,KACA")
+                .setSources("a.js", "b.js")
+                .setNames("foo", "bar")
+                .build()));
+    SourceMapLookupTable table = consumer.createLookupTable();
+
+    assertThat(table.getLineCount()).isEqualTo(4);
+    for (int line = 0; line <= 5; line++) {
+      for (int column = 1; column <= 30; column++) {
+        OriginalMapping expected = consumer.getMappingForLine(line, column);
+        int entry = table.find(line, column);
+        if (expected == null) {
+          assertThat(entry).isEqualTo(SourceMapLookupTable.NOT_FOUND);
+          continue;
+        }
+        assertThat(table.getSource(table.getSourceId(entry)))
+            .isEqualTo(expected.getOriginalFile());
+        assertThat(table.getSourceLine(entry) + 1).isEqualTo(expected.getLineNumber());
+        assertThat(table.getSourceColumn(entry) + 1).isEqualTo(expected.getColumnPosition());
+        assertThat(nullToEmpty(table.getName(entry))).isEqualTo(expected.getIdentifier());
+      }
+    }
+  }
 }
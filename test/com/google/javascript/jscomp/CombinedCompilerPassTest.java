@@ -19,8 +19,10 @@ package com.google.javascript.jscomp;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.NodeTraversal.Callback;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
+import com.google.javascript.jscomp.NodeTraversal.TokenFilteredCallback;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayList;
@@ -267,4 +269,91 @@ public final class CombinedCompilerPassTest {
     assertThat(c2.getVisitedScopes()).hasSize(3);
     assertThat(c3.getVisitedScopes()).hasSize(5);
   }
+
+  /** Records the tokens of the nodes it is sent, and declines to traverse FUNCTIONs. */
+  private static class TokenRecordingCallback implements TokenFilteredCallback {
+    private final ImmutableSet<Token> tokens;
+    final List<Token> shouldTraversed = new ArrayList<>();
+    final List<Token> visited = new ArrayList<>();
+
+    TokenRecordingCallback(Token... tokens) {
+      this.tokens = ImmutableSet.copyOf(tokens);
+    }
+
+    @Override
+    public ImmutableSet<Token> getInterestingTokens() {
+      return tokens;
+    }
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+      shouldTraversed.add(n.getToken());
+      return !n.isFunction();
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      visited.add(n.getToken());
+    }
+  }
+
+  @Test
+  public void testTokenFilteredCallbacks() {
+    Node root = compiler.parseTestCode("var x = 1; function f() { var y = 2; } var z = 3;");
+
+    TokenRecordingCallback vars = new TokenRecordingCallback(Token.VAR, Token.FUNCTION);
+    TokenRecordingCallback numbers = new TokenRecordingCallback(Token.NUMBER, Token.FUNCTION);
+
+    new CombinedCompilerPass(compiler, vars, numbers).process(null, root);
+
+    assertThat(vars.shouldTraversed).containsExactly(Token.VAR, Token.FUNCTION, Token.VAR);
+    assertThat(vars.visited).containsExactly(Token.VAR, Token.VAR);
+    assertThat(numbers.shouldTraversed)
+        .containsExactly(Token.NUMBER, Token.FUNCTION, Token.NUMBER);
+    assertThat(numbers.visited).containsExactly(Token.NUMBER, Token.NUMBER);
+
+    // An unfiltered callback still sees every node, including those in the function body.
+    CountingCallback counting = new CountingCallback();
+    TokenRecordingCallback functions = new TokenRecordingCallback(Token.FUNCTION);
+    new CombinedCompilerPass(compiler, functions, counting).process(null, root);
+    assertThat(functions.visited).isEmpty();
+    assertThat(counting.visits).isEqualTo(countNodes(root));
+  }
+
+  @Test
+  public void testSubtreesDeclinedByAllCallbacksAreSkipped() {
+    Node root = createPostOrderAlphabet();
+    ConcatTraversal first = new ConcatTraversal().ignore("d").ignore("h");
+    ConcatTraversal second = new ConcatTraversal().ignore("d");
+
+    new CombinedCompilerPass(compiler, first, second).process(null, root);
+
+    assertThat(first.getShouldTraversed()).isEqualTo("mdhlijk");
+    assertThat(first.getVisited()).isEqualTo("ijklm");
+    assertThat(second.getShouldTraversed()).isEqualTo("mdhefglijk");
+    assertThat(second.getVisited()).isEqualTo("efghijklm");
+  }
+
+  private static int countNodes(Node n) {
+    int count = 1;
+    for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+      count += countNodes(child);
+    }
+    return count;
+  }
+
+  /** Counts post-order visits. */
+  private static class CountingCallback implements Callback {
+    int visits;
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+      return true;
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      visits++;
+    }
+  }
 }
@@ -386,6 +386,44 @@ public final class CompilerTest {
     assertThat(consumer.getOriginalSourcesContent()).isNull();
   }
 
+  @Test
+  public void testApplyInputSourceMaps_prebuiltInParallel() throws Exception {
+    ImmutableMap<String, SourceMapInput> inputSourceMaps =
+        ImmutableMap.of(
+            "a.js", sourcemap("a.js.map", "a.ts", new FilePosition(17, 25)),
+            "b.js", sourcemap("b.js.map", "b.ts", new FilePosition(3, 4)));
+
+    CompilerOptions options = new CompilerOptions();
+    options.setLanguageIn(LanguageMode.ECMASCRIPT3);
+    options.sourceMapOutputPath = "fake/source_map_path.js.map";
+    options.inputSourceMaps = inputSourceMaps;
+    options.applyInputSourceMaps = true;
+    options.setNumParallelThreads(2);
+    Compiler compiler = new Compiler();
+    compiler.compile(
+        EMPTY_EXTERNS,
+        ImmutableList.of(
+            SourceFile.fromCode("a.js", "// Unmapped line\nvar x = 1;"),
+            SourceFile.fromCode("b.js", "// Unmapped line\nalert(x);")),
+        options);
+    assertThat(compiler.toSource()).isEqualTo("var x=1;alert(x);");
+    assertThat(compiler.getPrecomposedSourceMap("a.js")).isNotNull();
+    assertThat(compiler.getPrecomposedSourceMap("b.js")).isNotNull();
+
+    SourceMap sourceMap = compiler.getSourceMap();
+    StringWriter out = new StringWriter();
+    sourceMap.appendTo(out, "source.js.map");
+    SourceMapConsumerV3 consumer = new SourceMapConsumerV3();
+    consumer.parse(out.toString());
+    OriginalMapping mapping = consumer.getMappingForLine(1, 5);
+    assertThat(mapping.getOriginalFile()).isEqualTo("a.ts");
+    assertThat(mapping.getLineNumber()).isEqualTo(18);
+    assertThat(mapping.getColumnPosition()).isEqualTo(26);
+    mapping = consumer.getMappingForLine(1, 15);
+    assertThat(mapping.getOriginalFile()).isEqualTo("b.ts");
+    assertThat(mapping.getLineNumber()).isEqualTo(4);
+  }
+
   @Test
   public void testKeepInputSourceMapsSourcesContent() throws Exception {
     CompilerOptions options = new CompilerOptions();
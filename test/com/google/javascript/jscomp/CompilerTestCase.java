@@ -1432,7 +1432,8 @@ public abstract class CompilerTestCase {
       new GatherModuleMetadata(
               compiler, /* processCommonJsModules= */ false, ResolutionMode.BROWSER)
           .process(externsRoot, mainRoot);
-      new ModuleMapCreator(compiler, compiler.getModuleMetadataMap())
+      new ModuleMapCreator(
+              compiler, compiler.getModuleMetadataMap(), compiler.getOptions().numParallelThreads)
           .process(externsRoot, mainRoot);
     }
 
@@ -20,14 +20,25 @@ import com.google.javascript.jscomp.testing.JSChunkGraphBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
 /**
  * Tests for {@link CrossChunkCodeMotion}.
  */
-@RunWith(JUnit4.class)
+@RunWith(Parameterized.class)
 public final class CrossChunkCodeMotionTest extends CompilerTestCase {
 
+  /** Runs every test both serially and with references collected on several threads. */
+  @Parameters(name = "numParallelThreads={0}")
+  public static Object[][] threadCounts() {
+    return new Object[][] {{1}, {4}};
+  }
+
+  @Parameter(0)
+  public int numParallelThreads;
+
   private static final String EXTERNS = "alert";
   private boolean parentModuleCanSeeSymbolsDeclaredInChildren = false;
 
@@ -50,6 +61,13 @@ public final class CrossChunkCodeMotionTest extends CompilerTestCase {
     parentModuleCanSeeSymbolsDeclaredInChildren = false;
   }
 
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
+  }
+
   @Override
   protected CompilerPass getProcessor(Compiler compiler) {
     return new CrossChunkCodeMotion(
@@ -1900,4 +1918,31 @@ public final class CrossChunkCodeMotionTest extends CompilerTestCase {
               "new LowerCasePipe();")
         });
   }
+
+  @Test
+  public void testAliasReferencedFromAnotherChunk() {
+    // `a` is only known to be defined before `b = a` runs if the reference in `f` is seen to be
+    // nested in the same global block as the declaration, even when it was collected on another
+    // thread.
+    JSModule[] modules =
+        JSChunkGraphBuilder.forStar()
+            // m1
+            .addChunk("var a = 1; var b = a;")
+            // m2 -> m1
+            .addChunk("function f() { return a; }")
+            // m3 -> m1
+            .addChunk("b;")
+            .build();
+
+    test(
+        modules,
+        new String[] {
+          // m1
+          "var a = 1;",
+          // m2
+          "function f() { return a; }",
+          // m3
+          "var b = a; b;"
+        });
+  }
 }
@@ -17,15 +17,22 @@
 package com.google.javascript.jscomp;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.deps.ModuleLoader;
+import com.google.javascript.jscomp.modules.EsModuleProcessor;
 import com.google.javascript.jscomp.type.ReverseAbstractInterpreter;
 import com.google.javascript.jscomp.type.SemanticReverseAbstractInterpreter;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
 /**
  * Unit tests for {@link Es6RewriteModules}
@@ -39,8 +46,17 @@ import org.junit.runners.JUnit4;
  * <p>TODO(b/144593112): Remove the other test class when the pass is permanently moved after type
  * checking.
  */
-@RunWith(JUnit4.class)
+@RunWith(Parameterized.class)
 public final class Es6RewriteModulesTest extends CompilerTestCase {
+  /** Runs every test both serially and with modules scanned on several threads. */
+  @Parameters(name = "numParallelThreads={0}")
+  public static Object[][] threadCounts() {
+    return new Object[][] {{1}, {4}};
+  }
+
+  @Parameter(0)
+  public int numParallelThreads;
+
   private ImmutableList<String> moduleRoots = null;
 
   private static final SourceFile other =
@@ -90,6 +106,7 @@ public final class Es6RewriteModulesTest extends CompilerTestCase {
     if (moduleRoots != null) {
       options.setModuleRoots(moduleRoots);
     }
+    options.setNumParallelThreads(numParallelThreads);
 
     return options;
   }
@@ -151,6 +168,33 @@ public final class Es6RewriteModulesTest extends CompilerTestCase {
         "use(x$$module$other); /** @const */ var module$testcode = {};");
   }
 
+  @Test
+  public void testDuplicateExportsReportedInOrderOfModules() {
+    List<String> reportedSourceNames = new ArrayList<>();
+    ErrorManager errorManager =
+        new SortingErrorManager(ImmutableSet.of()) {
+          @Override
+          public void report(CheckLevel level, JSError error) {
+            if (error.getType().equals(EsModuleProcessor.DUPLICATE_EXPORT)) {
+              reportedSourceNames.add(error.getSourceName());
+            }
+            super.report(level, error);
+          }
+        };
+    List<String> sourceNames = new ArrayList<>();
+    List<SourceFile> inputs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      sourceNames.add("m" + i + ".js");
+      inputs.add(SourceFile.fromCode("m" + i + ".js", "let a; export {a}; export {a};"));
+    }
+    CompilerOptions options = new CompilerOptions();
+    options.setNumParallelThreads(numParallelThreads);
+
+    new Compiler(errorManager).compile(ImmutableList.<SourceFile>of(), inputs, options);
+
+    assertThat(reportedSourceNames).containsExactlyElementsIn(sourceNames).inOrder();
+  }
+
   @Test
   public void testImport_missing() {
     // TODO(b/144059297): Make this test pass when type checking runs first.
@@ -29,10 +29,20 @@ import com.google.javascript.jscomp.modules.ModuleMetadataMap.ModuleMetadata;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap.ModuleType;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
-@RunWith(JUnit4.class)
+@RunWith(Parameterized.class)
 public final class GatherModuleMetadataTest extends CompilerTestCase {
+  /** Runs every test both serially and with scripts traversed on several threads. */
+  @Parameters(name = "numParallelThreads={0}")
+  public static Object[][] threadCounts() {
+    return new Object[][] {{1}, {4}};
+  }
+
+  @Parameter(0)
+  public int numParallelThreads;
 
   private boolean rewriteScriptsToModules;
   private boolean sortOnly;
@@ -56,6 +66,7 @@ public final class GatherModuleMetadataTest extends CompilerTestCase {
     } else if (sortOnly) {
       options.setDependencyOptions(DependencyOptions.sortOnly());
     }
+    options.setNumParallelThreads(numParallelThreads);
     return options;
   }
 
@@ -443,6 +454,15 @@ public final class GatherModuleMetadataTest extends CompilerTestCase {
         ClosurePrimitiveErrors.DUPLICATE_NAMESPACE);
   }
 
+  @Test
+  public void testScriptsSeeGlobalsOfOtherScripts() {
+    testSame(new String[] {"var goog;", "goog.provide('my.provide');", "goog.x = 0;"});
+    assertThat(metadataMap().getModulesByGoogNamespace().keySet()).containsExactly("my.provide");
+    assertThat(metadataMap().getModulesByPath().get("testcode1").usesClosure()).isTrue();
+    // Referencing the goog declared in another script doesn't count as using Closure.
+    assertThat(metadataMap().getModulesByPath().get("testcode2").usesClosure()).isFalse();
+  }
+
   @Test
   public void testDuplicateProvidesInSameFile() {
     testError(
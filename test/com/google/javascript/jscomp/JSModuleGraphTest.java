@@ -32,7 +32,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
@@ -325,6 +328,70 @@ public final class JSModuleGraphTest {
     assertSmallestCoveringSubtree(moduleF, moduleA, moduleF, moduleF);
   }
 
+  @Test
+  public void testLargeGraphMatchesNaiveDefinitions() {
+    // Enough modules that the dependency sets span many words, with a mix of deep chains and wide
+    // fan-in.
+    Random random = new Random(42);
+    JSModule[] modules = new JSModule[2000];
+    for (int i = 0; i < modules.length; i++) {
+      modules[i] = new JSModule("m" + i);
+      if (i > 0) {
+        modules[i].addDependency(modules[i - 1 - random.nextInt(Math.min(i, 100))]);
+        if (random.nextInt(4) == 0) {
+          modules[i].addDependency(modules[random.nextInt(i)]);
+        }
+      }
+    }
+    graph = new JSModuleGraph(modules);
+
+    // The number of modules that are each module or depend on it.
+    int[] subtreeSizes = new int[graph.getModuleCount()];
+    for (JSModule module : graph.getAllModules()) {
+      subtreeSizes[module.getIndex()]++;
+      for (JSModule dep : module.getAllDependencies()) {
+        subtreeSizes[dep.getIndex()]++;
+      }
+    }
+
+    JSModule root = modules[0];
+    for (int i = 0; i < 300; i++) {
+      JSModule m1 = modules[random.nextInt(modules.length)];
+      JSModule m2 = modules[random.nextInt(modules.length)];
+      Set<JSModule> deps1 = m1.getAllDependencies();
+      assertThat(graph.dependsOn(m1, m2)).isEqualTo(deps1.contains(m2));
+
+      Set<JSModule> commonDeps = new LinkedHashSet<>(deps1);
+      commonDeps.retainAll(m2.getAllDependencies());
+      commonDeps.remove(m1);
+      commonDeps.remove(m2);
+      JSModule expected = null;
+      for (JSModule dep : commonDeps) {
+        if (expected == null
+            || dep.getDepth() > expected.getDepth()
+            || (dep.getDepth() == expected.getDepth() && dep.getIndex() > expected.getIndex())) {
+          expected = dep;
+        }
+      }
+      assertDeepestCommonDep(expected, m1, m2);
+
+      BitSet pair = new BitSet();
+      pair.set(m1.getIndex());
+      pair.set(m2.getIndex());
+      // Ties go to the module that comes last.
+      JSModule expectedSubtree = root;
+      for (int j = modules.length - 1; j >= 0; j--) {
+        JSModule candidate = modules[j];
+        if ((candidate == m1 || graph.dependsOn(m1, candidate))
+            && (candidate == m2 || graph.dependsOn(m2, candidate))
+            && subtreeSizes[j] < subtreeSizes[expectedSubtree.getIndex()]) {
+          expectedSubtree = candidate;
+        }
+      }
+      assertThat(graph.getSmallestCoveringSubtree(root, pair)).isSameInstanceAs(expectedSubtree);
+    }
+  }
+
   @Test
   public void testGetTransitiveDepsDeepestFirst() {
     makeDeps();
@@ -21,11 +21,13 @@ import static com.google.common.truth.Truth.assertWithMessage;
 import static com.google.javascript.rhino.testing.Asserts.assertThrows;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -231,6 +233,120 @@ public final class JsMessageExtractorTest {
     assertThat(msgs.get(0).getId().equals(msgs.get(1).getId())).isFalse();
   }
 
+  @Test
+  public void testStreamingExtractionDeduplicatesIds() {
+    List<JsMessage> msgs = new ArrayList<>();
+    int count =
+        new JsMessageExtractor(null, mode)
+            .extractMessages(
+                ImmutableList.of(
+                    SourceFile.fromCode("a.js", "var MSG_UNNAMED_1 = goog.getMsg('foo');"),
+                    SourceFile.fromCode("b.js", "var MSG_UNNAMED_2 = goog.getMsg('foo');"),
+                    SourceFile.fromCode(
+                        "c.js", "/** @desc Bar. */ var MSG_BAR = goog.getMsg('bar');")),
+                2,
+                msgs::add);
+
+    assertThat(count).isEqualTo(2);
+    assertThat(msgs).hasSize(2);
+    assertThat(msgs.get(0).getId()).isNotEqualTo(msgs.get(1).getId());
+  }
+
+  @Test
+  public void testStreamingExtractionReportsDuplicateKeysAcrossFiles() {
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () ->
+                new JsMessageExtractor(null, mode)
+                    .extractMessages(
+                        ImmutableList.of(
+                            SourceFile.fromCode("a.js", "var MSG_FOO = goog.getMsg('foo');"),
+                            SourceFile.fromCode("b.js", "var MSG_FOO = goog.getMsg('foo');")),
+                        2,
+                        (JsMessage msg) -> {}));
+
+    assertThat(e).hasMessageThat().contains("JSC_MSG_KEY_DUPLICATED");
+  }
+
+  @Test
+  public void testStreamingExtractionMergesFilesInInputOrder() {
+    ImmutableList.Builder<SourceFile> inputs = ImmutableList.builder();
+    for (int i = 0; i < 100; i++) {
+      inputs.add(SourceFile.fromCode("f" + i + ".js", "var MSG_UNNAMED_1 = goog.getMsg('foo');"));
+    }
+
+    List<JsMessage> msgs = new ArrayList<>();
+    new JsMessageExtractor(null, mode).extractMessages(inputs.build(), 4, msgs::add);
+
+    assertThat(msgs).hasSize(1);
+    assertThat(msgs.get(0).getSourceName()).isEqualTo("f0.js:1");
+  }
+
+  @Test
+  public void testStreamingExtractionCreatesOptionsPerFile() {
+    AtomicInteger optionsCreated = new AtomicInteger();
+    JsMessageExtractor extractor =
+        new JsMessageExtractor(
+            null,
+            mode,
+            () -> {
+              optionsCreated.incrementAndGet();
+              return new CompilerOptions();
+            },
+            false);
+
+    extractor.extractMessages(
+        ImmutableList.of(
+            SourceFile.fromCode("a.js", "var MSG_A = goog.getMsg('a');"),
+            SourceFile.fromCode("b.js", "var MSG_B = goog.getMsg('b');"),
+            SourceFile.fromCode("c.js", "var MSG_C = goog.getMsg('c');")),
+        2,
+        (JsMessage msg) -> {});
+
+    assertThat(optionsCreated.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testStreamingExtractionNeedsAnOptionsFactory() {
+    JsMessageExtractor extractor =
+        new JsMessageExtractor(null, mode, new CompilerOptions(), false);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            extractor.extractMessages(
+                ImmutableList.of(SourceFile.fromCode("a.js", "var MSG_A = goog.getMsg('a');")),
+                1,
+                (JsMessage msg) -> {}));
+  }
+
+  @Test
+  public void testStreamingExtractionReportsDuplicateKeysAgainstTheEarlierFile() {
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () ->
+                new JsMessageExtractor(null, mode)
+                    .extractMessages(
+                        ImmutableList.of(
+                            SourceFile.fromCode("a.js", "var MSG_FOO = goog.getMsg('foo');"),
+                            SourceFile.fromCode("b.js", "\nvar MSG_FOO = goog.getMsg('foo');"),
+                            SourceFile.fromCode("c.js", "var MSG_FOO = goog.getMsg('foo');")),
+                        3,
+                        (JsMessage msg) -> {}));
+
+    // Each later definition is reported, against the latest earlier one.
+    String message = e.getMessage();
+    int inB = message.indexOf("b.js:2:");
+    int inC = message.indexOf("c.js:1:");
+    assertThat(inB).isAtLeast(0);
+    assertThat(inC).isGreaterThan(inB);
+    assertThat(message.substring(inB, inC)).contains("initial definition a.js:1");
+    assertThat(message.substring(inC)).contains("initial definition b.js:2");
+    assertThat(message).doesNotContain("a.js:1:");
+  }
+
   private void assertEquals(JsMessage expected, JsMessage actual) {
     assertThat(actual.getId()).isEqualTo(expected.getId());
     assertThat(actual.getKey()).isEqualTo(expected.getKey());
@@ -167,6 +167,10 @@ public final class PerformanceTrackerTest {
                 "Estimated AST size\\(#nodes\\): -?[0-9]+",
                 "Estimated Size\\(bytes\\): -?[0-9]+",
                 "Estimated GzSize\\(bytes\\): -?[0-9]+",
+                "Warnings guard runtime\\(ms\\): [0-9]+",
+                "#Warnings guard evaluations: [0-9]+",
+                "#Module resolution cache hits: [0-9]+",
+                "#Module resolution cache misses: [0-9]+",
                 "",
                 "Inputs:",
                 "JS lines:   [0-9]+",
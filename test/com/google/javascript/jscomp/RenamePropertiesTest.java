@@ -22,13 +22,15 @@ import com.google.common.collect.ImmutableList;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
 /**
  * {@link RenameProperties} tests.
  *
  */
-@RunWith(JUnit4.class)
+@RunWith(Parameterized.class)
 public final class RenamePropertiesTest extends CompilerTestCase {
 
   private static final String EXTERNS =
@@ -36,6 +38,15 @@ public final class RenamePropertiesTest extends CompilerTestCase {
       "prop.toString;" +
       "var google = { gears: { factory: {}, workerPool: {} } };";
 
+  /** Runs every test both serially and with scripts renamed on several threads. */
+  @Parameters(name = "numParallelThreads={0}")
+  public static Object[][] threadCounts() {
+    return new Object[][] {{1}, {4}};
+  }
+
+  @Parameter(0)
+  public int numParallelThreads;
+
   private RenameProperties renameProperties;
   private boolean generatePseudoNames;
   private VariableMap prevUsedPropertyMap;
@@ -54,6 +65,13 @@ public final class RenamePropertiesTest extends CompilerTestCase {
     enableGatherExternProperties();
   }
 
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
+  }
+
   @Override
   protected int getNumRepetitions() {
     // The RenameProperties pass should only be run once over a parse tree.
@@ -78,6 +96,19 @@ public final class RenamePropertiesTest extends CompilerTestCase {
          "Bar.prototype.c = function(){}");
   }
 
+  @Test
+  public void testPrototypePropertiesInSeveralScripts() {
+    test(
+        srcs(
+            "Bar.prototype.getA = function(){}; bar.getA();",
+            "Bar.prototype.getB = function(){}; bar.getB(); bar.getB();",
+            "bar.getA(); bar.getC();"),
+        expected(
+            "Bar.prototype.a = function(){}; bar.a();",
+            "Bar.prototype.b = function(){}; bar.b(); bar.b();",
+            "bar.a(); bar.c();"));
+  }
+
   @Test
   public void testPrototypeProperties_optChain() {
     test(
@@ -31,12 +31,24 @@ import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
 /** Tests for {@link RenameVars}. */
-@RunWith(JUnit4.class)
+@RunWith(Parameterized.class)
 public final class RenameVarsTest extends CompilerTestCase {
   private static final String DEFAULT_PREFIX = "";
+
+  /** Runs every test both serially and with scripts renamed on several threads. */
+  @Parameters(name = "numParallelThreads={0}")
+  public static Object[][] threadCounts() {
+    return new Object[][] {{1}, {4}};
+  }
+
+  @Parameter(0)
+  public int numParallelThreads;
+
   private String prefix = DEFAULT_PREFIX;
 
   private VariableMap previouslyUsedMap =
@@ -119,12 +131,32 @@ public final class RenameVarsTest extends CompilerTestCase {
     nameGenerator = null;
   }
 
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setNumParallelThreads(numParallelThreads);
+    return options;
+  }
+
   @Test
   public void testRenameSimple() {
     test("function Foo(v1, v2) {return v1;} Foo();",
          "function a(b, c) {return b;} a();");
   }
 
+  @Test
+  public void testRenameSeveralScripts() {
+    test(
+        srcs(
+            "var Foo; function f1(v1, v2) { return Foo(v1); }",
+            "var Bar; function f2(v3) { return Bar(v3, Foo); }",
+            "f1(Bar); f2(Foo);"),
+        expected(
+            "var a; function c(b, f) { return a(b); }",
+            "var d; function e(b) { return d(b, a); }",
+            "c(d); e(a);"));
+  }
+
   @Test
   public void testRenameGlobals() {
     test("var Foo; var Bar, y; function x() { Bar++; }",
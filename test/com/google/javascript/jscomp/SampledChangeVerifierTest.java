@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class SampledChangeVerifierTest {
+
+  @Test
+  public void testReportedChangeIsAccepted() {
+    Node script = parse("function A() {} if (0) { A(); }");
+    Compiler compiler = new Compiler();
+    SampledChangeVerifier verifier = createVerifier(compiler, script, 10);
+    assertThat(verifier.getTrackedScopeCount()).isEqualTo(2);
+
+    script.getLastChild().detach();
+    compiler.reportChangeToChangeScope(script);
+
+    assertThat(verifier.checkRecordedChanges("test1")).containsExactly(script);
+  }
+
+  @Test
+  public void testUnreportedChangeIsFoundWhenSampled() {
+    Node script = parse("function A() { return 1; }");
+    Compiler compiler = new Compiler();
+    SampledChangeVerifier verifier = createVerifier(compiler, script, 10);
+
+    // no change
+    verifier.checkRecordedChanges("test1");
+
+    // Change the function body, but don't report it.
+    Node fnBody = script.getFirstChild().getLastChild();
+    fnBody.addChildToBack(IR.exprResult(IR.nullNode()));
+
+    IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> verifier.checkRecordedChanges("test2"));
+    assertThat(e).hasMessageThat().contains("changed scope not marked as changed: FUNCTION: A");
+  }
+
+  @Test
+  public void testOnlyReportedScopesAreCheckedWithoutSamples() {
+    Node script = parse("function A() { return 1; } function B() { return 2; }");
+    Compiler compiler = new Compiler();
+    SampledChangeVerifier verifier = createVerifier(compiler, script, 0);
+
+    Node fnA = script.getFirstChild();
+    Node fnB = fnA.getNext();
+    fnA.getLastChild().addChildToBack(IR.exprResult(IR.nullNode()));
+    fnB.getLastChild().addChildToBack(IR.exprResult(IR.nullNode()));
+    compiler.reportChangeToChangeScope(fnB);
+
+    // The unreported change to A is outside the sample, so it goes unnoticed.
+    assertThat(verifier.checkRecordedChanges("test1")).containsExactly(script);
+  }
+
+  @Test
+  public void testDeletedFunction() {
+    Node script = parse("function A() {}");
+    Compiler compiler = new Compiler();
+    SampledChangeVerifier verifier = createVerifier(compiler, script, 10);
+
+    // Remove the function. Report the change in the script but not the function deletion.
+    Node fnNode = script.getFirstChild();
+    fnNode.detach();
+    compiler.reportChangeToChangeScope(script);
+
+    IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> verifier.checkRecordedChanges("test1"));
+    assertThat(e).hasMessageThat().contains("deleted scope was not reported");
+
+    // Reporting the deletion fixes it.
+    compiler.reportFunctionDeleted(fnNode);
+    verifier.checkRecordedChanges("test2");
+    assertThat(verifier.getTrackedScopeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testNotDeletedFunction() {
+    Node script = parse("function A() {}");
+    Compiler compiler = new Compiler();
+    SampledChangeVerifier verifier = createVerifier(compiler, script, 10);
+
+    // Mark the function deleted even though it's alive.
+    compiler.reportFunctionDeleted(script.getFirstChild());
+
+    IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> verifier.checkRecordedChanges("test1"));
+    assertThat(e).hasMessageThat().contains("existing scope is improperly marked as deleted");
+  }
+
+  @Test
+  public void testNewFunctionNotReported() {
+    Node script = parse("var x;");
+    Compiler compiler = new Compiler();
+    SampledChangeVerifier verifier = createVerifier(compiler, script, 0);
+
+    script.addChildToFront(IR.function(IR.name("A"), IR.paramList(), IR.block()));
+    compiler.reportChangeToChangeScope(script);
+
+    IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> verifier.checkRecordedChanges("test1"));
+    assertThat(e).hasMessageThat().contains("new scope not explicitly marked as changed:");
+  }
+
+  @Test
+  public void testNewFunctionReported() {
+    Node script = parse("var x;");
+    Compiler compiler = new Compiler();
+    SampledChangeVerifier verifier = createVerifier(compiler, script, 0);
+
+    Node fn = IR.function(IR.name("A"), IR.paramList(), IR.block());
+    script.addChildToFront(fn);
+    compiler.reportChangeToChangeScope(script);
+    compiler.reportChangeToChangeScope(fn);
+
+    verifier.checkRecordedChanges("test1");
+    assertThat(verifier.getTrackedScopeCount()).isEqualTo(2);
+  }
+
+  private static SampledChangeVerifier createVerifier(
+      Compiler compiler, Node script, int sampleSize) {
+    checkState(script.isScript());
+    compiler.incrementChangeStamp();
+    return new SampledChangeVerifier(compiler, script, sampleSize, new Random(0));
+  }
+
+  private static Node parse(String js) {
+    Compiler compiler = new Compiler();
+    compiler.initCompilerOptionsIfTesting();
+    Node n = compiler.parseTestCode(js);
+    assertThat(compiler.getErrors()).isEmpty();
+    return n;
+  }
+}
@@ -34,6 +34,8 @@ import com.google.javascript.rhino.JSDocInfo.Visibility;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import com.google.javascript.rhino.jstype.FunctionType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -1457,6 +1459,86 @@ public final class SymbolTableTest {
     assertThat(refsPerFile).containsExactly("in1", 2, "externs1", 1);
   }
 
+  @Test
+  public void testParallelReferencesMatchSerialReferences() {
+    String input1 =
+        lines(
+            "/** @constructor */ function Base() {}",
+            "Base.prototype.run = function() {};",
+            "class Animal { speak() {} }");
+    String input2 =
+        lines(
+            "/** @param {!Base} b @return {Base} */ function pass(b) { return b; }",
+            "class Dog extends Animal { speak() { super.speak(); } }",
+            "/** @type {!Animal} */ var pet = new Dog();");
+    List<String> serial =
+        describeReferences(buildSymbolTable(SymbolTable.Detail.FULL, input1, input2));
+
+    options.setNumParallelThreads(3);
+    SymbolTable parallelTable = buildSymbolTable(SymbolTable.Detail.FULL, input1, input2);
+    assertSymbolTableValid(parallelTable);
+
+    assertThat(describeReferences(parallelTable)).containsExactlyElementsIn(serial).inOrder();
+  }
+
+  @Test
+  public void testBasicDetailSkipsOptionalReferences() {
+    String input1 = "/** @constructor */ function Foo() { this.x = 1; }";
+    String input2 = "/** @type {!Foo} */ var foo = new Foo();";
+
+    SymbolTable full = buildSymbolTable(SymbolTable.Detail.FULL, input1, input2);
+    assertThat(full.getReferenceList(getGlobalVar(full, "Foo"))).hasSize(3);
+    assertThat(full.getAllJSDocInfoNodes()).isNotEmpty();
+
+    SymbolTable basic = buildSymbolTable(SymbolTable.Detail.BASIC, input1, input2);
+    // The reference in the @type annotation is left out.
+    assertThat(basic.getReferenceList(getGlobalVar(basic, "Foo"))).hasSize(2);
+    assertThat(basic.getAllJSDocInfoNodes()).isEmpty();
+    assertThat(getGlobalVar(basic, SymbolTable.GLOBAL_THIS)).isNull();
+    assertThat(getGlobalVar(basic, "foo")).isNotNull();
+  }
+
+  @Test
+  public void testIndexRoundTrip() throws Exception {
+    SymbolTable table =
+        buildSymbolTable(
+            SymbolTable.Detail.FULL,
+            "/** @constructor */ function Foo() {} Foo.prototype.bar = function() {};",
+            "/** @private */ var foo = new Foo(); foo.bar();");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SymbolTableIndex.write(table, out);
+    SymbolTableIndex index = SymbolTableIndex.read(new ByteArrayInputStream(out.toByteArray()));
+
+    List<Symbol> symbols = table.getAllSymbolsSorted();
+    assertThat(index.getSymbols()).hasSize(symbols.size());
+    for (int i = 0; i < symbols.size(); i++) {
+      Symbol symbol = symbols.get(i);
+      SymbolTableIndex.IndexedSymbol indexed = index.getSymbols().get(i);
+      assertThat(indexed.getName()).isEqualTo(symbol.getName());
+      assertThat(indexed.isProperty()).isEqualTo(symbol.isProperty());
+      assertThat(indexed.getVisibility()).isEqualTo(symbol.getVisibility());
+      assertThat(indexed.getReferences()).hasSize(table.getReferenceList(symbol).size());
+      Node declaration = symbol.getDeclarationNode();
+      if (declaration == null) {
+        assertThat(indexed.getDeclaration()).isNull();
+      } else {
+        assertThat(indexed.getDeclaration().getLineno()).isEqualTo(declaration.getLineno());
+        assertThat(indexed.getDeclaration().getCharno()).isEqualTo(declaration.getCharno());
+        assertThat(indexed.getDeclaration().getLength()).isEqualTo(declaration.getLength());
+      }
+    }
+
+    SymbolTableIndex.IndexedSymbol foo = null;
+    for (SymbolTableIndex.IndexedSymbol indexed : index.getSymbols()) {
+      if (indexed.getName().equals("foo")) {
+        foo = indexed;
+      }
+    }
+    assertThat(foo.getVisibility()).isEqualTo(Visibility.PRIVATE);
+    assertThat(foo.getDeclaration().getSourceFile()).isEqualTo("file2.js");
+    assertThat(foo.getReferences()).hasSize(2);
+  }
+
   private void assertSymmetricOrdering(Ordering<Symbol> ordering, Symbol first, Symbol second) {
     assertThat(ordering.compare(first, first)).isEqualTo(0);
     assertThat(ordering.compare(second, second)).isEqualTo(0);
@@ -1523,6 +1605,32 @@ public final class SymbolTableTest {
     return assertSymbolTableValid(compiler.buildKnownSymbolTable());
   }
 
+  private SymbolTable buildSymbolTable(SymbolTable.Detail detail, String input1, String input2) {
+    List<SourceFile> inputs =
+        ImmutableList.of(
+            SourceFile.fromCode("file1.js", input1), SourceFile.fromCode("file2.js", input2));
+    List<SourceFile> externs = ImmutableList.of(SourceFile.fromCode("externs1", EXTERNS));
+
+    Compiler compiler = new Compiler(new BlackHoleErrorManager());
+    compiler.compile(externs, inputs, options);
+    return compiler.buildKnownSymbolTable(detail);
+  }
+
+  /** Describes every symbol and the locations of its references, in order. */
+  private static List<String> describeReferences(SymbolTable table) {
+    List<String> result = new ArrayList<>();
+    for (Symbol symbol : table.getAllSymbolsSorted()) {
+      StringBuilder sb = new StringBuilder(symbol.toString());
+      for (Reference reference : table.getReferences(symbol)) {
+        Node n = reference.getNode();
+        sb.append(' ').append(n.getSourceFileName()).append(':').append(n.getLineno());
+        sb.append(':').append(n.getCharno());
+      }
+      result.add(sb.toString());
+    }
+    return result;
+  }
+
   /**
    * Asserts that the symbol table meets some invariants. Returns the same table for easy chaining.
    */
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.javascript.rhino.Node;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link TemplateAstMatcherIndex}. */
+@RunWith(JUnit4.class)
+public final class TemplateAstMatcherIndexTest {
+
+  private static final String EXTERNS =
+      "function foo() {}\n"
+          + "function baz() {}\n"
+          + "var obj = {bar: function() {}};\n";
+
+  private static final ImmutableMap<String, String> TEMPLATES =
+      ImmutableMap.of(
+          "fooCall", "function template() { foo(); }",
+          "barCall", "/** @param {?} x */ function template(x) { x.bar(); }",
+          "anything", "/** @param {?} x */ function template(x) { x; }",
+          "three", "function template() { 3; }",
+          "anyCall", "/** @param {?} f */ function template(f) { f(); }");
+
+  private Compiler compiler;
+  private Node script;
+  private ImmutableMap<String, TemplateAstMatcher> matchers;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    compiler.disableThreads();
+    CompilerOptions options = new CompilerOptions();
+    options.setCheckTypes(true);
+    options.setChecksOnly(true);
+    compiler.compile(
+        ImmutableList.of(SourceFile.fromCode("externs", EXTERNS)),
+        ImmutableList.of(SourceFile.fromCode("test", "foo(); obj.bar(); baz(); 3; 'str';")),
+        options);
+    script = compiler.getRoot().getLastChild().getFirstChild();
+
+    ImmutableMap.Builder<String, TemplateAstMatcher> builder = ImmutableMap.builder();
+    for (Map.Entry<String, String> template : TEMPLATES.entrySet()) {
+      Node templateRoot =
+          compiler.parse(SourceFile.fromCode(template.getKey(), template.getValue()));
+      builder.put(
+          template.getKey(),
+          new TemplateAstMatcher(
+              compiler, templateRoot.getFirstChild(), TypeMatchingStrategy.LOOSE));
+    }
+    matchers = builder.build();
+  }
+
+  @Test
+  public void testCandidatesAreNarrowedByTokenAndName() {
+    TemplateAstMatcherIndex<String> index = buildIndex();
+
+    assertThat(index.getCandidates(expression(0)))
+        .containsExactly("fooCall", "anything", "anyCall")
+        .inOrder();
+    assertThat(index.getCandidates(expression(1)))
+        .containsExactly("barCall", "anything", "anyCall")
+        .inOrder();
+    assertThat(index.getCandidates(expression(2))).containsExactly("anything", "anyCall").inOrder();
+    assertThat(index.getCandidates(expression(3))).containsExactly("anything", "three").inOrder();
+    assertThat(index.getCandidates(expression(4))).containsExactly("anything");
+  }
+
+  @Test
+  public void testFirstMatchIsTheSameAsWithoutTheIndex() {
+    TemplateAstMatcherIndex<String> index = buildIndex();
+
+    NodeUtil.visitPreOrder(
+        script,
+        (Node n) -> {
+          assertWithMessage(n.toString())
+              .that(firstMatch(index.getCandidates(n), n))
+              .isEqualTo(firstMatch(matchers.keySet().asList(), n));
+        });
+  }
+
+  private TemplateAstMatcherIndex<String> buildIndex() {
+    TemplateAstMatcherIndex.Builder<String> builder = TemplateAstMatcherIndex.builder();
+    matchers.forEach((name, matcher) -> builder.add(matcher, name));
+    return builder.build();
+  }
+
+  private String firstMatch(ImmutableList<String> names, Node n) {
+    for (String name : names) {
+      if (matchers.get(name).matches(n)) {
+        return name;
+      }
+    }
+    return null;
+  }
+
+  /** Returns the expression of the given statement of the test code. */
+  private Node expression(int statement) {
+    Node n = script.getFirstChild();
+    for (int i = 0; i < statement; i++) {
+      n = n.getNext();
+    }
+    return n.getFirstChild();
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ThreadBufferingErrorManager}. */
+@RunWith(JUnit4.class)
+public final class ThreadBufferingErrorManagerTest {
+  private static final DiagnosticType FOO_TYPE = DiagnosticType.error("TEST_FOO", "Foo");
+  private static final DiagnosticType BAR_TYPE = DiagnosticType.warning("TEST_BAR", "Bar");
+
+  /** Records the order in which diagnostics are reported to it. */
+  private static final class RecordingErrorManager extends SortingErrorManager {
+    final List<JSError> reported = new ArrayList<>();
+
+    RecordingErrorManager() {
+      super(ImmutableSet.of());
+    }
+
+    @Override
+    public void report(CheckLevel level, JSError error) {
+      reported.add(error);
+      super.report(level, error);
+    }
+  }
+
+  @Test
+  public void testReportsAreMergedOnRead() {
+    RecordingErrorManager delegate = new RecordingErrorManager();
+    ThreadBufferingErrorManager manager = new ThreadBufferingErrorManager(delegate);
+
+    manager.report(CheckLevel.WARNING, JSError.make("b.js", 1, 1, BAR_TYPE));
+    manager.report(CheckLevel.ERROR, JSError.make("a.js", 1, 1, FOO_TYPE));
+    assertThat(delegate.reported).isEmpty();
+
+    assertThat(manager.getErrorCount()).isEqualTo(1);
+    assertThat(manager.getWarningCount()).isEqualTo(1);
+    assertThat(delegate.reported).hasSize(2);
+  }
+
+  @Test
+  public void testHaltingErrorsAreVisibleBeforeMerge() {
+    RecordingErrorManager delegate = new RecordingErrorManager();
+    ThreadBufferingErrorManager manager = new ThreadBufferingErrorManager(delegate);
+
+    manager.report(CheckLevel.ERROR, JSError.make("a.js", 1, 1, BAR_TYPE));
+    assertThat(manager.hasHaltingErrors()).isFalse();
+
+    manager.report(CheckLevel.ERROR, JSError.make("a.js", 1, 1, FOO_TYPE));
+    assertThat(manager.hasHaltingErrors()).isTrue();
+    assertThat(delegate.reported).isEmpty();
+  }
+
+  @Test
+  public void testMergeOrderIsIndependentOfReportOrder() {
+    RecordingErrorManager delegate1 = new RecordingErrorManager();
+    ThreadBufferingErrorManager manager1 = new ThreadBufferingErrorManager(delegate1);
+    manager1.report(CheckLevel.WARNING, JSError.make("b.js", 2, 1, BAR_TYPE));
+    manager1.report(CheckLevel.WARNING, JSError.make("a.js", 7, 1, BAR_TYPE));
+    manager1.report(CheckLevel.ERROR, JSError.make("a.js", 3, 1, FOO_TYPE));
+    manager1.generateReport();
+
+    RecordingErrorManager delegate2 = new RecordingErrorManager();
+    ThreadBufferingErrorManager manager2 = new ThreadBufferingErrorManager(delegate2);
+    manager2.report(CheckLevel.ERROR, JSError.make("a.js", 3, 1, FOO_TYPE));
+    manager2.report(CheckLevel.WARNING, JSError.make("b.js", 2, 1, BAR_TYPE));
+    manager2.report(CheckLevel.WARNING, JSError.make("a.js", 7, 1, BAR_TYPE));
+    manager2.generateReport();
+
+    assertThat(delegate1.reported).containsExactlyElementsIn(delegate2.reported).inOrder();
+    // Same order as SortingErrorManager: warnings before errors, then by file and line.
+    assertThat(delegate1.reported.get(0).getSourceName()).isEqualTo("a.js");
+    assertThat(delegate1.reported.get(0).getLineNumber()).isEqualTo(7);
+    assertThat(delegate1.reported.get(1).getSourceName()).isEqualTo("b.js");
+    assertThat(delegate1.reported.get(2).getLineNumber()).isEqualTo(3);
+  }
+
+  @Test
+  public void testConcurrentReportsAreDeduplicated() throws Exception {
+    RecordingErrorManager delegate = new RecordingErrorManager();
+    ThreadBufferingErrorManager manager = new ThreadBufferingErrorManager(delegate);
+
+    int numThreads = 8;
+    int numFiles = 50;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < numThreads; i++) {
+      Thread t =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  throw new AssertionError(e);
+                }
+                // Every thread reports the same diagnostics.
+                for (int file = 0; file < numFiles; file++) {
+                  manager.report(CheckLevel.WARNING, JSError.make(file + ".js", 1, 1, BAR_TYPE));
+                  manager.report(CheckLevel.ERROR, JSError.make(file + ".js", 2, 1, FOO_TYPE));
+                }
+              });
+      t.start();
+      threads.add(t);
+    }
+    start.countDown();
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    assertThat(manager.hasHaltingErrors()).isTrue();
+    assertThat(manager.getErrors()).hasSize(numFiles);
+    assertThat(manager.getWarnings()).hasSize(numFiles);
+    assertThat(delegate.reported).hasSize(2 * numFiles * numThreads);
+  }
+}
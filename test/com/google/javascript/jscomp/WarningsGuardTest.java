@@ -172,6 +172,55 @@ public final class WarningsGuardTest {
     assertThat(guard.level(makeError("asasasd/foo/hello.js", WARNING))).isEqualTo(ERROR);
   }
 
+  @Test
+  public void testComposeGuardMemoizesGuardsKeyedBySourceAndType() {
+    int[] keyedCalls = {0};
+    WarningsGuard keyedGuard =
+        new WarningsGuard() {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          public CheckLevel level(JSError error) {
+            keyedCalls[0]++;
+            return error.getSourceName().equals("off.js") ? OFF : null;
+          }
+
+          @Override
+          boolean dependsOnlyOnSourceAndType() {
+            return true;
+          }
+
+          @Override
+          protected int getPriority() {
+            return WarningsGuard.Priority.FILTER_BY_PATH.getValue();
+          }
+        };
+    WarningsGuard lineGuard =
+        new WarningsGuard() {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          public CheckLevel level(JSError error) {
+            return error.getLineNumber() == 12 ? ERROR : null;
+          }
+        };
+
+    WarningsGuard guard = new ComposeWarningsGuard(lineGuard, keyedGuard);
+    assertThat(guard.level(makeError("off.js", 12))).isEqualTo(OFF);
+    assertThat(guard.level(makeError("off.js", 13))).isEqualTo(OFF);
+    assertThat(keyedCalls[0]).isEqualTo(1);
+
+    // The guards after a keyed guard still see every error.
+    assertThat(guard.level(makeError("on.js", 12))).isEqualTo(ERROR);
+    assertThat(guard.level(makeError("on.js", 13))).isNull();
+    assertThat(keyedCalls[0]).isEqualTo(2);
+
+    // The key includes the diagnostic type.
+    assertThat(guard.level(makeError("on.js", DiagnosticType.warning("OTHER", "Other"))))
+        .isNull();
+    assertThat(keyedCalls[0]).isEqualTo(3);
+  }
+
   @Test
   public void testComposeGuard3() {
     // Confirm that explicit diagnostic groups override the promotion of
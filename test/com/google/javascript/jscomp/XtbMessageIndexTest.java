@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link XtbMessageIndex}. */
+@RunWith(JUnit4.class)
+public final class XtbMessageIndexTest {
+
+  private static final String PROJECT_ID = "TestProject";
+
+  private static final String XTB =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+          + "<!DOCTYPE translationbundle SYSTEM"
+          + " \"translationbundle.dtd\">\n"
+          + "<translationbundle lang=\"zh-HK\">\n"
+          + "<translation id=\"7639678437384034548\">descargar</translation>\n"
+          + "<translation id=\"2398375912250604550\">Se han\nignorado"
+          + " <ph name=\"NUM\"/> conversaciones.</translation>\n"
+          + "<translation id=\"123456\">"
+          + "{USER_GENDER,select,"
+          + "female{Hola <ph name=\"USER_IDENTIFIER\"/>.}"
+          + "other{Hola <ph name=\"USER_IDENTIFIER\"/>.}}"
+          + "</translation>\n"
+          + "<translation id=\"3945720239421293834\"></translation>\n"
+          + "<translation id=\"4\">下載</translation>\n"
+          + "</translationbundle>";
+
+  @Test
+  public void testIndexMatchesXtbBundle() throws IOException {
+    XtbMessageBundle bundle = parseXtb();
+    XtbMessageIndex index = new XtbMessageIndex(writeIndex(bundle), PROJECT_ID);
+
+    assertThat(index.size()).isEqualTo(5);
+    for (JsMessage expected : bundle.getAllMessages()) {
+      JsMessage actual = index.getMessage(expected.getId());
+      assertThat(actual.getId()).isEqualTo(expected.getId());
+      assertThat(actual.getParts()).isEqualTo(expected.getParts());
+      assertThat(actual.placeholders()).isEqualTo(expected.placeholders());
+    }
+    assertThat(index.getMessage("2398375912250604550").toString())
+        .isEqualTo("Se han\nignorado {$num} conversaciones.");
+    assertThat(index.getMessage("4").toString()).isEqualTo("下載");
+    assertThat(index.getMessage("3945720239421293834").toString()).isEmpty();
+  }
+
+  @Test
+  public void testMissingMessage() throws IOException {
+    XtbMessageIndex index = new XtbMessageIndex(writeIndex(parseXtb()), PROJECT_ID);
+
+    assertThat(index.getMessage("0")).isNull();
+    assertThat(index.getMessage("5")).isNull();
+    assertThat(index.getMessage("999999999999999999999")).isNull();
+  }
+
+  @Test
+  public void testAllMessages() throws IOException {
+    XtbMessageIndex index = new XtbMessageIndex(writeIndex(parseXtb()), PROJECT_ID);
+
+    assertThat(index.getAllMessages()).hasSize(5);
+    ImmutableList<CharSequence> parts = ImmutableList.of("Hello");
+    assertThat(index.idGenerator().generateId("MSG_A", parts))
+        .isEqualTo(new GoogleJsMessageIdGenerator(PROJECT_ID).generateId("MSG_A", parts));
+  }
+
+  @Test
+  public void testHeaderDetection() throws IOException {
+    byte[] indexBytes = toBytes(writeIndex(parseXtb()));
+
+    assertThat(XtbMessageIndex.startsWithIndexHeader(new ByteArrayInputStream(indexBytes)))
+        .isTrue();
+    assertThat(XtbMessageIndex.startsWithIndexHeader(new ByteArrayInputStream(XTB.getBytes(UTF_8))))
+        .isFalse();
+    assertThat(XtbMessageIndex.startsWithIndexHeader(new ByteArrayInputStream(new byte[2])))
+        .isFalse();
+  }
+
+  private static XtbMessageBundle parseXtb() {
+    return new XtbMessageBundle(new ByteArrayInputStream(XTB.getBytes(UTF_8)), PROJECT_ID);
+  }
+
+  private static ByteBuffer writeIndex(MessageBundle bundle) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    XtbMessageIndex.write(bundle, out);
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  private static byte[] toBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+}
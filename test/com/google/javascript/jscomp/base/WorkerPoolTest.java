@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.base;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.base.WorkerPool;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link WorkerPool}. */
+@RunWith(JUnit4.class)
+public final class WorkerPoolTest {
+
+  @Test
+  public void testForEachInParallel_resultsInOrderOfItems() {
+    ImmutableList<Integer> items = ImmutableList.of(5, 4, 3, 2, 1, 0);
+
+    List<String> results =
+        WorkerPool.forEachInParallel(
+            items,
+            3,
+            (Integer i) -> {
+              sleep(i);
+              return i == 0 ? null : "item" + i;
+            });
+
+    assertThat(results)
+        .containsExactly("item5", "item4", "item3", "item2", "item1", null)
+        .inOrder();
+  }
+
+  @Test
+  public void testForEachInParallel_rethrowsUncheckedExceptions() {
+    IllegalStateException e =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                WorkerPool.forEachInParallel(
+                    Arrays.asList(1, 2, 3),
+                    2,
+                    (Integer i) -> {
+                      if (i == 2) {
+                        throw new IllegalStateException("bad item");
+                      }
+                      return i;
+                    }));
+
+    assertThat(e).hasMessageThat().isEqualTo("bad item");
+  }
+
+  @Test
+  public void testForEachInParallel_restoresInterruptFlag() throws InterruptedException {
+    CountDownLatch never = new CountDownLatch(1);
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(
+          RuntimeException.class,
+          () ->
+              WorkerPool.forEachInParallel(
+                  ImmutableList.of(1),
+                  1,
+                  (Integer i) -> {
+                    try {
+                      never.await();
+                    } catch (InterruptedException e) {
+                      // Cancelled.
+                    }
+                    return i;
+                  }));
+      assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  public void testWorkerPool_runsSeveralBatches() {
+    try (WorkerPool pool = new WorkerPool(2)) {
+      assertThat(pool.forEach(ImmutableList.of(1, 2), (Integer i) -> i * 10))
+          .containsExactly(10, 20)
+          .inOrder();
+      assertThat(pool.forEach(ImmutableList.of(3), (Integer i) -> i * 10)).containsExactly(30);
+    }
+  }
+
+  private static void sleep(int millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
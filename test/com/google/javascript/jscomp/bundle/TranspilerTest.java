@@ -18,13 +18,19 @@ package com.google.javascript.jscomp.bundle;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.Answers.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.annotations.GwtIncompatible;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.javascript.jscomp.JSError;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -79,6 +85,27 @@ public final class TranspilerTest {
     assertThat(transpiler.transform(source(FOO_JS, "bar"))).isEqualTo(source(FOO_JS, "bar"));
   }
 
+  @Test
+  public void testTranspiler_transformAll() {
+    when(mockCompiler.runtime("es6_runtime")).thenReturn("$jscomp.es6();");
+    when(mockCompiler.compile(FOO_JS, "foo"))
+        .thenReturn(new Transpiler.CompileResult("result1", NO_ERRORS, true, ""));
+    when(mockCompiler.compile(SOURCE_JS, "source"))
+        .thenReturn(new Transpiler.CompileResult("result2", NO_ERRORS, true, ""));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      ImmutableList<Source> results =
+          transpiler.transformAll(
+              ImmutableList.of(source(FOO_JS, "foo"), source(SOURCE_JS, "source")), executor);
+      assertThat(results.get(0).code()).isEqualTo("result1");
+      assertThat(results.get(1).code()).isEqualTo("result2");
+      assertThat(results.get(1).runtimes()).containsExactly("$jscomp.es6();");
+    } finally {
+      MoreExecutors.shutdownAndAwaitTermination(executor, Duration.ofSeconds(10));
+    }
+    verify(mockCompiler, times(1)).runtime("es6_runtime");
+  }
+
   private static Source source(Path path, String code) {
     return Source.builder().setPath(path).setCode(code).build();
   }
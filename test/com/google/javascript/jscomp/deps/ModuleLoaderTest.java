@@ -641,6 +641,35 @@ public final class ModuleLoaderTest {
     assertUri("file.js", loader.resolve("/path/to/project/file.js"));
   }
 
+  @Test
+  public void testResolutionsAreSharedWithinADirectory() {
+    ModuleLoader loader =
+        new ModuleLoader(
+            null,
+            ImmutableList.of("."),
+            inputs("js/a.js", "js/b.js", "js/c.js", "lib/b.js"),
+            new NodeModuleResolver.Factory());
+
+    assertUri("js/b.js", loader.resolve("js/a.js").resolveJsModule("./b"));
+    assertUri("js/b.js", loader.resolve("js/c.js").resolveJsModule("./b"));
+    assertUri("lib/b.js", loader.resolve("lib/b.js").resolveJsModule("./b"));
+    assertThat(loader.resolve("js/a.js").resolveJsModule("./missing")).isNull();
+    assertThat(loader.resolve("js/c.js").resolveJsModule("./missing")).isNull();
+
+    assertThat(loader.getResolutionCacheHits()).isEqualTo(1);
+    assertThat(loader.getResolutionCacheMisses()).isEqualTo(4);
+  }
+
+  @Test
+  public void testEmptyLoaderDoesNotCacheResolutions() {
+    ModuleLoader.ModulePath script = ModuleLoader.EMPTY.resolve("js/a.js");
+    script.resolveJsModule("./b.js");
+    script.resolveJsModule("./b.js");
+
+    assertThat(ModuleLoader.EMPTY.getResolutionCacheHits()).isEqualTo(0);
+    assertThat(ModuleLoader.EMPTY.getResolutionCacheMisses()).isEqualTo(0);
+  }
+
   CompilerInput input(String name) {
     return new CompilerInput(SourceFile.fromCode(name, ""), false);
   }
@@ -20,6 +20,7 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
 import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -89,6 +90,29 @@ public final class ClusterPropagatorTest {
     assertThat(this.dest.getAssociatedProps()).isEmpty();
   }
 
+  @Test
+  public void propagate_flowsProperties_alongPathsAndCycles() {
+    // Given
+    ColorGraphNode other = ColorGraphNode.createForTesting(-3);
+    LinkedDirectedGraph<ColorGraphNode, Object> graph =
+        LinkedDirectedGraph.createWithoutAnnotations();
+    graph.createNode(this.dest);
+    graph.createNode(other);
+    graph.createNode(this.src);
+    graph.connect(this.src, null, other);
+    graph.connect(other, null, this.dest);
+    graph.connect(this.dest, null, other);
+    associate(this.prop, this.src);
+
+    // When
+    this.propagator.propagate(graph);
+
+    // Then
+    assertThat(other.getAssociatedProps()).containsKey(this.prop);
+    assertThat(this.dest.getAssociatedProps()).containsKey(this.prop);
+    assertThat(this.prop.getClusters().areEquivalent(this.src, this.dest)).isTrue();
+  }
+
   @After
   public void verifyPropertyFlow() {
     ImmutableSet<PropertyClustering> validSrcProps =
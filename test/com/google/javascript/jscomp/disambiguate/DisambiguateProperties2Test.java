@@ -41,7 +41,9 @@ import java.util.stream.Stream;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
 /**
  * Unit test for the {@link DisambiguateProperties2} pass.
@@ -49,9 +51,18 @@ import org.junit.runners.JUnit4;
  * <p>This also runs the typechecking passes, because DisambiguateProperties2 depends on the
  * typecheck passes behavior, and it's complicated to manually mimic the results of typechecking.
  */
-@RunWith(JUnit4.class)
+@RunWith(Parameterized.class)
 public final class DisambiguateProperties2Test extends CompilerTestCase {
 
+  /** Runs every test both serially and with properties found and renamed on several threads. */
+  @Parameters(name = "numParallelThreads={0}")
+  public static Object[][] threadCounts() {
+    return new Object[][] {{1}, {4}};
+  }
+
+  @Parameter(0)
+  public int numParallelThreads;
+
   private static final String PROP_DEFINER_DEFINITION =
       lines(
           "/** @const */ var goog = {};",
@@ -77,7 +88,8 @@ public final class DisambiguateProperties2Test extends CompilerTestCase {
 
   @Override
   protected CompilerPass getProcessor(final Compiler compiler) {
-    return new DisambiguateProperties2(compiler, propertiesThatMustDisambiguate);
+    return new DisambiguateProperties2(
+        compiler, propertiesThatMustDisambiguate, numParallelThreads);
   }
 
   @Override
@@ -128,6 +140,29 @@ public final class DisambiguateProperties2Test extends CompilerTestCase {
                 "}")));
   }
 
+  @Test
+  public void propertiesAreDisambiguated_acrossScripts() {
+    test(
+        srcs(
+            lines(
+                "class Foo {", //
+                "  x() { }",
+                "}"),
+            lines(
+                "class Bar {", //
+                "  x() { }",
+                "}")),
+        expected(
+            lines(
+                "class Foo {", //
+                "  JSC$1_x() { }",
+                "}"),
+            lines(
+                "class Bar {", //
+                "  JSC$3_x() { }",
+                "}")));
+  }
+
   @Test
   public void propertiesAreConflated_byExtends_fromClass() {
     test(
@@ -23,7 +23,9 @@ import static java.util.Comparator.naturalOrder;
 import com.google.javascript.jscomp.graph.Graph.GraphEdge;
 import com.google.javascript.jscomp.graph.GraphColoring.Color;
 import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
+import com.google.javascript.jscomp.graph.GraphColoring.ParallelGreedyGraphColoring;
 import java.util.Comparator;
+import java.util.Random;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -187,6 +189,40 @@ public final class GraphColoringTest {
     assertThat("A".equals(coloring.getPartitionSuperNode("C"))).isFalse();
   }
 
+  @Test
+  public void testParallelMatchesGreedy() {
+    // Large enough to be split into several blocks of speculatively colored nodes.
+    int numNodes = 5000;
+    Graph<Integer, String> graph = LinkedUndirectedGraph.create();
+    for (int i = 0; i < numNodes; i++) {
+      graph.createNode(i);
+    }
+    Random random = new Random(42);
+    for (int i = 0; i < numNodes * 4; i++) {
+      int a = random.nextInt(numNodes);
+      int b = random.nextInt(numNodes);
+      if (a != b && !graph.isConnected(a, b)) {
+        graph.connect(a, "--", b);
+      }
+    }
+
+    int numColors = new GreedyGraphColoring<>(graph, naturalOrder()).color();
+    Color[] greedyColors = new Color[numNodes];
+    for (int i = 0; i < numNodes; i++) {
+      greedyColors[i] = graph.getNode(i).getAnnotation();
+    }
+
+    for (int numThreads : new int[] {1, 4}) {
+      GraphColoring<Integer, String> coloring =
+          new ParallelGreedyGraphColoring<>(graph, naturalOrder(), numThreads);
+      assertThat(coloring.color()).isEqualTo(numColors);
+      validateColoring(graph);
+      for (int i = 0; i < numNodes; i++) {
+        assertThat(graph.getNode(i).<Color>getAnnotation()).isEqualTo(greedyColors[i]);
+      }
+    }
+  }
+
   /**
    * Validate that each node has been colored and connected nodes have different
    * coloring.
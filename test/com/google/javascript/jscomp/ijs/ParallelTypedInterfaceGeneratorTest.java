@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.ijs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilerOptions;
+import com.google.javascript.jscomp.JSError;
+import com.google.javascript.jscomp.SourceFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link ParallelTypedInterfaceGenerator}. */
+@RunWith(JUnit4.class)
+public final class ParallelTypedInterfaceGeneratorTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testWritesOneInterfacePerInput() throws IOException {
+    Path outputDir = folder.getRoot().toPath();
+    ImmutableList<SourceFile> inputs =
+        ImmutableList.of(
+            SourceFile.fromCode("a.js", "/** @const */ var x = 5;"),
+            SourceFile.fromCode("lib/b.js", "function f(a) { return a + 1; }"));
+
+    ImmutableList<JSError> diagnostics =
+        new ParallelTypedInterfaceGenerator(CompilerOptions::new, 2)
+            .generate(inputs, input -> outputDir.resolve(input.getName() + ".i.js"));
+
+    assertThat(diagnostics).isEmpty();
+    String a = new String(Files.readAllBytes(outputDir.resolve("a.js.i.js")), UTF_8);
+    assertThat(a).contains("{number}");
+    assertThat(a).doesNotContain("= 5");
+    String b = new String(Files.readAllBytes(outputDir.resolve("lib/b.js.i.js")), UTF_8);
+    assertThat(b).contains("function f(a)");
+    assertThat(b).doesNotContain("return");
+  }
+
+  @Test
+  public void testInputWithErrorsIsNotWritten() throws IOException {
+    Path outputDir = folder.getRoot().toPath();
+    ImmutableList<SourceFile> inputs =
+        ImmutableList.of(
+            SourceFile.fromCode("good.js", "var x;"),
+            SourceFile.fromCode("bad.js", "var x = ;"));
+
+    ImmutableList<JSError> diagnostics =
+        new ParallelTypedInterfaceGenerator(CompilerOptions::new, 2)
+            .generate(inputs, input -> outputDir.resolve(input.getName() + ".i.js"));
+
+    assertThat(diagnostics).isNotEmpty();
+    assertThat(diagnostics.get(0).getSourceName()).isEqualTo("bad.js");
+    assertThat(Files.exists(outputDir.resolve("good.js.i.js"))).isTrue();
+    assertThat(Files.exists(outputDir.resolve("bad.js.i.js"))).isFalse();
+  }
+}
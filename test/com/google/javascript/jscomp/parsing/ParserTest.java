@@ -51,10 +51,21 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
-@RunWith(JUnit4.class)
+@RunWith(Parameterized.class)
 public final class ParserTest extends BaseJSTypeTestCase {
+  /** Runs every test both with eagerly and with lazily created scanner tokens. */
+  @Parameters(name = "lazyParserTokens={0}")
+  public static Object[][] tokenModes() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Parameter(0)
+  public boolean lazyParserTokens;
+
   private static final String TRAILING_COMMA_MESSAGE =
       "Trailing comma is not legal in an ECMA-262 object initializer";
 
@@ -92,6 +103,7 @@ public final class ParserTest extends BaseJSTypeTestCase {
   private Config.JsDocParsing parsingMode;
   private Config.StrictMode strictMode;
   private boolean isIdeMode = false;
+  private boolean lazyJsDocParsing = false;
   private FeatureSet expectedFeatures;
 
   @Before
@@ -100,6 +112,7 @@ public final class ParserTest extends BaseJSTypeTestCase {
     parsingMode = JsDocParsing.INCLUDE_DESCRIPTIONS_NO_WHITESPACE;
     strictMode = STRICT;
     isIdeMode = false;
+    lazyJsDocParsing = false;
     expectedFeatures = FeatureSet.BARE_MINIMUM;
   }
 
@@ -1181,6 +1194,56 @@ public final class ParserTest extends BaseJSTypeTestCase {
     assertNode(cast).hasType(Token.CAST);
   }
 
+  @Test
+  public void testLazyJSDocAttachment() {
+    lazyJsDocParsing = true;
+    ParserRunner.ParseResult result =
+        doParse("/** @type {number} */ var a; function f(/** string */ b) {}");
+    assertThat(result.jsDocParseStats.getDeferredCommentCount()).isEqualTo(2);
+    assertThat(result.jsDocParseStats.getParsedCommentCount()).isEqualTo(0);
+
+    Node varNode = result.ast.getFirstChild();
+    assertNodeHasJSDocInfoWithJSType(varNode, NUMBER_TYPE);
+    Node paramNode = result.ast.getSecondChild().getSecondChild().getFirstChild();
+    assertNodeHasJSDocInfoWithJSType(paramNode, STRING_TYPE);
+    assertThat(result.jsDocParseStats.getParsedCommentCount()).isEqualTo(2);
+
+    // The comment is only parsed once.
+    assertThat(varNode.getJSDocInfo()).isSameInstanceAs(varNode.getJSDocInfo());
+    assertThat(result.jsDocParseStats.getParsedCommentCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testLazyJSDocAttachmentForCast() {
+    lazyJsDocParsing = true;
+    Node fn =
+        parse("function f() { " + "  var x = /** @type {string} */ (y);" + "};").getFirstChild();
+    Node cast = fn.getLastChild().getFirstFirstChild().getFirstChild();
+    assertNode(cast).hasType(Token.CAST);
+  }
+
+  @Test
+  public void testLazyJSDocParsingKeepsFileOverview() {
+    lazyJsDocParsing = true;
+    ParserRunner.ParseResult result =
+        doParse("/** @fileoverview Hi mom! */ /** @const */ var a = 0;");
+    assertThat(result.ast.getJSDocInfo().getFileOverview()).isEqualTo("Hi mom!");
+    assertThat(result.jsDocParseStats.getDeferredCommentCount()).isEqualTo(1);
+    assertThat(result.ast.getFirstChild().getJSDocInfo().isConstant()).isTrue();
+  }
+
+  @Test
+  public void testTransformErrorsAreReportedAfterParseErrors() {
+    isIdeMode = true;
+    // The return is transformed, and its error found, before the rest of the file is parsed.
+    parseError("return; var x = 1 2;", "Semi-colon expected", "return must be inside function");
+  }
+
+  @Test
+  public void testTransformErrorsAreDroppedWithTheAst() {
+    assertThat(parseError("return; var x = 1 2;", "Semi-colon expected")).isNull();
+  }
+
   @Test
   public void testJSDocAttachmentForCastLhs() {
     Node expr = parse("/** some jsdoc */ (/** @type {?} */ (a)).b = 0;").getOnlyChild();
@@ -6608,9 +6671,34 @@ public final class ParserTest extends BaseJSTypeTestCase {
   private Config createConfig() {
     if (isIdeMode) {
       return ParserRunner.createConfig(
-          mode, parsingMode, Config.RunMode.KEEP_GOING, null, true, strictMode);
+          mode,
+          parsingMode,
+          Config.RunMode.KEEP_GOING,
+          null,
+          true,
+          strictMode,
+          false,
+          lazyParserTokens);
+    } else if (lazyJsDocParsing) {
+      return ParserRunner.createConfig(
+          mode,
+          parsingMode,
+          Config.RunMode.STOP_AFTER_ERROR,
+          null,
+          true,
+          strictMode,
+          true,
+          lazyParserTokens);
     } else {
-      return ParserRunner.createConfig(mode, null, strictMode);
+      return ParserRunner.createConfig(
+          mode,
+          JsDocParsing.TYPES_ONLY,
+          Config.RunMode.STOP_AFTER_ERROR,
+          null,
+          true,
+          strictMode,
+          false,
+          lazyParserTokens);
     }
   }
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp.parsing.parser;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.javascript.jscomp.parsing.parser.trees.Comment;
+import com.google.javascript.jscomp.parsing.parser.util.ErrorReporter;
+import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
+import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/** Tests for {@link Scanner}. */
+@RunWith(Parameterized.class)
+public final class ScannerTest {
+  /** Runs every test both with eagerly and with lazily created tokens. */
+  @Parameters(name = "lazyTokens={0}")
+  public static Object[][] tokenModes() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Parameter(0)
+  public boolean lazyTokens;
+
+  @Test
+  public void testLookaheadTokensHaveTheirPositions() {
+    Scanner scanner = createScanner("a = (\n  b);\r\nc");
+
+    // Look far ahead first, so the earlier tokens are materialized after the later ones.
+    assertThat(scanner.peekType(7)).isEqualTo(TokenType.END_OF_FILE);
+    assertThat(scanner.peekToken(6).location.start.line).isEqualTo(2);
+    assertThat(scanner.peekToken(3).location.start.line).isEqualTo(1);
+
+    Token open = scanner.peekToken(2);
+    assertThat(open.type).isEqualTo(TokenType.OPEN_PAREN);
+    assertThat(open.location.start.line).isEqualTo(0);
+    assertThat(open.location.start.column).isEqualTo(4);
+    assertThat(open.location.end.offset).isEqualTo(5);
+
+    assertThat(scanner.peekStartLine(4)).isEqualTo(1);
+    assertThat(scanner.peekEndLine(3)).isEqualTo(1);
+  }
+
+  @Test
+  public void testSkipToken() {
+    Scanner scanner = createScanner("a;\nb");
+
+    scanner.skipToken();
+    assertThat(scanner.skipToken()).isEqualTo(2);
+    assertThat(scanner.peekStartLine(0)).isEqualTo(1);
+    Token b = scanner.nextToken();
+    assertThat(b.type).isEqualTo(TokenType.IDENTIFIER);
+    assertThat(b.location.start.column).isEqualTo(0);
+    assertThat(scanner.peekType(0)).isEqualTo(TokenType.END_OF_FILE);
+  }
+
+  @Test
+  public void testManyLookaheadTokens() {
+    StringBuilder source = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      source.append("x").append(i).append(i % 2 == 0 ? " +\n" : " - ");
+    }
+    Scanner scanner = createScanner(source.toString());
+
+    assertThat(scanner.peekType(199)).isEqualTo(TokenType.MINUS);
+    for (int i = 0; i < 100; i++) {
+      Token token = scanner.nextToken();
+      assertThat(token.type).isEqualTo(TokenType.IDENTIFIER);
+      assertThat(token.location.start.line).isEqualTo((i + 1) / 2);
+      scanner.skipToken();
+    }
+  }
+
+  @Test
+  public void testSetPositionToAnEarlierLine() {
+    Scanner scanner = createScanner("a\nb\nc");
+    SourcePosition start = scanner.peekToken().location.start;
+    scanner.peekType(2);
+
+    scanner.setPosition(start);
+    Token a = scanner.nextToken();
+    assertThat(a.location.start.line).isEqualTo(0);
+    assertThat(scanner.nextToken().location.end.line).isEqualTo(1);
+  }
+
+  private Scanner createScanner(String source) {
+    ErrorReporter errorReporter =
+        new ErrorReporter() {
+          @Override
+          protected void reportError(SourcePosition location, String message) {
+            throw new AssertionError(message);
+          }
+
+          @Override
+          protected void reportWarning(SourcePosition location, String message) {
+            throw new AssertionError(message);
+          }
+        };
+    Scanner.CommentRecorder commentRecorder =
+        (Comment.Type type, SourceRange range, String value) -> {};
+    return new Scanner(
+        errorReporter, commentRecorder, new SourceFile("test.js", source), 0, lazyTokens);
+  }
+}
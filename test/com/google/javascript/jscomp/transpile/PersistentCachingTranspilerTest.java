@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.transpile;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Answers.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/** Tests for {@link PersistentCachingTranspiler}. */
+@RunWith(JUnit4.class)
+public final class PersistentCachingTranspilerTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock(answer = RETURNS_SMART_NULLS)
+  Transpiler delegate;
+
+  private Path directory;
+
+  private static final URI FOO_JS = URI.create("foo.js");
+  private static final URI BAR_JS = URI.create("bar.js");
+
+  private static final TranspileResult RESULT1 =
+      new TranspileResult(FOO_JS, "foo", "transpiled\nfoo", "{\"map\": 1}");
+  private static final TranspileResult RESULT2 = new TranspileResult(BAR_JS, "bar", "bar", "");
+
+  @Before
+  public void setUp() throws Exception {
+    MockitoAnnotations.initMocks(this);
+    directory = folder.newFolder().toPath().resolve("cache");
+  }
+
+  @Test
+  public void testResultsSurviveANewInstance() {
+    when(delegate.transpile(FOO_JS, "foo")).thenReturn(RESULT1);
+    assertThat(new PersistentCachingTranspiler(delegate, directory, "es5").transpile(FOO_JS, "foo"))
+        .isSameInstanceAs(RESULT1);
+
+    assertThat(new PersistentCachingTranspiler(delegate, directory, "es5").transpile(FOO_JS, "foo"))
+        .isEqualTo(RESULT1);
+    verify(delegate, times(1)).transpile(FOO_JS, "foo");
+  }
+
+  @Test
+  public void testKeyIncludesOptionsPathAndCode() {
+    when(delegate.transpile(FOO_JS, "foo")).thenReturn(RESULT1);
+    when(delegate.transpile(BAR_JS, "foo")).thenReturn(RESULT2);
+    when(delegate.transpile(FOO_JS, "foo2")).thenReturn(RESULT2);
+    Transpiler es5 = new PersistentCachingTranspiler(delegate, directory, "es5");
+    Transpiler es2015 = new PersistentCachingTranspiler(delegate, directory, "es2015");
+
+    assertThat(es5.transpile(FOO_JS, "foo")).isEqualTo(RESULT1);
+    assertThat(es2015.transpile(FOO_JS, "foo")).isEqualTo(RESULT1);
+    assertThat(es5.transpile(BAR_JS, "foo")).isEqualTo(RESULT2);
+    assertThat(es5.transpile(FOO_JS, "foo2")).isEqualTo(RESULT2);
+    verify(delegate, times(2)).transpile(FOO_JS, "foo");
+  }
+
+  @Test
+  public void testRuntimeIsCached() {
+    when(delegate.runtime()).thenReturn("$jscomp.runtime();");
+    assertThat(new PersistentCachingTranspiler(delegate, directory, "es5").runtime())
+        .isEqualTo("$jscomp.runtime();");
+    assertThat(new PersistentCachingTranspiler(delegate, directory, "es5").runtime())
+        .isEqualTo("$jscomp.runtime();");
+    verify(delegate, times(1)).runtime();
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntriesArePruned() throws Exception {
+    URI bazJs = URI.create("baz.js");
+    when(delegate.transpile(FOO_JS, "foo")).thenReturn(RESULT1);
+    when(delegate.transpile(BAR_JS, "bar")).thenReturn(RESULT2);
+    when(delegate.transpile(bazJs, "baz")).thenReturn(new TranspileResult(bazJs, "baz", "baz", ""));
+    Transpiler transpiler = new PersistentCachingTranspiler(delegate, directory, "es5", 2);
+
+    transpiler.transpile(FOO_JS, "foo");
+    Path fooEntry = onlyEntryOtherThan(null);
+    Files.setLastModifiedTime(fooEntry, FileTime.fromMillis(1000));
+    transpiler.transpile(BAR_JS, "bar");
+    Files.setLastModifiedTime(onlyEntryOtherThan(fooEntry), FileTime.fromMillis(2000));
+
+    // Reading foo.js makes bar.js the least recently used entry.
+    transpiler.transpile(FOO_JS, "foo");
+    transpiler.transpile(bazJs, "baz");
+    assertThat(entries()).hasSize(2);
+
+    transpiler.transpile(FOO_JS, "foo");
+    transpiler.transpile(BAR_JS, "bar");
+    verify(delegate, times(1)).transpile(FOO_JS, "foo");
+    verify(delegate, times(2)).transpile(BAR_JS, "bar");
+  }
+
+  @Test
+  public void testUnusableDirectoryFallsBackToDelegate() throws Exception {
+    Path file = folder.newFile().toPath();
+    when(delegate.transpile(FOO_JS, "foo")).thenReturn(RESULT1);
+    Transpiler transpiler = new PersistentCachingTranspiler(delegate, file, "es5");
+
+    assertThat(transpiler.transpile(FOO_JS, "foo")).isSameInstanceAs(RESULT1);
+    assertThat(transpiler.transpile(FOO_JS, "foo")).isSameInstanceAs(RESULT1);
+  }
+
+  @Test
+  public void testTranspileAll() {
+    when(delegate.transpile(FOO_JS, "foo")).thenReturn(RESULT1);
+    when(delegate.transpile(BAR_JS, "bar")).thenReturn(RESULT2);
+    Transpiler transpiler = new PersistentCachingTranspiler(delegate, directory, "es5");
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertThat(transpiler.transpileAll(ImmutableMap.of(FOO_JS, "foo", BAR_JS, "bar"), executor))
+          .containsExactly(FOO_JS, RESULT1, BAR_JS, RESULT2)
+          .inOrder();
+    } finally {
+      MoreExecutors.shutdownAndAwaitTermination(executor, Duration.ofSeconds(10));
+    }
+  }
+
+  private List<Path> entries() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.collect(toImmutableList());
+    }
+  }
+
+  private Path onlyEntryOtherThan(@Nullable Path known) throws IOException {
+    return Iterables.getOnlyElement(
+        entries().stream().filter((Path p) -> !p.equals(known)).collect(toImmutableList()));
+  }
+}
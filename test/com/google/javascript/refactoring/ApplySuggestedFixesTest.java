@@ -17,19 +17,24 @@
 package com.google.javascript.refactoring;
 
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.io.Files;
 import com.google.javascript.jscomp.Compiler;
 import com.google.javascript.jscomp.CompilerOptions;
 import com.google.javascript.jscomp.SourceFile;
 import com.google.javascript.rhino.Node;
+import java.io.File;
 import java.util.List;
 import java.util.Map;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
@@ -39,6 +44,8 @@ import org.junit.runners.JUnit4;
 @RunWith(JUnit4.class)
 public class ApplySuggestedFixesTest {
 
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
   @Test
   public void testApplyCodeReplacements_overlapsAreErrors() throws Exception {
     List<CodeReplacement> replacements =
@@ -208,6 +215,37 @@ public class ApplySuggestedFixesTest {
     assertThat(newCodeMap).containsExactly("test", "var newFirst, newSecond, newShared;");
   }
 
+  @Test
+  public void testApplySuggestedFixesToFiles_inParallel() throws Exception {
+    File first = folder.newFile("first.js");
+    File second = folder.newFile("second.js");
+    Files.asCharSink(first, UTF_8).write("var first;");
+    Files.asCharSink(second, UTF_8).write("var second;");
+
+    Compiler compiler = new Compiler();
+    compiler.init(
+        ImmutableList.<SourceFile>of(),
+        ImmutableList.of(
+            SourceFile.fromCode(first.getPath(), "var first;"),
+            SourceFile.fromCode(second.getPath(), "var second;")),
+        RefactoringDriver.getCompilerOptions());
+    compiler.parse();
+    Node firstScript = compiler.getRoot().getLastChild().getFirstChild();
+    Node firstName = firstScript.getFirstFirstChild();
+    Node secondName = firstScript.getNext().getFirstFirstChild();
+    List<SuggestedFix> fixes =
+        ImmutableList.of(
+            new SuggestedFix.Builder().rename(firstName, "renamedFirst").build(),
+            new SuggestedFix.Builder().rename(secondName, "renamedSecond").build(),
+            // Overlaps the first fix, so it is dropped.
+            new SuggestedFix.Builder().rename(firstName, "dropped").build());
+
+    ApplySuggestedFixes.applySuggestedFixesToFiles(fixes, 2);
+
+    assertThat(Files.asCharSource(first, UTF_8).read()).isEqualTo("var renamedFirst;");
+    assertThat(Files.asCharSource(second, UTF_8).read()).isEqualTo("var renamedSecond;");
+  }
+
   /** Returns the root script node produced from the compiled JS input. */
   private static Node compileToScriptRoot(Compiler compiler) {
     Node root = compiler.getRoot();
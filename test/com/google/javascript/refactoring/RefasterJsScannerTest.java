@@ -25,6 +25,10 @@ import com.google.common.collect.ImmutableMap;
 import com.google.javascript.jscomp.Compiler;
 import com.google.javascript.jscomp.CompilerOptions;
 import com.google.javascript.jscomp.SourceFile;
+import com.google.javascript.rhino.Node;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -128,6 +132,78 @@ public class RefasterJsScannerTest {
     assertChanges("", originalCode, template, expectedCode);
   }
 
+  @Test
+  public void test_parallelDriveMatchesSerialDrive() throws Exception {
+    String template =
+        lines(
+            "function before_foo() {",
+            "  var a = 'str';",
+            "};",
+            "function after_foo() {",
+            "  'bar';",
+            "}");
+    ImmutableMap<String, String> codeMap =
+        ImmutableMap.of(
+            "a.js", "var x = 'str'; var y = 'other';",
+            "b.js", "var z = 'other';",
+            "c.js", "var w = 'str'; var u = 'str';",
+            "d.js", "var v = 'str';");
+    RefactoringDriver.Builder builder =
+        new RefactoringDriver.Builder().addExternsFromCode("function Symbol() {};");
+    codeMap.forEach((filename, code) -> builder.addInputsFromCode(code, filename));
+    RefactoringDriver driver = builder.build();
+
+    List<SuggestedFix> serialFixes = driver.drive(createScanner(template));
+    List<SuggestedFix> parallelFixes = driver.drive(createScanner(template), null, 3);
+
+    assertThat(parallelFixes).hasSize(serialFixes.size());
+    ImmutableMap<String, String> newCodeMap =
+        ApplySuggestedFixes.applySuggestedFixesToCode(parallelFixes, codeMap);
+    assertThat(newCodeMap)
+        .isEqualTo(ApplySuggestedFixes.applySuggestedFixesToCode(serialFixes, codeMap));
+    assertThat(newCodeMap)
+        .containsExactly(
+            "a.js", "'bar'; var y = 'other';",
+            "c.js", "'bar'; 'bar';",
+            "d.js", "'bar';");
+  }
+
+  @Test
+  public void test_workerScannerNeedsPreparedTemplates() throws Exception {
+    try {
+      createScanner("function before_foo() {'str';}; function after_foo() {'bar';}")
+          .newWorkerScanner();
+      fail("An exception should have been thrown for unprepared templates.");
+    } catch (IllegalStateException expected) {}
+  }
+
+  @Test
+  public void test_scannerWithoutWorkerScannersIsDrivenOnOneThread() throws Exception {
+    RefactoringDriver driver =
+        new RefactoringDriver.Builder()
+            .addInputsFromCode("var x = 'str';", "a.js")
+            .addInputsFromCode("var y = 'str';", "b.js")
+            .build();
+    Thread driverThread = Thread.currentThread();
+    Scanner scanner =
+        new Scanner() {
+          @Override
+          public boolean matches(Node node, NodeMetadata t) {
+            assertThat(Thread.currentThread()).isSameInstanceAs(driverThread);
+            return node.isString();
+          }
+
+          @Override
+          public List<SuggestedFix> processAllMatches(Collection<Match> matches) {
+            assertThat(matches).hasSize(2);
+            return ImmutableList.of();
+          }
+        };
+
+    assertThat(scanner.newWorkerScanner()).isNull();
+    assertThat(driver.drive(scanner, null, 3)).isEmpty();
+  }
+
   @Test
   public void test_semicolonCorrect() throws Exception {
     String externs = ""
@@ -976,6 +1052,16 @@ public class RefasterJsScannerTest {
     return scanner;
   }
 
+  private static RefasterJsScanner createScanner(String template) {
+    RefasterJsScanner scanner = new RefasterJsScanner();
+    try {
+      scanner.loadRefasterJsTemplateFromCode(template);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return scanner;
+  }
+
   private static void compileTestCode(Compiler compiler, String testCode, String externs) {
     CompilerOptions options = RefactoringDriver.getCompilerOptions();
     compiler.compile(